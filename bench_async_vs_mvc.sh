@@ -0,0 +1,59 @@
+#!/bin/bash
+# =================================================
+# 동기(MVC) vs 비동기(/api/admission/async) 입장 경로 부하 비교
+# =================================================
+# 같은 wrk 설정(cgv_test.lua)으로 두 경로를 번갈아 호출하고, 각 구간의 처리량/지연과 JVM 최대 스레드 수를 비교합니다.
+# 순수 경로 차이만 보려면 서버를 부하 차단 없이 띄우세요:
+#   --admission.limiter.enabled=false --admission.enter-rate.enabled=false
+#
+# 사용법: ./bench_async_vs_mvc.sh [BASE_URL] [CONNECTIONS] [DURATION]
+#   예) ./bench_async_vs_mvc.sh http://localhost:8080 2000 30s
+
+BASE_URL=${1:-http://localhost:8080}
+CONNECTIONS=${2:-2000}
+DURATION=${3:-30s}
+THREADS=${WRK_THREADS:-8}
+MONITORING_URL="$BASE_URL/api/admin/monitoring"
+
+if ! command -v wrk > /dev/null 2>&1; then
+    echo "❌ wrk 가 필요합니다 (https://github.com/wg/wrk)"
+    exit 1
+fi
+
+echo "🚀 동기 vs 비동기 입장 경로 비교 - 연결 ${CONNECTIONS}개, ${DURATION}, wrk 스레드 ${THREADS}개"
+echo "대상: ${BASE_URL}"
+echo "========================================="
+
+run_case() {
+    local name=$1
+    local path=$2
+
+    # 최대 스레드 수 초기화 후 부하
+    curl -s "$MONITORING_URL/threads?resetPeak=true" > /dev/null
+    local output
+    output=$(wrk -t"$THREADS" -c"$CONNECTIONS" -d"$DURATION" --timeout 10s --latency \
+        -s cgv_test.lua "$BASE_URL$path" 2>&1)
+    local threads
+    threads=$(curl -s "$MONITORING_URL/threads")
+
+    local rps p50 p99 admitted queued errors peak
+    rps=$(echo "$output" | awk '/Requests\/sec/ {print $2}')
+    p50=$(echo "$output" | awk '$1 == "50%" {print $2}')
+    p99=$(echo "$output" | awk '$1 == "99%" {print $2}')
+    admitted=$(echo "$output" | sed -n 's/.*즉시 입장: \([0-9]*\)건$/\1/p' | tail -1)
+    queued=$(echo "$output" | sed -n 's/.*대기열 진입: \([0-9]*\)건$/\1/p' | tail -1)
+    errors=$(echo "$output" | sed -n 's/.*서버\/앱 오류: \([0-9]*\)건$/\1/p' | tail -1)
+    peak=$(echo "$threads" | sed -n 's/.*"peak":\([0-9]*\).*/\1/p')
+
+    printf "%-6s | %10s req/s | p50 %8s | p99 %8s | 입장 %6s | 대기 %7s | 오류 %5s | 최대 스레드 %4s\n" \
+        "$name" "$rps" "$p50" "$p99" "${admitted:-0}" "${queued:-0}" "${errors:-0}" "${peak:-?}"
+}
+
+run_case "MVC" "/api/admission/enter"
+# 대기열/스크립트 캐시가 비슷한 상태에서 비교하도록 잠시 쉼
+sleep 5
+run_case "ASYNC" "/api/admission/async/enter"
+
+echo "========================================="
+echo "💡 스크립트별 지연: curl -s $MONITORING_URL/scripts"
+echo "🎯 테스트 완료 - $(date '+%Y-%m-%d %H:%M:%S')"
@@ -0,0 +1,63 @@
+#!/bin/bash
+# =================================================
+# 기존 스레드 풀 vs 가상 스레드 모드 부하 비교
+# =================================================
+# 같은 jar 를 두 인스턴스로 띄워 놓고 같은 wrk 설정(cgv_test.lua)으로 번갈아 호출한 뒤,
+# 처리량/지연과 함께 플랫폼 스레드 최대 수, 힙 사용량, pinning 횟수를 비교합니다.
+#
+#   (Java 21) java -jar app.jar --server.port=8080
+#   (Java 21) java -jar app.jar --server.port=8081 --spring.profiles.active=local,virtual-threads
+#
+# 순수 스레드 모델 차이만 보려면 두 인스턴스 모두 부하 차단 없이 띄우세요:
+#   --admission.limiter.enabled=false --admission.enter-rate.enabled=false
+#
+# 사용법: ./bench_virtual_threads.sh [PLATFORM_URL] [VIRTUAL_URL] [CONNECTIONS] [DURATION]
+#   예) ./bench_virtual_threads.sh http://localhost:8080 http://localhost:8081 4000 30s
+
+PLATFORM_URL=${1:-http://localhost:8080}
+VIRTUAL_URL=${2:-http://localhost:8081}
+CONNECTIONS=${3:-4000}
+DURATION=${4:-30s}
+THREADS=${WRK_THREADS:-8}
+
+if ! command -v wrk > /dev/null 2>&1; then
+    echo "❌ wrk 가 필요합니다 (https://github.com/wg/wrk)"
+    exit 1
+fi
+
+echo "🚀 스레드 풀 vs 가상 스레드 비교 - 연결 ${CONNECTIONS}개, ${DURATION}, wrk 스레드 ${THREADS}개"
+echo "========================================="
+
+run_case() {
+    local name=$1
+    local base_url=$2
+    local monitoring_url="$base_url/api/admin/monitoring/threads"
+
+    local mode
+    mode=$(curl -s "$monitoring_url?resetPeak=true" | sed -n 's/.*"virtualThreads":\([a-z]*\).*/\1/p')
+    local output
+    output=$(wrk -t"$THREADS" -c"$CONNECTIONS" -d"$DURATION" --timeout 10s --latency \
+        -s cgv_test.lua "$base_url/api/admission/enter" 2>&1)
+    local stats
+    stats=$(curl -s "$monitoring_url")
+
+    local rps p50 p99 errors peak heap pinned
+    rps=$(echo "$output" | awk '/Requests\/sec/ {print $2}')
+    p50=$(echo "$output" | awk '$1 == "50%" {print $2}')
+    p99=$(echo "$output" | awk '$1 == "99%" {print $2}')
+    errors=$(echo "$output" | sed -n 's/.*서버\/앱 오류: \([0-9]*\)건$/\1/p' | tail -1)
+    peak=$(echo "$stats" | sed -n 's/.*"peak":\([0-9]*\).*/\1/p')
+    heap=$(echo "$stats" | sed -n 's/.*"heapUsedMb":\([0-9]*\).*/\1/p')
+    pinned=$(echo "$stats" | sed -n 's/.*"pinnedEvents":\([0-9]*\).*/\1/p')
+
+    printf "%-9s (virtual=%-5s) | %10s req/s | p50 %8s | p99 %8s | 오류 %5s | 최대 플랫폼 스레드 %4s | 힙 %5sMB | pinning %s\n" \
+        "$name" "${mode:-?}" "$rps" "$p50" "$p99" "${errors:-0}" "${peak:-?}" "${heap:-?}" "${pinned:--}"
+}
+
+run_case "PLATFORM" "$PLATFORM_URL"
+sleep 5
+run_case "VIRTUAL" "$VIRTUAL_URL"
+
+echo "========================================="
+echo "💡 pinning 위치: curl -s $VIRTUAL_URL/api/admin/monitoring/threads"
+echo "🎯 테스트 완료 - $(date '+%Y-%m-%d %H:%M:%S')"
@@ -4,6 +4,7 @@
 // ===============================================
 package com.example.admission;
 
+import com.example.admission.service.AdmissionKeys;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -42,7 +43,7 @@ public class KinesisAdmissionProducer {
         List<PutRecordsRequestEntry> records = new ArrayList<>();
         for (String member : admittedUsers) {
             try {
-                String requestId = member.split(":")[0];
+                String requestId = AdmissionKeys.requestIdOf(member);
                 Map<String, Object> payload = Map.of(
                     "action", "ADMIT",
                     "requestId", requestId,
@@ -117,6 +117,33 @@ public class LoadBalancingOptimizer {
         }
     }
 
+    /**
+     * 🎯 여러 영화 중 이 Pod 이 담당하는 영화만 골라냅니다.
+     * ROUND_ROBIN / HASH_BASED 는 활성 Pod 목록을 한 번만 조회해 shouldProcessMovie 와 같은 규칙으로 나눕니다.
+     */
+    public List<String> filterOwnedMovies(Collection<String> movieIds) {
+        if (!enableLoadBalancing || movieIds.isEmpty()) {
+            return new ArrayList<>(movieIds);
+        }
+        String strategy = loadBalancingStrategy.toUpperCase();
+        if (!"ROUND_ROBIN".equals(strategy) && !"HASH_BASED".equals(strategy)) {
+            return movieIds.stream().filter(this::shouldProcessMovie).collect(Collectors.toList());
+        }
+        List<String> activePods = getActivePods();
+        if (activePods.isEmpty() || !activePods.contains(podId)) {
+            // shouldProcessMovie 와 동일하게 Pod 목록이 비정상이면 현재 Pod 이 처리
+            return movieIds.stream().filter(this::shouldProcessMovie).collect(Collectors.toList());
+        }
+        List<String> owned = new ArrayList<>();
+        for (String movieId : movieIds) {
+            int movieHash = Math.abs(movieId.hashCode());
+            if (podId.equals(activePods.get(movieHash % activePods.size()))) {
+                owned.add(movieId);
+            }
+        }
+        return owned;
+    }
+
     private boolean shouldProcessRoundRobin(String movieId) {
         List<String> activePods = getActivePods();
         
@@ -3,64 +3,178 @@
 // ===============================================
 package com.example.admission.service;
 
+import com.example.admission.ws.NotificationLagMonitor;
+import com.example.admission.ws.NotificationRouter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
-import java.util.List;
-import java.util.Map;
-import java.util.Arrays;
-import java.util.concurrent.CompletableFuture;
 
+import jakarta.annotation.PreDestroy;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 대기열 주기 승격 처리기.
+ *
+ * 처리 대상 영화는 저장소의 영화 목록(active_movies / waiting_movies)에서 매 주기 찾고,
+ * LoadBalancingOptimizer 규칙으로 이 Pod 이 담당하는 영화만 처리합니다.
+ * 영화별 처리는 전용 고정 크기 스레드 풀에서 실행하며, 같은 영화는 이전 처리가 끝나기 전에는
+ * 다시 제출하지 않아 느린 영화 하나가 다른 영화의 처리를 막거나 쌓이지 않게 합니다.
+ * 가상 스레드 모드(spring.threads.virtual.enabled, Java 21)에서는 풀 크기는 그대로 두고 워커만 가상 스레드로 만듭니다.
+ */
 @Component
 public class QueueProcessor {
     
     private static final Logger logger = LoggerFactory.getLogger(QueueProcessor.class);
     
     // 🔥 부하 상황 대응 설정
-    private static final int PROCESSING_BATCH_SIZE = 100;
-    private static final long PROCESSING_INTERVAL = 2000;
+    // 영화별 배치 크기/처리 주기는 AdaptivePromotionController 가 정하고, 여기서는 틱마다 처리할 차례인 영화만 제출
+    private static final long PROCESSING_TICK = 250;
     private static final int MAX_WEBSOCKET_RETRIES = 2;
     
     private final AdmissionService admissionService;
-    private final SimpMessagingTemplate messagingTemplate;
+    private final NotificationRouter notificationRouter;
+    private final LoadBalancingOptimizer loadBalancer;
+    private final AdaptivePromotionController promotionController;
+    private final NotificationLagMonitor lagMonitor;
+    private final ThreadPoolExecutor executor;
+    private final int workerThreads;
+    private final boolean virtualThreads;
+
+    // 처리 중인 영화 (영화별 직렬화)
+    private final Set<String> inFlightMovies = ConcurrentHashMap.newKeySet();
+
+    // 처리 통계
+    private final AtomicLong submittedTasks = new AtomicLong();
+    private final AtomicLong skippedInFlight = new AtomicLong();
+    private final AtomicLong rejectedTasks = new AtomicLong();
+    private final AtomicLong maxMovieProcessingMs = new AtomicLong();
+    private volatile int lastDiscoveredMovies;
+    private volatile int lastOwnedMovies;
+    private volatile long lastProcessedAt;
+
+    // 담당 영화 목록 캐시 (틱마다 영화 목록/Pod 목록을 조회하지 않도록)
+    private volatile List<String> ownedMovies = Collections.emptyList();
+    private volatile long ownedMoviesRefreshedAt;
+
+    @Value("${admission.processor.discovery-refresh-ms:1000}")
+    private long discoveryRefreshMs = 1000;
 
     public QueueProcessor(AdmissionService admissionService,
-                         SimpMessagingTemplate messagingTemplate) {
+                         NotificationRouter notificationRouter,
+                         LoadBalancingOptimizer loadBalancer,
+                         AdaptivePromotionController promotionController,
+                         NotificationLagMonitor lagMonitor,
+                         @Value("${admission.processor.threads:4}") int workerThreads,
+                         @Value("${admission.processor.queue-capacity:256}") int queueCapacity,
+                         Environment environment) {
         this.admissionService = admissionService;
-        this.messagingTemplate = messagingTemplate;
+        this.notificationRouter = notificationRouter;
+        this.loadBalancer = loadBalancer;
+        this.promotionController = promotionController;
+        this.lagMonitor = lagMonitor;
+        this.workerThreads = workerThreads;
+        this.virtualThreads = Threading.VIRTUAL.isActive(environment);
+        AtomicInteger threadIndex = new AtomicInteger();
+        ThreadFactory threadFactory = virtualThreads
+            ? new VirtualThreadTaskExecutor("queue-processor-vt-").getVirtualThreadFactory()
+            : r -> {
+                Thread thread = new Thread(r, "queue-processor-" + threadIndex.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            };
+        this.executor = new ThreadPoolExecutor(workerThreads, workerThreads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), threadFactory, new ThreadPoolExecutor.AbortPolicy());
+        logger.info("🔄 대기열 처리기 초기화 - 스레드 {}개{}, 작업 큐 {}", workerThreads,
+                virtualThreads ? " (가상 스레드)" : "", queueCapacity);
     }
 
-    @Scheduled(fixedDelay = PROCESSING_INTERVAL)
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(5, TimeUnit.SECONDS)) {
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // 퇴장/만료 시 빈자리는 AdmissionService 가 즉시 승격하므로, 이 주기 처리는
+    // 정원 증가(Pod 스케일 아웃)나 승격 누락 대비용 안전망 역할
+    @Scheduled(fixedDelay = PROCESSING_TICK)
     public void processAllQueues() {
         try {
-            logger.debug("🔄 대기열 처리 시작");
-            
-            List<String> activeMovieIds = getActiveMovieIds();
-            
-            activeMovieIds.parallelStream()
-                .forEach(movieId -> {
-                    try {
-                        processMovieQueue("movie", movieId);
-                    } catch (Exception e) {
-                        logger.warn("영화 대기열 처리 실패: {}", movieId, e);
-                    }
-                });
-                
+            long now = System.currentTimeMillis();
+            for (String movieId : refreshOwnedMovies(now)) {
+                if (promotionController.isDue(movieId, now)) {
+                    submitMovie("movie", movieId);
+                }
+            }
+            lastProcessedAt = now;
         } catch (Exception e) {
             logger.error("대기열 처리 중 전체 오류 발생", e);
         }
     }
 
-    private List<String> getActiveMovieIds() {
-        return Arrays.asList(
-            "movie-topgun2",
-            "movie-avatar2", 
-            "movie-blackpanther2",
-            "movie-spider-verse",
-            "movie-dune2"
-        );
+    private List<String> refreshOwnedMovies(long now) {
+        if (now - ownedMoviesRefreshedAt < discoveryRefreshMs) {
+            return ownedMovies;
+        }
+        Set<String> discovered = getActiveMovieIds();
+        List<String> owned = loadBalancer.filterOwnedMovies(discovered);
+        // 담당에서 빠진 영화의 조절기 상태는 정리 (다시 담당하면 초기값부터)
+        for (String movieId : ownedMovies) {
+            if (!owned.contains(movieId)) {
+                promotionController.forget(movieId);
+            }
+        }
+        ownedMovies = owned;
+        ownedMoviesRefreshedAt = now;
+        lastDiscoveredMovies = discovered.size();
+        lastOwnedMovies = owned.size();
+        logger.debug("🔄 대기열 영화 목록 갱신 - 발견 {}개, 담당 {}개", discovered.size(), owned.size());
+        return owned;
+    }
+
+    // 저장소에 등록된 영화 목록 (입장/대기 시 저장소가 등록)
+    private Set<String> getActiveMovieIds() {
+        Set<String> movieIds = admissionService.getActiveQueueMovieIds();
+        return movieIds != null ? movieIds : Collections.emptySet();
+    }
+
+    // 같은 영화의 이전 처리가 아직 끝나지 않았으면 이번 주기는 건너뜀
+    private void submitMovie(String type, String movieId) {
+        if (!inFlightMovies.add(movieId)) {
+            skippedInFlight.incrementAndGet();
+            logger.debug("영화 {} 이전 처리 진행 중 - 이번 주기 건너뜀", movieId);
+            return;
+        }
+        try {
+            executor.execute(() -> {
+                long start = System.currentTimeMillis();
+                try {
+                    processMovieQueue(type, movieId);
+                } finally {
+                    maxMovieProcessingMs.accumulateAndGet(System.currentTimeMillis() - start, Math::max);
+                    inFlightMovies.remove(movieId);
+                }
+            });
+            submittedTasks.incrementAndGet();
+        } catch (RejectedExecutionException e) {
+            inFlightMovies.remove(movieId);
+            rejectedTasks.incrementAndGet();
+            logger.warn("⚠️ 대기열 처리 작업 큐 포화 - 영화 {} 는 다음 주기에 처리", movieId);
+        }
     }
 
     private void processMovieQueue(String type, String movieId) {
@@ -70,15 +184,16 @@ public class QueueProcessor {
             
             logger.debug("영화 {} 처리: 빈자리={}, 대기자={}", movieId, vacantSlots, waitingCount);
             
-            boolean admitted = false;
+            int batchSize = promotionController.batchSize(movieId);
+            int admittedCount = 0;
             if (vacantSlots > 0 && waitingCount > 0) {
                 long admitCount = Math.min(vacantSlots, 
-                                         Math.min(waitingCount, PROCESSING_BATCH_SIZE));
+                                         Math.min(waitingCount, batchSize));
                 
                 List<String> admittedUsers = admissionService.admitNextUsers(type, movieId, admitCount);
                 
                 if (!admittedUsers.isEmpty()) {
-                    admitted = true;
+                    admittedCount = admittedUsers.size();
                     logger.info("영화 {} - {}명 입장 처리 완료", movieId, admittedUsers.size());
                     
                     // 🔥 프론트엔드와 호환되도록 토픽 수정
@@ -86,9 +201,13 @@ public class QueueProcessor {
                 }
             }
             
-            if (admitted || waitingCount > 0) {
+            if (admittedCount > 0 || waitingCount > 0) {
                 sendQueueStatsOptimized(type, movieId);
             }
+
+            // 전송 호출은 큐에 넣기만 하므로, 실제 전송까지 기다린 시간은 아웃바운드 채널 / outbox 에서 잰 값을 씀
+            promotionController.onProcessed(movieId, System.currentTimeMillis(), admittedCount, batchSize,
+                    waitingCount, lagMonitor.recentLagMs(), admissionService.getSessionStats(movieId));
             
         } catch (Exception e) {
             logger.error("대기열 처리 중 오류: {} {}", type, movieId, e);
@@ -97,52 +216,42 @@ public class QueueProcessor {
 
     /**
      * 🔥 토픽 통일: 프론트엔드 WaitPage.jsx와 호환되도록 수정
+     * 영화 처리 스레드에서 순서대로 전송 (SimpleBroker 전송은 큐 적재만 하므로 공용 ForkJoin 풀을 쓰지 않음)
      */
     private void sendWebSocketNotificationsOptimized(List<String> admittedUsers, String type, String movieId) {
-        admittedUsers.parallelStream()
-            .forEach(requestId -> {
-                CompletableFuture.runAsync(() -> {
-                    int retryCount = 0;
-                    while (retryCount < MAX_WEBSOCKET_RETRIES) {
-                        try {
-                            Map<String, Object> admitMessage = Map.of(
-                                "status", "ADMITTED",
-                                "type", type,
-                                "id", movieId,
-                                "requestId", requestId,
-                                "action", "REDIRECT_TO_SEATS",
-                                "message", "🎉 입장이 허가되었습니다! 좌석 선택 페이지로 이동합니다.",
-                                "timestamp", System.currentTimeMillis()
-                            );
-                            
-                            // 🔥 중요: WebSocketUpdateService와 동일한 토픽 사용
-                            messagingTemplate.convertAndSend(
-                                "/topic/admission/" + requestId,  // admit → admission으로 변경
-                                admitMessage
-                            );
-                            
-                            logger.debug("입장 알림 전송 성공: {} → /topic/admission/{}", requestId, requestId);
-                            break;
-                            
-                        } catch (Exception e) {
-                            retryCount++;
-                            logger.warn("WebSocket 알림 전송 실패 ({}/{}): {}", 
-                                    retryCount, MAX_WEBSOCKET_RETRIES, requestId, e);
-                            
-                            if (retryCount >= MAX_WEBSOCKET_RETRIES) {
-                                logger.error("WebSocket 알림 전송 최종 실패: {}", requestId);
-                            }
-                            
-                            try {
-                                Thread.sleep(100 * retryCount);
-                            } catch (InterruptedException ie) {
-                                Thread.currentThread().interrupt();
-                                break;
-                            }
-                        }
+        for (String member : admittedUsers) {
+            // member = requestId:sessionId, 구독 토픽은 requestId 기준
+            String requestId = AdmissionKeys.requestIdOf(member);
+            int retryCount = 0;
+            while (retryCount < MAX_WEBSOCKET_RETRIES) {
+                try {
+                    Map<String, Object> admitMessage = Map.of(
+                        "status", "ADMITTED",
+                        "type", type,
+                        "id", movieId,
+                        "requestId", requestId,
+                        "action", "REDIRECT_TO_SEATS",
+                        "message", "🎉 입장이 허가되었습니다! 좌석 선택 페이지로 이동합니다.",
+                        "timestamp", System.currentTimeMillis()
+                    );
+
+                    // 🔥 중요: WebSocketUpdateService와 동일한 토픽 사용 (구독 중인 Pod 으로 라우팅)
+                    notificationRouter.sendToRequest(requestId, "/topic/admission/" + requestId, admitMessage);
+
+                    logger.debug("입장 알림 전송 성공: {} → /topic/admission/{}", requestId, requestId);
+                    break;
+
+                } catch (Exception e) {
+                    retryCount++;
+                    logger.warn("WebSocket 알림 전송 실패 ({}/{}): {}",
+                            retryCount, MAX_WEBSOCKET_RETRIES, requestId, e);
+
+                    if (retryCount >= MAX_WEBSOCKET_RETRIES) {
+                        logger.error("WebSocket 알림 전송 최종 실패: {}", requestId);
                     }
-                });
-            });
+                }
+            }
+        }
     }
 
     /**
@@ -152,30 +261,23 @@ public class QueueProcessor {
         try {
             long waitingCount = admissionService.getTotalWaitingCount(type, movieId);
             long activeCount = admissionService.getTotalActiveCount(type, movieId);
-            
-            CompletableFuture.runAsync(() -> {
-                try {
-                    Map<String, Object> stats = Map.of(
-                        "totalWaiting", waitingCount,
-                        "activeCount", activeCount,
-                        "movieId", movieId,
-                        "type", type,
-                        "timestamp", System.currentTimeMillis()
-                    );
-                    
-                    // 🔥 중요: WebSocketUpdateService와 동일한 토픽 사용
-                    messagingTemplate.convertAndSend("/topic/stats/movie/" + movieId, stats);
-                    
-                    logger.debug("통계 전송 완료: {} (대기={}, 활성={}) → /topic/stats/movie/{}", 
-                               movieId, waitingCount, activeCount, movieId);
-                    
-                } catch (Exception e) {
-                    logger.warn("통계 전송 실패: {} {}", type, movieId, e);
-                }
-            });
-            
+
+            Map<String, Object> stats = Map.of(
+                "totalWaiting", waitingCount,
+                "activeCount", activeCount,
+                "movieId", movieId,
+                "type", type,
+                "timestamp", System.currentTimeMillis()
+            );
+
+            // 🔥 중요: WebSocketUpdateService와 동일한 토픽 사용
+            notificationRouter.publishMovieFrame(movieId, "/topic/stats/movie/" + movieId, stats);
+
+            logger.debug("통계 전송 완료: {} (대기={}, 활성={}) → /topic/stats/movie/{}",
+                       movieId, waitingCount, activeCount, movieId);
+
         } catch (Exception e) {
-            logger.error("통계 조회 실패: {} {}", type, movieId, e);
+            logger.warn("통계 전송 실패: {} {}", type, movieId, e);
         }
     }
 
@@ -197,7 +299,7 @@ public class QueueProcessor {
      */
     public Map<String, Object> getProcessorStatus() {
         try {
-            List<String> activeMovies = getActiveMovieIds();
+            Set<String> activeMovies = getActiveMovieIds();
             long totalWaiting = activeMovies.stream()
                 .mapToLong(movieId -> {
                     try {
@@ -220,19 +322,31 @@ public class QueueProcessor {
                 })
                 .sum();
 
-            return Map.of(
-                "processingInterval", PROCESSING_INTERVAL,
-                "batchSize", PROCESSING_BATCH_SIZE,
-                "activeMovies", activeMovies.size(),
-                "totalWaitingUsers", totalWaiting,
-                "totalActiveUsers", totalActive,
-                "lastProcessedAt", System.currentTimeMillis(),
-                "status", "HEALTHY",
-                "websocketTopics", Map.of(
-                    "admission", "/topic/admission/{requestId}",
-                    "stats", "/topic/stats/movie/{movieId}"
-                )
-            );
+            Map<String, Object> status = new LinkedHashMap<>();
+            status.put("processingTick", PROCESSING_TICK);
+            status.put("activeMovies", activeMovies.size());
+            status.put("ownedMovies", lastOwnedMovies);
+            status.put("discoveredMoviesLastRun", lastDiscoveredMovies);
+            status.put("totalWaitingUsers", totalWaiting);
+            status.put("totalActiveUsers", totalActive);
+            status.put("lastProcessedAt", lastProcessedAt);
+            status.put("executor", Map.of(
+                "threads", workerThreads,
+                "virtualThreads", virtualThreads,
+                "activeThreads", executor.getActiveCount(),
+                "queuedTasks", executor.getQueue().size(),
+                "inFlightMovies", inFlightMovies.size(),
+                "submittedTasks", submittedTasks.get(),
+                "skippedInFlight", skippedInFlight.get(),
+                "rejectedTasks", rejectedTasks.get(),
+                "maxMovieProcessingMs", maxMovieProcessingMs.get()
+            ));
+            status.put("status", "HEALTHY");
+            status.put("websocketTopics", Map.of(
+                "admission", "/topic/admission/{requestId}",
+                "stats", "/topic/stats/movie/{movieId}"
+            ));
+            return status;
             
         } catch (Exception e) {
             logger.error("프로세서 상태 조회 실패", e);
@@ -243,4 +357,4 @@ public class QueueProcessor {
             );
         }
     }
-}
\ No newline at end of file
+}
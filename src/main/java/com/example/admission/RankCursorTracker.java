@@ -0,0 +1,223 @@
+// src/main/java/com/example/admission/RankCursorTracker.java
+package com.example.admission;
+
+import com.example.admission.service.AdmissionKeys;
+import com.example.admission.service.AdmissionService;
+import com.example.admission.store.AdmissionStore;
+import com.example.admission.ws.WebSocketUpdateService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 커서 방식 순위 브로드캐스트 (admission.rank-broadcast.mode=cursor, 번호표 모드 영화 전용).
+ *
+ * 대기자마다 순위를 보내는 대신 영화별로 한 틱에 한 건 {cursor, totalWaiting, 새 이탈 번호, 커서가 지나간 이탈 수} 만 보내고,
+ * 개인 메시지는 기준값(ticket, 앞선 이탈자 수)이 필요한 대기자에게만 보냅니다.
+ * - 새 대기자: 번호표를 받은 뒤 baseline-repeat-ticks 틱 동안 (구독 전에 보낸 메시지 유실 대비)
+ * - 기존 대기자: refresh-ticks 틱에 한 번씩 번호 순으로 나눠서 (재연결/유실 보정)
+ * 한 틱에 Redis 에서 확인하는 번호 수는 max-scan-per-tick 으로 제한되며, 남은 구간은 다음 틱에 이어서 확인합니다.
+ *
+ * 앞선 이탈자 수는 이탈 번호 집합의 틱 간 차이로만 갱신되므로 Pod 마다 이전 집합을 기억합니다.
+ * 이탈자가 max-departed 를 넘거나 상태가 뒤로 가면(대기열 초기화 등) 추적을 접고 epoch 를 바꿔 개인별 전송으로 되돌립니다.
+ */
+@Component
+public class RankCursorTracker {
+
+    private static final Logger logger = LoggerFactory.getLogger(RankCursorTracker.class);
+    private static final long[] NO_TICKETS = new long[0];
+
+    private final AdmissionService admissionService;
+    private final WebSocketUpdateService webSocketUpdateService;
+
+    @Value("${admission.rank-broadcast.baseline-repeat-ticks:3}")
+    private int baselineRepeatTicks = 3;
+
+    @Value("${admission.rank-broadcast.refresh-ticks:30}")
+    private int refreshTicks = 30;
+
+    @Value("${admission.rank-broadcast.max-departed:20000}")
+    private int maxDeparted = 20000;
+
+    @Value("${admission.rank-broadcast.max-baselines-per-tick:20000}")
+    private int maxBaselinesPerTick = 20000;
+
+    // 대량 이탈로 번호 범위가 비어 있어도 Lua 스크립트 한 번이 범위 전체를 훑지 않도록 하는 상한
+    @Value("${admission.rank-broadcast.max-scan-per-tick:20000}")
+    private int maxScanPerTick = 20000;
+
+    // 프레임 기준이 끊길 때마다 바뀌는 값 (Pod 마다, 영화마다 다름)
+    private final AtomicLong epochs = new AtomicLong(System.currentTimeMillis());
+    private final Map<String, MovieCursor> cursors = new ConcurrentHashMap<>();
+
+    private final LongAdder frames = new LongAdder();
+    private final LongAdder baselines = new LongAdder();
+    private final LongAdder departedAdded = new LongAdder();
+    private final LongAdder fallbacks = new LongAdder();
+
+    public RankCursorTracker(AdmissionService admissionService, WebSocketUpdateService webSocketUpdateService) {
+        this.admissionService = admissionService;
+        this.webSocketUpdateService = webSocketUpdateService;
+    }
+
+    /**
+     * 영화 하나의 이번 틱 프레임과 기준값을 보냅니다.
+     * @return 커서 방식으로 처리했으면 true, 번호표 모드가 아니거나 추적할 수 없으면 false (개인별 전송으로 처리해야 함)
+     */
+    public boolean broadcast(String movieId) {
+        MovieCursor state = cursors.get(movieId);
+        boolean fresh = state == null;
+        if (fresh) {
+            state = new MovieCursor(Math.max(1, baselineRepeatTicks));
+        }
+
+        // 처음이면 모든 대기자가 새 대기자 (newFrom = 0)
+        long newFrom = fresh ? 0 : state.oldestScannedTo();
+        long refreshStep = Math.max(1, refreshTicks);
+        AdmissionStore.TicketCursorState current = admissionService.getTicketCursorState(movieId, newFrom,
+                fresh ? 0 : refreshStep, state.refreshedTo, maxBaselinesPerTick, maxDeparted, maxScanPerTick);
+        if (current == null) {
+            cursors.remove(movieId);
+            return false;
+        }
+        if (current.departed() == null) {
+            if (cursors.remove(movieId) != null) {
+                logger.warn("⚠️ [커서 순위] movieId={} 이탈자 {}명 > {} - 개인별 전송으로 전환",
+                        movieId, current.departedCount(), maxDeparted);
+            }
+            fallbacks.increment();
+            return false;
+        }
+        if (!fresh && (current.seq() < state.seq || current.cursor() < state.cursor)) {
+            logger.info("🔄 [커서 순위] movieId={} 대기열이 초기화되어 기준을 다시 잡습니다", movieId);
+            cursors.remove(movieId);
+            return broadcast(movieId);
+        }
+
+        long[] added = fresh ? NO_TICKETS : difference(current.departed(), state.departed);
+        long passed = fresh ? 0 : state.departed.length - (current.departed().length - added.length);
+        long totalWaiting = current.seq() - current.cursor() - current.departedCount();
+
+        state.advance(current);
+        cursors.put(movieId, state);
+        webSocketUpdateService.broadcastRankCursor(movieId, state.epoch, state.frameSeq, current.cursor(),
+                totalWaiting, added, passed);
+        frames.increment();
+        departedAdded.add(added.length);
+
+        for (Map.Entry<Long, String> entry : current.members().entrySet()) {
+            long ticket = entry.getKey();
+            String requestId = AdmissionKeys.requestIdOf(entry.getValue());
+            long departedAhead = countBelow(current.departed(), ticket);
+            long rank = ticket - current.cursor() - departedAhead;
+            webSocketUpdateService.notifyRankBaseline(requestId, rank, totalWaiting,
+                    admissionService.estimateWait(movieId, rank), ticket, departedAhead, state.epoch, state.frameSeq);
+        }
+        baselines.add(current.members().size());
+
+        if (!current.members().isEmpty()) {
+            logger.debug("🎯 [커서 순위] movieId={}, 대기 {}명, 기준값 {}건, 이탈 +{}/-{}",
+                    movieId, totalWaiting, current.members().size(), added.length, passed);
+        }
+        return true;
+    }
+
+    /**
+     * 대기자가 없어진 영화의 추적 상태 정리
+     */
+    public void forget(String movieId) {
+        cursors.remove(movieId);
+    }
+
+    /**
+     * 이 Pod 이 더 이상 보내지 않는 영화의 추적 상태 정리
+     */
+    public void retain(Collection<String> movieIds) {
+        cursors.keySet().retainAll(movieIds);
+    }
+
+    public boolean isTracking(String movieId) {
+        return cursors.containsKey(movieId);
+    }
+
+    // 정렬된 current 에는 있고 정렬된 previous 에는 없는 번호 (= 이번 틱에 새로 이탈한 번호)
+    static long[] difference(long[] current, long[] previous) {
+        long[] result = new long[current.length];
+        int size = 0;
+        int j = 0;
+        for (long ticket : current) {
+            while (j < previous.length && previous[j] < ticket) {
+                j++;
+            }
+            if (j >= previous.length || previous[j] != ticket) {
+                result[size++] = ticket;
+            }
+        }
+        return size == result.length ? result : Arrays.copyOf(result, size);
+    }
+
+    // 정렬된 배열에서 ticket 보다 작은 값의 수
+    static long countBelow(long[] sorted, long ticket) {
+        int index = Arrays.binarySearch(sorted, ticket);
+        return index >= 0 ? index : -index - 1;
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("trackedMovies", cursors.size());
+        stats.put("frames", frames.sum());
+        stats.put("baselines", baselines.sum());
+        stats.put("departedAdded", departedAdded.sum());
+        stats.put("fallbacks", fallbacks.sum());
+        stats.put("baselineRepeatTicks", baselineRepeatTicks);
+        stats.put("refreshTicks", refreshTicks);
+        stats.put("maxScanPerTick", maxScanPerTick);
+        return stats;
+    }
+
+    /**
+     * 영화 하나의 직전 프레임 상태. 스케줄러 스레드 하나에서만 갱신
+     */
+    private final class MovieCursor {
+        private final long epoch = epochs.incrementAndGet();
+        // 최근 틱들의 scannedTo (가장 오래된 값 이후 번호가 "새 대기자")
+        private final long[] scannedTo;
+        private long frameSeq;
+        private long tick;
+        private long seq;
+        private long cursor;
+        private long refreshedTo;
+        private long[] departed = NO_TICKETS;
+
+        private MovieCursor(int repeatTicks) {
+            this.scannedTo = new long[repeatTicks];
+        }
+
+        private long oldestScannedTo() {
+            return scannedTo[(int) (tick % scannedTo.length)];
+        }
+
+        private void advance(AdmissionStore.TicketCursorState current) {
+            if (frameSeq == 0) {
+                // 첫 틱에 기존 대기자 전체에게 보냈으므로 반복 전송은 그 이후 번호부터
+                Arrays.fill(scannedTo, current.scannedTo());
+            }
+            scannedTo[(int) (tick % scannedTo.length)] = current.scannedTo();
+            tick++;
+            frameSeq++;
+            seq = current.seq();
+            cursor = current.cursor();
+            refreshedTo = current.refreshedTo();
+            departed = current.departed();
+        }
+    }
+}
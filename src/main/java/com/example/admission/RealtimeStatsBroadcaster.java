@@ -1,15 +1,21 @@
 
 package com.example.admission;
 
+import com.example.admission.service.AdmissionKeys;
 import com.example.admission.service.AdmissionService;
+import com.example.admission.service.LoadBalancingOptimizer;
+import com.example.admission.service.RankDiffTable;
+import com.example.admission.ws.NotificationRouter;
 import com.example.admission.ws.WebSocketUpdateService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Map;
-import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 
 @Component
@@ -18,21 +24,54 @@ public class RealtimeStatsBroadcaster {
     
     private final AdmissionService admissionService;
     private final WebSocketUpdateService webSocketUpdateService;
+    private final RankCursorTracker rankCursorTracker;
+    private final NotificationRouter notificationRouter;
+    private final LoadBalancingOptimizer loadBalancer;
     
-    // ✅ 이전 순위를 캐시하여 변경된 사용자만 업데이트
-    private final Map<String, Map<String, Long>> previousRanks = new ConcurrentHashMap<>();
+    // 순위 알림 방식: per-user(대기자마다 전송) / cursor(번호표 모드 영화는 영화별 커서 프레임 1건)
+    @Value("${admission.rank-broadcast.mode:per-user}")
+    private String rankBroadcastMode = "per-user";
+    
+    // ✅ 이전 순위를 캐시하여 변경된 사용자만 업데이트 (영화별 이중 버퍼 순위 표, 틱마다 재사용)
+    private final Map<String, RankDiffTable> previousRanks = new ConcurrentHashMap<>();
     
     public RealtimeStatsBroadcaster(AdmissionService admissionService, 
-                                  WebSocketUpdateService webSocketUpdateService) {
+                                  WebSocketUpdateService webSocketUpdateService,
+                                  RankCursorTracker rankCursorTracker,
+                                  NotificationRouter notificationRouter,
+                                  LoadBalancingOptimizer loadBalancer) {
         this.admissionService = admissionService;
         this.webSocketUpdateService = webSocketUpdateService;
+        this.rankCursorTracker = rankCursorTracker;
+        this.notificationRouter = notificationRouter;
+        this.loadBalancer = loadBalancer;
+    }
+    
+    /**
+     * 이 Pod 이 브로드캐스트할 영화 목록.
+     * 라우팅을 켜면 알림이 구독 중인 Pod 으로 전달되므로 담당 Pod 만 보냄 (모든 Pod 이 보내면 사용자가 중복 수신)
+     */
+    private Collection<String> broadcastMovieIds() {
+        Collection<String> movieIds = admissionService.getActiveQueueMovieIds();
+        if (!notificationRouter.isEnabled() || movieIds.isEmpty()) {
+            return movieIds;
+        }
+        List<String> owned = loadBalancer.filterOwnedMovies(movieIds);
+        // 담당에서 빠진 영화의 순위 캐시/커서 정리 (다시 맡으면 전체 순위, 새 epoch 기준값부터 보냄)
+        previousRanks.keySet().retainAll(owned);
+        rankCursorTracker.retain(owned);
+        return owned;
+    }
+    
+    private boolean isCursorMode() {
+        return "cursor".equalsIgnoreCase(rankBroadcastMode);
     }
     
     // ✅ 1초마다 통계 브로드캐스트 (빈도 증가)
     @Scheduled(fixedRate = 1000) 
     public void broadcastRealtimeStats() {
         try {
-            Set<String> movieIds = admissionService.getActiveQueueMovieIds();
+            Collection<String> movieIds = broadcastMovieIds();
             
             if (movieIds.isEmpty()) {
                 return;
@@ -63,7 +102,7 @@ public class RealtimeStatsBroadcaster {
     @Scheduled(fixedRate = 2000)
     public void updateIndividualRanks() {
         try {
-            Set<String> movieIds = admissionService.getActiveQueueMovieIds();
+            Collection<String> movieIds = broadcastMovieIds();
             
             for (String movieId : movieIds) {
                 try {
@@ -71,35 +110,38 @@ public class RealtimeStatsBroadcaster {
                     if (totalWaiting == 0) {
                         // 대기자가 없으면 이전 캐시도 정리
                         previousRanks.remove(movieId);
+                        rankCursorTracker.forget(movieId);
                         continue;
                     }
                     
-                    Map<String, Long> currentRanks = admissionService.getAllUserRanks("movie", movieId);
-                    Map<String, Long> prevRanks = previousRanks.get(movieId);
+                    // 🎯 커서 방식: 영화별 프레임 1건 + 기준값이 필요한 대기자만 개인 전송
+                    if (isCursorMode() && rankCursorTracker.broadcast(movieId)) {
+                        previousRanks.remove(movieId);
+                        continue;
+                    }
                     
-                    int updateCount = 0;
-                    for (Map.Entry<String, Long> entry : currentRanks.entrySet()) {
-                        try {
-                            String requestId = entry.getKey();
-                            Long currentRank = entry.getValue();
-                            Long prevRank = prevRanks != null ? prevRanks.get(requestId) : null;
-                            
-                            // ✅ 순위가 변경된 경우만 업데이트
-                            if (prevRank == null || !prevRank.equals(currentRank)) {
-                                webSocketUpdateService.notifyRankUpdate(requestId, "WAITING", currentRank, totalWaiting);
-                                updateCount++;
+                    // 대기열을 페이지 단위로 읽으며 바로 비교 (requestId 는 순위가 바뀐 대기자만 잘라냄)
+                    RankDiffTable ranks = previousRanks.computeIfAbsent(movieId, id -> new RankDiffTable((int) totalWaiting));
+                    ranks.beginTick();
+                    int[] updated = new int[1];
+                    admissionService.forEachWaitingMember(movieId, (member, currentRank) -> {
+                        // ✅ 순위가 변경된 경우만 업데이트
+                        if (ranks.update(member, currentRank)) {
+                            String requestId = AdmissionKeys.requestIdOf(member);
+                            try {
+                                webSocketUpdateService.notifyRankUpdate(requestId, "WAITING", currentRank, totalWaiting,
+                                        admissionService.estimateWait(movieId, currentRank));
+                                updated[0]++;
+                            } catch (Exception e) {
+                                logger.error("❌ 개별 순위 업데이트 실패: requestId={}", requestId, e);
                             }
-                        } catch (Exception e) {
-                            logger.error("❌ 개별 순위 업데이트 실패: requestId={}", entry.getKey(), e);
                         }
-                    }
-                    
-                    // 현재 순위를 캐시에 저장
-                    previousRanks.put(movieId, new ConcurrentHashMap<>(currentRanks));
+                    });
+                    int updateCount = updated[0];
                     
                     if (updateCount > 0) {
                         logger.debug("🔄 [개별 순위] movieId={}, {}명 중 {}명 순위 업데이트", 
-                                   movieId, currentRanks.size(), updateCount);
+                                   movieId, ranks.size(), updateCount);
                     }
                     
                 } catch (Exception e) {
@@ -115,26 +157,27 @@ public class RealtimeStatsBroadcaster {
     @Scheduled(fixedRate = 5000)
     public void forceRankSync() {
         try {
-            Set<String> movieIds = admissionService.getActiveQueueMovieIds();
+            Collection<String> movieIds = broadcastMovieIds();
             
             for (String movieId : movieIds) {
                 try {
                     long totalWaiting = admissionService.getTotalWaitingCount("movie", movieId);
                     if (totalWaiting == 0) continue;
+                    // 커서 방식으로 추적 중인 영화는 refresh-ticks 주기로 나눠서 기준값을 다시 보냄
+                    if (isCursorMode() && rankCursorTracker.isTracking(movieId)) continue;
                     
-                    Map<String, Long> allRanks = admissionService.getAllUserRanks("movie", movieId);
-                    
-                    for (Map.Entry<String, Long> entry : allRanks.entrySet()) {
+                    int[] synced = new int[1];
+                    admissionService.forEachUserRank(movieId, (requestId, rank) -> {
                         try {
-                            String requestId = entry.getKey();
-                            Long rank = entry.getValue();
-                            webSocketUpdateService.notifyRankUpdate(requestId, "WAITING", rank, totalWaiting);
+                            webSocketUpdateService.notifyRankUpdate(requestId, "WAITING", rank, totalWaiting,
+                                    admissionService.estimateWait(movieId, rank));
+                            synced[0]++;
                         } catch (Exception e) {
-                            logger.error("❌ 강제 순위 동기화 실패: requestId={}", entry.getKey(), e);
+                            logger.error("❌ 강제 순위 동기화 실패: requestId={}", requestId, e);
                         }
-                    }
+                    });
                     
-                    logger.debug("🔄 [강제 동기화] movieId={}, {}명 순위 강제 업데이트", movieId, allRanks.size());
+                    logger.debug("🔄 [강제 동기화] movieId={}, {}명 순위 강제 업데이트", movieId, synced[0]);
                     
                 } catch (Exception e) {
                     logger.error("❌ 영화 {} 강제 순위 동기화 실패", movieId, e);
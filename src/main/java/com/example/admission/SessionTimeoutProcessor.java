@@ -1,17 +1,35 @@
 // src/main/java/com/example/admission/SessionTimeoutProcessor.java
 package com.example.admission;
 
+import com.example.admission.service.ActiveSessionsAddedEvent;
 import com.example.admission.service.AdmissionMetricsService;
+import com.example.admission.service.AdmissionPromotedEvent;
 import com.example.admission.service.AdmissionService;
+import com.example.admission.service.HashedTimingWheel;
 import com.example.admission.service.LoadBalancingOptimizer;
+import com.example.admission.store.AdmissionStore;
 import com.example.admission.ws.WebSocketUpdateService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
-import java.util.Set;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 
+/**
+ * 만료 세션 정리기.
+ *
+ * 이 Pod 이 담당하는 영화마다 "가장 먼저 입장한 활성 세션의 만료 시각"을 타이밍 휠에 올려 두고,
+ * 그 시각이 되면 실제로 만료된 세션이 있을 때만 저장소의 원자적 정리(sweepExpired)를 호출합니다.
+ * - 휠 등록: 담당 영화 재동기화(resync-ms, 활성 세션 중 가장 오래된 입장 시각 1건 조회)와
+ *   이 Pod 의 입장/승격 이벤트
+ * - 정리는 한 번에 chunk-size 명까지만 하고, 더 남아 있으면 같은 threshold 로 짧은 주기로 이어서 정리
+ * 재동기화 주기가 세션 타임아웃보다 짧으면 만료는 tick-ms 수준의 지연으로 처리됩니다.
+ */
 @Component
 public class SessionTimeoutProcessor {
 
@@ -21,53 +39,164 @@ public class SessionTimeoutProcessor {
     private final WebSocketUpdateService webSocketUpdateService;
     private final AdmissionMetricsService metricsService;
     private final LoadBalancingOptimizer loadBalancer;
+    private final HashedTimingWheel<String> expiryWheel;
+
+    // 이어서 정리할 영화 → 정리를 시작할 때의 threshold (정리 커서)
+    private final Map<String, Long> pendingSweeps = new ConcurrentHashMap<>();
+    private volatile Set<String> ownedMovies = Collections.emptySet();
+
+    // 만료 처리 통계
+    private final AtomicLong deadlineChecks = new AtomicLong();
+    private final AtomicLong earlyChecks = new AtomicLong();
+    private final AtomicLong sweeps = new AtomicLong();
+    private final AtomicLong expiredSessions = new AtomicLong();
+    private final AtomicLong maxLatenessMs = new AtomicLong();
+
+    @Value("${admission.sweep.chunk-size:500}")
+    private int chunkSize = 500;
 
     public SessionTimeoutProcessor(AdmissionService admissionService,
                                    WebSocketUpdateService webSocketUpdateService,
                                    AdmissionMetricsService metricsService,
-                                   LoadBalancingOptimizer loadBalancer) {
+                                   LoadBalancingOptimizer loadBalancer,
+                                   @Value("${admission.expiry.tick-ms:100}") long tickMs,
+                                   @Value("${admission.expiry.wheel-size:512}") int wheelSize) {
         this.admissionService = admissionService;
         this.webSocketUpdateService = webSocketUpdateService;
         this.metricsService = metricsService;
         this.loadBalancer = loadBalancer;
+        this.expiryWheel = new HashedTimingWheel<>(tickMs, wheelSize);
     }
 
-    @Scheduled(fixedDelayString = "${sessionCleanupInterval:10000}")
-    public void processExpiredSessions() {
+    /**
+     * 담당 영화 재동기화: 담당에서 빠진 영화는 휠에서 제거하고, 휠에 없는 담당 영화는 저장소에서 만료 시각을 읽어 등록
+     */
+    @Scheduled(fixedDelayString = "${admission.expiry.resync-ms:5000}")
+    public void resyncOwnedMovies() {
         try {
             Set<String> movieIds = admissionService.getActiveQueueMovieIds();
-            if (movieIds == null || movieIds.isEmpty()) {
-                return;
+            Set<String> owned = movieIds == null || movieIds.isEmpty()
+                    ? Collections.emptySet()
+                    : new HashSet<>(loadBalancer.filterOwnedMovies(movieIds));
+
+            for (String movieId : ownedMovies) {
+                if (!owned.contains(movieId)) {
+                    expiryWheel.cancel(movieId);
+                }
             }
+            ownedMovies = owned;
 
-            for (String movieId : movieIds) {
-                if (loadBalancer.shouldProcessMovie(movieId)) {
-                    processMovieExpiredSessions("movie", movieId);
+            for (String movieId : owned) {
+                if (!expiryWheel.isScheduled(movieId) && !pendingSweeps.containsKey(movieId)) {
+                    scheduleFromStore(movieId);
                 }
             }
         } catch (Exception e) {
-            logger.error("만료 세션 정리 중 오류 발생", e);
+            logger.error("만료 세션 담당 영화 재동기화 중 오류 발생", e);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${admission.expiry.tick-ms:100}")
+    public void advanceExpiryWheel() {
+        expiryWheel.advance(System.currentTimeMillis(), this::onDeadline);
+    }
+
+    /**
+     * 남은 만료 세션을 chunk 단위로 이어서 정리
+     */
+    @Scheduled(fixedDelayString = "${admission.sweep.continue-interval-ms:200}")
+    public void continuePendingSweeps() {
+        pendingSweeps.forEach((movieId, threshold) -> sweepChunk("movie", movieId, threshold));
+    }
+
+    // 이 Pod 에서 입장/승격이 일어나면 해당 영화의 만료 확인 시각 등록 (이미 더 이른 시각이 있으면 무시)
+    @EventListener
+    public void onActiveSessionsAdded(ActiveSessionsAddedEvent event) {
+        if (ownedMovies.contains(event.movieId())) {
+            expiryWheel.scheduleIfEarlier(event.movieId(), event.admittedAt() + admissionService.getSessionTimeoutMs());
+        }
+    }
+
+    @EventListener
+    public void onAdmissionPromoted(AdmissionPromotedEvent event) {
+        if (ownedMovies.contains(event.movieId())) {
+            expiryWheel.scheduleIfEarlier(event.movieId(), System.currentTimeMillis() + admissionService.getSessionTimeoutMs());
         }
     }
-    
-    private void processMovieExpiredSessions(String type, String movieId) {
-        try {
-            Set<String> expiredMembers = admissionService.findExpiredActiveSessions(type, movieId);
 
-            if (expiredMembers.isEmpty()) {
+    // 만료 확인 시각 도래: 가장 오래된 세션이 그 사이 퇴장했으면 다음 만료 시각으로 다시 등록만 함
+    private void onDeadline(String movieId) {
+        if (!ownedMovies.contains(movieId) || pendingSweeps.containsKey(movieId)) {
+            return;
+        }
+        try {
+            deadlineChecks.incrementAndGet();
+            long now = System.currentTimeMillis();
+            Long oldest = admissionService.getOldestActiveAt(movieId);
+            if (oldest == null) {
+                return;
+            }
+            long deadline = oldest + admissionService.getSessionTimeoutMs();
+            if (deadline > now) {
+                earlyChecks.incrementAndGet();
+                expiryWheel.scheduleIfEarlier(movieId, deadline);
                 return;
             }
+            maxLatenessMs.accumulateAndGet(now - deadline, Math::max);
+            sweepChunk("movie", movieId, now - admissionService.getSessionTimeoutMs());
+        } catch (Exception e) {
+            logger.error("[{}] 만료 확인 중 오류", movieId, e);
+        }
+    }
 
-            logger.warn("[{}] 타임아웃된 활성 세션 {}개를 정리합니다.", movieId, expiredMembers.size());
-            admissionService.removeActiveSessions(type, movieId, expiredMembers);
+    private void scheduleFromStore(String movieId) {
+        Long oldest = admissionService.getOldestActiveAt(movieId);
+        if (oldest != null) {
+            expiryWheel.scheduleIfEarlier(movieId, oldest + admissionService.getSessionTimeoutMs());
+        }
+    }
+
+    private void sweepChunk(String type, String movieId, long threshold) {
+        try {
+            AdmissionStore.SweepResult result = admissionService.sweepExpiredSessions(type, movieId, threshold, chunkSize);
+            sweeps.incrementAndGet();
+            if (result.more()) {
+                pendingSweeps.put(movieId, threshold);
+            } else {
+                pendingSweeps.remove(movieId);
+                // 정리가 끝나면 남은 세션 중 가장 오래된 것의 만료 시각으로 다시 등록
+                scheduleFromStore(movieId);
+            }
 
-            for (String member : expiredMembers) {
-                String requestId = member.split(":")[0];
-                webSocketUpdateService.notifyTimeout(requestId);
-                metricsService.recordTimeout(movieId, 1);
+            if (result.expired().isEmpty()) {
+                return;
             }
+            expiredSessions.addAndGet(result.expired().size());
+            logger.warn("[{}] 타임아웃된 활성 세션 {}개를 정리했습니다. (즉시 승격 {}명{})", movieId,
+                    result.expired().size(), result.promoted().size(), result.more() ? ", 이어서 정리" : "");
+            webSocketUpdateService.notifyTimeouts(movieId, result.expired());
+            metricsService.recordTimeout(movieId, result.expired().size());
         } catch (Exception e) {
+            // 실패하면 다음 재동기화에서 다시 등록
+            pendingSweeps.remove(movieId);
             logger.error("[{}] 만료 세션 처리 중 오류", movieId, e);
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * ⏰ 만료 처리 상태 (타이밍 휠 / 이어서 정리 중인 영화 / 발화 지연)
+     */
+    public Map<String, Object> getExpiryStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("sessionTimeoutMs", admissionService.getSessionTimeoutMs());
+        stats.put("ownedMovies", ownedMovies.size());
+        stats.put("scheduledMovies", expiryWheel.size());
+        stats.put("pendingSweeps", pendingSweeps.size());
+        stats.put("deadlineChecks", deadlineChecks.get());
+        stats.put("earlyChecks", earlyChecks.get());
+        stats.put("sweeps", sweeps.get());
+        stats.put("expiredSessions", expiredSessions.get());
+        stats.put("maxLatenessMs", maxLatenessMs.get());
+        return stats;
+    }
+}
@@ -1,7 +1,10 @@
 package com.example.admission.controller;
 
+import com.example.admission.service.AdaptivePromotionController;
+import com.example.admission.service.AdmissionQueueModes;
 import com.example.admission.service.AdmissionService;
 import com.example.admission.service.DynamicSessionCalculator;
+import com.example.admission.service.QueueProcessor;
 import com.example.pod.service.PodDiscoveryService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -19,13 +22,34 @@ public class AdmissionAdminController {
     private final AdmissionService admissionService;
     private final PodDiscoveryService podDiscoveryService;
     private final DynamicSessionCalculator sessionCalculator;
+    private final AdmissionQueueModes queueModes;
+    private final QueueProcessor queueProcessor;
+    private final AdaptivePromotionController promotionController;
 
     public AdmissionAdminController(AdmissionService admissionService,
                                   PodDiscoveryService podDiscoveryService,
-                                  DynamicSessionCalculator sessionCalculator) {
+                                  DynamicSessionCalculator sessionCalculator,
+                                  AdmissionQueueModes queueModes,
+                                  QueueProcessor queueProcessor,
+                                  AdaptivePromotionController promotionController) {
         this.admissionService = admissionService;
         this.podDiscoveryService = podDiscoveryService;
         this.sessionCalculator = sessionCalculator;
+        this.queueModes = queueModes;
+        this.queueProcessor = queueProcessor;
+        this.promotionController = promotionController;
+    }
+
+    @Operation(summary = "대기열 처리기 상태 조회", description = "발견된 영화 수, 이 Pod 담당 영화 수, 처리 스레드 풀 상태를 확인합니다")
+    @GetMapping("/processor")
+    public ResponseEntity<Map<String, Object>> getProcessorStatus() {
+        return ResponseEntity.ok(queueProcessor.getProcessorStatus());
+    }
+
+    @Operation(summary = "승격 배치 조절기 상태 조회", description = "영화별 승격 배치 크기/처리 주기와 조절에 쓰인 측정값(평균 세션 시간, 타임아웃 비율, 알림 지연)을 확인합니다")
+    @GetMapping("/processor/controller")
+    public ResponseEntity<Map<String, Object>> getPromotionControllerState() {
+        return ResponseEntity.ok(promotionController.getState());
     }
 
     @Operation(summary = "현재 세션 설정 조회", description = "동적 스케일링 설정과 현재 Pod 수를 확인합니다")
@@ -34,6 +58,23 @@ public class AdmissionAdminController {
         return ResponseEntity.ok(sessionCalculator.getCalculationInfo());
     }
 
+    @Operation(summary = "Pod informer 상태 조회", description = "Pod 목록 캐시(list/watch)의 동기화 상태와 경과 시간을 확인합니다")
+    @GetMapping("/pods")
+    public ResponseEntity<Map<String, Object>> getPodInformerStatus() {
+        return ResponseEntity.ok(podDiscoveryService.getInformerStats());
+    }
+
+    @Operation(summary = "대기열 모드 설정 조회", description = "영화별 대기열 모드(ZSET / 번호표) 설정을 확인합니다")
+    @GetMapping("/queue-modes")
+    public ResponseEntity<Map<String, Object>> getQueueModes(@RequestParam(required = false) String movieId) {
+        Map<String, Object> response = new HashMap<>(queueModes.getModeConfig());
+        if (movieId != null) {
+            response.put("movieId", movieId);
+            response.put("mode", queueModes.modeOf(movieId));
+        }
+        return ResponseEntity.ok(response);
+    }
+
     @Operation(summary = "특정 영화의 세션 상태 조회", description = "특정 영화의 현재 활성 세션 수와 최대 수용 가능 수를 확인합니다")
     @GetMapping("/status/{movieId}")
     public ResponseEntity<Map<String, Object>> getMovieSessionStatus(@PathVariable String movieId) {
@@ -66,6 +107,7 @@ public class AdmissionAdminController {
         response.put("maxTotalSessionsLimit", config.maxTotalSessionsLimit());
         response.put("dynamicScalingEnabled", config.dynamicScalingEnabled());
         response.put("kubernetesAvailable", config.kubernetesAvailable());
+        response.put("podCountStalenessMs", config.podCountStalenessMs());
         response.put("status", config.kubernetesAvailable() ? "CONNECTED" : "FALLBACK_MODE");
         
         return ResponseEntity.ok(response);
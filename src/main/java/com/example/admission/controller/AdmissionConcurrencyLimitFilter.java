@@ -0,0 +1,71 @@
+// src/main/java/com/example/admission/controller/AdmissionConcurrencyLimitFilter.java
+package com.example.admission.controller;
+
+import com.example.admission.service.AdaptiveConcurrencyLimiter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * 입장/상태 API 앞단의 부하 차단 필터.
+ *
+ * AdaptiveConcurrencyLimiter 의 동시 처리 한도를 넘는 요청은 Redis 연결 풀에서 최대 5초씩 기다리게 두지 않고
+ * 바로 429 + Retry-After 로 돌려보냅니다. 퇴장/heartbeat 는 자리를 비우거나 Pod 메모리에만 쌓이므로 대상에서 제외합니다.
+ */
+@Component
+public class AdmissionConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    private static final AntPathMatcher PATH_MATCHER = new AntPathMatcher();
+
+    private final AdaptiveConcurrencyLimiter limiter;
+    private final List<String> limitedPaths;
+
+    public AdmissionConcurrencyLimitFilter(AdaptiveConcurrencyLimiter limiter,
+                                           @Value("${admission.limiter.paths:/api/admission/enter/**,/api/admission/status,/api/status/check}")
+                                           List<String> limitedPaths) {
+        this.limiter = limiter;
+        this.limitedPaths = limitedPaths;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return limitedPaths.stream().noneMatch(pattern -> PATH_MATCHER.match(pattern, path));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        if (!limiter.tryAcquire()) {
+            long retryAfter = limiter.retryAfterSeconds();
+            response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfter));
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+            response.getWriter().write("{\"status\":\"REJECTED\",\"message\":\"요청이 많아 잠시 후 다시 시도해 주세요\",\"retryAfterSeconds\":"
+                    + retryAfter + "}");
+            return;
+        }
+
+        long start = System.nanoTime();
+        boolean failure = true;
+        try {
+            chain.doFilter(request, response);
+            failure = response.getStatus() >= 500;
+        } finally {
+            limiter.onComplete(start, failure);
+        }
+    }
+}
@@ -3,16 +3,28 @@ package com.example.admission.controller;
 
 import com.example.admission.dto.EnterRequest;
 import com.example.admission.dto.EnterResponse;
+import com.example.admission.dto.HeartbeatRequest;
 import com.example.admission.dto.LeaveRequest;
+import com.example.admission.dto.WaitEstimate;
 import com.example.admission.service.AdmissionService;
 import com.example.admission.service.DynamicSessionCalculator;
+import com.example.admission.service.EnterRateLimiter;
+import com.example.admission.service.QueueSnapshotCache;
+import com.example.admission.service.SessionHeartbeatBuffer;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.beans.factory.annotation.Value;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Enumeration;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 
 @RestController
@@ -21,28 +33,55 @@ import java.util.Map;
 public class AdmissionController {
     
     private static final Logger logger = LoggerFactory.getLogger(AdmissionController.class);
+    static final String REDIS_ROUND_TRIPS_HEADER = "X-Redis-Round-Trips";
     private final AdmissionService admissionService;
     private final DynamicSessionCalculator sessionCalculator;
+    private final SessionHeartbeatBuffer heartbeatBuffer;
+    private final EnterRateLimiter enterRateLimiter;
     
     public AdmissionController(AdmissionService admissionService, 
-                             DynamicSessionCalculator sessionCalculator) {
+                             DynamicSessionCalculator sessionCalculator,
+                             SessionHeartbeatBuffer heartbeatBuffer,
+                             EnterRateLimiter enterRateLimiter) {
         this.admissionService = admissionService;
         this.sessionCalculator = sessionCalculator;
+        this.heartbeatBuffer = heartbeatBuffer;
+        this.enterRateLimiter = enterRateLimiter;
     }
     @Value("${SESSION_TIMEOUT_SECONDS}")
     private long sessionTimeoutSeconds;
 
+    @Value("${admission.batch.max-size:5000}")
+    private int maxBatchSize;
+
+    @Value("${admission.enter-rate.trusted-proxy-hops:1}")
+    private int trustedProxyHops = 1;
 
     @Operation(summary = "대기열 진입", description = "영화 예매 대기열에 진입합니다")
     @PostMapping("/enter")
-    public ResponseEntity<EnterResponse> enter(@RequestBody EnterRequest request) {
+    public ResponseEntity<EnterResponse> enter(@RequestBody EnterRequest request, HttpServletRequest httpRequest) {
         try {
+            // Redis 에 쓰기 전에 세션/IP 별 입장 시도 속도 확인 (거절 시 같은 영화의 기존 응답이 있으면 그대로 재사용)
+            EnterRateLimiter.Decision decision = enterRateLimiter.check(request.sessionId(),
+                    clientIp(httpRequest, trustedProxyHops), request.movieId());
+            if (!decision.allowed()) {
+                if (decision.reused() != null) {
+                    return ResponseEntity.ok(decision.reused());
+                }
+                return ResponseEntity.status(429)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(decision.retryAfterSeconds()))
+                    .body(rejected(request, decision));
+            }
+
             EnterResponse response = admissionService.enter("movie", request.movieId(), 
                                                           request.sessionId(), request.requestId());
+            enterRateLimiter.remember(request.sessionId(), request.movieId(), response);
             
-            return (response.getStatus() == EnterResponse.Status.SUCCESS)
-                ? ResponseEntity.ok(response)
-                : ResponseEntity.accepted().body(response);
+            return ((response.getStatus() == EnterResponse.Status.SUCCESS)
+                ? ResponseEntity.ok()
+                : ResponseEntity.accepted())
+                .header(REDIS_ROUND_TRIPS_HEADER, String.valueOf(response.getRedisRoundTrips()))
+                .body(response);
             
         } catch (Exception e) {
             logger.error("❌ 대기열 진입 중 오류 발생", e);
@@ -51,6 +90,92 @@ public class AdmissionController {
         }
     }
 
+    @Operation(summary = "대기열 일괄 진입", description = "엣지 게이트웨이가 모은 진입 요청들을 한 번에 처리합니다. 응답은 요청과 같은 순서입니다")
+    @PostMapping("/enter/batch")
+    public ResponseEntity<List<EnterResponse>> enterBatch(@RequestBody List<EnterRequest> requests) {
+        if (requests == null || requests.isEmpty()) {
+            return ResponseEntity.badRequest().build();
+        }
+        if (requests.size() > maxBatchSize) {
+            logger.warn("일괄 진입 요청 크기 초과: {}건 (최대 {}건)", requests.size(), maxBatchSize);
+            return ResponseEntity.status(413).build();
+        }
+        try {
+            // 게이트웨이가 모아 보낸 요청이라 IP 는 알 수 없으므로 세션 버킷만 확인하고, 통과한 요청만 저장소로 보냄
+            EnterResponse[] responses = new EnterResponse[requests.size()];
+            List<EnterRequest> allowed = new ArrayList<>(requests.size());
+            List<Integer> allowedIndexes = new ArrayList<>(requests.size());
+            for (int i = 0; i < requests.size(); i++) {
+                EnterRequest request = requests.get(i);
+                if (request != null && request.sessionId() != null && request.movieId() != null) {
+                    EnterRateLimiter.Decision decision = enterRateLimiter.check(request.sessionId(), null, request.movieId());
+                    if (!decision.allowed()) {
+                        responses[i] = decision.reused() != null ? decision.reused() : rejected(request, decision);
+                        continue;
+                    }
+                }
+                allowed.add(request);
+                allowedIndexes.add(i);
+            }
+            if (!allowed.isEmpty()) {
+                List<EnterResponse> results = admissionService.enterBatch("movie", allowed);
+                for (int i = 0; i < results.size(); i++) {
+                    EnterRequest request = allowed.get(i);
+                    if (request != null && request.sessionId() != null) {
+                        enterRateLimiter.remember(request.sessionId(), request.movieId(), results.get(i));
+                    }
+                    responses[allowedIndexes.get(i)] = results.get(i);
+                }
+            }
+            return ResponseEntity.ok(Arrays.asList(responses));
+        } catch (Exception e) {
+            logger.error("❌ 대기열 일괄 진입 중 오류 발생", e);
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+
+    private Map<String, Object> waitingBody(String movieId, long rank, long totalWaiting) {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("status", "WAITING");
+        body.put("rank", rank);
+        body.put("totalWaiting", totalWaiting);
+        WaitEstimate estimatedWait = admissionService.estimateWait(movieId, rank);
+        if (estimatedWait != null) {
+            body.put("estimatedWait", estimatedWait);
+        }
+        return body;
+    }
+
+    static EnterResponse rejected(EnterRequest request, EnterRateLimiter.Decision decision) {
+        return new EnterResponse(EnterResponse.Status.REJECTED,
+                String.format("진입 요청이 너무 많습니다. %d초 후 다시 시도해 주세요", decision.retryAfterSeconds()),
+                request.requestId(), null, null);
+    }
+
+    /**
+     * IP 버킷 키로 쓸 클라이언트 주소.
+     * X-Forwarded-For 의 앞쪽 주소는 클라이언트가 직접 써 보낼 수 있으므로, 신뢰하는 프록시가 붙인
+     * 오른쪽에서 trustedProxyHops 번째 주소를 씀 (0 이면 헤더를 무시하고 접속 주소).
+     * 헤더 주소가 hops 보다 적으면 모두 프록시가 붙인 것이므로 가장 왼쪽 주소를 씀
+     */
+    static String clientIp(HttpServletRequest request, int trustedProxyHops) {
+        if (trustedProxyHops > 0) {
+            List<String> hops = new ArrayList<>();
+            Enumeration<String> headers = request.getHeaders("X-Forwarded-For");
+            while (headers != null && headers.hasMoreElements()) {
+                for (String hop : headers.nextElement().split(",")) {
+                    if (!hop.isBlank()) {
+                        hops.add(hop.trim());
+                    }
+                }
+            }
+            if (!hops.isEmpty()) {
+                return hops.get(Math.max(0, hops.size() - trustedProxyHops));
+            }
+        }
+        return request.getRemoteAddr();
+    }
+
     @Operation(summary = "대기열 퇴장", description = "대기열에서 퇴장합니다")
     @PostMapping("/leave")
     public ResponseEntity<Void> leave(@RequestBody LeaveRequest request) {
@@ -64,6 +189,16 @@ public class AdmissionController {
         }
     }
 
+    @Operation(summary = "활성 세션 heartbeat", description = "좌석 선택 중인 활성 세션의 만료 시각을 연장합니다. Pod 에서 모아 주기적으로 반영하므로 202 를 반환합니다")
+    @PostMapping("/heartbeat")
+    public ResponseEntity<Void> heartbeat(@RequestBody HeartbeatRequest request) {
+        if (request.getMovieId() == null || request.getSessionId() == null || request.getRequestId() == null) {
+            return ResponseEntity.badRequest().build();
+        }
+        heartbeatBuffer.record(request.getMovieId(), request.getSessionId(), request.getRequestId());
+        return ResponseEntity.accepted().build();
+    }
+
     // ✅ 새로 추가: 프론트엔드에서 요청하는 시스템 설정 API
     @Operation(summary = "시스템 설정 조회", description = "대기열 시스템 설정을 조회합니다")
     @GetMapping("/system/config")
@@ -96,6 +231,12 @@ public class AdmissionController {
             @RequestParam String sessionId, 
             @RequestParam String requestId) {
         try {
+            // 스냅샷(메모리)에 대기 순번이 있으면 Redis 를 조회하지 않음 (최대 max-staleness-ms 지연)
+            QueueSnapshotCache.StatusHit cached = admissionService.getCachedUserStatus(movieId, sessionId, requestId);
+            if (cached != null) {
+                return ResponseEntity.ok(waitingBody(movieId, cached.rank(), cached.totalWaiting()));
+            }
+
             // 활성 세션에 있는지 확인
             if (admissionService.isUserInActiveSession("movie", movieId, sessionId, requestId)) {
                 return ResponseEntity.ok(Map.of(
@@ -108,11 +249,7 @@ public class AdmissionController {
             Long rank = admissionService.getUserRank("movie", movieId, sessionId, requestId);
             if (rank != null) {
                 long totalWaiting = admissionService.getTotalWaitingCount("movie", movieId);
-                return ResponseEntity.ok(Map.of(
-                    "status", "WAITING", 
-                    "rank", rank, 
-                    "totalWaiting", totalWaiting
-                ));
+                return ResponseEntity.ok(waitingBody(movieId, rank, totalWaiting));
             }
             
             // 둘 다 없음
@@ -1,14 +1,32 @@
 package com.example.admission.controller;
 
+import com.example.admission.RankCursorTracker;
+import com.example.admission.SessionTimeoutProcessor;
 import com.example.admission.dto.AdmissionMetrics;
+import com.example.admission.service.AdaptiveConcurrencyLimiter;
 import com.example.admission.service.AdmissionMetricsService;
+import com.example.admission.service.AdmissionRateEstimator;
+import com.example.admission.service.AdmissionScriptRegistry;
+import com.example.admission.service.AdmissionService;
+import com.example.admission.service.AdmissionSlotLeaseManager;
+import com.example.admission.service.EnterRateLimiter;
+import com.example.admission.service.QueueSnapshotCache;
 import com.example.admission.service.LoadBalancingOptimizer;
+import com.example.admission.service.SessionHeartbeatBuffer;
+import com.example.admission.service.VirtualThreadPinningMonitor;
+import com.example.admission.ws.NotificationRouter;
+import com.example.admission.ws.WebSocketUpdateService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.ThreadMXBean;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 @RestController
@@ -18,11 +36,119 @@ public class AdmissionMonitoringController {
 
     private final AdmissionMetricsService metricsService;
     private final LoadBalancingOptimizer loadBalancer;
+    private final AdmissionScriptRegistry scriptRegistry;
+    private final AdmissionService admissionService;
+    private final AdmissionSlotLeaseManager slotLeaseManager;
+    private final SessionTimeoutProcessor sessionTimeoutProcessor;
+    private final SessionHeartbeatBuffer heartbeatBuffer;
+    private final AdmissionRateEstimator rateEstimator;
+    private final AdaptiveConcurrencyLimiter concurrencyLimiter;
+    private final EnterRateLimiter enterRateLimiter;
+    private final QueueSnapshotCache snapshotCache;
+    private final RankCursorTracker rankCursorTracker;
+    private final WebSocketUpdateService webSocketUpdateService;
+    private final NotificationRouter notificationRouter;
+    // 가상 스레드 모드에서만 등록됨
+    private final ObjectProvider<VirtualThreadPinningMonitor> pinningMonitor;
 
     public AdmissionMonitoringController(AdmissionMetricsService metricsService,
-                                       LoadBalancingOptimizer loadBalancer) {
+                                       LoadBalancingOptimizer loadBalancer,
+                                       AdmissionScriptRegistry scriptRegistry,
+                                       AdmissionService admissionService,
+                                       AdmissionSlotLeaseManager slotLeaseManager,
+                                       SessionTimeoutProcessor sessionTimeoutProcessor,
+                                       SessionHeartbeatBuffer heartbeatBuffer,
+                                       AdmissionRateEstimator rateEstimator,
+                                       AdaptiveConcurrencyLimiter concurrencyLimiter,
+                                       EnterRateLimiter enterRateLimiter,
+                                       QueueSnapshotCache snapshotCache,
+                                       RankCursorTracker rankCursorTracker,
+                                       WebSocketUpdateService webSocketUpdateService,
+                                       NotificationRouter notificationRouter,
+                                       ObjectProvider<VirtualThreadPinningMonitor> pinningMonitor) {
         this.metricsService = metricsService;
         this.loadBalancer = loadBalancer;
+        this.scriptRegistry = scriptRegistry;
+        this.admissionService = admissionService;
+        this.slotLeaseManager = slotLeaseManager;
+        this.sessionTimeoutProcessor = sessionTimeoutProcessor;
+        this.heartbeatBuffer = heartbeatBuffer;
+        this.rateEstimator = rateEstimator;
+        this.concurrencyLimiter = concurrencyLimiter;
+        this.enterRateLimiter = enterRateLimiter;
+        this.snapshotCache = snapshotCache;
+        this.rankCursorTracker = rankCursorTracker;
+        this.webSocketUpdateService = webSocketUpdateService;
+        this.notificationRouter = notificationRouter;
+        this.pinningMonitor = pinningMonitor;
+    }
+
+    @Operation(summary = "heartbeat 병합 통계", description = "받은 heartbeat 수, 저장소에 반영한 member 수와 쓰기 횟수, 병합 비율을 확인합니다")
+    @GetMapping("/heartbeats")
+    public ResponseEntity<Map<String, Object>> getHeartbeatStats() {
+        return ResponseEntity.ok(heartbeatBuffer.getHeartbeatStats());
+    }
+
+    @Operation(summary = "영화별 입장 속도", description = "예상 대기 시간 계산에 쓰는 영화별 초당 입장 인원(EWMA)과 표준편차를 확인합니다")
+    @GetMapping("/admission-rates")
+    public ResponseEntity<Map<String, Object>> getAdmissionRates() {
+        return ResponseEntity.ok(rateEstimator.getState());
+    }
+
+    @Operation(summary = "동시 처리 한도", description = "입장/상태 API 의 현재 동시 처리 한도, 처리 중 요청 수, 429 거절 수와 처리 시간을 확인합니다")
+    @GetMapping("/concurrency-limit")
+    public ResponseEntity<Map<String, Object>> getConcurrencyLimit() {
+        return ResponseEntity.ok(concurrencyLimiter.getState());
+    }
+
+    @Operation(summary = "입장 속도 제한", description = "세션/IP 토큰 버킷과 클러스터 슬라이딩 윈도우로 거절한 입장 시도 수, 기존 응답 재사용 수를 확인합니다")
+    @GetMapping("/enter-rate-limit")
+    public ResponseEntity<Map<String, Object>> getEnterRateLimit() {
+        return ResponseEntity.ok(enterRateLimiter.getStats());
+    }
+
+    @Operation(summary = "상태 조회 스냅샷 캐시", description = "상태 폴링을 메모리 스냅샷으로 처리한 비율, 발행/수신 수와 평균 크기를 확인합니다")
+    @GetMapping("/status-snapshots")
+    public ResponseEntity<Map<String, Object>> getStatusSnapshots() {
+        return ResponseEntity.ok(snapshotCache.getStats());
+    }
+
+    @Operation(summary = "순위 브로드캐스트", description = "커서 방식 프레임/기준값 전송 수와 개인별 순위 메시지 수를 비교합니다")
+    @GetMapping("/rank-broadcast")
+    public ResponseEntity<Map<String, Object>> getRankBroadcastStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("cursor", rankCursorTracker.getStats());
+        stats.put("messages", webSocketUpdateService.getWebSocketStats());
+        return ResponseEntity.ok(stats);
+    }
+
+    @Operation(summary = "WebSocket 알림 라우팅", description = "이 Pod 의 구독 키 수, 다른 Pod 구독 색인 크기, 직접/Pod 간/전체 채널 전송 수와 버린 알림 수를 확인합니다")
+    @GetMapping("/ws-routing")
+    public ResponseEntity<Map<String, Object>> getWsRoutingStats() {
+        return ResponseEntity.ok(notificationRouter.getStats());
+    }
+
+    @Operation(summary = "JVM 스레드/메모리", description = "플랫폼 스레드 현재/최대 수와 힙 사용량, 가상 스레드 모드의 pinning 통계를 확인합니다. resetPeak=true 면 최대값을 현재값으로 초기화합니다 (부하 비교용)")
+    @GetMapping("/threads")
+    public ResponseEntity<Map<String, Object>> getThreadStats(@RequestParam(defaultValue = "false") boolean resetPeak) {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        VirtualThreadPinningMonitor monitor = pinningMonitor.getIfAvailable();
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("virtualThreads", monitor != null);
+        stats.put("live", threads.getThreadCount());
+        stats.put("peak", threads.getPeakThreadCount());
+        stats.put("daemon", threads.getDaemonThreadCount());
+        stats.put("totalStarted", threads.getTotalStartedThreadCount());
+        stats.put("heapUsedMb", memory.getHeapMemoryUsage().getUsed() / (1024 * 1024));
+        stats.put("nonHeapUsedMb", memory.getNonHeapMemoryUsage().getUsed() / (1024 * 1024));
+        if (monitor != null) {
+            stats.put("pinning", monitor.getStats());
+        }
+        if (resetPeak) {
+            threads.resetPeakThreadCount();
+        }
+        return ResponseEntity.ok(stats);
     }
 
     @Operation(summary = "실시간 메트릭 조회", description = "시스템의 실시간 성능 메트릭을 확인합니다")
@@ -43,6 +169,47 @@ public class AdmissionMonitoringController {
         return ResponseEntity.ok(loadBalancer.getLoadBalancingStatus());
     }
 
+    @Operation(summary = "Lua 스크립트 통계", description = "EVALSHA 로 호출되는 스크립트별 호출 수, 지연 시간, NOSCRIPT 재로드 횟수를 확인합니다")
+    @GetMapping("/scripts")
+    public ResponseEntity<Map<String, Object>> getScriptStats() {
+        return ResponseEntity.ok(scriptRegistry.getScriptStats());
+    }
+
+    @Operation(summary = "입장 요청 Redis 왕복 통계", description = "enter 요청 한 건당 Redis 왕복 횟수(평균/최대)를 확인합니다")
+    @GetMapping("/enter-round-trips")
+    public ResponseEntity<Map<String, Object>> getEnterRoundTripStats() {
+        return ResponseEntity.ok(admissionService.getEnterRoundTripStats());
+    }
+
+    @Operation(summary = "세션 만료 처리 상태", description = "만료 타이밍 휠에 등록된 영화 수, 이어서 정리 중인 영화, 만료 처리 지연(최대)을 확인합니다")
+    @GetMapping("/expiry")
+    public ResponseEntity<Map<String, Object>> getExpiryStats() {
+        return ResponseEntity.ok(sessionTimeoutProcessor.getExpiryStats());
+    }
+
+    @Operation(summary = "빈자리 대기 시간", description = "대기자가 있는데 자리가 비어 있던 시간(퇴장/만료 → 승격)과 즉시 승격 인원을 확인합니다")
+    @GetMapping("/slot-idle")
+    public ResponseEntity<Map<String, Object>> getSlotIdleStats() {
+        return ResponseEntity.ok(admissionService.getSlotIdleStats());
+    }
+
+    @Operation(summary = "입장 슬롯 임대 상태", description = "이 Pod 이 영화별로 임대 중인 입장 슬롯과 임대 경로 입장 통계를 확인합니다")
+    @GetMapping("/leases")
+    public ResponseEntity<Map<String, Object>> getLeaseStats() {
+        return ResponseEntity.ok(slotLeaseManager.getLeaseStats());
+    }
+
+    @Operation(summary = "Lua 스크립트 재로드", description = "등록된 모든 스크립트를 다시 SCRIPT LOAD 합니다")
+    @PostMapping("/scripts/reload")
+    public ResponseEntity<Map<String, Object>> reloadScripts() {
+        try {
+            scriptRegistry.preloadAll();
+            return ResponseEntity.ok(Map.of("status", "success", "timestamp", System.currentTimeMillis()));
+        } catch (Exception e) {
+            return ResponseEntity.status(500).body(Map.of("status", "error", "message", "스크립트 재로드 실패: " + e.getMessage()));
+        }
+    }
+
     @Operation(summary = "종합 대시보드", description = "시스템 전체 상태를 한눈에 확인할 수 있는 대시보드 데이터")
     @GetMapping("/dashboard")
     public ResponseEntity<Map<String, Object>> getDashboard() {
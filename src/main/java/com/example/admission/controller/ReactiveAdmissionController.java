@@ -0,0 +1,191 @@
+// src/main/java/com/example/admission/controller/ReactiveAdmissionController.java
+package com.example.admission.controller;
+
+import com.example.admission.dto.EnterRequest;
+import com.example.admission.dto.EnterResponse;
+import com.example.admission.dto.LeaveRequest;
+import com.example.admission.service.AdaptiveConcurrencyLimiter;
+import com.example.admission.service.EnterRateLimiter;
+import com.example.admission.service.ReactiveAdmissionService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * /api/admission 의 non-blocking 버전 (입장/일괄 입장/퇴장/상태).
+ *
+ * Mono 를 반환하면 Spring MVC 가 서블릿 비동기 처리로 전환하므로, Redis 응답을 기다리는 동안 Tomcat 스레드를 돌려줍니다.
+ * 요청/응답 형식은 동기 경로와 같고, 동시 처리 한도는 필터 대신 여기서 응답이 실제로 끝날 때까지 잡고 있습니다.
+ */
+@RestController
+@RequestMapping("/api/admission/async")
+@ConditionalOnProperty(name = "admission.store", havingValue = "redis", matchIfMissing = true)
+@Tag(name = "Admission Async API", description = "대기열 관리 API (non-blocking)")
+public class ReactiveAdmissionController {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReactiveAdmissionController.class);
+
+    private final ReactiveAdmissionService reactiveAdmissionService;
+    private final EnterRateLimiter enterRateLimiter;
+    private final AdaptiveConcurrencyLimiter concurrencyLimiter;
+
+    @Value("${admission.batch.max-size:5000}")
+    private int maxBatchSize;
+
+    @Value("${admission.enter-rate.trusted-proxy-hops:1}")
+    private int trustedProxyHops = 1;
+
+    public ReactiveAdmissionController(ReactiveAdmissionService reactiveAdmissionService,
+                                       EnterRateLimiter enterRateLimiter,
+                                       AdaptiveConcurrencyLimiter concurrencyLimiter) {
+        this.reactiveAdmissionService = reactiveAdmissionService;
+        this.enterRateLimiter = enterRateLimiter;
+        this.concurrencyLimiter = concurrencyLimiter;
+    }
+
+    @Operation(summary = "대기열 진입 (non-blocking)", description = "POST /api/admission/enter 와 같으며 Redis 응답을 기다리는 동안 요청 스레드를 점유하지 않습니다")
+    @PostMapping("/enter")
+    public Mono<ResponseEntity<EnterResponse>> enter(@RequestBody EnterRequest request, HttpServletRequest httpRequest) {
+        EnterRateLimiter.Decision decision = enterRateLimiter.check(request.sessionId(),
+                AdmissionController.clientIp(httpRequest, trustedProxyHops), request.movieId());
+        if (!decision.allowed()) {
+            if (decision.reused() != null) {
+                return Mono.just(ResponseEntity.ok(decision.reused()));
+            }
+            return Mono.just(ResponseEntity.status(429)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(decision.retryAfterSeconds()))
+                .body(AdmissionController.rejected(request, decision)));
+        }
+
+        return limited(reactiveAdmissionService.enter(request.movieId(), request.sessionId(), request.requestId())
+                .map(response -> {
+                    enterRateLimiter.remember(request.sessionId(), request.movieId(), response);
+                    return ((response.getStatus() == EnterResponse.Status.SUCCESS)
+                        ? ResponseEntity.ok()
+                        : ResponseEntity.accepted())
+                        .header(AdmissionController.REDIS_ROUND_TRIPS_HEADER, String.valueOf(response.getRedisRoundTrips()))
+                        .body(response);
+                })
+                .onErrorResume(e -> {
+                    logger.error("❌ 대기열 진입 중 오류 발생 (async)", e);
+                    return Mono.just(ResponseEntity.internalServerError()
+                        .body(new EnterResponse(EnterResponse.Status.ERROR, "서버 내부 오류", request.requestId(), null, null)));
+                }));
+    }
+
+    @Operation(summary = "대기열 일괄 진입 (non-blocking)", description = "POST /api/admission/enter/batch 와 같습니다. 응답은 요청과 같은 순서입니다")
+    @PostMapping("/enter/batch")
+    public Mono<ResponseEntity<List<EnterResponse>>> enterBatch(@RequestBody List<EnterRequest> requests) {
+        if (requests == null || requests.isEmpty()) {
+            return Mono.just(ResponseEntity.badRequest().build());
+        }
+        if (requests.size() > maxBatchSize) {
+            logger.warn("일괄 진입 요청 크기 초과: {}건 (최대 {}건)", requests.size(), maxBatchSize);
+            return Mono.just(ResponseEntity.status(413).build());
+        }
+
+        EnterResponse[] responses = new EnterResponse[requests.size()];
+        List<EnterRequest> allowed = new ArrayList<>(requests.size());
+        List<Integer> allowedIndexes = new ArrayList<>(requests.size());
+        for (int i = 0; i < requests.size(); i++) {
+            EnterRequest request = requests.get(i);
+            if (request != null && request.sessionId() != null && request.movieId() != null) {
+                EnterRateLimiter.Decision decision = enterRateLimiter.check(request.sessionId(), null, request.movieId());
+                if (!decision.allowed()) {
+                    responses[i] = decision.reused() != null ? decision.reused() : AdmissionController.rejected(request, decision);
+                    continue;
+                }
+            }
+            allowed.add(request);
+            allowedIndexes.add(i);
+        }
+        if (allowed.isEmpty()) {
+            return Mono.just(ResponseEntity.ok(Arrays.asList(responses)));
+        }
+
+        return limited(reactiveAdmissionService.enterBatch(allowed)
+                .map(results -> {
+                    for (int i = 0; i < results.size(); i++) {
+                        EnterRequest request = allowed.get(i);
+                        if (request != null && request.sessionId() != null) {
+                            enterRateLimiter.remember(request.sessionId(), request.movieId(), results.get(i));
+                        }
+                        responses[allowedIndexes.get(i)] = results.get(i);
+                    }
+                    return ResponseEntity.ok(Arrays.asList(responses));
+                })
+                .onErrorResume(e -> {
+                    logger.error("❌ 대기열 일괄 진입 중 오류 발생 (async)", e);
+                    return Mono.just(ResponseEntity.internalServerError().build());
+                }));
+    }
+
+    @Operation(summary = "대기열 퇴장 (non-blocking)", description = "POST /api/admission/leave 와 같습니다")
+    @PostMapping("/leave")
+    public Mono<ResponseEntity<Void>> leave(@RequestBody LeaveRequest request) {
+        return reactiveAdmissionService.leave(request.getMovieId(), request.getSessionId(), request.getRequestId())
+                .thenReturn(ResponseEntity.ok().<Void>build());
+    }
+
+    @Operation(summary = "사용자 상태 확인 (non-blocking)", description = "GET /api/admission/status 와 같습니다")
+    @GetMapping("/status")
+    public Mono<ResponseEntity<Map<String, Object>>> checkUserStatus(
+            @RequestParam String movieId,
+            @RequestParam String sessionId,
+            @RequestParam String requestId) {
+        return limited(reactiveAdmissionService.status(movieId, sessionId, requestId)
+                .map(status -> ResponseEntity.ok(statusBody(status)))
+                .onErrorResume(e -> {
+                    logger.error("❌ 사용자 상태 확인 실패 (async)", e);
+                    return Mono.just(ResponseEntity.internalServerError().build());
+                }));
+    }
+
+    private static Map<String, Object> statusBody(ReactiveAdmissionService.UserStatus status) {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("status", status.status());
+        switch (status.status()) {
+            case "ACTIVE" -> body.put("action", "REDIRECT_TO_SEATS");
+            case "WAITING" -> {
+                body.put("rank", status.rank());
+                body.put("totalWaiting", status.totalWaiting());
+                if (status.estimatedWait() != null) {
+                    body.put("estimatedWait", status.estimatedWait());
+                }
+            }
+            default -> body.put("action", "REDIRECT_TO_MOVIES");
+        }
+        return body;
+    }
+
+    // 동시 처리 한도 적용 - 응답이 끝날 때(취소 포함)까지 자리를 잡고 있음
+    private <T> Mono<ResponseEntity<T>> limited(Mono<ResponseEntity<T>> call) {
+        return Mono.defer(() -> {
+            if (!concurrencyLimiter.tryAcquire()) {
+                return Mono.just(ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(concurrencyLimiter.retryAfterSeconds()))
+                    .<T>build());
+            }
+            long start = System.nanoTime();
+            boolean[] failure = { true };
+            return call
+                    .doOnNext(response -> failure[0] = response.getStatusCode().is5xxServerError())
+                    .doFinally(signal -> concurrencyLimiter.onComplete(start, failure[0]));
+        });
+    }
+}
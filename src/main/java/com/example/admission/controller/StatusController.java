@@ -2,6 +2,7 @@
 package com.example.admission.controller;
 
 import com.example.admission.service.AdmissionService;
+import com.example.admission.service.QueueSnapshotCache;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -22,6 +23,12 @@ public class StatusController {
             @RequestParam String requestId,
             @RequestParam String sessionId,
             @RequestParam String movieId) {
+
+        // 담당 Pod 이 발행한 스냅샷(메모리)에 대기 순번이 있으면 Redis 조회 생략
+        QueueSnapshotCache.StatusHit cached = admissionService.getCachedUserStatus(movieId, sessionId, requestId);
+        if (cached != null) {
+            return ResponseEntity.ok(Map.of("status", "WAITING", "rank", cached.rank(), "totalWaiting", cached.totalWaiting()));
+        }
         
         // isUserInActiveSession 메서드 시그니처에 맞게 호출
         if (admissionService.isUserInActiveSession("movie", movieId, sessionId, requestId)) {
@@ -1,6 +1,7 @@
 // src/main/java/com/example/admission/dto/EnterResponse.java
 package com.example.admission.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonInclude;
 
 @JsonInclude(JsonInclude.Include.NON_NULL)
@@ -9,6 +10,7 @@ public class EnterResponse {
     public enum Status {
         SUCCESS,
         QUEUED,
+        REJECTED,   // 입장 시도 과다 (Redis 에 쓰기 전에 거절)
         ERROR
     }
 
@@ -17,14 +19,28 @@ public class EnterResponse {
     private final String requestId;
     private final Long myRank;
     private final Long totalWaiting;
+    private final WaitEstimate estimatedWait; // 입장 속도 기반 예상 대기 시간 (추정 불가 시 null)
+    private final int redisRoundTrips;   // 이 요청을 처리하는 데 사용된 Redis 왕복 수 (응답 헤더로만 노출)
 
     // 생성자
     public EnterResponse(Status status, String message, String requestId, Long myRank, Long totalWaiting) {
+        this(status, message, requestId, myRank, totalWaiting, 0);
+    }
+
+    public EnterResponse(Status status, String message, String requestId, Long myRank, Long totalWaiting,
+                         int redisRoundTrips) {
+        this(status, message, requestId, myRank, totalWaiting, null, redisRoundTrips);
+    }
+
+    public EnterResponse(Status status, String message, String requestId, Long myRank, Long totalWaiting,
+                         WaitEstimate estimatedWait, int redisRoundTrips) {
         this.status = status;
         this.message = message;
         this.requestId = requestId;
         this.myRank = myRank;
         this.totalWaiting = totalWaiting;
+        this.estimatedWait = estimatedWait;
+        this.redisRoundTrips = redisRoundTrips;
     }
     
     // Getters
@@ -33,4 +49,7 @@ public class EnterResponse {
     public String getRequestId() { return requestId; }
     public Long getMyRank() { return myRank; }
     public Long getTotalWaiting() { return totalWaiting; }
+    public WaitEstimate getEstimatedWait() { return estimatedWait; }
+    @JsonIgnore
+    public int getRedisRoundTrips() { return redisRoundTrips; }
 }
\ No newline at end of file
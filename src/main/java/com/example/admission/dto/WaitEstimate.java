@@ -0,0 +1,12 @@
+// src/main/java/com/example/admission/dto/WaitEstimate.java
+package com.example.admission.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * 예상 대기 시간 (초). 영화별 실측 입장 속도(EWMA) 기반이며,
+ * lowSeconds / highSeconds 는 입장 속도 변동폭으로 계산한 신뢰 구간 (속도 하한이 너무 낮으면 highSeconds 는 null)
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record WaitEstimate(long seconds, long lowSeconds, Long highSeconds, double admissionsPerSecond) {
+}
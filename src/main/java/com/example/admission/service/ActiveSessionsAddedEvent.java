@@ -0,0 +1,9 @@
+// src/main/java/com/example/admission/service/ActiveSessionsAddedEvent.java
+package com.example.admission.service;
+
+/**
+ * 이 Pod 에서 활성 세션이 새로 생겼을 때(즉시 입장 / 주기 승격) 발행되는 애플리케이션 이벤트.
+ * SessionTimeoutProcessor 가 받아 해당 영화의 만료 확인 시각을 타이밍 휠에 등록합니다.
+ */
+public record ActiveSessionsAddedEvent(String movieId, long admittedAt) {
+}
@@ -0,0 +1,219 @@
+// src/main/java/com/example/admission/service/AdaptiveConcurrencyLimiter.java
+package com.example.admission.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 입장/상태 API 동시 처리 한도 조절기 (gradient 방식).
+ *
+ * 요청 처리 시간을 window-ms 단위로 모아 짧은 구간 평균(shortRtt)을 구하고, 천천히 따라가는 장기 평균(longRtt)과 비교합니다.
+ *   gradient = clamp(longRtt × tolerance / shortRtt, 0.5, 1.0)
+ *   newLimit = limit × gradient + √limit
+ * Redis 가 느려져 처리 시간이 늘어나면 gradient 가 1 보다 작아져 한도가 줄고, 정상으로 돌아오면 √limit 만큼씩 다시 늘어납니다.
+ * 한도의 절반도 쓰지 않은 구간에서는 한도를 늘리지 않습니다 (실제 부하 없이 한도만 커지는 것 방지).
+ * 5xx 응답이 섞인 구간은 처리 시간과 관계없이 backoff-ratio 만큼 줄입니다.
+ */
+@Component
+public class AdaptiveConcurrencyLimiter {
+
+    private static final Logger logger = LoggerFactory.getLogger(AdaptiveConcurrencyLimiter.class);
+
+    @Value("${admission.limiter.enabled:true}")
+    private boolean enabled = true;
+
+    @Value("${admission.limiter.min-limit:5}")
+    private int minLimit = 5;
+
+    @Value("${admission.limiter.max-limit:200}")
+    private int maxLimit = 200;
+
+    @Value("${admission.limiter.window-ms:1000}")
+    private long windowMs = 1000;
+
+    @Value("${admission.limiter.min-window-samples:10}")
+    private int minWindowSamples = 10;
+
+    @Value("${admission.limiter.rtt-tolerance:2.0}")
+    private double rttTolerance = 2.0;
+
+    @Value("${admission.limiter.smoothing:0.2}")
+    private double smoothing = 0.2;
+
+    @Value("${admission.limiter.backoff-ratio:0.9}")
+    private double backoffRatio = 0.9;
+
+    @Value("${admission.limiter.max-retry-after-seconds:30}")
+    private long maxRetryAfterSeconds = 30;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private volatile int limit;
+
+    // 누적 통계
+    private final LongAdder accepted = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder limitDecreases = new LongAdder();
+
+    // 현재 구간 측정값 (window 락으로 보호)
+    private final Object window = new Object();
+    private long windowStart = System.currentTimeMillis();
+    private long windowSamples;
+    private long windowRttNanos;
+    private long windowMaxInFlight;
+    private long windowRejected;
+    private boolean windowFailed;
+
+    // 직전 구간 결과 (Retry-After 계산용)
+    private volatile double shortRttMs;
+    private volatile double longRttMs;
+    private volatile double completedPerSecond;
+    private volatile long lastWindowRejected;
+
+    public AdaptiveConcurrencyLimiter(@Value("${admission.limiter.initial-limit:20}") int initialLimit) {
+        this.limit = initialLimit;
+    }
+
+    /**
+     * 처리 한도 안이면 자리를 잡고 true. false 면 호출자는 즉시 거절해야 하며 onComplete 를 호출하지 않습니다
+     */
+    public boolean tryAcquire() {
+        if (!enabled) {
+            inFlight.incrementAndGet();
+            return true;
+        }
+        while (true) {
+            int current = inFlight.get();
+            if (current >= limit) {
+                rejected.increment();
+                synchronized (window) {
+                    windowRejected++;
+                }
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                accepted.increment();
+                return true;
+            }
+        }
+    }
+
+    /**
+     * tryAcquire 로 잡은 자리 반납 + 처리 시간 기록
+     *
+     * @param startNanos tryAcquire 직후의 System.nanoTime()
+     * @param failure    5xx 등 서버 쪽 실패 여부
+     */
+    public void onComplete(long startNanos, boolean failure) {
+        int current = inFlight.getAndDecrement();
+        long rttNanos = System.nanoTime() - startNanos;
+        if (failure) {
+            failed.increment();
+        }
+        if (!enabled) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        synchronized (window) {
+            windowSamples++;
+            windowRttNanos += rttNanos;
+            windowMaxInFlight = Math.max(windowMaxInFlight, current);
+            windowFailed |= failure;
+            if (now - windowStart >= windowMs && windowSamples >= minWindowSamples) {
+                closeWindow(now);
+            }
+        }
+    }
+
+    // window 락을 잡은 상태에서만 호출
+    private void closeWindow(long now) {
+        double elapsedSeconds = Math.max(1, now - windowStart) / 1000.0;
+        double shortRtt = windowRttNanos / 1_000_000.0 / windowSamples;
+        completedPerSecond = windowSamples / elapsedSeconds;
+        lastWindowRejected = windowRejected;
+        shortRttMs = shortRtt;
+
+        if (longRttMs == 0) {
+            longRttMs = shortRtt;
+        } else {
+            longRttMs += 0.05 * (shortRtt - longRttMs);
+            // 처리 시간이 오래 낮게 유지되면 장기 평균도 빠르게 따라 내려감 (느린 기준에 갇히지 않도록)
+            if (longRttMs / shortRtt > 2) {
+                longRttMs *= 0.95;
+            }
+        }
+
+        int oldLimit = limit;
+        double newLimit;
+        if (windowFailed) {
+            newLimit = oldLimit * backoffRatio;
+        } else {
+            double gradient = Math.max(0.5, Math.min(1.0, longRttMs * rttTolerance / shortRtt));
+            newLimit = oldLimit * gradient + Math.sqrt(oldLimit);
+            // 한도의 절반도 쓰지 않았으면 늘리지 않음
+            if (newLimit > oldLimit && windowMaxInFlight < oldLimit / 2) {
+                newLimit = oldLimit;
+            }
+            newLimit = oldLimit * (1 - smoothing) + newLimit * smoothing;
+        }
+        int next = (int) Math.max(minLimit, Math.min(maxLimit, Math.round(newLimit)));
+        if (next < oldLimit) {
+            limitDecreases.increment();
+            logger.info("🚦 동시 처리 한도 축소 {} → {} (shortRtt: {}ms, longRtt: {}ms{})", oldLimit, next,
+                    String.format("%.1f", shortRtt), String.format("%.1f", longRttMs), windowFailed ? ", 5xx 발생" : "");
+        }
+        limit = next;
+
+        windowStart = now;
+        windowSamples = 0;
+        windowRttNanos = 0;
+        windowMaxInFlight = 0;
+        windowRejected = 0;
+        windowFailed = false;
+    }
+
+    /**
+     * 거절한 요청에 알려 줄 재시도 대기 시간(초).
+     * 직전 구간에 밀려난 요청 수를 그 구간 처리량으로 소화하는 데 걸리는 시간 (1초 ~ max-retry-after-seconds)
+     */
+    public long retryAfterSeconds() {
+        double throughput = completedPerSecond;
+        long backlog = Math.max(lastWindowRejected, inFlight.get());
+        if (throughput <= 0) {
+            return Math.min(maxRetryAfterSeconds, Math.max(1, (long) Math.ceil(shortRttMs / 1000.0)));
+        }
+        return Math.max(1, Math.min(maxRetryAfterSeconds, (long) Math.ceil(backlog / throughput)));
+    }
+
+    /**
+     * 🚦 동시 처리 한도 / 처리 중 / 거절 통계
+     */
+    public Map<String, Object> getState() {
+        Map<String, Object> state = new LinkedHashMap<>();
+        state.put("enabled", enabled);
+        state.put("limit", limit);
+        state.put("inFlight", inFlight.get());
+        state.put("accepted", accepted.sum());
+        state.put("rejected", rejected.sum());
+        state.put("failed", failed.sum());
+        state.put("limitDecreases", limitDecreases.sum());
+        state.put("shortRttMs", shortRttMs);
+        state.put("longRttMs", longRttMs);
+        state.put("completedPerSecond", completedPerSecond);
+        state.put("retryAfterSeconds", retryAfterSeconds());
+        state.put("bounds", Map.of(
+            "minLimit", minLimit,
+            "maxLimit", maxLimit,
+            "rttTolerance", rttTolerance,
+            "windowMs", windowMs
+        ));
+        return state;
+    }
+}
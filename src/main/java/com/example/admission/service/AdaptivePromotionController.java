@@ -0,0 +1,241 @@
+// src/main/java/com/example/admission/service/AdaptivePromotionController.java
+package com.example.admission.service;
+
+import com.example.admission.store.AdmissionStore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 영화별 주기 승격 배치 크기/주기 조절기 (AIMD).
+ *
+ * QueueProcessor 가 영화를 처리할 때마다 다음 신호를 넘겨받아 다음 배치 크기와 처리 주기를 정합니다.
+ * - 세션 종료 통계 (AdmissionStore.SessionStats 누적값의 변화량): 입장 → 퇴장 평균 시간, 타임아웃 비율
+ * - 입장 알림 전송 지연 (승격 완료 → 마지막 알림 전송)
+ *
+ * 타임아웃 비율이나 알림 지연이 기준을 넘으면 배치를 곱으로 줄이고 주기를 늘리며(multiplicative decrease),
+ * 그렇지 않고 배치가 꽉 찰 만큼 대기자가 밀려 있으면 배치를 더하기로 늘리고 주기를 줄입니다(additive increase).
+ * 대기자가 없으면 주기만 천천히 늘려 조용한 영화의 폴링을 줄입니다.
+ * admission.adaptive.enabled=false 이면 기존 고정값(100명 / 2초)을 사용합니다.
+ */
+@Component
+public class AdaptivePromotionController {
+
+    private static final Logger logger = LoggerFactory.getLogger(AdaptivePromotionController.class);
+    private static final int FIXED_BATCH_SIZE = 100;
+    private static final long FIXED_INTERVAL_MS = 2000;
+    // 측정값 평활 계수 (클수록 최근 값 비중이 큼)
+    private static final double EWMA_ALPHA = 0.3;
+
+    @Value("${admission.adaptive.enabled:true}")
+    private boolean enabled = true;
+
+    @Value("${admission.adaptive.min-batch:10}")
+    private int minBatch = 10;
+
+    @Value("${admission.adaptive.max-batch:1000}")
+    private int maxBatch = 1000;
+
+    @Value("${admission.adaptive.initial-batch:100}")
+    private int initialBatch = 100;
+
+    @Value("${admission.adaptive.batch-increase:20}")
+    private int batchIncrease = 20;
+
+    @Value("${admission.adaptive.decrease-factor:0.5}")
+    private double decreaseFactor = 0.5;
+
+    @Value("${admission.adaptive.min-interval-ms:250}")
+    private long minIntervalMs = 250;
+
+    @Value("${admission.adaptive.max-interval-ms:5000}")
+    private long maxIntervalMs = 5000;
+
+    @Value("${admission.adaptive.initial-interval-ms:2000}")
+    private long initialIntervalMs = 2000;
+
+    @Value("${admission.adaptive.interval-step-ms:250}")
+    private long intervalStepMs = 250;
+
+    @Value("${admission.adaptive.target-timeout-rate:0.1}")
+    private double targetTimeoutRate = 0.1;
+
+    @Value("${admission.adaptive.max-notification-lag-ms:500}")
+    private long maxNotificationLagMs = 500;
+
+    private final Map<String, MovieState> states = new ConcurrentHashMap<>();
+
+    private MovieState state(String movieId) {
+        return states.computeIfAbsent(movieId, id -> new MovieState(initialBatch, initialIntervalMs));
+    }
+
+    /**
+     * 이번 틱에 처리할 차례인지 (마지막 처리 후 영화별 주기가 지났는지)
+     */
+    public boolean isDue(String movieId, long now) {
+        MovieState s = state(movieId);
+        synchronized (s) {
+            return now >= s.nextDueAt;
+        }
+    }
+
+    public int batchSize(String movieId) {
+        if (!enabled) {
+            return FIXED_BATCH_SIZE;
+        }
+        MovieState s = state(movieId);
+        synchronized (s) {
+            return (int) Math.round(s.batch);
+        }
+    }
+
+    /**
+     * 영화 한 번 처리한 결과를 반영해 다음 배치 크기와 다음 처리 시각을 정합니다.
+     *
+     * @param admitted          이번에 승격된 인원
+     * @param batch             이번에 사용한 배치 크기
+     * @param waiting           처리 전 대기자 수
+     * @param notificationLagMs 최근 입장 알림이 전송되기까지 기다린 최대 시간 (NotificationLagMonitor, 관측이 없으면 -1)
+     * @param sessionStats      저장소의 세션 종료 누적값
+     */
+    public void onProcessed(String movieId, long now, int admitted, int batch, long waiting,
+                            long notificationLagMs, AdmissionStore.SessionStats sessionStats) {
+        MovieState s = state(movieId);
+        synchronized (s) {
+            s.observe(sessionStats, notificationLagMs);
+            s.lastAdmitted = admitted;
+            s.lastWaiting = waiting;
+            s.updatedAt = now;
+
+            if (!enabled) {
+                s.nextDueAt = now + FIXED_INTERVAL_MS;
+                return;
+            }
+
+            boolean congested = s.timeoutRate > targetTimeoutRate || s.notificationLagMs > maxNotificationLagMs;
+            if (congested) {
+                s.batch = Math.max(minBatch, s.batch * decreaseFactor);
+                s.intervalMs = Math.min(maxIntervalMs, s.intervalMs * 2);
+                s.decreases++;
+                logger.info("📉 [{}] 승격 배치 축소 - batch: {}, interval: {}ms (timeoutRate: {}, notifyLag: {}ms)",
+                        movieId, Math.round(s.batch), s.intervalMs,
+                        String.format("%.2f", s.timeoutRate), Math.round(s.notificationLagMs));
+            } else if (waiting > admitted && admitted >= batch) {
+                // 배치가 병목: 대기자가 배치보다 많이 밀려 있음
+                s.batch = Math.min(maxBatch, s.batch + batchIncrease);
+                s.intervalMs = Math.max(minIntervalMs, s.intervalMs - intervalStepMs);
+                s.increases++;
+            } else if (waiting == 0) {
+                s.intervalMs = Math.min(maxIntervalMs, s.intervalMs + intervalStepMs);
+            }
+
+            // 대기자가 있으면 평균 세션 시간의 1/4 보다 길게 기다리지 않음 (그 사이 자리가 상당수 비므로)
+            if (!congested && waiting > 0 && s.avgSessionMs > 0) {
+                s.intervalMs = Math.max(minIntervalMs, Math.min(s.intervalMs, (long) (s.avgSessionMs / 4)));
+            }
+            s.nextDueAt = now + s.intervalMs;
+        }
+    }
+
+    public void forget(String movieId) {
+        states.remove(movieId);
+    }
+
+    /**
+     * 🎛️ 영화별 조절기 상태
+     */
+    public Map<String, Object> getState() {
+        Map<String, Object> movies = new TreeMap<>();
+        states.forEach((movieId, s) -> {
+            synchronized (s) {
+                Map<String, Object> m = new LinkedHashMap<>();
+                m.put("batchSize", enabled ? Math.round(s.batch) : FIXED_BATCH_SIZE);
+                m.put("intervalMs", enabled ? s.intervalMs : FIXED_INTERVAL_MS);
+                m.put("nextDueAt", s.nextDueAt);
+                m.put("avgSessionMs", Math.round(s.avgSessionMs));
+                m.put("timeoutRate", s.timeoutRate);
+                m.put("notificationLagMs", Math.round(s.notificationLagMs));
+                m.put("lastAdmitted", s.lastAdmitted);
+                m.put("lastWaiting", s.lastWaiting);
+                m.put("increases", s.increases);
+                m.put("decreases", s.decreases);
+                m.put("updatedAt", s.updatedAt);
+                movies.put(movieId, m);
+            }
+        });
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("enabled", enabled);
+        result.put("bounds", Map.of(
+            "minBatch", minBatch,
+            "maxBatch", maxBatch,
+            "minIntervalMs", minIntervalMs,
+            "maxIntervalMs", maxIntervalMs,
+            "targetTimeoutRate", targetTimeoutRate,
+            "maxNotificationLagMs", maxNotificationLagMs
+        ));
+        result.put("movies", movies);
+        return result;
+    }
+
+    /**
+     * 영화 하나의 조절기 상태. 모든 접근은 인스턴스 락을 잡은 상태에서만 수행
+     */
+    private static final class MovieState {
+        private double batch;
+        private long intervalMs;
+        private long nextDueAt;
+
+        // 세션 종료 누적값의 직전 관측치 (처음 관측 전에는 -1)
+        private long lastCompleted = -1;
+        private long lastSessionMs;
+        private long lastTimeouts;
+
+        private double avgSessionMs;
+        private double timeoutRate;
+        private double notificationLagMs;
+
+        private int lastAdmitted;
+        private long lastWaiting;
+        private long increases;
+        private long decreases;
+        private long updatedAt;
+
+        private MovieState(double batch, long intervalMs) {
+            this.batch = batch;
+            this.intervalMs = intervalMs;
+        }
+
+        private void observe(AdmissionStore.SessionStats stats, long lagMs) {
+            if (lastCompleted >= 0) {
+                long completed = stats.completed() - lastCompleted;
+                long sessionMs = stats.sessionMs() - lastSessionMs;
+                long timeouts = stats.timeouts() - lastTimeouts;
+                if (completed > 0) {
+                    avgSessionMs = ewma(avgSessionMs, (double) sessionMs / completed);
+                }
+                if (completed + timeouts > 0) {
+                    // 타임아웃 비율은 0 에서 시작 (첫 타임아웃 한 건으로 바로 혼잡 판단하지 않도록)
+                    timeoutRate += EWMA_ALPHA * ((double) timeouts / (completed + timeouts) - timeoutRate);
+                }
+            }
+            lastCompleted = stats.completed();
+            lastSessionMs = stats.sessionMs();
+            lastTimeouts = stats.timeouts();
+
+            if (lagMs >= 0) {
+                notificationLagMs = ewma(notificationLagMs, lagMs);
+            }
+        }
+
+        private static double ewma(double current, double sample) {
+            return current == 0 ? sample : current + EWMA_ALPHA * (sample - current);
+        }
+    }
+}
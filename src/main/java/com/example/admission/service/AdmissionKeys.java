@@ -0,0 +1,106 @@
+package com.example.admission.service;
+
+/**
+ * 영화별 대기열 Redis 키 모음.
+ * 모든 키에 {movieId} Hash Tag 를 사용해 같은 슬롯에 배치되도록 함 (Lua 스크립트 CROSSSLOT 방지)
+ */
+public final class AdmissionKeys {
+
+    public static final String ACTIVE_MOVIES = "active_movies";
+    public static final String WAITING_MOVIES = "waiting_movies";
+    // 담당 Pod 이 주기적으로 발행하는 영화별 대기열 스냅샷 pub/sub 채널
+    public static final String SNAPSHOT_CHANNEL = "admission:snapshots";
+    // Pod 별 WebSocket 구독 색인 변경 pub/sub 채널
+    public static final String WS_ROUTES_CHANNEL = "admission:ws-routes";
+    // 구독 Pod 을 아직 모르는 알림 pub/sub 채널 (구독이 있는 Pod 만 전달)
+    public static final String WS_BROADCAST_CHANNEL = "admission:ws:all";
+
+    private AdmissionKeys() {
+    }
+
+    // 활성 세션 ZSET (member → 마지막 활동 시각, heartbeat 전에는 입장 시각)
+    public static String active(String movieId) {
+        return "sessions:{" + movieId + "}:active";
+    }
+
+    // 대기열 ZSET (member → 진입 시각)
+    public static String waiting(String movieId) {
+        return "sessions:{" + movieId + "}:waiting";
+    }
+
+    // Pod 별 입장 슬롯 임대 수 HASH (podId → 남은 슬롯 수)
+    public static String leases(String movieId) {
+        return "sessions:{" + movieId + "}:leases";
+    }
+
+    // Pod 별 임대 만료 시각 ZSET (podId → expiresAt)
+    public static String leaseExpiry(String movieId) {
+        return "sessions:{" + movieId + "}:lease_expiry";
+    }
+
+    // [번호표 모드] 마지막으로 발급한 번호 (INCR)
+    public static String ticketSeq(String movieId) {
+        return "sessions:{" + movieId + "}:ticket_seq";
+    }
+
+    // [번호표 모드] 입장 처리된 마지막 번호 (admitted cursor)
+    public static String ticketCursor(String movieId) {
+        return "sessions:{" + movieId + "}:ticket_cursor";
+    }
+
+    // [번호표 모드] 대기 중인 member → ticket HASH
+    public static String tickets(String movieId) {
+        return "sessions:{" + movieId + "}:tickets";
+    }
+
+    // [번호표 모드] 대기 중인 ticket → member HASH
+    public static String ticketMembers(String movieId) {
+        return "sessions:{" + movieId + "}:ticket_members";
+    }
+
+    // [번호표 모드] 입장 전에 이탈한 ticket ZSET (score = ticket)
+    public static String ticketDeparted(String movieId) {
+        return "sessions:{" + movieId + "}:departed";
+    }
+
+    // 세션별 현재 member HASH (sessionId → "requestId:sessionId"). 같은 세션의 재진입을 기존 순번으로 돌려주는 데 사용
+    public static String bySession(String movieId) {
+        return "sessions:{" + movieId + "}:by_session";
+    }
+
+    // 대기자가 있는 상태에서 비워진 자리의 비워진 시각 LIST (승격될 때 앞에서부터 꺼냄)
+    public static String freedSlots(String movieId) {
+        return "sessions:{" + movieId + "}:freed_at";
+    }
+
+    // 빈자리 대기 시간 누적 HASH (samples / total_ms / max_ms) + 누적 승격 수 (promoted)
+    public static String slotIdle(String movieId) {
+        return "sessions:{" + movieId + "}:slot_idle";
+    }
+
+    // 세션별 입장 시도 수 (window-ms 단위 구간 번호별 카운터, 모든 Pod 합계). 영화와 무관하므로 {sessionId} 를 Hash Tag 로 사용
+    public static String enterAttempts(String sessionId, long window) {
+        return "enter_rate:{" + sessionId + "}:" + window;
+    }
+
+    // 활성 세션 종료 통계 HASH (completed / session_ms / timeouts)
+    public static String sessionStats(String movieId) {
+        return "sessions:{" + movieId + "}:session_stats";
+    }
+
+    // 활성 member → 입장 시각 HASH. heartbeat 가 활성 ZSET 점수를 처음 올릴 때 원래 점수(입장 시각)를 옮겨 둠
+    public static String admittedAt(String movieId) {
+        return "sessions:{" + movieId + "}:admitted_at";
+    }
+
+    // Pod 별 WebSocket 알림 pub/sub 채널
+    public static String wsPodChannel(String podId) {
+        return "admission:ws:pod:" + podId;
+    }
+
+    // 대기열/활성 member "requestId:sessionId" → requestId (정규식/split 배열 할당 없이)
+    public static String requestIdOf(String member) {
+        int colon = member.indexOf(':');
+        return colon >= 0 ? member.substring(0, colon) : member;
+    }
+}
@@ -0,0 +1,13 @@
+// src/main/java/com/example/admission/service/AdmissionPromotedEvent.java
+package com.example.admission.service;
+
+import com.example.admission.store.AdmissionStore;
+
+import java.util.List;
+
+/**
+ * 퇴장/세션 만료로 빈자리가 생겨 즉시 승격이 일어났을 때 발행되는 애플리케이션 이벤트.
+ * members 는 "requestId:sessionId" 형식이며, WebSocketUpdateService 가 받아 입장 알림을 보냅니다.
+ */
+public record AdmissionPromotedEvent(String movieId, List<String> members, AdmissionStore.ReleaseCause cause) {
+}
@@ -0,0 +1,54 @@
+// src/main/java/com/example/admission/service/AdmissionQueueModes.java
+package com.example.admission.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 영화별 대기열 모드 선택.
+ *
+ * - ZSET   : 기존 방식. sessions:{id}:waiting ZSET 에 진입 시각으로 쌓고 ZRANK 로 순번 계산
+ * - TICKET : 번호표 방식. INCR 로 번호를 발급하고 순번 = ticket - cursor - 앞선 이탈자 수 로 계산
+ *
+ * 모드는 영화 단위로 고정되어야 합니다. 대기자가 있는 상태에서 모드를 바꾸면 기존 대기자는 조회되지 않습니다.
+ */
+@Component
+public class AdmissionQueueModes {
+
+    public enum Mode { ZSET, TICKET }
+
+    @Value("${admission.queue-mode.default:ZSET}")
+    private Mode defaultMode = Mode.ZSET;
+
+    @Value("${admission.queue-mode.ticket-movies:}")
+    private Set<String> ticketMovies = Set.of();
+
+    @Value("${admission.queue-mode.zset-movies:}")
+    private Set<String> zsetMovies = Set.of();
+
+    public Mode modeOf(String movieId) {
+        if (ticketMovies.contains(movieId)) {
+            return Mode.TICKET;
+        }
+        if (zsetMovies.contains(movieId)) {
+            return Mode.ZSET;
+        }
+        return defaultMode;
+    }
+
+    public boolean isTicketMode(String movieId) {
+        return modeOf(movieId) == Mode.TICKET;
+    }
+
+    public Map<String, Object> getModeConfig() {
+        Map<String, Object> config = new LinkedHashMap<>();
+        config.put("default", defaultMode);
+        config.put("ticketMovies", ticketMovies);
+        config.put("zsetMovies", zsetMovies);
+        return config;
+    }
+}
@@ -0,0 +1,174 @@
+// src/main/java/com/example/admission/service/AdmissionRateEstimator.java
+package com.example.admission.service;
+
+import com.example.admission.dto.WaitEstimate;
+import com.example.admission.store.AdmissionStore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 영화별 입장 속도(초당 승격 인원) 추정기.
+ *
+ * sample-ms 마다 저장소의 누적 승격 수(promotedTotal, 모든 Pod 합계)를 읽어 구간 입장 속도를 구하고,
+ * 반감기(half-life-seconds) 기반 EWMA 로 평균과 분산을 갱신합니다. 누적값을 공유하므로 모든 Pod 이 같은 속도를 봅니다.
+ * 예상 대기 시간 = 순번 / 입장 속도, 신뢰 구간은 입장 속도 ± z·표준오차 로 계산합니다.
+ * 승격은 처리 주기(기본 2초)마다 몰아서 일어나므로 1초 표본은 0 과 배치 크기 사이를 오가고, 그 표준편차는
+ * 속도 추정의 불확실성이 아닌 표본의 퍼짐입니다. 그래서 표준편차에 EWMA 가중치 제곱합의 제곱근
+ * (= 1/√유효 표본 수, 반감기 30초면 약 1/9)을 곱한 표준오차를 씁니다.
+ * 표본이 부족하거나 입장이 멈춰 있으면 추정하지 않고 null 을 반환합니다.
+ */
+@Component
+public class AdmissionRateEstimator {
+
+    private static final Logger logger = LoggerFactory.getLogger(AdmissionRateEstimator.class);
+
+    private final AdmissionStore store;
+
+    @Value("${admission.eta.half-life-seconds:30}")
+    private double halfLifeSeconds = 30;
+
+    @Value("${admission.eta.min-samples:3}")
+    private int minSamples = 3;
+
+    @Value("${admission.eta.min-rate-per-second:0.01}")
+    private double minRatePerSecond = 0.01;
+
+    @Value("${admission.eta.confidence-z:1.96}")
+    private double confidenceZ = 1.96;
+
+    private final Map<String, RateState> states = new ConcurrentHashMap<>();
+
+    public AdmissionRateEstimator(AdmissionStore store) {
+        this.store = store;
+    }
+
+    @Scheduled(fixedDelayString = "${admission.eta.sample-ms:1000}")
+    public void sample() {
+        sample(System.currentTimeMillis());
+    }
+
+    void sample(long now) {
+        try {
+            Set<String> movieIds = store.movieIds();
+            states.keySet().retainAll(movieIds);
+            for (String movieId : movieIds) {
+                long total = store.promotedTotal(movieId);
+                states.computeIfAbsent(movieId, id -> new RateState()).observe(total, now, halfLifeSeconds);
+            }
+        } catch (Exception e) {
+            logger.warn("입장 속도 표본 수집 실패", e);
+        }
+    }
+
+    /**
+     * rank 번째 대기자의 예상 대기 시간. 추정할 수 없으면 null
+     */
+    public WaitEstimate estimate(String movieId, long rank) {
+        RateState s = states.get(movieId);
+        if (s == null || rank <= 0) {
+            return null;
+        }
+        double rate;
+        double standardError;
+        synchronized (s) {
+            if (s.samples < minSamples) {
+                return null;
+            }
+            rate = s.rate;
+            standardError = s.standardError();
+        }
+        if (rate < minRatePerSecond) {
+            return null;
+        }
+        double fastRate = rate + confidenceZ * standardError;
+        double slowRate = rate - confidenceZ * standardError;
+        long seconds = (long) Math.ceil(rank / rate);
+        long lowSeconds = (long) Math.ceil(rank / fastRate);
+        // 속도 하한이 너무 낮으면 상한을 제시하지 않음
+        Long highSeconds = slowRate >= minRatePerSecond ? (long) Math.ceil(rank / slowRate) : null;
+        return new WaitEstimate(seconds, lowSeconds, highSeconds, rate);
+    }
+
+    /**
+     * 📈 영화별 입장 속도 추정 상태
+     */
+    public Map<String, Object> getState() {
+        Map<String, Object> movies = new TreeMap<>();
+        states.forEach((movieId, s) -> {
+            synchronized (s) {
+                Map<String, Object> m = new LinkedHashMap<>();
+                m.put("admissionsPerSecond", s.rate);
+                m.put("stdDev", Math.sqrt(s.variance));
+                m.put("stdError", s.standardError());
+                m.put("effectiveSamples", 1 / s.weightSquareSum);
+                m.put("samples", s.samples);
+                m.put("promotedTotal", s.lastTotal);
+                m.put("updatedAt", s.lastAt);
+                movies.put(movieId, m);
+            }
+        });
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("halfLifeSeconds", halfLifeSeconds);
+        result.put("minSamples", minSamples);
+        result.put("minRatePerSecond", minRatePerSecond);
+        result.put("confidenceZ", confidenceZ);
+        result.put("movies", movies);
+        return result;
+    }
+
+    /**
+     * 영화 하나의 속도 추정 상태. 모든 접근은 인스턴스 락을 잡은 상태에서만 수행
+     */
+    private static final class RateState {
+        // 누적 승격 수의 직전 관측치 (처음 관측 전에는 -1)
+        private long lastTotal = -1;
+        private long lastAt;
+        private double rate;
+        private double variance;
+        // 정규화된 EWMA 가중치의 제곱합 (1 / 유효 표본 수). 첫 표본은 가중치 1
+        private double weightSquareSum = 1;
+        private long samples;
+
+        // 속도 추정값의 표준오차 = 표본 표준편차 × √(가중치 제곱합)
+        private double standardError() {
+            return Math.sqrt(variance * weightSquareSum);
+        }
+
+        private synchronized void observe(long total, long now, double halfLifeSeconds) {
+            if (lastTotal < 0 || total < lastTotal) {
+                // 첫 관측이거나 키가 초기화됨: 기준점만 다시 잡음
+                lastTotal = total;
+                lastAt = now;
+                return;
+            }
+            double dtSeconds = (now - lastAt) / 1000.0;
+            if (dtSeconds <= 0) {
+                return;
+            }
+            double sample = (total - lastTotal) / dtSeconds;
+            // 표본 간격이 들쭉날쭉해도 반감기가 일정하도록 간격에 맞춰 계수 계산
+            double alpha = 1 - Math.exp(-dtSeconds * Math.log(2) / halfLifeSeconds);
+            if (samples == 0) {
+                rate = sample;
+            } else {
+                double diff = sample - rate;
+                rate += alpha * diff;
+                variance = (1 - alpha) * (variance + alpha * diff * diff);
+                weightSquareSum = (1 - alpha) * (1 - alpha) * weightSquareSum + alpha * alpha;
+            }
+            samples++;
+            lastTotal = total;
+            lastAt = now;
+        }
+    }
+}
@@ -0,0 +1,322 @@
+// src/main/java/com/example/admission/service/AdmissionScriptRegistry.java
+package com.example.admission.service;
+
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.data.redis.connection.ReactiveRedisConnection;
+import org.springframework.data.redis.connection.ReactiveRedisConnectionFactory;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.ReturnType;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StreamUtils;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * resources/scripts/*.lua 를 기동 시 한 번만 읽어 SCRIPT LOAD 해두고,
+ * 이후에는 EVALSHA 로 SHA 만 전송해 호출하는 Lua 스크립트 저장소.
+ *
+ * - 스크립트 이름은 파일명에서 .lua 를 뺀 값 (예: enter.lua → "enter")
+ * - scripts/lib/*.lua 는 공통 local 함수 모음으로, LIBRARIES 에 적힌 순서대로 모든 스크립트 앞에 붙여서 로드됨
+ * - 모든 스크립트는 Lua 테이블(List)을 반환해야 함 (ReturnType.MULTI)
+ * - 페일오버 등으로 스크립트 캐시가 비어 NOSCRIPT 가 나면 전체를 다시 로드하고, 재시도는 EVAL 로 본문을 보냄
+ * - executeAsync 는 같은 스크립트를 Lettuce 공유 커넥션의 reactive 명령으로 호출 (호출 스레드를 막지 않음)
+ */
+@Component
+public class AdmissionScriptRegistry {
+
+    private static final Logger logger = LoggerFactory.getLogger(AdmissionScriptRegistry.class);
+    private static final String SCRIPT_LOCATION = "classpath*:scripts/*.lua";
+    private static final String LIBRARY_LOCATION = "classpath*:scripts/lib/*.lua";
+    // 공통 라이브러리 로드 순서. Lua local 함수는 앞에서 정의된 것만 참조할 수 있으므로 의존 대상이 먼저 와야 함
+    // (enter/tickets → by_session, vacancy → leases·slot_idle·admit·tickets)
+    static final List<String> LIBRARIES = List.of(
+            "by_session", "leases", "session_stats", "slot_idle", "admit", "enter", "tickets", "vacancy");
+
+    private final RedisTemplate<String, String> redisTemplate;
+    private final ReactiveRedisConnectionFactory reactiveConnectionFactory;
+    private final Map<String, ScriptEntry> scripts = new ConcurrentHashMap<>();
+
+    public AdmissionScriptRegistry(RedisTemplate<String, String> redisTemplate,
+                                   ReactiveRedisConnectionFactory reactiveConnectionFactory) {
+        this.redisTemplate = redisTemplate;
+        this.reactiveConnectionFactory = reactiveConnectionFactory;
+    }
+
+    @PostConstruct
+    public void init() {
+        loadScriptsFromClasspath();
+        try {
+            preloadAll();
+        } catch (Exception e) {
+            // Redis 가 아직 준비되지 않았어도 기동은 계속. 첫 호출 시 NOSCRIPT 경로에서 다시 로드됨
+            logger.warn("⚠️ Lua 스크립트 사전 로드 실패. 첫 호출 시 재로드합니다. 에러: {}", e.getMessage());
+        }
+    }
+
+    private void loadScriptsFromClasspath() {
+        try {
+            PathMatchingResourcePatternResolver resolver = new PathMatchingResourcePatternResolver();
+            String prelude = loadLibraryPrelude(resolver);
+            Resource[] resources = resolver.getResources(SCRIPT_LOCATION);
+            for (Resource resource : resources) {
+                String filename = resource.getFilename();
+                if (filename == null) {
+                    continue;
+                }
+                String name = filename.substring(0, filename.length() - ".lua".length());
+                String body = StreamUtils.copyToString(resource.getInputStream(), StandardCharsets.UTF_8);
+                scripts.put(name, new ScriptEntry(name, prelude + body));
+            }
+            logger.info("📜 Lua 스크립트 {}개 등록: {}", scripts.size(), new TreeSet<>(scripts.keySet()));
+        } catch (IOException e) {
+            throw new IllegalStateException("Lua 스크립트 로드 실패: " + SCRIPT_LOCATION, e);
+        }
+    }
+
+    // 공통 라이브러리를 LIBRARIES 순서로 이어 붙임 (Redis 는 스크립트 간 함수 공유를 지원하지 않음)
+    // 목록에 없는 lib 파일이나 없는 항목이 있으면 기동 시 실패시켜 순서 누락을 바로 드러냄
+    private String loadLibraryPrelude(PathMatchingResourcePatternResolver resolver) throws IOException {
+        Map<String, Resource> libraries = new HashMap<>();
+        for (Resource library : resolver.getResources(LIBRARY_LOCATION)) {
+            String filename = String.valueOf(library.getFilename());
+            libraries.put(filename.substring(0, filename.length() - ".lua".length()), library);
+        }
+        if (!libraries.keySet().equals(new HashSet<>(LIBRARIES))) {
+            throw new IllegalStateException("scripts/lib 파일과 로드 순서 목록이 다릅니다. 파일: "
+                    + new TreeSet<>(libraries.keySet()) + ", 목록: " + LIBRARIES);
+        }
+        StringBuilder prelude = new StringBuilder();
+        for (String name : LIBRARIES) {
+            prelude.append(StreamUtils.copyToString(libraries.get(name).getInputStream(), StandardCharsets.UTF_8)).append('\n');
+        }
+        return prelude.toString();
+    }
+
+    /**
+     * 등록된 모든 스크립트를 SCRIPT LOAD 합니다.
+     * Lettuce 클러스터 커넥션의 SCRIPT LOAD 는 모든 upstream 노드로 브로드캐스트되므로
+     * 클러스터 모드에서도 한 번의 호출로 전 노드에 적재됩니다.
+     */
+    public void preloadAll() {
+        redisTemplate.execute((RedisCallback<Void>) connection -> {
+            loadAll(connection);
+            return null;
+        });
+        logger.info("✅ Lua 스크립트 {}개 SCRIPT LOAD 완료", scripts.size());
+    }
+
+    private void loadAll(RedisConnection connection) {
+        for (ScriptEntry entry : scripts.values()) {
+            String loadedSha = connection.scriptingCommands().scriptLoad(entry.bodyBytes);
+            if (loadedSha != null && !loadedSha.equals(entry.sha1)) {
+                logger.warn("⚠️ 스크립트 SHA 불일치 - {} (로컬: {}, Redis: {})", entry.name, entry.sha1, loadedSha);
+            }
+        }
+    }
+
+    /**
+     * EVALSHA 로 스크립트를 실행하고, bulk 응답을 String 으로 변환해 반환합니다.
+     */
+    public List<Object> execute(String name, List<String> keys, Object... args) {
+        ScriptEntry entry = entry(name);
+        byte[][] keysAndArgs = encode(keys, args);
+
+        long start = System.nanoTime();
+        try {
+            List<Object> raw = redisTemplate.execute((RedisCallback<List<Object>>) connection ->
+                    evalSha(connection, entry, keys.size(), keysAndArgs));
+            entry.recordCall(System.nanoTime() - start);
+            return deserialize(raw);
+        } catch (RuntimeException e) {
+            entry.errors.increment();
+            throw e;
+        }
+    }
+
+    /**
+     * execute 의 non-blocking 버전. 결과는 Lettuce 이벤트 루프 스레드에서 전달되므로 구독하는 쪽에서 블로킹 호출을 하면 안 됩니다.
+     */
+    public Mono<List<Object>> executeAsync(String name, List<String> keys, Object... args) {
+        ScriptEntry entry = entry(name);
+        byte[][] keysAndArgs = encode(keys, args);
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            return Mono.usingWhen(Mono.fromSupplier(reactiveConnectionFactory::getReactiveConnection),
+                            connection -> evalShaAsync(connection, entry, keys.size(), keysAndArgs),
+                            ReactiveRedisConnection::closeLater)
+                    .map(this::deserialize)
+                    .doOnNext(result -> entry.recordCall(System.nanoTime() - start))
+                    .doOnError(e -> entry.errors.increment());
+        });
+    }
+
+    // 재시도는 EVAL 로 본문을 보냄. SCRIPT LOAD 는 이 커넥션이 닿는 노드에만 적재될 수 있지만,
+    // EVAL 은 키가 속한 노드로 라우팅되고 그 노드의 스크립트 캐시도 채우므로 클러스터에서도 다음 EVALSHA 가 성공함
+    private Mono<List<Object>> evalShaAsync(ReactiveRedisConnection connection, ScriptEntry entry, int numKeys,
+                                            byte[][] keysAndArgs) {
+        return evalShaOnce(connection, entry, numKeys, keysAndArgs)
+                .onErrorResume(this::isNoScriptError, e -> {
+                    logger.warn("🔁 NOSCRIPT 감지 ({}). EVAL 로 재시도합니다.", entry.name);
+                    entry.reloads.increment();
+                    return connection.scriptingCommands()
+                            .<Object>eval(ByteBuffer.wrap(entry.bodyBytes), ReturnType.MULTI, numKeys, toBuffers(keysAndArgs))
+                            .collectList();
+                });
+    }
+
+    // reactive EVALSHA 는 MULTI 응답을 원소 단위 Flux 로 풀어서 주므로 다시 List 로 모음
+    private Mono<List<Object>> evalShaOnce(ReactiveRedisConnection connection, ScriptEntry entry, int numKeys,
+                                           byte[][] keysAndArgs) {
+        return connection.scriptingCommands().<Object>evalSha(entry.sha1, ReturnType.MULTI, numKeys, toBuffers(keysAndArgs))
+                .collectList();
+    }
+
+    private static ByteBuffer[] toBuffers(byte[][] keysAndArgs) {
+        ByteBuffer[] buffers = new ByteBuffer[keysAndArgs.length];
+        for (int i = 0; i < keysAndArgs.length; i++) {
+            buffers[i] = ByteBuffer.wrap(keysAndArgs[i]);
+        }
+        return buffers;
+    }
+
+    private ScriptEntry entry(String name) {
+        ScriptEntry entry = scripts.get(name);
+        if (entry == null) {
+            throw new IllegalArgumentException("등록되지 않은 Lua 스크립트: " + name);
+        }
+        return entry;
+    }
+
+    private static byte[][] encode(List<String> keys, Object[] args) {
+        byte[][] keysAndArgs = new byte[keys.size() + args.length][];
+        int i = 0;
+        for (String key : keys) {
+            keysAndArgs[i++] = key.getBytes(StandardCharsets.UTF_8);
+        }
+        for (Object arg : args) {
+            keysAndArgs[i++] = String.valueOf(arg).getBytes(StandardCharsets.UTF_8);
+        }
+        return keysAndArgs;
+    }
+
+    private List<Object> evalSha(RedisConnection connection, ScriptEntry entry, int numKeys, byte[][] keysAndArgs) {
+        try {
+            return connection.scriptingCommands().evalSha(entry.sha1, ReturnType.MULTI, numKeys, keysAndArgs);
+        } catch (RuntimeException e) {
+            if (!isNoScriptError(e)) {
+                throw e;
+            }
+            // 페일오버/재시작으로 스크립트 캐시가 비워진 경우: 전체 재로드 후 1회 재시도
+            // 재로드가 키의 노드에 닿지 않았어도 실패하지 않도록 재시도는 EVAL (키의 노드로 라우팅되고 캐시도 채움)
+            logger.warn("🔁 NOSCRIPT 감지 ({}). 스크립트 캐시를 재로드합니다.", entry.name);
+            entry.reloads.increment();
+            loadAll(connection);
+            return connection.scriptingCommands().eval(entry.bodyBytes, ReturnType.MULTI, numKeys, keysAndArgs);
+        }
+    }
+
+    private boolean isNoScriptError(Throwable e) {
+        for (Throwable t = e; t != null; t = t.getCause()) {
+            String message = t.getMessage();
+            if (message != null && message.contains("NOSCRIPT")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private List<Object> deserialize(List<Object> raw) {
+        if (raw == null) {
+            return Collections.emptyList();
+        }
+        List<Object> result = new ArrayList<>(raw.size());
+        for (Object value : raw) {
+            result.add(deserializeValue(value));
+        }
+        return result;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Object deserializeValue(Object value) {
+        if (value instanceof byte[] bytes) {
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+        if (value instanceof ByteBuffer buffer) {
+            return StandardCharsets.UTF_8.decode(buffer.duplicate()).toString();
+        }
+        if (value instanceof List<?> list) {
+            return deserialize((List<Object>) list);
+        }
+        return value;
+    }
+
+    public boolean contains(String name) {
+        return scripts.containsKey(name);
+    }
+
+    /**
+     * 📊 스크립트별 호출 수 / 지연 시간 통계
+     */
+    public Map<String, Object> getScriptStats() {
+        Map<String, Object> stats = new TreeMap<>();
+        for (ScriptEntry entry : scripts.values()) {
+            long calls = entry.calls.sum();
+            Map<String, Object> scriptStats = new LinkedHashMap<>();
+            scriptStats.put("sha1", entry.sha1);
+            scriptStats.put("calls", calls);
+            scriptStats.put("errors", entry.errors.sum());
+            scriptStats.put("noscriptReloads", entry.reloads.sum());
+            scriptStats.put("avgLatencyMs", calls > 0 ? entry.totalNanos.sum() / calls / 1_000_000.0 : 0.0);
+            scriptStats.put("maxLatencyMs", entry.maxNanos.get() / 1_000_000.0);
+            stats.put(entry.name, scriptStats);
+        }
+        return stats;
+    }
+
+    private static final class ScriptEntry {
+        private final String name;
+        private final byte[] bodyBytes;
+        private final String sha1;
+        private final LongAdder calls = new LongAdder();
+        private final LongAdder errors = new LongAdder();
+        private final LongAdder reloads = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final AtomicLong maxNanos = new AtomicLong();
+
+        private ScriptEntry(String name, String body) {
+            this.name = name;
+            this.bodyBytes = body.getBytes(StandardCharsets.UTF_8);
+            this.sha1 = sha1Hex(bodyBytes);
+        }
+
+        private void recordCall(long elapsedNanos) {
+            calls.increment();
+            totalNanos.add(elapsedNanos);
+            maxNanos.accumulateAndGet(elapsedNanos, Math::max);
+        }
+
+        private static String sha1Hex(byte[] bytes) {
+            try {
+                return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-1").digest(bytes));
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException("SHA-1 을 사용할 수 없습니다", e);
+            }
+        }
+    }
+}
@@ -1,98 +1,93 @@
 // src/main/java/com/example/admission/service/AdmissionService.java
 package com.example.admission.service;
 
+import com.example.admission.dto.EnterRequest;
 import com.example.admission.dto.EnterResponse;
+import com.example.admission.dto.WaitEstimate;
+import com.example.admission.store.AdmissionStore;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.data.redis.RedisSystemException;
-import org.springframework.data.redis.core.RedisTemplate;
-import org.springframework.data.redis.core.SetOperations;
-import org.springframework.data.redis.core.ZSetOperations;
-import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
-import io.lettuce.core.RedisCommandExecutionException;
 
 import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.ObjLongConsumer;
 
+/**
+ * 대기열 입장/퇴장/순번 조회 서비스.
+ * 상태 저장과 원자적 판단은 AdmissionStore 구현체(admission.store=redis|memory)에 위임하고,
+ * 여기서는 최대 세션 수 계산, 응답 변환, 로그/통계만 담당합니다.
+ */
 @Service
 public class AdmissionService {
 
     private static final Logger logger = LoggerFactory.getLogger(AdmissionService.class);
-    private static final String ACTIVE_MOVIES = "active_movies";
-    private static final String WAITING_MOVIES = "waiting_movies";
 
-    private final RedisTemplate<String, String> redisTemplate;
-    private final SetOperations<String, String> setOps;
-    private final ZSetOperations<String, String> zSetOps;
+    private final AdmissionStore store;
     private final DynamicSessionCalculator sessionCalculator;
+    private final ApplicationEventPublisher eventPublisher;
+    private final AdmissionRateEstimator rateEstimator;
+    private final QueueSnapshotCache snapshotCache;
+
+    // enter 왕복 횟수 통계
+    private final LongAdder enterCalls = new LongAdder();
+    private final LongAdder enterRoundTrips = new LongAdder();
+    private final LongAdder enterMultiRoundTripCalls = new LongAdder();
+    private final AtomicLong maxEnterRoundTrips = new AtomicLong();
+    // 같은 세션의 재진입을 기존 순번으로 돌려준 횟수 (단건 + 일괄)
+    private final LongAdder enterReused = new LongAdder();
+
+    // 일괄 입장 통계
+    private final LongAdder batchCalls = new LongAdder();
+    private final LongAdder batchItems = new LongAdder();
+    private final LongAdder batchRoundTrips = new LongAdder();
+
+    // 퇴장/만료로 빈자리가 생긴 즉시 승격한 인원
+    private final LongAdder promotedOnLeave = new LongAdder();
+    private final LongAdder promotedOnTimeout = new LongAdder();
 
     @Value("${SESSION_TIMEOUT_SECONDS:30}")
     private long sessionTimeoutSeconds;
 
-    public AdmissionService(RedisTemplate<String, String> redisTemplate, 
-                           DynamicSessionCalculator sessionCalculator) {
-        this.redisTemplate = redisTemplate;
-        this.setOps = redisTemplate.opsForSet();
-        this.zSetOps = redisTemplate.opsForZSet();
-        this.sessionCalculator = sessionCalculator;
-    }
+    // false 면 퇴장/만료 시 승격하지 않고 주기 처리기(QueueProcessor)에만 맡김 (비교용)
+    @Value("${admission.promote-on-release:true}")
+    private boolean promoteOnRelease = true;
 
-    // Hash Tag를 사용해 Redis 키들이 같은 슬롯에 배치되도록 함 (CROSSSLOT 오류 해결)
-    private String activeSessionsKey(String type, String id) { 
-        return "sessions:{" + id + "}:active"; 
-    }
+    // 전체 순위 조회 페이지 크기
+    @Value("${admission.rank-scan.page-size:1000}")
+    private int rankScanPageSize = 1000;
 
-    private String waitingQueueKey(String type, String id) { 
-        return "sessions:{" + id + "}:waiting"; 
+    public AdmissionService(AdmissionStore store, DynamicSessionCalculator sessionCalculator,
+                            ApplicationEventPublisher eventPublisher, AdmissionRateEstimator rateEstimator,
+                            QueueSnapshotCache snapshotCache) {
+        this.store = store;
+        this.sessionCalculator = sessionCalculator;
+        this.eventPublisher = eventPublisher;
+        this.rateEstimator = rateEstimator;
+        this.snapshotCache = snapshotCache;
+        logger.info("📦 대기열 저장소: {}", store.name());
     }
 
-    // Redis WRONGTYPE 오류 방어 로직
-    private void ensureKeyType(String key, String expectedType) {
-        try {
-            String actualType = redisTemplate.type(key).name();
-            if (!"NONE".equals(actualType) && !expectedType.equals(actualType)) {
-                logger.warn("키 타입 불일치 감지 (예상: {}, 실제: {}). 키를 삭제하고 재생성합니다.", 
-                          expectedType, actualType);
-                redisTemplate.delete(key);
-            }
-        } catch (Exception e) {
-            logger.error("키 타입 확인 중 오류, 키 삭제 후 재생성", e);
-            redisTemplate.delete(key);
-        }
+    public String getStoreName() {
+        return store.name();
     }
 
-    // 방어적 Redis 조회 메서드
     public long getTotalActiveCount(String type, String id) {
-        String key = activeSessionsKey(type, id);
-        try {
-            ensureKeyType(key, "ZSET");
-            return Optional.ofNullable(zSetOps.zCard(key)).orElse(0L);
-        } catch (RedisSystemException e) {
-            if (isWrongTypeError(e)) {
-                logger.warn("WRONGTYPE 오류 감지. 키 삭제 후 재시도");
-                redisTemplate.delete(key);
-                return 0L;
-            }
-            logger.error("Redis 조회 실패", e);
-            return 0L;
-        }
+        return store.activeCount(id);
     }
 
     public long getTotalWaitingCount(String type, String id) {
-        String key = waitingQueueKey(type, id);
-        try {
-            ensureKeyType(key, "ZSET");
-            return Optional.ofNullable(zSetOps.zCard(key)).orElse(0L);
-        } catch (RedisSystemException e) {
-            if (isWrongTypeError(e)) {
-                logger.warn("WRONGTYPE 오류 감지. 키 삭제 후 재시도");
-                redisTemplate.delete(key);
-                return 0L;
-            }
-            logger.error("Redis 조회 실패", e);
-            return 0L;
-        }
+        return store.waitingCount(id);
+    }
+
+    /**
+     * 대기 순번 rank 의 예상 대기 시간 (영화별 실측 입장 속도 기반, 추정 불가 시 null)
+     */
+    public WaitEstimate estimateWait(String id, long rank) {
+        return rateEstimator.estimate(id, rank);
     }
 
     public long getVacantSlots(String type, String id) {
@@ -101,275 +96,351 @@ public class AdmissionService {
         return Math.max(0, maxSessions - currentSessions);
     }
 
-    // CROSSSLOT 해결된 Redis Lua 스크립트 입장 처리
+    /**
+     * 입장 처리 - 활성 세션 수가 최대치 미만이면 즉시 입장, 아니면 대기열 등록.
+     * 판단과 기록은 저장소에서 원자적으로 처리됩니다. (Redis 저장소는 정상 상태에서 왕복 1회)
+     */
     public EnterResponse enter(String type, String id, String sessionId, String requestId) {
         String member = requestId + ":" + sessionId;
-        String activeKey = activeSessionsKey(type, id);
-        String waitingKey = waitingQueueKey(type, id);
-        
-        // 키 타입 사전 검증 (WRONGTYPE 오류 방지)
-        ensureKeyType(activeKey, "ZSET");
-        ensureKeyType(waitingKey, "ZSET");
-        
         long now = System.currentTimeMillis();
         long maxSessions = sessionCalculator.calculateMaxActiveSessions();
 
-        // Hash Tag 키들은 같은 슬롯에 위치하므로 원자적 처리 가능
-        String luaScript = """
-            local activeKey = KEYS[1]
-            local waitingKey = KEYS[2]
-            local maxSessions = tonumber(ARGV[1])
-            local member = ARGV[2]
-            local now = tonumber(ARGV[3])
-            
-            -- 현재 활성 세션 수 확인
-            local activeCount = redis.call('ZCARD', activeKey)
-            
-            if activeCount < maxSessions then
-                -- 즉시 활성 세션으로 추가
-                redis.call('ZADD', activeKey, now, member)
-                return {1, 'SUCCESS', activeCount + 1}
-            else
-                -- 대기열에 추가
-                redis.call('ZADD', waitingKey, now, member)
-                local rank = redis.call('ZRANK', waitingKey, member)
-                local totalWaiting = redis.call('ZCARD', waitingKey)
-                return {2, 'QUEUED', rank + 1, totalWaiting}
-            end
-        """;
+        AdmissionStore.EnterOutcome outcome = store.enter(id, member, maxSessions, now);
+        return toEnterResponse(id, requestId, outcome, maxSessions, now);
+    }
 
-        try {
-            RedisScript<List> script = RedisScript.of(luaScript, List.class);
-            List<Object> result = redisTemplate.execute(script, 
-                Arrays.asList(activeKey, waitingKey), 
-                String.valueOf(maxSessions), member, String.valueOf(now));
-
-            // 영화를 활성 목록에 추가
-            setOps.add(ACTIVE_MOVIES, id);
-            if (Integer.parseInt(result.get(0).toString()) == 2) {
-                setOps.add(WAITING_MOVIES, id);
-            }
+    /**
+     * 저장소 입장 결과 → 응답. 왕복 통계와 입장 이벤트 발행도 여기서 처리 (비동기 경로 ReactiveAdmissionService 공용)
+     */
+    EnterResponse toEnterResponse(String id, String requestId, AdmissionStore.EnterOutcome outcome, long maxSessions, long now) {
+        recordEnterRoundTrips(outcome.roundTrips());
 
-            // 결과 처리
-            if (Integer.parseInt(result.get(0).toString()) == 1) {
-                logger.info("즉시 입장 허가 - requestId: {}..., 현재 활성: {}/{}", 
-                        requestId.substring(0, 8), result.get(2), maxSessions);
-                return new EnterResponse(EnterResponse.Status.SUCCESS, "즉시 입장", requestId, null, null);
-            } else {
-                Long myRank = Long.parseLong(result.get(2).toString());
-                Long totalWaiting = Long.parseLong(result.get(3).toString());
-                logger.info("대기열 등록 완료 - rank: {}/{}, requestId: {}...", 
-                        myRank, totalWaiting, requestId.substring(0, 8));
-                return new EnterResponse(EnterResponse.Status.QUEUED, "대기열 등록", requestId, myRank, totalWaiting);
-            }
-        } catch (RedisSystemException e) {
-            if (isWrongTypeError(e)) {
-                logger.error("Redis 스크립트 실행 오류. 키 정리 후 재시도 필요: {}", e.getMessage());
-                // 문제 키들 정리
-                redisTemplate.delete(activeKey);
-                redisTemplate.delete(waitingKey);
-                throw new RuntimeException("Redis 오류로 인한 입장 처리 실패. 잠시 후 다시 시도해주세요.", e);
-            }
-            throw e;
+        if (outcome.reused()) {
+            return reusedResponse(id, outcome);
+        }
+        if (outcome.admitted()) {
+            eventPublisher.publishEvent(new ActiveSessionsAddedEvent(id, now));
+            logger.info("즉시 입장 허가 - requestId: {}..., 현재 활성: {}/{}",
+                    requestId.substring(0, 8), outcome.activeCount(), maxSessions);
+            return new EnterResponse(EnterResponse.Status.SUCCESS, "즉시 입장", requestId, null, null, outcome.roundTrips());
         }
+        logger.info("대기열 등록 완료 - rank: {}/{}, requestId: {}...",
+                outcome.rank(), outcome.totalWaiting(), requestId.substring(0, 8));
+        return new EnterResponse(EnterResponse.Status.QUEUED, "대기열 등록", requestId,
+                outcome.rank(), outcome.totalWaiting(), estimateWait(id, outcome.rank()), outcome.roundTrips());
     }
 
-    // 오류 판별 유틸리티 (WRONGTYPE & CROSSSLOT 포함)
-    private boolean isWrongTypeError(Exception e) {
-        if (e instanceof RedisSystemException) {
-            Throwable cause = e.getCause();
-            if (cause instanceof RedisCommandExecutionException) {
-                String message = ((RedisCommandExecutionException) cause).getMessage();
-                return message.startsWith("WRONGTYPE") || message.contains("CROSSSLOT");
+    /**
+     * 일괄 입장 - 요청을 영화별로 묶어 영화당 한 번(저장소 chunk 단위)의 원자적 처리로 입장/대기를 판단합니다.
+     * 응답은 요청과 같은 순서이며, 한 영화의 처리가 실패하면 그 영화의 항목만 ERROR 로 채웁니다.
+     */
+    public List<EnterResponse> enterBatch(String type, List<EnterRequest> requests) {
+        long now = System.currentTimeMillis();
+        long maxSessions = sessionCalculator.calculateMaxActiveSessions();
+        EnterResponse[] responses = new EnterResponse[requests.size()];
+        Map<String, List<Integer>> indexesByMovie = groupByMovie(requests, responses);
+
+        int roundTrips = 0;
+        int admittedCount = 0;
+        for (Map.Entry<String, List<Integer>> group : indexesByMovie.entrySet()) {
+            String movieId = group.getKey();
+            List<Integer> indexes = group.getValue();
+            try {
+                AdmissionStore.EnterBatchResult result = store.enterBatch(movieId, batchMembers(requests, indexes), maxSessions, now);
+                roundTrips += result.roundTrips();
+                admittedCount += applyBatchOutcomes(movieId, requests, indexes, result, now, responses);
+            } catch (Exception e) {
+                fillBatchErrors(movieId, requests, indexes, responses, e);
             }
         }
-        return false;
+
+        recordBatch(requests.size(), indexesByMovie.size(), admittedCount, roundTrips);
+        return Arrays.asList(responses);
     }
 
-    // CROSSSLOT 해결된 대기자 승격 로직
-    public List<String> admitNextUsers(String type, String id, long count) {
-        String activeKey = activeSessionsKey(type, id);
-        String waitingKey = waitingQueueKey(type, id);
-        
-        try {
-            // 키 타입 사전 검증
-            ensureKeyType(activeKey, "ZSET");
-            ensureKeyType(waitingKey, "ZSET");
-            
-            // CROSSSLOT 해결: Hash Tag 키로 원자적 배치 처리
-            String luaScript = """
-                local waitingKey = KEYS[1]
-                local activeKey = KEYS[2]
-                local count = tonumber(ARGV[1])
-                local now = tonumber(ARGV[2])
-                
-                -- 대기열에서 다음 사용자들 가져오기
-                local waitingUsers = redis.call('ZRANGE', waitingKey, 0, count - 1)
-                local admitted = {}
-                
-                for i = 1, #waitingUsers do
-                    local user = waitingUsers[i]
-                    -- 대기열에서 제거
-                    redis.call('ZREM', waitingKey, user)
-                    -- 활성 세션에 추가
-                    redis.call('ZADD', activeKey, now, user)
-                    table.insert(admitted, user)
-                end
-                
-                return admitted
-            """;
-
-            long now = System.currentTimeMillis();
-            RedisScript<List> script = RedisScript.of(luaScript, List.class);
-            List<String> admitted = redisTemplate.execute(script, 
-                Arrays.asList(waitingKey, activeKey), 
-                String.valueOf(count), String.valueOf(now));
-
-            if (admitted != null && !admitted.isEmpty()) {
-                logger.info("{}명을 대기열에서 활성 세션으로 승격", admitted.size());
-                return admitted;
+    /**
+     * 일괄 입장 요청의 위치를 영화별로 모음 (요청 순서 유지). 필수 값이 빠진 항목은 바로 ERROR 응답으로 채움
+     */
+    Map<String, List<Integer>> groupByMovie(List<EnterRequest> requests, EnterResponse[] responses) {
+        Map<String, List<Integer>> indexesByMovie = new LinkedHashMap<>();
+        for (int i = 0; i < requests.size(); i++) {
+            EnterRequest request = requests.get(i);
+            if (request == null || request.movieId() == null || request.sessionId() == null || request.requestId() == null) {
+                responses[i] = new EnterResponse(EnterResponse.Status.ERROR, "필수 값 누락",
+                        request != null ? request.requestId() : null, null, null);
+                continue;
             }
+            indexesByMovie.computeIfAbsent(request.movieId(), k -> new ArrayList<>()).add(i);
+        }
+        return indexesByMovie;
+    }
 
-            return Collections.emptyList();
+    List<String> batchMembers(List<EnterRequest> requests, List<Integer> indexes) {
+        List<String> members = new ArrayList<>(indexes.size());
+        for (int index : indexes) {
+            members.add(requests.get(index).requestId() + ":" + requests.get(index).sessionId());
+        }
+        return members;
+    }
 
-        } catch (RedisSystemException e) {
-            if (isWrongTypeError(e)) {
-                logger.error("사용자 승격 중 Redis 오류. 키 정리: {}", e.getMessage());
-                redisTemplate.delete(activeKey);
-                redisTemplate.delete(waitingKey);
+    /**
+     * 영화 하나의 일괄 입장 결과를 응답 배열에 채우고, 새로 입장한 인원 수를 반환
+     */
+    int applyBatchOutcomes(String movieId, List<EnterRequest> requests, List<Integer> indexes,
+                           AdmissionStore.EnterBatchResult result, long now, EnterResponse[] responses) {
+        if (result.outcomes().stream().anyMatch(outcome -> outcome.admitted() && !outcome.reused())) {
+            eventPublisher.publishEvent(new ActiveSessionsAddedEvent(movieId, now));
+        }
+        int admittedCount = 0;
+        for (int i = 0; i < indexes.size(); i++) {
+            AdmissionStore.EnterOutcome outcome = result.outcomes().get(i);
+            String requestId = requests.get(indexes.get(i)).requestId();
+            if (outcome.reused()) {
+                responses[indexes.get(i)] = reusedResponse(movieId, outcome);
+            } else if (outcome.admitted()) {
+                admittedCount++;
+                responses[indexes.get(i)] = new EnterResponse(EnterResponse.Status.SUCCESS, "즉시 입장", requestId, null, null);
+            } else {
+                responses[indexes.get(i)] = new EnterResponse(EnterResponse.Status.QUEUED, "대기열 등록", requestId,
+                        outcome.rank(), outcome.totalWaiting(), estimateWait(movieId, outcome.rank()), 0);
             }
-            logger.error("사용자 승격 실패", e);
-            return Collections.emptyList();
         }
+        return admittedCount;
     }
 
-    // 대기열 퇴장
+    // 한 영화의 처리가 실패하면 그 영화의 항목만 ERROR 로 채움
+    void fillBatchErrors(String movieId, List<EnterRequest> requests, List<Integer> indexes,
+                         EnterResponse[] responses, Throwable e) {
+        logger.error("❌ 일괄 입장 처리 실패 - movieId: {}, {}건", movieId, indexes.size(), e);
+        for (int index : indexes) {
+            responses[index] = new EnterResponse(EnterResponse.Status.ERROR, "서버 내부 오류",
+                    requests.get(index).requestId(), null, null);
+        }
+    }
+
+    void recordBatch(int items, int movies, int admittedCount, int roundTrips) {
+        batchCalls.increment();
+        batchItems.add(items);
+        batchRoundTrips.add(roundTrips);
+        logger.info("일괄 입장 처리 - {}건 (영화 {}개), 즉시 입장 {}건, 저장소 왕복 {}회",
+                items, movies, admittedCount, roundTrips);
+    }
+
+    /**
+     * 같은 세션이 이미 활성/대기 중일 때의 응답 - 기존 member 의 requestId 와 현재 순번을 돌려줌 (클라이언트는 그 requestId 로 구독)
+     */
+    private EnterResponse reusedResponse(String id, AdmissionStore.EnterOutcome outcome) {
+        enterReused.increment();
+        String requestId = AdmissionKeys.requestIdOf(outcome.member());
+        if (outcome.admitted()) {
+            return new EnterResponse(EnterResponse.Status.SUCCESS, "이미 입장한 세션입니다", requestId, null, null,
+                    null, outcome.roundTrips());
+        }
+        return new EnterResponse(EnterResponse.Status.QUEUED, "기존 대기 순번 유지", requestId,
+                outcome.rank(), outcome.totalWaiting(), estimateWait(id, outcome.rank()), outcome.roundTrips());
+    }
+
+    private void recordEnterRoundTrips(int roundTrips) {
+        enterCalls.increment();
+        enterRoundTrips.add(roundTrips);
+        if (roundTrips > 1) {
+            enterMultiRoundTripCalls.increment();
+        }
+        maxEnterRoundTrips.accumulateAndGet(roundTrips, Math::max);
+    }
+
+    /**
+     * 📊 enter 한 번당 Redis 왕복 횟수 통계
+     */
+    public Map<String, Object> getEnterRoundTripStats() {
+        long calls = enterCalls.sum();
+        return Map.of(
+            "store", store.name(),
+            "enterCalls", calls,
+            "totalRoundTrips", enterRoundTrips.sum(),
+            "avgRoundTrips", calls > 0 ? (double) enterRoundTrips.sum() / calls : 0.0,
+            "maxRoundTrips", maxEnterRoundTrips.get(),
+            "multiRoundTripCalls", enterMultiRoundTripCalls.sum(),
+            "reusedPositions", enterReused.sum(),
+            "batchCalls", batchCalls.sum(),
+            "batchItems", batchItems.sum(),
+            "batchRoundTrips", batchRoundTrips.sum()
+        );
+    }
+
+    // 대기자 승격 (최대 세션 수를 넘지 않는 범위에서 대기열 앞에서부터)
+    public List<String> admitNextUsers(String type, String id, long count) {
+        long maxSessions = sessionCalculator.calculateMaxActiveSessions();
+        long now = System.currentTimeMillis();
+        List<String> admitted = store.admitNext(id, count, maxSessions, now);
+        if (!admitted.isEmpty()) {
+            eventPublisher.publishEvent(new ActiveSessionsAddedEvent(id, now));
+            logger.info("{}명을 대기열에서 활성 세션으로 승격", admitted.size());
+        }
+        return admitted;
+    }
+
+    // 대기열 퇴장 (빈자리가 생기면 같은 원자적 처리 안에서 다음 대기자 승격)
     public void leave(String type, String id, String sessionId, String requestId) {
         String member = requestId + ":" + sessionId;
         try {
-            zSetOps.remove(activeSessionsKey(type, id), member);
-            zSetOps.remove(waitingQueueKey(type, id), member);
-            logger.info("사용자 퇴장 - requestId: {}...", requestId.substring(0, 8));
+            List<String> promoted = store.release(id, List.of(member), sessionCalculator.calculateMaxActiveSessions(),
+                    System.currentTimeMillis(), promoteOnRelease, AdmissionStore.ReleaseCause.LEAVE);
+            onLeft(id, requestId, promoted);
         } catch (Exception e) {
             logger.warn("퇴장 처리 중 오류 (무시)", e);
         }
     }
 
-    // 활성 세션 확인
-    public boolean isUserInActiveSession(String type, String id, String sessionId, String requestId) {
-        try {
-            String member = requestId + ":" + sessionId;
-            String key = activeSessionsKey(type, id);
-            ensureKeyType(key, "ZSET");
-            return zSetOps.score(key, member) != null;
-        } catch (RedisSystemException e) {
-            if (isWrongTypeError(e)) {
-                logger.warn("활성 세션 확인 중 Redis 오류. 키 삭제");
-                redisTemplate.delete(activeSessionsKey(type, id));
+    boolean isPromoteOnRelease() {
+        return promoteOnRelease;
+    }
+
+    // 퇴장 처리 후 로그 + 즉시 승격 알림 (비동기 경로 공용)
+    void onLeft(String id, String requestId, List<String> promoted) {
+        logger.info("사용자 퇴장 - requestId: {}...", requestId.substring(0, 8));
+        publishPromoted(id, promoted, AdmissionStore.ReleaseCause.LEAVE);
+    }
+
+    void publishPromoted(String id, List<String> promoted, AdmissionStore.ReleaseCause cause) {
+        if (promoted.isEmpty()) {
+            return;
+        }
+        (cause == AdmissionStore.ReleaseCause.LEAVE ? promotedOnLeave : promotedOnTimeout).add(promoted.size());
+        logger.info("⚡ [{}] 빈자리 즉시 승격 {}명 ({})", id, promoted.size(), cause);
+        eventPublisher.publishEvent(new AdmissionPromotedEvent(id, promoted, cause));
+    }
+
+    /**
+     * ⏱️ 빈자리 대기 시간 - 대기자가 있는데 자리가 비어 있던 시간 (비워진 시각 → 승격 시각)
+     */
+    public Map<String, Object> getSlotIdleStats() {
+        Map<String, Object> byMovie = new TreeMap<>();
+        long samples = 0;
+        long totalMs = 0;
+        long maxMs = 0;
+        for (String movieId : store.movieIds()) {
+            AdmissionStore.SlotIdleStats stats = store.slotIdleStats(movieId);
+            if (stats.samples() == 0) {
+                continue;
             }
-            return false;
+            samples += stats.samples();
+            totalMs += stats.totalMs();
+            maxMs = Math.max(maxMs, stats.maxMs());
+            byMovie.put(movieId, Map.of(
+                "samples", stats.samples(),
+                "avgIdleMs", (double) stats.totalMs() / stats.samples(),
+                "maxIdleMs", stats.maxMs()
+            ));
         }
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("promoteOnRelease", promoteOnRelease);
+        result.put("promotedOnLeave", promotedOnLeave.sum());
+        result.put("promotedOnTimeout", promotedOnTimeout.sum());
+        result.put("samples", samples);
+        result.put("avgIdleMs", samples > 0 ? (double) totalMs / samples : 0.0);
+        result.put("maxIdleMs", maxMs);
+        result.put("movies", byMovie);
+        return result;
+    }
+
+    /**
+     * 상태 폴링용 - 담당 Pod 이 발행한 스냅샷(메모리)에서 대기 순번을 먼저 찾음. 없으면 null (호출자가 Redis 조회 경로로 진행)
+     */
+    public QueueSnapshotCache.StatusHit getCachedUserStatus(String id, String sessionId, String requestId) {
+        return snapshotCache.lookup(id, requestId + ":" + sessionId);
+    }
+
+    // 활성 세션 확인
+    public boolean isUserInActiveSession(String type, String id, String sessionId, String requestId) {
+        return store.isActive(id, requestId + ":" + sessionId);
     }
 
     // 사용자 순위 조회
     public Long getUserRank(String type, String id, String sessionId, String requestId) {
-        try {
-            String member = requestId + ":" + sessionId;
-            String waitingKey = waitingQueueKey(type, id);
-            ensureKeyType(waitingKey, "ZSET");
-            Long rank = zSetOps.rank(waitingKey, member);
-            return (rank != null) ? rank + 1 : null;
-        } catch (RedisSystemException e) {
-            if (isWrongTypeError(e)) {
-                logger.warn("순위 조회 중 Redis 오류. 키 삭제");
-                redisTemplate.delete(waitingQueueKey(type, id));
-            }
-            return null;
-        }
+        return store.rank(id, requestId + ":" + sessionId);
+    }
+
+    public AdmissionStore.SessionStats getSessionStats(String id) {
+        return store.sessionStats(id);
     }
-    
+
     public Set<String> getActiveQueueMovieIds() {
-        Set<String> activeMovies = setOps.members(ACTIVE_MOVIES);
-        Set<String> waitingMovies = setOps.members(WAITING_MOVIES);
-        Set<String> allMovies = new HashSet<>();
-        if (activeMovies != null) allMovies.addAll(activeMovies);
-        if (waitingMovies != null) allMovies.addAll(waitingMovies);
-        return allMovies;
+        return store.movieIds();
     }
 
-    public Set<String> findExpiredActiveSessions(String type, String id) {
-        String key = activeSessionsKey(type, id);
-        try {
-            ensureKeyType(key, "ZSET");
-            long expirationThreshold = System.currentTimeMillis() - (sessionTimeoutSeconds * 1000);
-            return zSetOps.rangeByScore(key, 0, expirationThreshold);
-        } catch (RedisSystemException e) {
-            if (isWrongTypeError(e)) {
-                logger.warn("만료 세션 조회 중 Redis 오류. 키 삭제");
-                redisTemplate.delete(key);
-            }
-            return Collections.emptySet();
-        }
+    // 이 시각 이전에 입장한 활성 세션은 만료 대상
+    public long getExpirationThreshold() {
+        return System.currentTimeMillis() - getSessionTimeoutMs();
     }
 
-    public void removeActiveSessions(String type, String id, Set<String> expiredMembers) {
-        if (expiredMembers != null && !expiredMembers.isEmpty()) {
-            String key = activeSessionsKey(type, id);
-            try {
-                zSetOps.remove(key, expiredMembers.toArray(new String[0]));
-                logger.info("{}개 만료 세션 정리", expiredMembers.size());
-            } catch (RedisSystemException e) {
-                if (isWrongTypeError(e)) {
-                    logger.warn("세션 정리 중 Redis 오류. 키 삭제");
-                    redisTemplate.delete(key);
-                }
-            }
+    public long getSessionTimeoutMs() {
+        return sessionTimeoutSeconds * 1000;
+    }
+
+    // 버퍼링된 heartbeat 를 활성 세션 점수에 반영 (SessionHeartbeatBuffer 에서 호출)
+    public int touchActiveSessions(String id, Map<String, Long> lastSeen) {
+        return store.touchActive(id, lastSeen);
+    }
+
+    public Long getOldestActiveAt(String id) {
+        return store.oldestActiveAt(id);
+    }
+
+    /**
+     * 만료 세션 정리 한 번 (최대 limit 명). 제거와 빈자리 승격은 저장소에서 원자적으로 처리되며,
+     * 승격 알림은 AdmissionPromotedEvent 로, 만료 알림은 호출한 쪽에서 결과 목록으로 한 번에 보냅니다.
+     */
+    public AdmissionStore.SweepResult sweepExpiredSessions(String type, String id, long threshold, int limit) {
+        AdmissionStore.SweepResult result = store.sweepExpired(id, threshold, limit,
+                sessionCalculator.calculateMaxActiveSessions(), System.currentTimeMillis(), promoteOnRelease);
+        if (!result.expired().isEmpty()) {
+            logger.info("{}개 만료 세션 정리", result.expired().size());
         }
+        publishPromoted(id, result.promoted(), AdmissionStore.ReleaseCause.TIMEOUT);
+        return result;
     }
 
     // 현재 사용자 순위 조회 (대기열 상태 확인용)
     public Long getMyRank(String type, String id, String sessionId, String requestId) {
-        String member = requestId + ":" + sessionId;
-        String waitingKey = waitingQueueKey(type, id);
-        
-        try {
-            ensureKeyType(waitingKey, "ZSET");
-            Long rank = zSetOps.rank(waitingKey, member);
-            return rank != null ? rank + 1 : null;
-        } catch (RedisSystemException e) {
-            if (isWrongTypeError(e)) {
-                logger.warn("순위 조회 중 Redis 오류. 키 삭제");
-                redisTemplate.delete(waitingKey);
-            }
-            return null;
-        }
+        return store.rank(id, requestId + ":" + sessionId);
+    }
+
+    /**
+     * 번호표 대기열 커서 상태 (커서 방식 순번 브로드캐스트용). 번호표 모드가 아니면 null
+     */
+    public AdmissionStore.TicketCursorState getTicketCursorState(String id, long newFrom, long refreshStep,
+                                                                 long refreshFrom, int maxMembers, int maxDeparted,
+                                                                 int maxScan) {
+        return store.ticketCursorState(id, newFrom, refreshStep, refreshFrom, maxMembers, maxDeparted, maxScan);
+    }
+
+    /**
+     * (requestId, 순번) 콜백
+     */
+    @FunctionalInterface
+    public interface RankConsumer {
+        void accept(String requestId, long rank);
+    }
+
+    /**
+     * 대기열 전체를 rank-scan.page-size 명씩 페이지 단위로 읽어 순번 순서대로 넘깁니다 (메모리 사용은 페이지 크기로 제한)
+     */
+    public void forEachUserRank(String id, RankConsumer consumer) {
+        store.forEachWaiting(id, rankScanPageSize, (member, rank) -> consumer.accept(AdmissionKeys.requestIdOf(member), rank));
     }
 
-    // 모든 사용자 순위 조회 (관리용)
+    /**
+     * forEachUserRank 와 같지만 member("requestId:sessionId") 를 그대로 넘김 (requestId 가 필요할 때만 잘라 쓰는 호출자용)
+     */
+    public void forEachWaitingMember(String id, ObjLongConsumer<String> consumer) {
+        store.forEachWaiting(id, rankScanPageSize, consumer);
+    }
+
+    // 모든 사용자 순위 조회 (관리용) - 결과 자체가 O(N) 이므로 가능하면 forEachUserRank 사용
     public Map<String, Long> getAllUserRanks(String type, String id) {
-        String waitingKey = waitingQueueKey(type, id);
-        try {
-            ensureKeyType(waitingKey, "ZSET");
-            Set<String> members = zSetOps.range(waitingKey, 0, -1);
-            Map<String, Long> ranks = new LinkedHashMap<>();
-            if (members != null) {
-                long rank = 1;
-                for (String member : members) {
-                    try {
-                        String requestId = member.split(":")[0];
-                        ranks.put(requestId, rank++);
-                    } catch (Exception e) {
-                        logger.warn("멤버 파싱 실패: {}", member);
-                    }
-                }
-            }
-            return ranks;
-        } catch (RedisSystemException e) {
-            if (isWrongTypeError(e)) {
-                logger.warn("전체 순위 조회 중 Redis 오류. 키 삭제");
-                redisTemplate.delete(waitingKey);
-            }
-            return Collections.emptyMap();
-        }
+        Map<String, Long> ranks = new LinkedHashMap<>();
+        forEachUserRank(id, ranks::put);
+        return ranks;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,261 @@
+// src/main/java/com/example/admission/service/AdmissionSlotLeaseManager.java
+package com.example.admission.service;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Pod 단위 입장 슬롯 임대(lease) 관리자.
+ *
+ * 대기열이 비어 있는 동안 각 Pod 은 영화별로 입장 슬롯 묶음(block-size)을 Redis 에서 원자적으로 임대받고,
+ * 이후 입장 요청은 로컬 카운터(CAS)에서 슬롯을 꺼내 쓴 뒤 멤버십 쓰기(lease_admit.lua)만 Redis 에 보냅니다.
+ * - 임대된 슬롯은 enter.lua / admit_next.lua 에서 이미 사용 중인 자리로 계산되므로 최대 세션 수를 넘지 않음
+ * - 대기자가 생기면 임대하지 않고, 남은 임대도 반납 (새 입장자가 대기자를 앞지르지 않도록)
+ * - 사용하지 않은 슬롯은 TTL 이 지나면 반납. 반납 전에 Pod 이 죽어도 다음 스크립트 호출에서 회수됨
+ */
+@Service
+public class AdmissionSlotLeaseManager {
+
+    private static final Logger logger = LoggerFactory.getLogger(AdmissionSlotLeaseManager.class);
+    private static final String SCRIPT_ACQUIRE = "lease_acquire";
+    private static final String SCRIPT_ADMIT = "lease_admit";
+    private static final String SCRIPT_RELEASE = "lease_release";
+    // 만료 직전 슬롯은 쓰지 않음 (Redis 에서 이미 회수됐을 수 있음)
+    private static final long EXPIRY_SAFETY_MARGIN_MS = 200;
+
+    private final AdmissionScriptRegistry scriptRegistry;
+    private final DynamicSessionCalculator sessionCalculator;
+    private final LoadBalancingOptimizer loadBalancingOptimizer;
+
+    private final Map<String, SlotLease> leases = new ConcurrentHashMap<>();
+
+    // 임대 통계
+    private final LongAdder localAdmits = new LongAdder();
+    private final LongAdder leaseMisses = new LongAdder();
+    private final LongAdder acquireCalls = new LongAdder();
+    private final LongAdder slotsGranted = new LongAdder();
+    private final LongAdder slotsReleased = new LongAdder();
+
+    @Value("${admission.lease.enabled:false}")
+    private boolean enabled;
+
+    @Value("${admission.lease.block-size:20}")
+    private int blockSize = 20;
+
+    @Value("${admission.lease.ttl-ms:5000}")
+    private long ttlMs = 5000;
+
+    @Value("${admission.lease.retry-cooldown-ms:500}")
+    private long retryCooldownMs = 500;
+
+    public AdmissionSlotLeaseManager(AdmissionScriptRegistry scriptRegistry,
+                                     DynamicSessionCalculator sessionCalculator,
+                                     LoadBalancingOptimizer loadBalancingOptimizer) {
+        this.scriptRegistry = scriptRegistry;
+        this.sessionCalculator = sessionCalculator;
+        this.loadBalancingOptimizer = loadBalancingOptimizer;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * 임대 슬롯으로 입장을 시도합니다.
+     * 로컬 슬롯이 없거나, 임대를 받을 수 없거나, Redis 에서 거절되면 null 을 반환하고
+     * 호출자는 일반 입장 경로(enter.lua)로 진행해야 합니다.
+     *
+     * @return 입장 결과 (같은 세션이 이미 활성 중이면 기존 member), 임대 경로로 입장하지 못했으면 null
+     */
+    public LeaseAdmission tryAdmit(String movieId, String member, long now) {
+        if (!enabled) {
+            return null;
+        }
+        SlotLease lease = leases.computeIfAbsent(movieId, SlotLease::new);
+        if (!lease.tryTake(now) && !(refill(lease, now) && lease.tryTake(now))) {
+            leaseMisses.increment();
+            return null;
+        }
+
+        List<String> admitKeys = new ArrayList<>(keys(movieId));
+        admitKeys.add(AdmissionKeys.bySession(movieId));
+        List<Object> result = scriptRegistry.execute(SCRIPT_ADMIT,
+                admitKeys, loadBalancingOptimizer.getPodId(), member, now);
+        if (Integer.parseInt(result.get(0).toString()) != 1) {
+            // 대기자가 생겼거나 임대가 회수됨 → 로컬 임대도 버림
+            logger.debug("임대 슬롯 입장 거절 - movieId: {}, 사유: {}", movieId, result.get(1));
+            lease.invalidate(now + retryCooldownMs);
+            leaseMisses.increment();
+            return null;
+        }
+        boolean reused = Integer.parseInt(result.get(4).toString()) == 1;
+        if (reused) {
+            // 이미 활성 중인 세션: 임대 슬롯은 쓰지 않았으므로 로컬 슬롯도 돌려놓음
+            lease.giveBack();
+        } else {
+            localAdmits.increment();
+        }
+        return new LeaseAdmission(Long.parseLong(result.get(2).toString()), result.get(3).toString(), reused);
+    }
+
+    /**
+     * 임대 슬롯 입장 결과
+     */
+    public record LeaseAdmission(long activeCount, String member, boolean reused) {
+    }
+
+    // 로컬 슬롯이 바닥난 경우 한 스레드만 Redis 에서 새 임대를 받아옴. 나머지는 일반 경로로 진행
+    private boolean refill(SlotLease lease, long now) {
+        if (now < lease.retryAfter || !lease.refilling.compareAndSet(false, true)) {
+            return false;
+        }
+        try {
+            acquireCalls.increment();
+            long maxSessions = sessionCalculator.calculateMaxActiveSessions();
+            List<Object> result = scriptRegistry.execute(SCRIPT_ACQUIRE, keys(lease.movieId),
+                    maxSessions, loadBalancingOptimizer.getPodId(), blockSize, now, ttlMs);
+            long granted = Long.parseLong(result.get(0).toString());
+            if (granted <= 0) {
+                lease.invalidate(now + retryCooldownMs);
+                return false;
+            }
+            slotsGranted.add(granted);
+            lease.grant(Integer.parseInt(result.get(1).toString()), Long.parseLong(result.get(2).toString()));
+            logger.debug("🎟️ 입장 슬롯 임대 - movieId: {}, +{} (보유: {})", lease.movieId, granted, result.get(1));
+            return true;
+        } catch (Exception e) {
+            logger.warn("입장 슬롯 임대 실패 - movieId: {}. 일반 입장 경로로 진행합니다. 에러: {}", lease.movieId, e.getMessage());
+            lease.invalidate(now + retryCooldownMs);
+            return false;
+        } finally {
+            lease.refilling.set(false);
+        }
+    }
+
+    /**
+     * 🧹 [정기 실행] TTL 이 지난 임대의 남은 슬롯을 Redis 에 반납합니다.
+     */
+    @Scheduled(fixedDelay = 1000)
+    public void releaseExpiredLeases() {
+        if (!enabled) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        for (SlotLease lease : leases.values()) {
+            if (lease.expiresAt != 0 && now >= lease.expiresAt - EXPIRY_SAFETY_MARGIN_MS) {
+                release(lease);
+            }
+        }
+    }
+
+    @PreDestroy
+    public void releaseAll() {
+        if (!enabled) {
+            return;
+        }
+        leases.values().forEach(this::release);
+    }
+
+    private void release(SlotLease lease) {
+        lease.invalidate(0);
+        try {
+            List<Object> result = scriptRegistry.execute(SCRIPT_RELEASE,
+                    Arrays.asList(AdmissionKeys.leases(lease.movieId), AdmissionKeys.leaseExpiry(lease.movieId)),
+                    loadBalancingOptimizer.getPodId());
+            long released = Long.parseLong(result.get(0).toString());
+            if (released > 0) {
+                slotsReleased.add(released);
+                logger.debug("임대 슬롯 반납 - movieId: {}, {}개", lease.movieId, released);
+            }
+        } catch (Exception e) {
+            // 반납에 실패해도 Redis 측 lease_expiry 로 회수됨
+            logger.warn("임대 슬롯 반납 실패 - movieId: {}, 에러: {}", lease.movieId, e.getMessage());
+        }
+    }
+
+    private List<String> keys(String movieId) {
+        return Arrays.asList(AdmissionKeys.active(movieId), AdmissionKeys.waiting(movieId),
+                AdmissionKeys.leases(movieId), AdmissionKeys.leaseExpiry(movieId));
+    }
+
+    /**
+     * 📊 임대 통계 / 영화별 로컬 임대 상태
+     */
+    public Map<String, Object> getLeaseStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", enabled);
+        stats.put("podId", loadBalancingOptimizer.getPodId());
+        stats.put("blockSize", blockSize);
+        stats.put("ttlMs", ttlMs);
+        stats.put("localAdmits", localAdmits.sum());
+        stats.put("leaseMisses", leaseMisses.sum());
+        stats.put("acquireCalls", acquireCalls.sum());
+        stats.put("slotsGranted", slotsGranted.sum());
+        stats.put("slotsReleased", slotsReleased.sum());
+        Map<String, Object> movies = new TreeMap<>();
+        leases.forEach((movieId, lease) -> movies.put(movieId, Map.of(
+                "remaining", lease.remaining.get(),
+                "expiresAt", lease.expiresAt)));
+        stats.put("movies", movies);
+        return stats;
+    }
+
+    /**
+     * 영화 하나에 대한 이 Pod 의 로컬 임대. 슬롯 차감은 락 없이 CAS 로 처리
+     */
+    private final class SlotLease {
+        private final String movieId;
+        private final AtomicInteger remaining = new AtomicInteger();
+        private final AtomicBoolean refilling = new AtomicBoolean();
+        private volatile long expiresAt;
+        private volatile long retryAfter;
+
+        private SlotLease(String movieId) {
+            this.movieId = movieId;
+        }
+
+        private boolean tryTake(long now) {
+            if (now >= expiresAt - EXPIRY_SAFETY_MARGIN_MS) {
+                return false;
+            }
+            int current;
+            do {
+                current = remaining.get();
+                if (current <= 0) {
+                    return false;
+                }
+            } while (!remaining.compareAndSet(current, current - 1));
+            return true;
+        }
+
+        private void giveBack() {
+            remaining.incrementAndGet();
+        }
+
+        private void grant(int podRemaining, long newExpiresAt) {
+            remaining.set(podRemaining);
+            expiresAt = newExpiresAt;
+        }
+
+        private void invalidate(long retryAfterMs) {
+            remaining.set(0);
+            expiresAt = 0;
+            retryAfter = retryAfterMs;
+        }
+    }
+}
@@ -36,13 +36,15 @@ public class DynamicSessionCalculator {
     /**
      * ✅ 핵심 로직: 2개 Pod × 200세션 = 400개 활성 세션
      * 500명 요청시 → 400명 즉시 입장, 100명 대기열
+     * Pod 수는 PodDiscoveryService 의 informer 캐시에서 읽으므로 K8s API 를 호출하지 않습니다.
      */
     public long calculateMaxActiveSessions() {
         int currentPodCount = getPodCount();
         long calculatedSessions = (long) currentPodCount * baseSessionsPerPod;
         long finalMaxSessions = Math.min(calculatedSessions, maxTotalSessionsLimit);
 
-        logger.info("📊 세션 계산 완료: Pod {}개 × {}세션 = {} (최대 제한: {})", 
+        // 입장 요청마다 호출되는 경로이므로 DEBUG 로만 기록
+        logger.debug("📊 세션 계산 완료: Pod {}개 × {}세션 = {} (최대 제한: {})", 
                    currentPodCount, baseSessionsPerPod, calculatedSessions, maxTotalSessionsLimit);
 
         return finalMaxSessions;
@@ -50,7 +52,7 @@ public class DynamicSessionCalculator {
 
     private int getPodCount() {
         if (!dynamicScalingEnabled) {
-            logger.info("⚙️ 동적 스케일링 비활성화. Fallback Pod 수({})를 사용합니다.", fallbackPodCount);
+            logger.debug("⚙️ 동적 스케일링 비활성화. Fallback Pod 수({})를 사용합니다.", fallbackPodCount);
             return fallbackPodCount;
         }
 
@@ -61,7 +63,8 @@ public class DynamicSessionCalculator {
                            discoveredPods, fallbackPodCount);
                 return fallbackPodCount;
             }
-            logger.info("✅ Kubernetes에서 Pod 수 확인: {}개", discoveredPods);
+            logger.debug("✅ Kubernetes에서 Pod 수 확인: {}개 (캐시 경과 {}ms)",
+                        discoveredPods, podDiscoveryService.getStalenessMs());
             return discoveredPods;
         } catch (Exception e) {
             logger.error("❌ Kubernetes API 호출 실패. Fallback Pod 수({})를 사용합니다. 에러: {}",
@@ -84,7 +87,8 @@ public class DynamicSessionCalculator {
                 fallbackPodCount,
                 k8sAvailable,
                 currentPodCount,
-                finalMax
+                finalMax,
+                podDiscoveryService.getStalenessMs()
         );
     }
 
@@ -95,14 +99,17 @@ public class DynamicSessionCalculator {
             int fallbackPodCount,             // 2
             boolean kubernetesAvailable,
             int currentPodCount,              // 2 (실제 또는 Fallback)
-            long calculatedMaxSessions        // 400 (2×200)
+            long calculatedMaxSessions,       // 400 (2×200)
+            long podCountStalenessMs          // Pod 수 캐시 경과 시간 (-1: 미동기화)
     ) {
         
         /**
          * ✅ 대기 시간 계산 헬퍼 메서드
          * @param queuePosition 대기열에서의 순위 (1부터 시작)
          * @return 예상 대기 시간 (초)
+         * @deprecated Pod당 10초 고정 가정이라 실제와 차이가 큼. 실측 입장 속도 기반인 AdmissionService.estimateWait 사용
          */
+        @Deprecated
         public int calculateEstimatedWaitTimeSeconds(long queuePosition) {
             if (queuePosition <= 0) return 0;
             
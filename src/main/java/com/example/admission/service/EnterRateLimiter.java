@@ -0,0 +1,307 @@
+// src/main/java/com/example/admission/service/EnterRateLimiter.java
+package com.example.admission.service;
+
+import com.example.admission.dto.EnterResponse;
+import com.example.admission.store.AdmissionStore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 입장 요청 속도 제한 (Redis 에 쓰기 전에 Pod 안에서 판단).
+ *
+ * - 세션(SID)별 / IP 별 토큰 버킷: 키를 해시해 stripes 개의 구역으로 나누고 구역마다 별도 락과 LRU 맵을 둠
+ * - 클러스터 슬라이딩 윈도우: 허용한 시도 수를 세션별로 모아 flush-ms 마다 저장소 카운터에 한 번에 더하고,
+ *   모든 Pod 합계가 cluster-limit 을 넘은 세션은 구간이 끝날 때까지 이 Pod 에서 차단
+ * 거절된 세션에 같은 영화로 최근 받은 입장/대기 응답이 있으면, 새 대기 순번 대신 그 응답(기존 requestId)을 돌려줍니다.
+ */
+@Component
+public class EnterRateLimiter {
+
+    private static final Logger logger = LoggerFactory.getLogger(EnterRateLimiter.class);
+
+    public enum Reason {
+        SESSION,
+        IP,
+        CLUSTER
+    }
+
+    /**
+     * 판단 결과. allowed 가 false 면 reason / retryAfterSeconds 가 채워지고, 재사용할 기존 응답이 있으면 reused 도 채워짐
+     */
+    public record Decision(boolean allowed, Reason reason, long retryAfterSeconds, EnterResponse reused) {
+        static final Decision ALLOWED = new Decision(true, null, 0, null);
+    }
+
+    private final AdmissionStore store;
+    private final Stripe[] stripes;
+
+    @Value("${admission.enter-rate.enabled:true}")
+    private boolean enabled = true;
+
+    @Value("${admission.enter-rate.session-capacity:5}")
+    private double sessionCapacity = 5;
+
+    @Value("${admission.enter-rate.session-refill-per-second:0.5}")
+    private double sessionRefillPerSecond = 0.5;
+
+    // 같은 IP 뒤에 여러 사용자가 있을 수 있으므로(NAT) 세션보다 넉넉하게
+    @Value("${admission.enter-rate.ip-capacity:60}")
+    private double ipCapacity = 60;
+
+    @Value("${admission.enter-rate.ip-refill-per-second:20}")
+    private double ipRefillPerSecond = 20;
+
+    @Value("${admission.enter-rate.reuse-ttl-ms:60000}")
+    private long reuseTtlMs = 60000;
+
+    @Value("${admission.enter-rate.cluster-window-ms:10000}")
+    private long clusterWindowMs = 10000;
+
+    @Value("${admission.enter-rate.cluster-limit:30}")
+    private long clusterLimit = 30;
+
+    // 허용했지만 아직 저장소 카운터에 더하지 않은 세션별 시도 수
+    private final Map<String, LongAdder> pendingAttempts = new ConcurrentHashMap<>();
+    // 클러스터 한도를 넘어 차단한 세션 → 차단 해제 시각
+    private final Map<String, Long> blockedSessions = new ConcurrentHashMap<>();
+
+    private final LongAdder allowed = new LongAdder();
+    private final LongAdder rejectedSession = new LongAdder();
+    private final LongAdder rejectedIp = new LongAdder();
+    private final LongAdder rejectedCluster = new LongAdder();
+    private final LongAdder reused = new LongAdder();
+    private final LongAdder clusterFlushes = new LongAdder();
+    private final LongAdder clusterFlushFailures = new LongAdder();
+
+    public EnterRateLimiter(AdmissionStore store,
+                            @Value("${admission.enter-rate.stripes:64}") int stripeCount,
+                            @Value("${admission.enter-rate.max-keys-per-stripe:4096}") int maxKeysPerStripe) {
+        if (Integer.bitCount(stripeCount) != 1) {
+            throw new IllegalArgumentException("stripes 는 2의 거듭제곱이어야 합니다: " + stripeCount);
+        }
+        this.store = store;
+        this.stripes = new Stripe[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new Stripe(maxKeysPerStripe);
+        }
+    }
+
+    /**
+     * 입장 요청 한 건 판단. 허용하면 세션/IP 토큰을 하나씩 사용 (clientIp 가 null 이면 IP 버킷은 건너뜀)
+     */
+    public Decision check(String sessionId, String clientIp, String movieId) {
+        if (!enabled) {
+            return Decision.ALLOWED;
+        }
+        long now = System.currentTimeMillis();
+        String sessionKey = "s:" + sessionId;
+
+        Long blockedUntil = blockedSessions.get(sessionId);
+        if (blockedUntil != null) {
+            if (blockedUntil > now) {
+                rejectedCluster.increment();
+                return reject(Reason.CLUSTER, (blockedUntil - now + 999) / 1000, sessionKey, movieId, now);
+            }
+            blockedSessions.remove(sessionId, blockedUntil);
+        }
+
+        long sessionWait = stripe(sessionKey).tryConsume(sessionKey, sessionCapacity, sessionRefillPerSecond, now);
+        if (sessionWait > 0) {
+            rejectedSession.increment();
+            return reject(Reason.SESSION, sessionWait, sessionKey, movieId, now);
+        }
+        if (clientIp != null) {
+            String ipKey = "ip:" + clientIp;
+            long ipWait = stripe(ipKey).tryConsume(ipKey, ipCapacity, ipRefillPerSecond, now);
+            if (ipWait > 0) {
+                // IP 에서 막혔으면 이미 사용한 세션 토큰은 돌려줌
+                stripe(sessionKey).refund(sessionKey, sessionCapacity);
+                rejectedIp.increment();
+                return reject(Reason.IP, ipWait, sessionKey, movieId, now);
+            }
+        }
+
+        pendingAttempts.computeIfAbsent(sessionId, k -> new LongAdder()).increment();
+        allowed.increment();
+        return Decision.ALLOWED;
+    }
+
+    /**
+     * 입장/대기 응답을 세션 버킷에 기록 (이후 거절된 재시도에 재사용)
+     */
+    public void remember(String sessionId, String movieId, EnterResponse response) {
+        if (!enabled || response.getStatus() == EnterResponse.Status.ERROR
+                || response.getStatus() == EnterResponse.Status.REJECTED) {
+            return;
+        }
+        String sessionKey = "s:" + sessionId;
+        stripe(sessionKey).remember(sessionKey, movieId, response, System.currentTimeMillis());
+    }
+
+    private Decision reject(Reason reason, long retryAfterSeconds, String sessionKey, String movieId, long now) {
+        EnterResponse last = stripe(sessionKey).lastResponse(sessionKey, movieId, now - reuseTtlMs);
+        if (last != null) {
+            reused.increment();
+            last = new EnterResponse(last.getStatus(), "이미 처리된 진입 요청이 있습니다 (기존 순번 유지)", last.getRequestId(),
+                    last.getMyRank(), last.getTotalWaiting(), last.getEstimatedWait(), 0);
+        }
+        return new Decision(false, reason, Math.max(1, retryAfterSeconds), last);
+    }
+
+    /**
+     * 모아 둔 세션별 시도 수를 저장소 카운터에 더하고, 클러스터 한도를 넘은 세션을 구간 끝까지 차단
+     */
+    @Scheduled(fixedDelayString = "${admission.enter-rate.cluster-flush-ms:1000}")
+    public void flushClusterWindow() {
+        if (!enabled) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        blockedSessions.values().removeIf(until -> until <= now);
+        if (pendingAttempts.isEmpty()) {
+            return;
+        }
+
+        Map<String, Long> attempts = new HashMap<>();
+        for (String sessionId : pendingAttempts.keySet()) {
+            LongAdder adder = pendingAttempts.remove(sessionId);
+            if (adder != null) {
+                attempts.merge(sessionId, adder.sum(), Long::sum);
+            }
+        }
+        try {
+            Map<String, Long> estimates = store.addEnterAttempts(attempts, clusterWindowMs, now);
+            clusterFlushes.increment();
+            long windowEnd = (now / clusterWindowMs + 1) * clusterWindowMs;
+            estimates.forEach((sessionId, count) -> {
+                if (count > clusterLimit && blockedSessions.put(sessionId, windowEnd) == null) {
+                    logger.warn("🚫 세션 {}... 입장 시도 과다 ({}회/{}ms, 모든 Pod 합계) - 구간 종료까지 차단",
+                            sessionId.substring(0, Math.min(8, sessionId.length())), count, clusterWindowMs);
+                }
+            });
+        } catch (Exception e) {
+            clusterFlushFailures.increment();
+            // 카운터는 다음 주기에 다시 더함
+            attempts.forEach((sessionId, count) ->
+                    pendingAttempts.computeIfAbsent(sessionId, k -> new LongAdder()).add(count));
+            logger.warn("입장 시도 클러스터 카운터 반영 실패 ({}개 세션)", attempts.size(), e);
+        }
+    }
+
+    private Stripe stripe(String key) {
+        int h = key.hashCode();
+        return stripes[(h ^ (h >>> 16)) & (stripes.length - 1)];
+    }
+
+    /**
+     * 🚦 입장 속도 제한 통계
+     */
+    public Map<String, Object> getStats() {
+        int trackedKeys = 0;
+        for (Stripe stripe : stripes) {
+            trackedKeys += stripe.size();
+        }
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", enabled);
+        stats.put("allowed", allowed.sum());
+        stats.put("rejectedSession", rejectedSession.sum());
+        stats.put("rejectedIp", rejectedIp.sum());
+        stats.put("rejectedCluster", rejectedCluster.sum());
+        stats.put("reusedResponses", reused.sum());
+        stats.put("trackedKeys", trackedKeys);
+        stats.put("blockedSessions", blockedSessions.size());
+        stats.put("pendingClusterSessions", pendingAttempts.size());
+        stats.put("clusterFlushes", clusterFlushes.sum());
+        stats.put("clusterFlushFailures", clusterFlushFailures.sum());
+        stats.put("limits", Map.of(
+            "sessionCapacity", sessionCapacity,
+            "sessionRefillPerSecond", sessionRefillPerSecond,
+            "ipCapacity", ipCapacity,
+            "ipRefillPerSecond", ipRefillPerSecond,
+            "clusterLimit", clusterLimit,
+            "clusterWindowMs", clusterWindowMs
+        ));
+        return stats;
+    }
+
+    /**
+     * 락 구역 하나. 접근 순서 LRU 맵이라 오래 안 쓴 키부터 밀려남 (밀려난 키는 가득 찬 버킷으로 다시 시작)
+     */
+    private static final class Stripe {
+        private final LinkedHashMap<String, Bucket> buckets;
+
+        private Stripe(int maxKeys) {
+            this.buckets = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, Bucket> eldest) {
+                    return size() > maxKeys;
+                }
+            };
+        }
+
+        /**
+         * 토큰 하나 사용. 성공하면 0, 부족하면 토큰 하나가 찰 때까지의 초
+         */
+        private synchronized long tryConsume(String key, double capacity, double refillPerSecond, long now) {
+            Bucket bucket = buckets.computeIfAbsent(key, k -> new Bucket(capacity, now));
+            bucket.tokens = Math.min(capacity, bucket.tokens + (now - bucket.refilledAt) / 1000.0 * refillPerSecond);
+            bucket.refilledAt = now;
+            if (bucket.tokens >= 1) {
+                bucket.tokens -= 1;
+                return 0;
+            }
+            return (long) Math.ceil((1 - bucket.tokens) / refillPerSecond);
+        }
+
+        private synchronized void refund(String key, double capacity) {
+            Bucket bucket = buckets.get(key);
+            if (bucket != null) {
+                bucket.tokens = Math.min(capacity, bucket.tokens + 1);
+            }
+        }
+
+        private synchronized void remember(String key, String movieId, EnterResponse response, long now) {
+            Bucket bucket = buckets.get(key);
+            if (bucket != null) {
+                bucket.lastMovieId = movieId;
+                bucket.lastResponse = response;
+                bucket.lastResponseAt = now;
+            }
+        }
+
+        private synchronized EnterResponse lastResponse(String key, String movieId, long notBefore) {
+            Bucket bucket = buckets.get(key);
+            if (bucket == null || bucket.lastResponse == null
+                    || !movieId.equals(bucket.lastMovieId) || bucket.lastResponseAt < notBefore) {
+                return null;
+            }
+            return bucket.lastResponse;
+        }
+
+        private synchronized int size() {
+            return buckets.size();
+        }
+    }
+
+    private static final class Bucket {
+        private double tokens;
+        private long refilledAt;
+        private String lastMovieId;
+        private EnterResponse lastResponse;
+        private long lastResponseAt;
+
+        private Bucket(double tokens, long refilledAt) {
+            this.tokens = tokens;
+            this.refilledAt = refilledAt;
+        }
+    }
+}
@@ -0,0 +1,101 @@
+// src/main/java/com/example/admission/service/HashedTimingWheel.java
+package com.example.admission.service;
+
+import java.util.*;
+import java.util.function.Consumer;
+
+/**
+ * 키별 마감 시각을 관리하는 단순 해시 타이밍 휠.
+ *
+ * 마감 시각을 tickMs 단위 칸(bucket)에 나눠 담고, advance 가 지나간 칸만 확인하므로
+ * 등록/취소/진행 모두 전체 항목 수와 무관하게 처리됩니다. 휠 한 바퀴보다 먼 마감은 같은 칸에 남아 있다가
+ * 마감 시각이 지난 바퀴에서 발화합니다. 키마다 가장 이른 마감 하나만 유효하며, 오래된 항목은 발화 시 무시됩니다.
+ * 스레드 안전 (모든 메서드 synchronized)
+ */
+public class HashedTimingWheel<K> {
+
+    private final long tickMs;
+    private final List<ArrayDeque<Entry<K>>> buckets;
+    private final int mask;
+    // 키 → 현재 유효한 마감 시각
+    private final Map<K, Long> deadlines = new HashMap<>();
+    private long lastTick = -1;
+
+    public HashedTimingWheel(long tickMs, int wheelSize) {
+        if (Integer.bitCount(wheelSize) != 1) {
+            throw new IllegalArgumentException("wheelSize 는 2의 거듭제곱이어야 합니다: " + wheelSize);
+        }
+        this.tickMs = tickMs;
+        this.mask = wheelSize - 1;
+        this.buckets = new ArrayList<>(wheelSize);
+        for (int i = 0; i < wheelSize; i++) {
+            buckets.add(new ArrayDeque<>());
+        }
+    }
+
+    /**
+     * 마감 시각 등록. 이미 더 이른 마감이 있으면 무시하고 false 반환
+     */
+    public synchronized boolean scheduleIfEarlier(K key, long deadline) {
+        Long existing = deadlines.get(key);
+        if (existing != null && existing <= deadline) {
+            return false;
+        }
+        put(key, deadline);
+        return true;
+    }
+
+    public synchronized void cancel(K key) {
+        deadlines.remove(key);
+    }
+
+    public synchronized boolean isScheduled(K key) {
+        return deadlines.containsKey(key);
+    }
+
+    public synchronized int size() {
+        return deadlines.size();
+    }
+
+    /**
+     * now 까지 지나간 칸을 확인해 마감된 키를 발화시킵니다. 발화한 키는 휠에서 빠지며, 콜백은 락 밖에서 호출합니다.
+     */
+    public void advance(long now, Consumer<K> onExpired) {
+        List<K> expired = new ArrayList<>();
+        synchronized (this) {
+            long currentTick = now / tickMs;
+            if (lastTick < 0) {
+                lastTick = currentTick - 1;
+            }
+            // 한 바퀴 이상 밀렸으면 모든 칸을 한 번씩만 확인
+            long from = Math.max(lastTick + 1, currentTick - mask);
+            for (long tick = from; tick <= currentTick; tick++) {
+                Iterator<Entry<K>> it = buckets.get((int) (tick & mask)).iterator();
+                while (it.hasNext()) {
+                    Entry<K> entry = it.next();
+                    Long current = deadlines.get(entry.key);
+                    if (current == null || current != entry.deadline) {
+                        it.remove(); // 취소되었거나 다시 등록된 오래된 항목
+                    } else if (entry.deadline <= now) {
+                        it.remove();
+                        deadlines.remove(entry.key);
+                        expired.add(entry.key);
+                    }
+                }
+            }
+            lastTick = currentTick;
+        }
+        expired.forEach(onExpired);
+    }
+
+    private void put(K key, long deadline) {
+        deadlines.put(key, deadline);
+        // 마감 시각 이후에 시작하는 칸에 넣어야 그 칸을 처음 확인할 때 발화함 (내림하면 한 바퀴 늦어질 수 있음)
+        // 이미 지나간 마감은 다음 칸에 넣어 바로 다음 advance 에서 발화
+        long tick = Math.max(Math.floorDiv(deadline + tickMs - 1, tickMs), lastTick + 1);
+        buckets.get((int) (tick & mask)).add(new Entry<>(key, deadline));
+    }
+
+    private record Entry<K>(K key, long deadline) {
+    }
+}
@@ -0,0 +1,204 @@
+// src/main/java/com/example/admission/service/QueueSnapshotCache.java
+package com.example.admission.service;
+
+import com.example.admission.store.AdmissionStore;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 영화별 대기열 스냅샷 캐시 (상태 폴링용).
+ *
+ * 영화를 담당하는 Pod 이 publish-ms 마다 활성/대기 인원과 대기열 앞쪽 max-ranked 명(순번 순서)을 모아
+ * pub/sub 채널로 발행하고, 모든 Pod 은 받은 스냅샷을 메모리에 보관합니다.
+ * 상태 조회는 max-staleness-ms 이내의 스냅샷에서 대기 순번을 먼저 찾고, 스냅샷에 없는 사용자(활성 세션, 방금 진입했거나
+ * 순번이 뒤쪽인 대기자)만 Redis 로 조회합니다. 활성 세션 member 는 발행하지 않으므로 발행 크기는 활성 인원과 무관합니다.
+ */
+@Service
+public class QueueSnapshotCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(QueueSnapshotCache.class);
+
+    /**
+     * 발행되는 스냅샷. waiting 은 순번 순서 (index + 1 = 순번)
+     */
+    public record Snapshot(String movieId, String podId, long generatedAt, long activeCount, long totalWaiting,
+                           List<String> waiting) {
+    }
+
+    /**
+     * 스냅샷에서 찾은 대기 순번
+     */
+    public record StatusHit(long rank, long totalWaiting, long ageMs) {
+    }
+
+    private record LocalSnapshot(long receivedAt, long activeCount, long totalWaiting, Map<String, Integer> ranks) {
+    }
+
+    private final AdmissionStore store;
+    private final LoadBalancingOptimizer loadBalancer;
+    private final RedisTemplate<String, String> redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final Map<String, LocalSnapshot> snapshots = new ConcurrentHashMap<>();
+
+    @Value("${admission.snapshot.enabled:true}")
+    private boolean enabled = true;
+
+    @Value("${admission.snapshot.max-ranked:1000}")
+    private int maxRanked = 1000;
+
+    @Value("${admission.snapshot.max-staleness-ms:2000}")
+    private long maxStalenessMs = 2000;
+
+    // 통계
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder staleMisses = new LongAdder();
+    private final LongAdder published = new LongAdder();
+    private final LongAdder publishedBytes = new LongAdder();
+    private final LongAdder received = new LongAdder();
+    private final LongAdder receiveFailures = new LongAdder();
+    private final AtomicLong lastPublishMs = new AtomicLong();
+
+    public QueueSnapshotCache(AdmissionStore store, LoadBalancingOptimizer loadBalancer,
+                              RedisTemplate<String, String> redisTemplate, ObjectMapper objectMapper,
+                              RedisMessageListenerContainer listenerContainer) {
+        this.store = store;
+        this.loadBalancer = loadBalancer;
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        listenerContainer.addMessageListener(this::onMessage, new ChannelTopic(AdmissionKeys.SNAPSHOT_CHANNEL));
+    }
+
+    /**
+     * 담당 영화의 스냅샷 발행
+     */
+    @Scheduled(fixedDelayString = "${admission.snapshot.publish-ms:1000}")
+    public void publishOwnedSnapshots() {
+        if (!enabled) {
+            return;
+        }
+        long start = System.currentTimeMillis();
+        try {
+            Set<String> movieIds = store.movieIds();
+            if (movieIds.isEmpty()) {
+                snapshots.clear();
+                return;
+            }
+            snapshots.keySet().retainAll(movieIds);
+            for (String movieId : loadBalancer.filterOwnedMovies(movieIds)) {
+                try {
+                    publish(buildSnapshot(movieId));
+                } catch (Exception e) {
+                    logger.warn("[{}] 대기열 스냅샷 발행 실패", movieId, e);
+                }
+            }
+        } catch (Exception e) {
+            logger.error("대기열 스냅샷 발행 중 오류", e);
+        } finally {
+            lastPublishMs.set(System.currentTimeMillis() - start);
+        }
+    }
+
+    private Snapshot buildSnapshot(String movieId) {
+        long totalWaiting = store.waitingCount(movieId);
+        List<String> waiting = totalWaiting > 0 ? store.waitingMembers(movieId, maxRanked) : Collections.emptyList();
+        return new Snapshot(movieId, loadBalancer.getPodId(), System.currentTimeMillis(),
+                store.activeCount(movieId), totalWaiting, waiting);
+    }
+
+    private void publish(Snapshot snapshot) throws Exception {
+        String json = objectMapper.writeValueAsString(snapshot);
+        // 발행한 Pod 도 구독으로 다시 받지만, 바로 반영해 자기 영화는 지연 없이 사용
+        apply(snapshot);
+        redisTemplate.convertAndSend(AdmissionKeys.SNAPSHOT_CHANNEL, json);
+        published.increment();
+        publishedBytes.add(json.length());
+    }
+
+    private void onMessage(Message message, byte[] pattern) {
+        try {
+            Snapshot snapshot = objectMapper.readValue(
+                    new String(message.getBody(), StandardCharsets.UTF_8), Snapshot.class);
+            if (!loadBalancer.getPodId().equals(snapshot.podId())) {
+                apply(snapshot);
+            }
+            received.increment();
+        } catch (Exception e) {
+            receiveFailures.increment();
+            logger.warn("대기열 스냅샷 수신 실패", e);
+        }
+    }
+
+    private void apply(Snapshot snapshot) {
+        Map<String, Integer> ranks = new HashMap<>(snapshot.waiting().size() * 2);
+        for (int i = 0; i < snapshot.waiting().size(); i++) {
+            ranks.put(snapshot.waiting().get(i), i + 1);
+        }
+        snapshots.put(snapshot.movieId(), new LocalSnapshot(System.currentTimeMillis(), snapshot.activeCount(),
+                snapshot.totalWaiting(), ranks));
+    }
+
+    /**
+     * 스냅샷에서 member 의 대기 순번 조회. 스냅샷이 없거나 오래되었거나 member 가 없으면 null
+     * (활성 세션도 null - 호출자가 Redis 에서 활성 여부(ZSCORE 1회)부터 조회)
+     */
+    public StatusHit lookup(String movieId, String member) {
+        if (!enabled) {
+            return null;
+        }
+        LocalSnapshot snapshot = snapshots.get(movieId);
+        if (snapshot == null) {
+            misses.increment();
+            return null;
+        }
+        long ageMs = System.currentTimeMillis() - snapshot.receivedAt();
+        if (ageMs > maxStalenessMs) {
+            staleMisses.increment();
+            return null;
+        }
+        Integer rank = snapshot.ranks().get(member);
+        if (rank != null) {
+            hits.increment();
+            return new StatusHit(rank, snapshot.totalWaiting(), ageMs);
+        }
+        misses.increment();
+        return null;
+    }
+
+    /**
+     * 📸 스냅샷 캐시 통계
+     */
+    public Map<String, Object> getStats() {
+        long hitCount = hits.sum();
+        long lookups = hitCount + misses.sum() + staleMisses.sum();
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", enabled);
+        stats.put("cachedMovies", snapshots.size());
+        stats.put("hits", hitCount);
+        stats.put("misses", misses.sum());
+        stats.put("staleMisses", staleMisses.sum());
+        stats.put("hitRate", lookups > 0 ? (double) hitCount / lookups : 0.0);
+        stats.put("published", published.sum());
+        stats.put("avgPublishedBytes", published.sum() > 0 ? publishedBytes.sum() / published.sum() : 0);
+        stats.put("received", received.sum());
+        stats.put("receiveFailures", receiveFailures.sum());
+        stats.put("lastPublishMs", lastPublishMs.get());
+        stats.put("maxRanked", maxRanked);
+        stats.put("maxStalenessMs", maxStalenessMs);
+        return stats;
+    }
+}
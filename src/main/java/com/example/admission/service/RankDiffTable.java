@@ -0,0 +1,150 @@
+// src/main/java/com/example/admission/service/RankDiffTable.java
+package com.example.admission.service;
+
+import java.util.Arrays;
+
+/**
+ * 틱마다 "직전 틱과 순위가 달라진 대기자"만 골라내기 위한 순위 표 (영화당 하나, 한 스레드에서만 사용).
+ *
+ * member → 순위를 open addressing 해시 표(키 배열 + 해시 배열 + 순위 배열)에 담고, 표 두 개를 틱마다 맞바꿔 씁니다.
+ * 이번 틱 값은 current 에 쓰고 비교는 previous 에서 찾으므로, 틱이 반복돼도 배열을 새로 만들지 않고
+ * 대기자별 Long 박싱이나 Map.Entry 할당이 없습니다. (대기자 수가 늘어 표를 키울 때만 할당)
+ */
+public final class RankDiffTable {
+
+    private static final int MIN_CAPACITY = 64;
+
+    private Slab current;
+    private Slab previous;
+
+    public RankDiffTable() {
+        this(MIN_CAPACITY / 2);
+    }
+
+    public RankDiffTable(int expectedSize) {
+        int capacity = capacityFor(expectedSize);
+        this.current = new Slab(capacity);
+        this.previous = new Slab(capacity);
+    }
+
+    /**
+     * 새 틱 시작 - 직전 틱에 기록한 값이 비교 대상이 되고, 기록할 표는 비워짐
+     */
+    public void beginTick() {
+        Slab swap = previous;
+        previous = current;
+        current = swap;
+        // 대기열이 크게 줄었으면 비우는 비용을 줄이기 위해 작은 표로 교체
+        int wanted = capacityFor(previous.size);
+        if (current.keys.length > wanted * 4) {
+            current = new Slab(wanted);
+        } else {
+            current.clear();
+        }
+    }
+
+    /**
+     * 이번 틱의 순위를 기록합니다.
+     * @return 직전 틱에 없었거나 순위가 달라졌으면 true
+     */
+    public boolean update(String member, long rank) {
+        int hash = spread(member.hashCode());
+        if ((current.size + 1) * 2 > current.keys.length) {
+            current = current.grow();
+        }
+        current.put(member, hash, rank);
+        int slot = previous.find(member, hash);
+        return slot < 0 || previous.ranks[slot] != rank;
+    }
+
+    /**
+     * 이번 틱에 기록한 대기자 수
+     */
+    public int size() {
+        return current.size;
+    }
+
+    /**
+     * 두 표의 슬롯 수 합계 (모니터링용)
+     */
+    public int capacity() {
+        return current.keys.length + previous.keys.length;
+    }
+
+    private static int spread(int h) {
+        return h ^ (h >>> 16);
+    }
+
+    // 적재율 0.5 이하가 되는 2의 거듭제곱
+    private static int capacityFor(int size) {
+        int capacity = MIN_CAPACITY;
+        while (capacity < size * 2) {
+            capacity <<= 1;
+        }
+        return capacity;
+    }
+
+    /**
+     * 선형 탐사 해시 표 하나. 키가 null 인 슬롯이 빈 슬롯
+     */
+    private static final class Slab {
+        private final String[] keys;
+        private final int[] hashes;
+        private final long[] ranks;
+        private final int mask;
+        private int size;
+
+        private Slab(int capacity) {
+            this.keys = new String[capacity];
+            this.hashes = new int[capacity];
+            this.ranks = new long[capacity];
+            this.mask = capacity - 1;
+        }
+
+        private int find(String key, int hash) {
+            for (int slot = hash & mask; ; slot = (slot + 1) & mask) {
+                String existing = keys[slot];
+                if (existing == null) {
+                    return -1;
+                }
+                if (hashes[slot] == hash && existing.equals(key)) {
+                    return slot;
+                }
+            }
+        }
+
+        private void put(String key, int hash, long rank) {
+            for (int slot = hash & mask; ; slot = (slot + 1) & mask) {
+                String existing = keys[slot];
+                if (existing == null) {
+                    keys[slot] = key;
+                    hashes[slot] = hash;
+                    ranks[slot] = rank;
+                    size++;
+                    return;
+                }
+                if (hashes[slot] == hash && existing.equals(key)) {
+                    ranks[slot] = rank;
+                    return;
+                }
+            }
+        }
+
+        private Slab grow() {
+            Slab larger = new Slab(keys.length * 2);
+            for (int slot = 0; slot < keys.length; slot++) {
+                if (keys[slot] != null) {
+                    larger.put(keys[slot], hashes[slot], ranks[slot]);
+                }
+            }
+            return larger;
+        }
+
+        private void clear() {
+            if (size > 0) {
+                Arrays.fill(keys, null);
+                size = 0;
+            }
+        }
+    }
+}
@@ -0,0 +1,120 @@
+// src/main/java/com/example/admission/service/ReactiveAdmissionService.java
+package com.example.admission.service;
+
+import com.example.admission.dto.EnterRequest;
+import com.example.admission.dto.EnterResponse;
+import com.example.admission.dto.WaitEstimate;
+import com.example.admission.store.ReactiveRedisAdmissionStore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.*;
+
+/**
+ * 대기열 입장/퇴장/상태 조회의 non-blocking 버전 (Redis 저장소 전용).
+ *
+ * 저장소 호출만 ReactiveRedisAdmissionStore 로 바꾸고, 응답 변환·이벤트 발행·통계는 AdmissionService 와 같은 코드를 사용합니다.
+ * 따라서 두 경로의 응답 형식과 /api/admission/monitoring 통계는 동일합니다.
+ */
+@Service
+@ConditionalOnProperty(name = "admission.store", havingValue = "redis", matchIfMissing = true)
+public class ReactiveAdmissionService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReactiveAdmissionService.class);
+
+    /**
+     * 상태 조회 결과. status 는 ACTIVE / WAITING / NOT_FOUND
+     */
+    public record UserStatus(String status, long rank, long totalWaiting, WaitEstimate estimatedWait) {
+    }
+
+    private final ReactiveRedisAdmissionStore store;
+    private final AdmissionService admissionService;
+    private final DynamicSessionCalculator sessionCalculator;
+
+    public ReactiveAdmissionService(ReactiveRedisAdmissionStore store, AdmissionService admissionService,
+                                    DynamicSessionCalculator sessionCalculator) {
+        this.store = store;
+        this.admissionService = admissionService;
+        this.sessionCalculator = sessionCalculator;
+    }
+
+    public Mono<EnterResponse> enter(String id, String sessionId, String requestId) {
+        String member = requestId + ":" + sessionId;
+        long now = System.currentTimeMillis();
+        long maxSessions = sessionCalculator.calculateMaxActiveSessions();
+        return store.enter(id, member, maxSessions, now)
+                .map(outcome -> admissionService.toEnterResponse(id, requestId, outcome, maxSessions, now));
+    }
+
+    /**
+     * 일괄 입장 - 영화별 처리를 순서대로 이어 붙임 (한 영화가 실패하면 그 영화 항목만 ERROR)
+     */
+    public Mono<List<EnterResponse>> enterBatch(List<EnterRequest> requests) {
+        long now = System.currentTimeMillis();
+        long maxSessions = sessionCalculator.calculateMaxActiveSessions();
+        EnterResponse[] responses = new EnterResponse[requests.size()];
+        Map<String, List<Integer>> indexesByMovie = admissionService.groupByMovie(requests, responses);
+        int[] roundTrips = new int[1];
+
+        return Flux.fromIterable(indexesByMovie.entrySet())
+                .concatMap(group -> {
+                    String movieId = group.getKey();
+                    List<Integer> indexes = group.getValue();
+                    return store.enterBatch(movieId, admissionService.batchMembers(requests, indexes), maxSessions, now)
+                            .map(result -> {
+                                roundTrips[0] += result.roundTrips();
+                                return admissionService.applyBatchOutcomes(movieId, requests, indexes, result, now, responses);
+                            })
+                            .onErrorResume(e -> {
+                                admissionService.fillBatchErrors(movieId, requests, indexes, responses, e);
+                                return Mono.just(0);
+                            });
+                })
+                .reduce(0, Integer::sum)
+                .map(admittedCount -> {
+                    admissionService.recordBatch(requests.size(), indexesByMovie.size(), admittedCount, roundTrips[0]);
+                    return Arrays.asList(responses);
+                });
+    }
+
+    /**
+     * 퇴장 - 오류는 동기 경로와 같이 로그만 남기고 무시
+     */
+    public Mono<Void> leave(String id, String sessionId, String requestId) {
+        String member = requestId + ":" + sessionId;
+        return store.leave(id, member, sessionCalculator.calculateMaxActiveSessions(), System.currentTimeMillis(),
+                        admissionService.isPromoteOnRelease())
+                .doOnNext(promoted -> admissionService.onLeft(id, requestId, promoted))
+                .onErrorResume(e -> {
+                    logger.warn("퇴장 처리 중 오류 (무시)", e);
+                    return Mono.empty();
+                })
+                .then();
+    }
+
+    /**
+     * 상태 조회 - 스냅샷 캐시의 대기 순번 → 활성 여부 → 대기 순번 순서로 확인
+     */
+    public Mono<UserStatus> status(String id, String sessionId, String requestId) {
+        QueueSnapshotCache.StatusHit cached = admissionService.getCachedUserStatus(id, sessionId, requestId);
+        if (cached != null) {
+            return Mono.just(waiting(id, cached.rank(), cached.totalWaiting()));
+        }
+        String member = requestId + ":" + sessionId;
+        return store.isActive(id, member)
+                .flatMap(active -> active
+                    ? Mono.just(new UserStatus("ACTIVE", 0, 0, null))
+                    : store.rank(id, member)
+                        .flatMap(rank -> store.waitingCount(id).map(total -> waiting(id, rank, total)))
+                        .defaultIfEmpty(new UserStatus("NOT_FOUND", 0, 0, null)));
+    }
+
+    private UserStatus waiting(String id, long rank, long totalWaiting) {
+        return new UserStatus("WAITING", rank, totalWaiting, admissionService.estimateWait(id, rank));
+    }
+}
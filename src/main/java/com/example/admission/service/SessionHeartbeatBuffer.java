@@ -0,0 +1,108 @@
+// src/main/java/com/example/admission/service/SessionHeartbeatBuffer.java
+package com.example.admission.service;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 활성 세션 heartbeat 버퍼.
+ *
+ * REST / STOMP 로 들어온 heartbeat 를 Pod 메모리에 member 별 마지막 시각 하나로 합쳐 두었다가,
+ * flush-ms 마다 영화당 heartbeat.lua (ZADD XX GT) 로 한꺼번에 반영합니다.
+ * 활성 세션 점수가 "마지막 활동 시각"이 되므로 만료 판단(SESSION_TIMEOUT_SECONDS)은 마지막 heartbeat 기준이 됩니다.
+ * heartbeat 는 인증 없이 아무 movieId 로나 들어올 수 있으므로, 반영 후 비어 있는 영화 버퍼는 지워 맵이 계속 커지지 않게 합니다.
+ */
+@Service
+public class SessionHeartbeatBuffer {
+
+    private static final Logger logger = LoggerFactory.getLogger(SessionHeartbeatBuffer.class);
+
+    private final AdmissionService admissionService;
+
+    // movieId → (member → 마지막 heartbeat 시각)
+    private final Map<String, ConcurrentHashMap<String, Long>> pending = new ConcurrentHashMap<>();
+
+    // 병합 통계
+    private final LongAdder received = new LongAdder();
+    private final LongAdder flushedMembers = new LongAdder();
+    private final LongAdder touchedMembers = new LongAdder();
+    private final LongAdder storeWrites = new LongAdder();
+    private final LongAdder flushFailures = new LongAdder();
+    private final AtomicLong lastFlushMs = new AtomicLong();
+
+    public SessionHeartbeatBuffer(AdmissionService admissionService) {
+        this.admissionService = admissionService;
+    }
+
+    public void record(String movieId, String sessionId, String requestId) {
+        String member = requestId + ":" + sessionId;
+        long now = System.currentTimeMillis();
+        // compute 안에서 넣어야 flush 가 빈 버퍼를 지우는 것과 겹쳐도 지워진 버퍼에 쓰지 않음
+        pending.compute(movieId, (id, buffer) -> {
+            ConcurrentHashMap<String, Long> target = buffer != null ? buffer : new ConcurrentHashMap<>();
+            target.merge(member, now, Math::max);
+            return target;
+        });
+        received.increment();
+    }
+
+    @Scheduled(fixedDelayString = "${admission.heartbeat.flush-ms:300}")
+    public void flush() {
+        long start = System.currentTimeMillis();
+        pending.forEach((movieId, buffer) -> {
+            if (buffer.isEmpty()) {
+                pending.computeIfPresent(movieId, (id, current) -> current.isEmpty() ? null : current);
+                return;
+            }
+            Map<String, Long> snapshot = new HashMap<>(buffer);
+            try {
+                touchedMembers.add(admissionService.touchActiveSessions(movieId, snapshot));
+                storeWrites.increment();
+                flushedMembers.add(snapshot.size());
+                // 반영하는 동안 더 새로운 heartbeat 가 들어온 member 는 다음 flush 로 넘김
+                snapshot.forEach(buffer::remove);
+                pending.computeIfPresent(movieId, (id, current) -> current.isEmpty() ? null : current);
+            } catch (Exception e) {
+                flushFailures.increment();
+                logger.warn("💓 [{}] heartbeat 반영 실패 ({}명, 다음 주기에 재시도)", movieId, snapshot.size(), e);
+            }
+        });
+        lastFlushMs.set(System.currentTimeMillis() - start);
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    /**
+     * 💓 heartbeat 병합 통계 - coalescingRatio = 받은 heartbeat 수 / 저장소에 쓴 member 수
+     */
+    public Map<String, Object> getHeartbeatStats() {
+        long receivedCount = received.sum();
+        long flushed = flushedMembers.sum();
+        long writes = storeWrites.sum();
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("received", receivedCount);
+        stats.put("flushedMembers", flushed);
+        stats.put("touchedMembers", touchedMembers.sum());
+        stats.put("storeWrites", writes);
+        stats.put("coalescingRatio", flushed > 0 ? (double) receivedCount / flushed : 0.0);
+        stats.put("heartbeatsPerWrite", writes > 0 ? (double) receivedCount / writes : 0.0);
+        stats.put("pendingMovies", pending.size());
+        stats.put("pendingMembers", pending.values().stream().mapToInt(Map::size).sum());
+        stats.put("flushFailures", flushFailures.sum());
+        stats.put("lastFlushMs", lastFlushMs.get());
+        return stats;
+    }
+}
@@ -0,0 +1,133 @@
+// src/main/java/com/example/admission/service/VirtualThreadPinningMonitor.java
+package com.example.admission.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 가상 스레드 pinning 감시 (가상 스레드 모드에서만 등록).
+ *
+ * synchronized 블록이나 native 호출 안에서 블로킹되면 가상 스레드가 캐리어(플랫폼) 스레드를 놓지 못하고 붙잡아,
+ * 캐리어 수(= CPU 코어 수)만큼만 동시에 진행되는 상태가 됩니다.
+ * JFR jdk.VirtualThreadPinned 이벤트를 애플리케이션 안에서 스트리밍으로 받아 threshold-ms 이상 붙잡은 경우를
+ * 호출 위치(첫 번째 애플리케이션 프레임)별로 집계합니다. -Djdk.tracePinnedThreads 와 달리 운영 중에도 켜 둘 수 있습니다.
+ */
+@Component
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadPinningMonitor {
+
+    private static final Logger logger = LoggerFactory.getLogger(VirtualThreadPinningMonitor.class);
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    // 호출 위치 집계 상한 (넘으면 새 위치는 "other" 로 합침)
+    private static final int MAX_SITES = 200;
+
+    @Value("${admission.virtual-threads.pinning-threshold-ms:20}")
+    private long thresholdMs = 20;
+
+    // 같은 위치의 경고 로그 최소 간격
+    @Value("${admission.virtual-threads.pinning-log-interval-ms:60000}")
+    private long logIntervalMs = 60000;
+
+    private final LongAdder pinnedEvents = new LongAdder();
+    private final LongAdder pinnedNanos = new LongAdder();
+    private final AtomicLong maxPinnedNanos = new AtomicLong();
+    private final Map<String, LongAdder> pinnedBySite = new ConcurrentHashMap<>();
+    private final Map<String, Long> lastLoggedAt = new ConcurrentHashMap<>();
+    private volatile RecordingStream stream;
+
+    @PostConstruct
+    public void start() {
+        try {
+            RecordingStream recording = new RecordingStream();
+            recording.enable(PINNED_EVENT).withThreshold(Duration.ofMillis(thresholdMs)).withStackTrace();
+            recording.onEvent(PINNED_EVENT, this::onPinned);
+            recording.startAsync();
+            stream = recording;
+            logger.info("🧵 가상 스레드 pinning 감시 시작 ({}ms 이상)", thresholdMs);
+        } catch (Exception e) {
+            logger.warn("⚠️ 가상 스레드 pinning 감시를 시작하지 못했습니다 (JFR 사용 불가)", e);
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        RecordingStream recording = stream;
+        if (recording != null) {
+            recording.close();
+        }
+    }
+
+    private void onPinned(RecordedEvent event) {
+        long nanos = event.getDuration().toNanos();
+        pinnedEvents.increment();
+        pinnedNanos.add(nanos);
+        maxPinnedNanos.accumulateAndGet(nanos, Math::max);
+
+        String site = applicationFrame(event.getStackTrace());
+        if (pinnedBySite.size() >= MAX_SITES && !pinnedBySite.containsKey(site)) {
+            site = "other";
+        }
+        pinnedBySite.computeIfAbsent(site, k -> new LongAdder()).increment();
+
+        long now = System.currentTimeMillis();
+        Long last = lastLoggedAt.get(site);
+        if (last == null || now - last >= logIntervalMs) {
+            lastLoggedAt.put(site, now);
+            logger.warn("📌 가상 스레드 pinning {}ms - {}", nanos / 1_000_000, site);
+        }
+    }
+
+    // JDK/프레임워크 프레임을 건너뛴 첫 번째 com.example 프레임 (없으면 최상단 프레임)
+    private static String applicationFrame(RecordedStackTrace stackTrace) {
+        if (stackTrace == null || stackTrace.getFrames().isEmpty()) {
+            return "unknown";
+        }
+        for (RecordedFrame frame : stackTrace.getFrames()) {
+            String type = frame.getMethod().getType().getName();
+            if (type.startsWith("com.example.")) {
+                return type + "." + frame.getMethod().getName() + ":" + frame.getLineNumber();
+            }
+        }
+        RecordedFrame top = stackTrace.getFrames().get(0);
+        return top.getMethod().getType().getName() + "." + top.getMethod().getName();
+    }
+
+    /**
+     * 🧵 pinning 통계 (위치별 상위 20개)
+     */
+    public Map<String, Object> getStats() {
+        long events = pinnedEvents.sum();
+        Map<String, Long> topSites = new LinkedHashMap<>();
+        pinnedBySite.entrySet().stream()
+            .sorted(Comparator.comparingLong((Map.Entry<String, LongAdder> e) -> e.getValue().sum()).reversed())
+            .limit(20)
+            .forEach(e -> topSites.put(e.getKey(), e.getValue().sum()));
+
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("monitoring", stream != null);
+        stats.put("thresholdMs", thresholdMs);
+        stats.put("pinnedEvents", events);
+        stats.put("avgPinnedMs", events > 0 ? pinnedNanos.sum() / events / 1_000_000.0 : 0.0);
+        stats.put("maxPinnedMs", maxPinnedNanos.get() / 1_000_000.0);
+        stats.put("sites", topSites);
+        return stats;
+    }
+}
@@ -0,0 +1,192 @@
+// src/main/java/com/example/admission/store/AdmissionStore.java
+package com.example.admission.store;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.ObjLongConsumer;
+
+/**
+ * 대기열 저장소 SPI.
+ *
+ * AdmissionService 는 입장/대기 판단 결과만 이 인터페이스로 주고받고, 실제 자료구조는 구현체가 결정합니다.
+ * - RedisAdmissionStore    : 기본값. 여러 Pod 이 Redis(Lua 스크립트)로 상태를 공유
+ * - InMemoryAdmissionStore : 단일 Pod / 개발용. JVM 안에서 같은 의미로 동작 (admission.store=memory)
+ *
+ * 모든 구현체는 다음 의미를 지켜야 합니다.
+ * - enter 는 원자적: 활성 수가 maxActive 미만이면 활성으로, 아니면 대기열 맨 뒤로
+ * - 대기 순번은 1부터 시작하며, 이미 대기 중인 member 가 다시 enter 해도 순번이 밀리지 않음
+ * - admitNext 는 maxActive 를 넘지 않는 범위에서 대기열 앞에서부터 승격
+ * - release 는 퇴장/만료와 그로 인해 생긴 빈자리의 승격을 한 번에 원자적으로 처리
+ */
+public interface AdmissionStore {
+
+    /**
+     * enter 결과. admitted 이면 rank/totalWaiting 은 참고값, 아니면 rank 는 1부터 시작하는 대기 순번.
+     * 같은 세션이 이미 활성/대기 중이었으면 reused 이고, member 는 요청한 member 가 아닌 기존 member
+     */
+    record EnterOutcome(boolean admitted, long rank, long totalWaiting, long activeCount, int roundTrips,
+                        String member, boolean reused) {
+
+        public EnterOutcome withRoundTrips(int roundTrips) {
+            return new EnterOutcome(admitted, rank, totalWaiting, activeCount, roundTrips, member, reused);
+        }
+    }
+
+    /**
+     * 한 영화에 대한 일괄 enter 결과. outcomes 는 요청 순서와 같고, roundTrips 는 배치 전체의 저장소 왕복 수
+     */
+    record EnterBatchResult(List<EnterOutcome> outcomes, int roundTrips) {
+    }
+
+    /**
+     * 대기자가 있는 상태에서 자리가 비워진 뒤 승격으로 채워지기까지 걸린 시간 누적값
+     */
+    record SlotIdleStats(long samples, long totalMs, long maxMs) {
+    }
+
+    /**
+     * 활성 세션 종료 누적값. completed/sessionMs 는 퇴장(입장 → 퇴장 시간 합), timeouts 는 세션 만료 건수
+     */
+    record SessionStats(long completed, long sessionMs, long timeouts) {
+    }
+
+    /**
+     * 만료 정리 한 번의 결과. more 이면 같은 threshold 로 다시 호출해 이어서 정리해야 함
+     */
+    record SweepResult(List<String> expired, List<String> promoted, boolean more) {
+    }
+
+    /**
+     * 번호표 대기열의 커서 상태 한 시점 (순번 브로드캐스트용).
+     * departed 는 cursor 이후 이탈한 ticket 오름차순이며, departedCount 가 maxDeparted 를 넘으면 null.
+     * members 는 요청 범위에서 아직 대기 중인 ticket → member, scannedTo 는 새 번호를 어디까지 확인했는지,
+     * refreshedTo 는 기존 대기자를 어디까지 확인했는지 (다음 호출의 refreshFrom)
+     */
+    record TicketCursorState(long seq, long cursor, long departedCount, long[] departed,
+                             Map<Long, String> members, long scannedTo, long refreshedTo) {
+    }
+
+    /**
+     * 활성 세션/대기열에서 빠지는 이유
+     */
+    enum ReleaseCause {
+        LEAVE,
+        TIMEOUT
+    }
+
+    /**
+     * 입장 처리. (영화, 세션) 단위로 멱등 - 같은 세션이 이미 활성/대기 중이면 순번을 바꾸지 않고 기존 상태를 반환
+     */
+    EnterOutcome enter(String movieId, String member, long maxActive, long now);
+
+    /**
+     * 같은 영화의 여러 member 를 요청 순서대로 enter 합니다.
+     * 기본 구현은 enter 를 반복 호출하며, 왕복을 줄일 수 있는 저장소는 재정의합니다.
+     */
+    default EnterBatchResult enterBatch(String movieId, List<String> members, long maxActive, long now) {
+        List<EnterOutcome> outcomes = new ArrayList<>(members.size());
+        int roundTrips = 0;
+        for (String member : members) {
+            EnterOutcome outcome = enter(movieId, member, maxActive, now);
+            outcomes.add(outcome);
+            roundTrips += outcome.roundTrips();
+        }
+        return new EnterBatchResult(outcomes, roundTrips);
+    }
+
+    List<String> admitNext(String movieId, long count, long maxActive, long now);
+
+    /**
+     * 활성 세션/대기열에서 members 를 제거하고, promote 이면 비워진 자리만큼 같은 원자적 처리 안에서 대기자를 승격합니다.
+     * (퇴장과 세션 만료 모두 이 경로를 사용)
+     * @return 승격된 member 목록
+     */
+    List<String> release(String movieId, Collection<String> members, long maxActive, long now, boolean promote,
+                         ReleaseCause cause);
+
+    long activeCount(String movieId);
+
+    long waitingCount(String movieId);
+
+    boolean isActive(String movieId, String member);
+
+    /**
+     * @return 1부터 시작하는 대기 순번, 대기 중이 아니면 null
+     */
+    Long rank(String movieId, String member);
+
+    /**
+     * 번호표 대기열의 커서/이탈자와 일부 대기자를 한 번에 조회합니다.
+     * members 에는 newFrom 이후 새로 발급된 번호(최대 maxMembers 명)와, 기존 대기 구간 (cursor, newFrom] 을
+     * refreshStep 번의 호출에 한 바퀴 돌도록 refreshFrom 다음부터 연속으로 나눈 만큼의 대기자가 담깁니다.
+     * (refreshStep 이 0 이면 새 번호만)
+     * 확인하는 번호 수는 두 구간을 합쳐 maxScan 이하이며, 다 확인하지 못한 부분은 scannedTo / refreshedTo 부터 이어서 확인합니다
+     * @return 번호표 모드가 아닌 영화면 null
+     */
+    default TicketCursorState ticketCursorState(String movieId, long newFrom, long refreshStep, long refreshFrom,
+                                                int maxMembers, int maxDeparted, int maxScan) {
+        return null;
+    }
+
+    /**
+     * 대기 중인 member 를 순번 순서대로 pageSize 단위로 읽어 (member, 1부터 시작하는 순번) 을 consumer 에 넘깁니다.
+     * 전체 목록을 한 번에 만들지 않으므로 메모리 사용은 페이지 크기로 제한됩니다.
+     * 순번은 각 페이지를 읽은 시점 기준이며, 페이지 사이에 승격/이탈이 있어도 같은 member 를 두 번 넘기지 않습니다
+     */
+    void forEachWaiting(String movieId, int pageSize, ObjLongConsumer<String> consumer);
+
+    /**
+     * 대기 중인 member 를 순번 순서대로 반환 (관리/브로드캐스트용, O(N))
+     */
+    List<String> waitingMembers(String movieId);
+
+    /**
+     * 대기열 앞에서부터 최대 limit 명 (순번 순서)
+     */
+    List<String> waitingMembers(String movieId, int limit);
+
+    /**
+     * 활성 member 의 마지막 활동 시각(점수)을 더 큰 값으로만 갱신합니다. 활성이 아닌 member 는 무시
+     * 입장 시각은 따로 유지되므로 sessionStats 의 sessionMs 는 heartbeat 와 무관하게 입장 → 퇴장 시간입니다
+     * @param lastSeen member → 마지막 heartbeat 시각
+     * @return 실제로 갱신된 member 수
+     */
+    int touchActive(String movieId, Map<String, Long> lastSeen);
+
+    /**
+     * @return 가장 먼저 입장한 활성 세션의 입장 시각, 활성 세션이 없으면 null
+     */
+    Long oldestActiveAt(String movieId);
+
+    /**
+     * 입장 시각이 threshold 이하인 활성 member 를 최대 limit 명 제거하고, promote 이면 같은 원자적 처리 안에서
+     * 비워진 자리만큼 대기자를 승격합니다. 제거된 member 는 다음 호출에서 보이지 않으므로
+     * more 인 동안 같은 threshold 로 반복 호출하면 정리가 이어집니다.
+     */
+    SweepResult sweepExpired(String movieId, long threshold, int limit, long maxActive, long now, boolean promote);
+
+    SlotIdleStats slotIdleStats(String movieId);
+
+    SessionStats sessionStats(String movieId);
+
+    /**
+     * 대기열에서 활성으로 승격된 누적 인원 (모든 Pod 합계, 입장 속도 추정용)
+     */
+    long promotedTotal(String movieId);
+
+    /**
+     * 세션별 입장 시도 수를 모든 Pod 공용 구간 카운터(windowMs 단위)에 더하고,
+     * 세션별 슬라이딩 윈도우 추정치 (직전 구간 × 남은 비율 + 현재 구간) 를 반환
+     */
+    Map<String, Long> addEnterAttempts(Map<String, Long> attemptsBySession, long windowMs, long now);
+
+    /**
+     * 활성 세션이나 대기자가 있는(또는 최근에 있었던) 영화 ID
+     */
+    Set<String> movieIds();
+
+    String name();
+}
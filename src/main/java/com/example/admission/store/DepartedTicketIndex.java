@@ -0,0 +1,103 @@
+package com.example.admission.store;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.TreeSet;
+
+/**
+ * 번호표 대기열에서 커서 이후 이탈한 ticket 집합 (InMemoryAdmissionStore 전용, 호출자가 동기화).
+ *
+ * TreeSet 의 headSet(...).size() 는 뷰를 순회하며 세므로 O(이탈자 수) 입니다.
+ * 순번 계산(ticket 앞의 이탈자 수)을 O(log 번호 범위) 로 하기 위해 [base, base + 길이) 번호 범위의
+ * Fenwick 트리를 함께 유지하고, TreeSet 은 오름차순 목록 조회와 범위 재구성에만 씁니다.
+ * - add: O(log 범위). 범위를 벗어나면 배열을 두 배로 늘려 다시 만듦 (상각 O(1) 회)
+ * - pruneThrough: 커서 이하 번호를 하나씩 빼므로 번호당 한 번 O(log 범위).
+ *   커서가 배열 절반을 넘게 지나가면 base 를 커서로 옮겨 다시 만들어 배열이 발급 번호만큼 커지지 않게 함
+ */
+final class DepartedTicketIndex {
+
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private final TreeSet<Long> tickets = new TreeSet<>();
+    private long base;                                    // 트리 인덱스 i 는 ticket base + i
+    private int[] tree = new int[INITIAL_CAPACITY + 1];   // 1부터 시작하는 Fenwick 트리
+
+    void add(long ticket) {
+        if (ticket <= base || !tickets.add(ticket)) {
+            return;
+        }
+        if (ticket - base >= tree.length) {
+            rebuild(base, ticket - base);
+            return;
+        }
+        update(ticket - base, 1);
+    }
+
+    /**
+     * @return ticket 보다 작은 이탈 번호 수 (pruneThrough 로 지운 번호는 제외)
+     */
+    long countBelow(long ticket) {
+        long index = Math.min(ticket - 1 - base, tree.length - 1);
+        if (index <= 0) {
+            return 0;
+        }
+        long count = 0;
+        for (int i = (int) index; i > 0; i -= i & -i) {
+            count += tree[i];
+        }
+        return count;
+    }
+
+    /**
+     * cursor 이하 번호를 제거합니다 (커서가 지나간 이탈 번호는 순번 계산에 필요 없음)
+     */
+    void pruneThrough(long cursor) {
+        Iterator<Long> head = tickets.headSet(cursor, true).iterator();
+        while (head.hasNext()) {
+            update(head.next() - base, -1);
+            head.remove();
+        }
+        if (cursor - base > tree.length / 2) {
+            rebuild(cursor, 0);
+        }
+    }
+
+    int size() {
+        return tickets.size();
+    }
+
+    long[] toArray() {
+        return tickets.stream().mapToLong(Long::longValue).toArray();
+    }
+
+    private void update(long index, int delta) {
+        for (int i = (int) index; i < tree.length; i += i & -i) {
+            tree[i] += delta;
+        }
+    }
+
+    // newBase 이후 번호로 트리를 다시 만듦. 배열은 minSpan 과 현재 이탈 범위를 담을 만큼 두 배씩 키움
+    private void rebuild(long newBase, long minSpan) {
+        long span = Math.max(minSpan, tickets.isEmpty() ? 0 : tickets.last() - newBase);
+        int capacity = INITIAL_CAPACITY;
+        while (capacity <= span) {
+            capacity <<= 1;
+        }
+        base = newBase;
+        if (capacity + 1 == tree.length) {
+            Arrays.fill(tree, 0);
+        } else {
+            tree = new int[capacity + 1];
+        }
+        // O(범위) 구성: 각 칸의 값을 먼저 넣고 부모 칸으로 누적
+        for (long ticket : tickets) {
+            tree[(int) (ticket - base)]++;
+        }
+        for (int i = 1; i < tree.length; i++) {
+            int parent = i + (i & -i);
+            if (parent < tree.length) {
+                tree[parent] += tree[i];
+            }
+        }
+    }
+}
@@ -0,0 +1,457 @@
+// src/main/java/com/example/admission/store/InMemoryAdmissionStore.java
+package com.example.admission.store;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.ObjLongConsumer;
+
+/**
+ * JVM 내부 대기열 저장소 (admission.store=memory).
+ *
+ * 단일 Pod 배포/로컬 개발용이며, Redis 왕복이 없는 상태의 입장 처리 지연 하한을 비교하는 기준으로도 씁니다.
+ * 영화별 상태는 하나의 락으로 보호해 Lua 스크립트와 같은 원자성을 보장하고,
+ * 대기열은 번호표 모드와 같은 방식(ticket - cursor - 앞선 이탈자 수)으로 순번을 계산합니다.
+ * 여러 Pod 이 상태를 공유하지 않으므로 Pod 이 2개 이상이면 사용하면 안 됩니다.
+ */
+@Component
+@ConditionalOnProperty(name = "admission.store", havingValue = "memory")
+public class InMemoryAdmissionStore implements AdmissionStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(InMemoryAdmissionStore.class);
+
+    private final Map<String, MovieQueue> queues = new ConcurrentHashMap<>();
+    // 세션별 입장 시도 구간 카운터 {구간 번호, 현재 구간 수, 직전 구간 수}
+    private final Map<String, long[]> enterAttempts = new ConcurrentHashMap<>();
+
+    public InMemoryAdmissionStore() {
+        logger.warn("⚠️ JVM 내부 대기열 저장소를 사용합니다. 단일 Pod 에서만 사용하세요.");
+    }
+
+    @Override
+    public String name() {
+        return "memory";
+    }
+
+    private MovieQueue queue(String movieId) {
+        return queues.computeIfAbsent(movieId, id -> new MovieQueue());
+    }
+
+    @Override
+    public EnterOutcome enter(String movieId, String member, long maxActive, long now) {
+        MovieQueue q = queue(movieId);
+        synchronized (q) {
+            // 같은 세션이 이미 활성/대기 중이면 (requestId 가 달라도) 기존 상태 유지
+            String sessionId = sessionOf(member);
+            String existingMember = q.bySession.get(sessionId);
+            if (existingMember != null) {
+                if (q.active.containsKey(existingMember)) {
+                    return new EnterOutcome(true, 0, q.waitingByTicket.size(), q.active.size(), 0, existingMember, true);
+                }
+                Long existing = q.ticketByMember.get(existingMember);
+                if (existing != null) {
+                    return new EnterOutcome(false, q.rankOf(existing), q.waitingByTicket.size(), q.active.size(), 0,
+                            existingMember, true);
+                }
+            }
+            q.bySession.put(sessionId, member);
+            if (q.active.size() < maxActive) {
+                q.activate(member, now);
+                return new EnterOutcome(true, 0, q.waitingByTicket.size(), q.active.size(), 0, member, false);
+            }
+            long ticket = ++q.seq;
+            q.waitingByTicket.put(ticket, member);
+            q.ticketByMember.put(member, ticket);
+            long totalWaiting = q.waitingByTicket.size();
+            return new EnterOutcome(false, totalWaiting, totalWaiting, q.active.size(), 0, member, false);
+        }
+    }
+
+    // member "requestId:sessionId" → sessionId
+    private static String sessionOf(String member) {
+        int colon = member.indexOf(':');
+        return colon >= 0 ? member.substring(colon + 1) : member;
+    }
+
+    @Override
+    public List<String> admitNext(String movieId, long count, long maxActive, long now) {
+        MovieQueue q = queue(movieId);
+        synchronized (q) {
+            return q.admit(Math.min(count, maxActive - q.active.size()), now);
+        }
+    }
+
+    @Override
+    public List<String> release(String movieId, Collection<String> members, long maxActive, long now, boolean promote,
+                                ReleaseCause cause) {
+        MovieQueue q = queues.get(movieId);
+        if (q == null) {
+            return Collections.emptyList();
+        }
+        synchronized (q) {
+            int freed = 0;
+            for (String member : members) {
+                Long admittedAt = q.admittedAt.remove(member);
+                if (q.active.remove(member) != null) {
+                    freed++;
+                    if (cause == ReleaseCause.TIMEOUT) {
+                        q.timeouts++;
+                    } else {
+                        q.completed++;
+                        q.sessionMs += Math.max(0, now - admittedAt);
+                    }
+                }
+                Long ticket = q.ticketByMember.remove(member);
+                if (ticket != null) {
+                    q.waitingByTicket.remove(ticket);
+                    q.departed.add(ticket);
+                }
+                q.bySession.remove(sessionOf(member), member);
+            }
+            if (q.waitingByTicket.isEmpty()) {
+                // 대기자가 없으면 빈자리는 낭비가 아님
+                q.freedAt.clear();
+                return Collections.emptyList();
+            }
+            for (int i = 0; i < freed; i++) {
+                q.freedAt.addLast(now);
+            }
+            return promote && freed > 0 ? q.admit(maxActive - q.active.size(), now) : Collections.emptyList();
+        }
+    }
+
+    @Override
+    public SlotIdleStats slotIdleStats(String movieId) {
+        MovieQueue q = queues.get(movieId);
+        if (q == null) {
+            return new SlotIdleStats(0, 0, 0);
+        }
+        synchronized (q) {
+            return new SlotIdleStats(q.idleSamples, q.idleTotalMs, q.idleMaxMs);
+        }
+    }
+
+    @Override
+    public long activeCount(String movieId) {
+        MovieQueue q = queues.get(movieId);
+        if (q == null) {
+            return 0;
+        }
+        synchronized (q) {
+            return q.active.size();
+        }
+    }
+
+    @Override
+    public long waitingCount(String movieId) {
+        MovieQueue q = queues.get(movieId);
+        if (q == null) {
+            return 0;
+        }
+        synchronized (q) {
+            return q.waitingByTicket.size();
+        }
+    }
+
+    @Override
+    public boolean isActive(String movieId, String member) {
+        MovieQueue q = queues.get(movieId);
+        if (q == null) {
+            return false;
+        }
+        synchronized (q) {
+            return q.active.containsKey(member);
+        }
+    }
+
+    @Override
+    public Long rank(String movieId, String member) {
+        MovieQueue q = queues.get(movieId);
+        if (q == null) {
+            return null;
+        }
+        synchronized (q) {
+            Long ticket = q.ticketByMember.get(member);
+            return ticket != null ? q.rankOf(ticket) : null;
+        }
+    }
+
+    @Override
+    public TicketCursorState ticketCursorState(String movieId, long newFrom, long refreshStep, long refreshFrom,
+                                               int maxMembers, int maxDeparted, int maxScan) {
+        MovieQueue q = queue(movieId);
+        synchronized (q) {
+            long[] departed = null;
+            if (q.departed.size() <= maxDeparted) {
+                departed = q.departed.toArray();
+            }
+            Map<Long, String> members = new LinkedHashMap<>();
+            long from = Math.max(newFrom, q.cursor);
+            // 새로 발급된 번호 (ticket_cursor_state.lua 와 같이 확인하는 번호 수를 maxScan 으로 제한)
+            long limit = Math.max(from, Math.min(q.seq, from + Math.max(0, maxScan)));
+            long scannedTo = from;
+            for (Map.Entry<Long, String> entry : q.waitingByTicket.subMap(from, false, limit, true).entrySet()) {
+                if (members.size() >= maxMembers) {
+                    break;
+                }
+                members.put(entry.getKey(), entry.getValue());
+                scannedTo = entry.getKey();
+            }
+            if (members.size() < maxMembers) {
+                scannedTo = limit;
+            }
+            // 기존 대기자 (cursor, from] 를 refreshStep 번에 한 바퀴 돌도록 refreshFrom 다음부터 연속으로
+            long refreshedTo = refreshFrom;
+            if (refreshStep > 0 && from > q.cursor) {
+                long budget = maxScan - (scannedTo - from);
+                long quota = Math.min(budget, (from - q.cursor + refreshStep - 1) / refreshStep);
+                long ticket = Math.max(refreshFrom, q.cursor);
+                while (quota > 0 && members.size() < maxMembers) {
+                    if (ticket >= from) {
+                        ticket = q.cursor;
+                    }
+                    ticket++;
+                    quota--;
+                    String member = q.waitingByTicket.get(ticket);
+                    if (member != null) {
+                        members.put(ticket, member);
+                    }
+                }
+                refreshedTo = ticket;
+            }
+            return new TicketCursorState(q.seq, q.cursor, q.departed.size(), departed, members, scannedTo, refreshedTo);
+        }
+    }
+
+    /**
+     * 페이지마다 락을 잡고 마지막으로 읽은 번호 다음부터 이어 읽음 (전체 목록 복사 없음)
+     */
+    @Override
+    public void forEachWaiting(String movieId, int pageSize, ObjLongConsumer<String> consumer) {
+        MovieQueue q = queues.get(movieId);
+        if (q == null) {
+            return;
+        }
+        int size = Math.max(1, pageSize);
+        long[] tickets = new long[size];
+        long[] ranks = new long[size];
+        String[] members = new String[size];
+        long last = 0;
+        while (true) {
+            int count = 0;
+            synchronized (q) {
+                for (Map.Entry<Long, String> entry : q.waitingByTicket.tailMap(last, false).entrySet()) {
+                    if (count == size) {
+                        break;
+                    }
+                    tickets[count] = entry.getKey();
+                    members[count] = entry.getValue();
+                    ranks[count] = count == 0 ? q.rankOf(entry.getKey()) : ranks[count - 1] + 1;
+                    count++;
+                }
+            }
+            // consumer 는 락 밖에서 호출
+            for (int i = 0; i < count; i++) {
+                consumer.accept(members[i], ranks[i]);
+            }
+            if (count < size) {
+                return;
+            }
+            last = tickets[count - 1];
+        }
+    }
+
+    @Override
+    public List<String> waitingMembers(String movieId) {
+        MovieQueue q = queues.get(movieId);
+        if (q == null) {
+            return Collections.emptyList();
+        }
+        synchronized (q) {
+            return new ArrayList<>(q.waitingByTicket.values());
+        }
+    }
+
+    @Override
+    public List<String> waitingMembers(String movieId, int limit) {
+        MovieQueue q = queues.get(movieId);
+        if (q == null) {
+            return Collections.emptyList();
+        }
+        synchronized (q) {
+            List<String> members = new ArrayList<>(Math.min(limit, q.waitingByTicket.size()));
+            for (String member : q.waitingByTicket.values()) {
+                if (members.size() >= limit) {
+                    break;
+                }
+                members.add(member);
+            }
+            return members;
+        }
+    }
+
+    @Override
+    public int touchActive(String movieId, Map<String, Long> lastSeen) {
+        MovieQueue q = queues.get(movieId);
+        if (q == null) {
+            return 0;
+        }
+        synchronized (q) {
+            int touched = 0;
+            for (Map.Entry<String, Long> entry : lastSeen.entrySet()) {
+                Long current = q.active.get(entry.getKey());
+                if (current != null && entry.getValue() > current) {
+                    q.active.put(entry.getKey(), entry.getValue());
+                    touched++;
+                }
+            }
+            return touched;
+        }
+    }
+
+    @Override
+    public Long oldestActiveAt(String movieId) {
+        MovieQueue q = queues.get(movieId);
+        if (q == null) {
+            return null;
+        }
+        synchronized (q) {
+            return q.active.values().stream().min(Long::compare).orElse(null);
+        }
+    }
+
+    @Override
+    public SweepResult sweepExpired(String movieId, long threshold, int limit, long maxActive, long now, boolean promote) {
+        MovieQueue q = queues.get(movieId);
+        if (q == null) {
+            return new SweepResult(Collections.emptyList(), Collections.emptyList(), false);
+        }
+        synchronized (q) {
+            List<String> expired = new ArrayList<>();
+            for (Map.Entry<String, Long> entry : q.active.entrySet()) {
+                if (entry.getValue() <= threshold) {
+                    expired.add(entry.getKey());
+                    if (expired.size() >= limit) {
+                        break;
+                    }
+                }
+            }
+            // 같은 락 안에서 제거 + 승격 (release 의 synchronized 는 재진입)
+            List<String> promoted = release(movieId, expired, maxActive, now, promote, ReleaseCause.TIMEOUT);
+            return new SweepResult(expired, promoted, expired.size() >= limit);
+        }
+    }
+
+    @Override
+    public SessionStats sessionStats(String movieId) {
+        MovieQueue q = queues.get(movieId);
+        if (q == null) {
+            return new SessionStats(0, 0, 0);
+        }
+        synchronized (q) {
+            return new SessionStats(q.completed, q.sessionMs, q.timeouts);
+        }
+    }
+
+    @Override
+    public long promotedTotal(String movieId) {
+        MovieQueue q = queues.get(movieId);
+        if (q == null) {
+            return 0;
+        }
+        synchronized (q) {
+            return q.promotedTotal;
+        }
+    }
+
+    @Override
+    public Map<String, Long> addEnterAttempts(Map<String, Long> attemptsBySession, long windowMs, long now) {
+        long window = now / windowMs;
+        // 직전 구간보다 오래된 카운터 정리
+        enterAttempts.values().removeIf(counter -> counter[0] < window - 1);
+
+        double previousWeight = 1.0 - (double) (now % windowMs) / windowMs;
+        Map<String, Long> estimates = new HashMap<>();
+        attemptsBySession.forEach((sessionId, attempts) -> enterAttempts.compute(sessionId, (k, c) -> {
+            long[] next;
+            if (c == null || c[0] < window - 1) {
+                next = new long[]{window, attempts, 0};
+            } else if (c[0] == window - 1) {
+                next = new long[]{window, attempts, c[1]};
+            } else {
+                next = new long[]{window, c[1] + attempts, c[2]};
+            }
+            estimates.put(sessionId, next[1] + Math.round(next[2] * previousWeight));
+            return next;
+        }));
+        return estimates;
+    }
+
+    @Override
+    public Set<String> movieIds() {
+        return new HashSet<>(queues.keySet());
+    }
+
+    /**
+     * 영화 하나의 대기열 상태. 모든 접근은 인스턴스 락을 잡은 상태에서만 수행
+     */
+    private static final class MovieQueue {
+        private final Map<String, Long> active = new HashMap<>();              // member → 마지막 활동 시각 (heartbeat 로 갱신)
+        private final Map<String, Long> admittedAt = new HashMap<>();          // member → 입장 시각 (세션 시간 통계용)
+        private final TreeMap<Long, String> waitingByTicket = new TreeMap<>(); // ticket → member
+        private final Map<String, Long> ticketByMember = new HashMap<>();      // member → ticket
+        private final DepartedTicketIndex departed = new DepartedTicketIndex(); // cursor 이후 이탈한 ticket
+        private final ArrayDeque<Long> freedAt = new ArrayDeque<>();           // 대기자가 있을 때 비워진 자리의 시각
+        private final Map<String, String> bySession = new HashMap<>();         // sessionId → 현재 member
+        private long seq;
+        private long cursor;
+        private long idleSamples;
+        private long idleTotalMs;
+        private long idleMaxMs;
+        private long completed;
+        private long sessionMs;
+        private long timeouts;
+        private long promotedTotal;
+
+        private void activate(String member, long now) {
+            active.put(member, now);
+            admittedAt.put(member, now);
+        }
+
+        // O(log 번호 범위): 앞선 이탈자 수는 Fenwick 트리로 셈 (DepartedTicketIndex)
+        private long rankOf(long ticket) {
+            return ticket - cursor - departed.countBelow(ticket);
+        }
+
+        // 대기열 앞에서부터 최대 count 명 승격하고, 채워진 빈자리의 대기 시간을 기록
+        private List<String> admit(long count, long now) {
+            List<String> admitted = new ArrayList<>();
+            while (admitted.size() < count && !waitingByTicket.isEmpty()) {
+                Map.Entry<Long, String> next = waitingByTicket.pollFirstEntry();
+                ticketByMember.remove(next.getValue());
+                cursor = next.getKey();
+                activate(next.getValue(), now);
+                admitted.add(next.getValue());
+                promotedTotal++;
+
+                Long freed = freedAt.pollFirst();
+                if (freed != null) {
+                    long idle = Math.max(0, now - freed);
+                    idleSamples++;
+                    idleTotalMs += idle;
+                    idleMaxMs = Math.max(idleMaxMs, idle);
+                }
+            }
+            // 커서 뒤로 지나간 이탈 번호는 더 이상 순번 계산에 필요 없음
+            departed.pruneThrough(cursor);
+            if (waitingByTicket.isEmpty()) {
+                freedAt.clear();
+            }
+            return admitted;
+        }
+    }
+}
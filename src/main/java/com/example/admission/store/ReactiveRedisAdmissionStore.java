@@ -0,0 +1,170 @@
+// src/main/java/com/example/admission/store/ReactiveRedisAdmissionStore.java
+package com.example.admission.store;
+
+import com.example.admission.service.AdmissionKeys;
+import com.example.admission.service.AdmissionQueueModes;
+import com.example.admission.service.AdmissionScriptRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.connection.ReactiveRedisConnectionFactory;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * RedisAdmissionStore 의 non-blocking 버전 (입장/일괄 입장/퇴장/상태 조회만).
+ *
+ * 같은 Lua 스크립트와 KEYS 구성을 그대로 쓰되 AdmissionScriptRegistry.executeAsync 로 호출하므로,
+ * 응답을 기다리는 동안 요청 스레드를 잡고 있지 않고 Lettuce 공유 커넥션 하나에 요청을 다중화합니다.
+ * Pod 단위 슬롯 임대(lease_admit.lua)는 임대 슬롯을 Pod 메모리에서 동기적으로 나눠 주는 구조라 이 경로에서는 사용하지 않습니다.
+ */
+@Component
+@ConditionalOnProperty(name = "admission.store", havingValue = "redis", matchIfMissing = true)
+public class ReactiveRedisAdmissionStore {
+
+    // active_movies / waiting_movies 재등록 주기 (RedisAdmissionStore 와 같음)
+    private static final long MOVIE_REGISTRATION_REFRESH_MS = 60_000;
+
+    private final ReactiveStringRedisTemplate redisTemplate;
+    private final AdmissionScriptRegistry scriptRegistry;
+    private final AdmissionQueueModes queueModes;
+
+    // Pod 로컬 영화 등록 캐시 (movieId → 마지막 SADD 시각)
+    private final Map<String, Long> registeredActiveMovies = new ConcurrentHashMap<>();
+    private final Map<String, Long> registeredWaitingMovies = new ConcurrentHashMap<>();
+
+    @Value("${admission.batch.script-chunk-size:500}")
+    private int batchChunkSize = 500;
+
+    public ReactiveRedisAdmissionStore(ReactiveRedisConnectionFactory connectionFactory,
+                                       AdmissionScriptRegistry scriptRegistry,
+                                       AdmissionQueueModes queueModes) {
+        this.redisTemplate = new ReactiveStringRedisTemplate(connectionFactory);
+        this.scriptRegistry = scriptRegistry;
+        this.queueModes = queueModes;
+    }
+
+    /**
+     * 입장 - enter.lua (번호표 모드는 ticket_enter.lua) 1회
+     */
+    public Mono<AdmissionStore.EnterOutcome> enter(String id, String member, long maxActive, long now) {
+        boolean ticketMode = queueModes.isTicketMode(id);
+        Mono<List<Object>> result = ticketMode
+            ? scriptRegistry.executeAsync(RedisAdmissionStore.SCRIPT_TICKET_ENTER,
+                    RedisAdmissionStore.withBySessionKey(RedisAdmissionStore.ticketKeys(id), id), maxActive, member, now)
+            : scriptRegistry.executeAsync(RedisAdmissionStore.SCRIPT_ENTER,
+                    RedisAdmissionStore.withBySessionKey(RedisAdmissionStore.zsetEnterKeys(id), id), maxActive, member, now);
+        return result.map(list -> RedisAdmissionStore.toOutcome(list, 1))
+                .flatMap(outcome -> outcome.reused()
+                    ? Mono.just(outcome)
+                    : registerMovies(id, !outcome.admitted(), now).map(trips -> outcome.withRoundTrips(1 + trips)));
+    }
+
+    /**
+     * 일괄 입장 - chunk 단위로 enter_batch.lua (번호표 모드는 ticket_enter_batch.lua) 를 순서대로 호출
+     */
+    public Mono<AdmissionStore.EnterBatchResult> enterBatch(String id, List<String> members, long maxActive, long now) {
+        boolean ticketMode = queueModes.isTicketMode(id);
+        List<String> keys = RedisAdmissionStore.withBySessionKey(
+                ticketMode ? RedisAdmissionStore.ticketKeys(id) : RedisAdmissionStore.zsetEnterKeys(id), id);
+        String script = ticketMode ? RedisAdmissionStore.SCRIPT_TICKET_ENTER_BATCH : RedisAdmissionStore.SCRIPT_ENTER_BATCH;
+
+        List<List<String>> chunks = new ArrayList<>();
+        for (int from = 0; from < members.size(); from += batchChunkSize) {
+            chunks.add(members.subList(from, Math.min(from + batchChunkSize, members.size())));
+        }
+        return Flux.fromIterable(chunks)
+                .concatMap(chunk -> {
+                    Object[] args = new Object[chunk.size() + 2];
+                    args[0] = maxActive;
+                    args[1] = now;
+                    for (int i = 0; i < chunk.size(); i++) {
+                        args[i + 2] = chunk.get(i);
+                    }
+                    return scriptRegistry.executeAsync(script, keys, args);
+                })
+                .collectList()
+                .flatMap(results -> {
+                    List<AdmissionStore.EnterOutcome> outcomes = new ArrayList<>(members.size());
+                    boolean anyQueued = false;
+                    for (List<Object> result : results) {
+                        for (Object item : result) {
+                            AdmissionStore.EnterOutcome outcome = RedisAdmissionStore.toOutcome((List<?>) item, 0);
+                            anyQueued |= !outcome.admitted();
+                            outcomes.add(outcome);
+                        }
+                    }
+                    return registerMovies(id, anyQueued, now)
+                            .map(trips -> new AdmissionStore.EnterBatchResult(outcomes, results.size() + trips));
+                });
+    }
+
+    /**
+     * 퇴장 - leave.lua (번호표 모드는 ticket_leave.lua) 1회. 즉시 승격된 member 목록 반환
+     */
+    public Mono<List<String>> leave(String id, String member, long maxActive, long now, boolean promote) {
+        boolean ticketMode = queueModes.isTicketMode(id);
+        return scriptRegistry.executeAsync(ticketMode ? RedisAdmissionStore.SCRIPT_TICKET_LEAVE : RedisAdmissionStore.SCRIPT_LEAVE,
+                        RedisAdmissionStore.releaseKeys(id, ticketMode), maxActive, now, promote ? 1 : 0, "leave", member)
+                .map(result -> {
+                    List<String> promoted = new ArrayList<>(result.size());
+                    for (Object user : result) {
+                        promoted.add(user.toString());
+                    }
+                    return promoted;
+                });
+    }
+
+    public Mono<Boolean> isActive(String id, String member) {
+        return redisTemplate.opsForZSet().score(AdmissionKeys.active(id), member)
+                .map(score -> true)
+                .defaultIfEmpty(false);
+    }
+
+    /**
+     * 대기 순번 (1부터). 대기열에 없으면 빈 Mono
+     */
+    public Mono<Long> rank(String id, String member) {
+        if (queueModes.isTicketMode(id)) {
+            return ticketStatus(id, member).filter(status -> status[0] > 0).map(status -> status[0]);
+        }
+        return redisTemplate.opsForZSet().rank(AdmissionKeys.waiting(id), member).map(rank -> rank + 1);
+    }
+
+    public Mono<Long> waitingCount(String id) {
+        if (queueModes.isTicketMode(id)) {
+            return ticketStatus(id, "").map(status -> status[1]);
+        }
+        return redisTemplate.opsForZSet().size(AdmissionKeys.waiting(id)).defaultIfEmpty(0L);
+    }
+
+    // {rank, totalWaiting}
+    private Mono<long[]> ticketStatus(String id, String member) {
+        return scriptRegistry.executeAsync(RedisAdmissionStore.SCRIPT_TICKET_STATUS,
+                        RedisAdmissionStore.ticketStatusKeys(id), member)
+                .map(result -> new long[] { Long.parseLong(result.get(0).toString()), Long.parseLong(result.get(1).toString()) });
+    }
+
+    // 영화를 활성/대기 목록에 등록 (Pod 로컬 캐시로 중복 SADD 생략). 사용한 왕복 수 반환
+    private Mono<Integer> registerMovies(String id, boolean queued, long now) {
+        Mono<Integer> active = registerMovie(AdmissionKeys.ACTIVE_MOVIES, registeredActiveMovies, id, now);
+        if (!queued) {
+            return active;
+        }
+        return active.zipWith(registerMovie(AdmissionKeys.WAITING_MOVIES, registeredWaitingMovies, id, now), Integer::sum);
+    }
+
+    private Mono<Integer> registerMovie(String setKey, Map<String, Long> registered, String id, long now) {
+        Long registeredAt = registered.get(id);
+        if (registeredAt != null && now - registeredAt < MOVIE_REGISTRATION_REFRESH_MS) {
+            return Mono.just(0);
+        }
+        return redisTemplate.opsForSet().add(setKey, id)
+                .doOnNext(added -> registered.put(id, now))
+                .thenReturn(1);
+    }
+}
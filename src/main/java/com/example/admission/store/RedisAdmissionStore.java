@@ -0,0 +1,674 @@
+// src/main/java/com/example/admission/store/RedisAdmissionStore.java
+package com.example.admission.store;
+
+import com.example.admission.service.AdmissionKeys;
+import com.example.admission.service.AdmissionQueueModes;
+import com.example.admission.service.AdmissionScriptRegistry;
+import com.example.admission.service.AdmissionSlotLeaseManager;
+import io.lettuce.core.RedisCommandExecutionException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.RedisSystemException;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.SetOperations;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.ObjLongConsumer;
+
+/**
+ * Redis 기반 대기열 저장소 (기본값).
+ *
+ * 입장/승격/순번 판단은 resources/scripts 의 Lua 스크립트를 EVALSHA 로 호출해 원자적으로 처리합니다.
+ * 영화별 모드(ZSET / 번호표)와 Pod 단위 슬롯 임대도 이 구현체 안에서만 다룹니다.
+ */
+@Component
+@ConditionalOnProperty(name = "admission.store", havingValue = "redis", matchIfMissing = true)
+public class RedisAdmissionStore implements AdmissionStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(RedisAdmissionStore.class);
+    static final String SCRIPT_ENTER = "enter";
+    private static final String SCRIPT_ADMIT_NEXT = "admit_next";
+    static final String SCRIPT_LEAVE = "leave";
+    private static final String SCRIPT_EXPIRE_SWEEP = "expire_sweep";
+    static final String SCRIPT_ENTER_BATCH = "enter_batch";
+    static final String SCRIPT_TICKET_ENTER = "ticket_enter";
+    static final String SCRIPT_TICKET_ENTER_BATCH = "ticket_enter_batch";
+    private static final String SCRIPT_TICKET_ADMIT_NEXT = "ticket_admit_next";
+    static final String SCRIPT_TICKET_LEAVE = "ticket_leave";
+    private static final String SCRIPT_TICKET_EXPIRE_SWEEP = "ticket_expire_sweep";
+    static final String SCRIPT_TICKET_STATUS = "ticket_status";
+    private static final String SCRIPT_TICKET_CURSOR_STATE = "ticket_cursor_state";
+    private static final String SCRIPT_WAITING_PAGE = "waiting_page";
+    private static final String SCRIPT_TICKET_WAITING_PAGE = "ticket_waiting_page";
+    private static final String SCRIPT_HEARTBEAT = "heartbeat";
+    // active_movies / waiting_movies 재등록 주기 (다른 Pod 이 목록을 정리했을 경우 대비)
+    private static final long MOVIE_REGISTRATION_REFRESH_MS = 60_000;
+
+    private final RedisTemplate<String, String> redisTemplate;
+    private final SetOperations<String, String> setOps;
+    private final ZSetOperations<String, String> zSetOps;
+    private final AdmissionScriptRegistry scriptRegistry;
+    private final AdmissionSlotLeaseManager slotLeaseManager;
+    private final AdmissionQueueModes queueModes;
+
+    // Pod 로컬 영화 등록 캐시 (movieId → 마지막 SADD 시각)
+    private final Map<String, Long> registeredActiveMovies = new ConcurrentHashMap<>();
+    private final Map<String, Long> registeredWaitingMovies = new ConcurrentHashMap<>();
+
+    // 일괄 입장 시 스크립트 1회에 넣을 최대 인원 (Lua 실행 중에는 Redis 가 다른 명령을 처리하지 못함)
+    @Value("${admission.batch.script-chunk-size:500}")
+    private int batchChunkSize = 500;
+
+    // 전체 대기열을 읽을 때 한 번에 가져올 인원 (ZRANGE 0 -1 한 번 대신 페이지 단위)
+    @Value("${admission.rank-scan.page-size:1000}")
+    private int scanPageSize = 1000;
+
+    public RedisAdmissionStore(RedisTemplate<String, String> redisTemplate,
+                               AdmissionScriptRegistry scriptRegistry,
+                               AdmissionSlotLeaseManager slotLeaseManager,
+                               AdmissionQueueModes queueModes) {
+        this.redisTemplate = redisTemplate;
+        this.setOps = redisTemplate.opsForSet();
+        this.zSetOps = redisTemplate.opsForZSet();
+        this.scriptRegistry = scriptRegistry;
+        this.slotLeaseManager = slotLeaseManager;
+        this.queueModes = queueModes;
+    }
+
+    @Override
+    public String name() {
+        return "redis";
+    }
+
+    // 번호표 모드 스크립트 공통 KEYS (ticket_enter.lua / ticket_admit_next.lua 순서)
+    static List<String> ticketKeys(String id) {
+        return Arrays.asList(AdmissionKeys.active(id), AdmissionKeys.ticketSeq(id), AdmissionKeys.ticketCursor(id),
+                AdmissionKeys.tickets(id), AdmissionKeys.ticketMembers(id), AdmissionKeys.ticketDeparted(id),
+                AdmissionKeys.leases(id), AdmissionKeys.leaseExpiry(id));
+    }
+
+    // 승격 스크립트 KEYS: 입장 KEYS 뒤에 빈자리 대기 시간 측정 키 2개 (freed_at LIST, slot_idle HASH)
+    static List<String> withSlotIdleKeys(List<String> keys, String id) {
+        List<String> all = new ArrayList<>(keys);
+        all.add(AdmissionKeys.freedSlots(id));
+        all.add(AdmissionKeys.slotIdle(id));
+        return all;
+    }
+
+    // 번호표 모드 순번/대기 인원 조회. member 가 빈 문자열이면 대기 인원만 계산 → {rank, totalWaiting}
+    private long[] ticketStatus(String id, String member) {
+        List<Object> result = scriptRegistry.execute(SCRIPT_TICKET_STATUS, ticketStatusKeys(id), member);
+        return new long[] { Long.parseLong(result.get(0).toString()), Long.parseLong(result.get(1).toString()) };
+    }
+
+    static List<String> ticketStatusKeys(String id) {
+        return Arrays.asList(AdmissionKeys.ticketSeq(id), AdmissionKeys.ticketCursor(id),
+                AdmissionKeys.tickets(id), AdmissionKeys.ticketDeparted(id));
+    }
+
+    // 번호 순으로 대기자를 읽는 스크립트 KEYS (ticket_cursor_state.lua / ticket_waiting_page.lua)
+    private static List<String> ticketCursorKeys(String id) {
+        return Arrays.asList(AdmissionKeys.ticketSeq(id), AdmissionKeys.ticketCursor(id),
+                AdmissionKeys.ticketMembers(id), AdmissionKeys.ticketDeparted(id));
+    }
+
+    // Redis WRONGTYPE 오류 방어 로직
+    private void ensureKeyType(String key, String expectedType) {
+        try {
+            String actualType = redisTemplate.type(key).name();
+            if (!"NONE".equals(actualType) && !expectedType.equals(actualType)) {
+                logger.warn("키 타입 불일치 감지 (예상: {}, 실제: {}). 키를 삭제하고 재생성합니다.",
+                          expectedType, actualType);
+                redisTemplate.delete(key);
+            }
+        } catch (Exception e) {
+            logger.error("키 타입 확인 중 오류, 키 삭제 후 재생성", e);
+            redisTemplate.delete(key);
+        }
+    }
+
+    // 오류 판별 유틸리티 (WRONGTYPE & CROSSSLOT 포함)
+    private boolean isWrongTypeError(Exception e) {
+        if (e instanceof RedisSystemException) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RedisCommandExecutionException) {
+                String message = ((RedisCommandExecutionException) cause).getMessage();
+                return message.startsWith("WRONGTYPE") || message.contains("CROSSSLOT");
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 입장 처리 - 키 타입 검증, 입장/대기 판단을 scripts/enter.lua 한 번의 EVALSHA 로 처리합니다.
+     * active_movies / waiting_movies 등록은 다른 슬롯의 키라 스크립트에 넣을 수 없으므로
+     * Pod 로컬에서 기억해 두고 주기적으로만 다시 SADD 합니다. (정상 상태에서 Redis 왕복 1회)
+     * 슬롯 임대가 켜져 있고 이 Pod 에 임대 슬롯이 남아 있으면 멤버십 쓰기(lease_admit.lua)만으로 입장시킵니다.
+     * 번호표 모드 영화는 ticket_enter.lua 로 처리하며, 임대는 ZSET 모드에서만 사용합니다.
+     */
+    @Override
+    public EnterOutcome enter(String id, String member, long maxActive, long now) {
+        String activeKey = AdmissionKeys.active(id);
+        String waitingKey = AdmissionKeys.waiting(id);
+        boolean ticketMode = queueModes.isTicketMode(id);
+
+        // 임대 슬롯이 있으면 ZCARD/정원 확인 없이 입장 (대기자가 없을 때만 사용됨)
+        AdmissionSlotLeaseManager.LeaseAdmission leased = ticketMode ? null : slotLeaseManager.tryAdmit(id, member, now);
+        if (leased != null) {
+            int roundTrips = 1 + registerMovie(AdmissionKeys.ACTIVE_MOVIES, registeredActiveMovies, id, now);
+            return new EnterOutcome(true, 0, 0, leased.activeCount(), roundTrips, leased.member(), leased.reused());
+        }
+
+        // Hash Tag 키들은 같은 슬롯에 위치하므로 원자적 처리 가능 (scripts/enter.lua, EVALSHA 호출)
+        try {
+            List<Object> result = ticketMode
+                ? scriptRegistry.execute(SCRIPT_TICKET_ENTER, withBySessionKey(ticketKeys(id), id), maxActive, member, now)
+                : scriptRegistry.execute(SCRIPT_ENTER, withBySessionKey(zsetEnterKeys(id), id), maxActive, member, now);
+            EnterOutcome outcome = toOutcome(result, 1);
+            // 기존 순번 재사용이면 대기열이 바뀌지 않았으므로 영화 목록 등록도 생략
+            return outcome.reused() ? outcome
+                    : outcome.withRoundTrips(1 + registerMovies(id, !outcome.admitted(), now));
+        } catch (RedisSystemException e) {
+            if (isWrongTypeError(e)) {
+                logger.error("Redis 스크립트 실행 오류. 키 정리 후 재시도 필요: {}", e.getMessage());
+                // 문제 키들 정리
+                redisTemplate.delete(activeKey);
+                redisTemplate.delete(AdmissionKeys.admittedAt(id));
+                redisTemplate.delete(waitingKey);
+                throw new RuntimeException("Redis 오류로 인한 입장 처리 실패. 잠시 후 다시 시도해주세요.", e);
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * 일괄 입장 - 같은 영화의 요청을 chunk 단위로 묶어 enter_batch.lua (번호표 모드는 ticket_enter_batch.lua) 로 처리합니다.
+     * 임대 슬롯 경로는 사용하지 않습니다. (이미 chunk 당 왕복 1회)
+     */
+    @Override
+    public EnterBatchResult enterBatch(String id, List<String> members, long maxActive, long now) {
+        boolean ticketMode = queueModes.isTicketMode(id);
+        List<String> keys = withBySessionKey(ticketMode ? ticketKeys(id) : zsetEnterKeys(id), id);
+        String script = ticketMode ? SCRIPT_TICKET_ENTER_BATCH : SCRIPT_ENTER_BATCH;
+
+        List<EnterOutcome> outcomes = new ArrayList<>(members.size());
+        int roundTrips = 0;
+        boolean anyQueued = false;
+        for (int from = 0; from < members.size(); from += batchChunkSize) {
+            List<String> chunk = members.subList(from, Math.min(from + batchChunkSize, members.size()));
+            Object[] args = new Object[chunk.size() + 2];
+            args[0] = maxActive;
+            args[1] = now;
+            for (int i = 0; i < chunk.size(); i++) {
+                args[i + 2] = chunk.get(i);
+            }
+            for (Object item : scriptRegistry.execute(script, keys, args)) {
+                EnterOutcome outcome = toOutcome((List<?>) item, 0);
+                anyQueued |= !outcome.admitted();
+                outcomes.add(outcome);
+            }
+            roundTrips++;
+        }
+        roundTrips += registerMovies(id, anyQueued, now);
+        return new EnterBatchResult(outcomes, roundTrips);
+    }
+
+    static List<String> zsetEnterKeys(String id) {
+        return Arrays.asList(AdmissionKeys.active(id), AdmissionKeys.waiting(id),
+                AdmissionKeys.leases(id), AdmissionKeys.leaseExpiry(id));
+    }
+
+    // 입장 스크립트 KEYS: 마지막에 세션별 member 매핑 (by_session HASH)
+    static List<String> withBySessionKey(List<String> keys, String id) {
+        List<String> all = new ArrayList<>(keys);
+        all.add(AdmissionKeys.bySession(id));
+        return all;
+    }
+
+    // enter.lua 계열 반환값 → EnterOutcome
+    // {1, 'SUCCESS', activeCount, totalWaiting, member, reused} | {2, 'QUEUED', rank, totalWaiting, activeCount, member, reused}
+    static EnterOutcome toOutcome(List<?> result, int roundTrips) {
+        if (Integer.parseInt(result.get(0).toString()) == 2) {
+            return new EnterOutcome(false, Long.parseLong(result.get(2).toString()),
+                    Long.parseLong(result.get(3).toString()), Long.parseLong(result.get(4).toString()), roundTrips,
+                    result.get(5).toString(), Integer.parseInt(result.get(6).toString()) == 1);
+        }
+        return new EnterOutcome(true, 0, Long.parseLong(result.get(3).toString()),
+                Long.parseLong(result.get(2).toString()), roundTrips,
+                result.get(4).toString(), Integer.parseInt(result.get(5).toString()) == 1);
+    }
+
+    // 영화를 활성/대기 목록에 등록 (Pod 로컬 캐시로 중복 SADD 생략). 사용한 왕복 수 반환
+    private int registerMovies(String id, boolean queued, long now) {
+        int roundTrips = registerMovie(AdmissionKeys.ACTIVE_MOVIES, registeredActiveMovies, id, now);
+        if (queued) {
+            roundTrips += registerMovie(AdmissionKeys.WAITING_MOVIES, registeredWaitingMovies, id, now);
+        }
+        return roundTrips;
+    }
+
+    // 영화 ID 를 목록에 등록. 최근에 이미 등록했다면 Redis 를 건드리지 않고 0 을 반환
+    private int registerMovie(String setKey, Map<String, Long> registered, String id, long now) {
+        Long registeredAt = registered.get(id);
+        if (registeredAt != null && now - registeredAt < MOVIE_REGISTRATION_REFRESH_MS) {
+            return 0;
+        }
+        setOps.add(setKey, id);
+        registered.put(id, now);
+        return 1;
+    }
+
+    // CROSSSLOT 해결된 대기자 승격 로직
+    @Override
+    public List<String> admitNext(String id, long count, long maxActive, long now) {
+        if (queueModes.isTicketMode(id)) {
+            return admitNextTicketUsers(id, count, maxActive, now);
+        }
+        String activeKey = AdmissionKeys.active(id);
+        String waitingKey = AdmissionKeys.waiting(id);
+
+        try {
+            // 키 타입 사전 검증
+            ensureKeyType(activeKey, "ZSET");
+            ensureKeyType(waitingKey, "ZSET");
+
+            // CROSSSLOT 해결: Hash Tag 키로 원자적 배치 처리 (scripts/admit_next.lua)
+            // 다른 Pod 이 임대 중인 슬롯만큼은 승격하지 않음
+            List<String> admitted = new ArrayList<>();
+            for (Object user : scriptRegistry.execute(SCRIPT_ADMIT_NEXT,
+                    withSlotIdleKeys(Arrays.asList(waitingKey, activeKey, AdmissionKeys.leases(id), AdmissionKeys.leaseExpiry(id)), id),
+                    count, now, maxActive)) {
+                admitted.add(user.toString());
+            }
+            return admitted;
+
+        } catch (RedisSystemException e) {
+            if (isWrongTypeError(e)) {
+                logger.error("사용자 승격 중 Redis 오류. 키 정리: {}", e.getMessage());
+                redisTemplate.delete(activeKey);
+                redisTemplate.delete(AdmissionKeys.admittedAt(id));
+                redisTemplate.delete(waitingKey);
+            }
+            logger.error("사용자 승격 실패", e);
+            return Collections.emptyList();
+        }
+    }
+
+    // 번호표 모드 승격: 커서만 앞으로 옮기며 대기열 ZSET 을 건드리지 않음 (scripts/ticket_admit_next.lua)
+    private List<String> admitNextTicketUsers(String id, long count, long maxActive, long now) {
+        try {
+            List<String> admitted = new ArrayList<>();
+            for (Object user : scriptRegistry.execute(SCRIPT_TICKET_ADMIT_NEXT, withSlotIdleKeys(ticketKeys(id), id),
+                    count, now, maxActive)) {
+                admitted.add(user.toString());
+            }
+            return admitted;
+        } catch (RedisSystemException e) {
+            logger.error("[번호표] 사용자 승격 실패", e);
+            return Collections.emptyList();
+        }
+    }
+
+    /**
+     * 퇴장/만료 처리 - 제거와 빈자리 승격을 leave.lua (번호표 모드는 ticket_leave.lua) 한 번으로 처리합니다.
+     * 승격된 사용자는 반환값으로 돌려주며, 주기 승격(QueueProcessor)을 기다리지 않습니다.
+     */
+    @Override
+    public List<String> release(String id, Collection<String> members, long maxActive, long now, boolean promote,
+                                ReleaseCause cause) {
+        if (members.isEmpty()) {
+            return Collections.emptyList();
+        }
+        boolean ticketMode = queueModes.isTicketMode(id);
+        List<String> keys = releaseKeys(id, ticketMode);
+        Object[] args = new Object[members.size() + 4];
+        args[0] = maxActive;
+        args[1] = now;
+        args[2] = promote ? 1 : 0;
+        args[3] = cause == ReleaseCause.TIMEOUT ? "timeout" : "leave";
+        int i = 4;
+        for (String member : members) {
+            args[i++] = member;
+        }
+        try {
+            List<String> promoted = new ArrayList<>();
+            for (Object user : scriptRegistry.execute(ticketMode ? SCRIPT_TICKET_LEAVE : SCRIPT_LEAVE, keys, args)) {
+                promoted.add(user.toString());
+            }
+            return promoted;
+        } catch (RedisSystemException e) {
+            if (isWrongTypeError(e)) {
+                logger.warn("세션 정리 중 Redis 오류. 키 삭제");
+                redisTemplate.delete(Arrays.asList(AdmissionKeys.active(id), AdmissionKeys.admittedAt(id)));
+            }
+            throw e;
+        }
+    }
+
+    // 퇴장/만료 스크립트 KEYS: 승격 KEYS 뒤에 세션 종료 통계 HASH, 세션별 member 매핑 HASH, 입장 시각 HASH
+    static List<String> releaseKeys(String id, boolean ticketMode) {
+        List<String> keys = ticketMode ? withSlotIdleKeys(ticketKeys(id), id) : withSlotIdleKeys(zsetEnterKeys(id), id);
+        keys.add(AdmissionKeys.sessionStats(id));
+        keys.add(AdmissionKeys.bySession(id));
+        keys.add(AdmissionKeys.admittedAt(id));
+        return keys;
+    }
+
+    @Override
+    public SlotIdleStats slotIdleStats(String id) {
+        List<Object> values = redisTemplate.opsForHash().multiGet(AdmissionKeys.slotIdle(id),
+                Arrays.asList("samples", "total_ms", "max_ms"));
+        return new SlotIdleStats(parseLongOrZero(values.get(0)), parseLongOrZero(values.get(1)), parseLongOrZero(values.get(2)));
+    }
+
+    @Override
+    public SessionStats sessionStats(String id) {
+        List<Object> values = redisTemplate.opsForHash().multiGet(AdmissionKeys.sessionStats(id),
+                Arrays.asList("completed", "session_ms", "timeouts"));
+        return new SessionStats(parseLongOrZero(values.get(0)), parseLongOrZero(values.get(1)), parseLongOrZero(values.get(2)));
+    }
+
+    @Override
+    public long promotedTotal(String id) {
+        return parseLongOrZero(redisTemplate.opsForHash().get(AdmissionKeys.slotIdle(id), "promoted"));
+    }
+
+    private static long parseLongOrZero(Object value) {
+        return value != null ? Long.parseLong(value.toString()) : 0L;
+    }
+
+    // 방어적 Redis 조회 메서드
+    @Override
+    public long activeCount(String id) {
+        return zCardSafely(AdmissionKeys.active(id));
+    }
+
+    @Override
+    public long waitingCount(String id) {
+        if (queueModes.isTicketMode(id)) {
+            return ticketStatus(id, "")[1];
+        }
+        return zCardSafely(AdmissionKeys.waiting(id));
+    }
+
+    private long zCardSafely(String key) {
+        try {
+            ensureKeyType(key, "ZSET");
+            return Optional.ofNullable(zSetOps.zCard(key)).orElse(0L);
+        } catch (RedisSystemException e) {
+            if (isWrongTypeError(e)) {
+                logger.warn("WRONGTYPE 오류 감지. 키 삭제 후 재시도");
+                redisTemplate.delete(key);
+                return 0L;
+            }
+            logger.error("Redis 조회 실패", e);
+            return 0L;
+        }
+    }
+
+    // 활성 세션 확인
+    @Override
+    public boolean isActive(String id, String member) {
+        String key = AdmissionKeys.active(id);
+        try {
+            ensureKeyType(key, "ZSET");
+            return zSetOps.score(key, member) != null;
+        } catch (RedisSystemException e) {
+            if (isWrongTypeError(e)) {
+                logger.warn("활성 세션 확인 중 Redis 오류. 키 삭제");
+                redisTemplate.delete(key);
+            }
+            return false;
+        }
+    }
+
+    // 사용자 순위 조회
+    @Override
+    public Long rank(String id, String member) {
+        if (queueModes.isTicketMode(id)) {
+            long rank = ticketStatus(id, member)[0];
+            return rank > 0 ? rank : null;
+        }
+        String waitingKey = AdmissionKeys.waiting(id);
+        try {
+            ensureKeyType(waitingKey, "ZSET");
+            Long rank = zSetOps.rank(waitingKey, member);
+            return (rank != null) ? rank + 1 : null;
+        } catch (RedisSystemException e) {
+            if (isWrongTypeError(e)) {
+                logger.warn("순위 조회 중 Redis 오류. 키 삭제");
+                redisTemplate.delete(waitingKey);
+            }
+            return null;
+        }
+    }
+
+    @Override
+    public TicketCursorState ticketCursorState(String id, long newFrom, long refreshStep, long refreshFrom,
+                                               int maxMembers, int maxDeparted, int maxScan) {
+        if (!queueModes.isTicketMode(id)) {
+            return null;
+        }
+        List<Object> result = scriptRegistry.execute(SCRIPT_TICKET_CURSOR_STATE, ticketCursorKeys(id),
+                newFrom, refreshStep, refreshFrom, maxMembers, maxDeparted, maxScan);
+
+        long departedCount = Long.parseLong(result.get(2).toString());
+        long[] departed = null;
+        if (departedCount <= maxDeparted) {
+            List<?> tickets = (List<?>) result.get(3);
+            departed = new long[tickets.size()];
+            for (int i = 0; i < departed.length; i++) {
+                departed[i] = Long.parseLong(tickets.get(i).toString());
+            }
+        }
+        List<?> pairs = (List<?>) result.get(4);
+        Map<Long, String> members = new LinkedHashMap<>(pairs.size());
+        for (int i = 0; i + 1 < pairs.size(); i += 2) {
+            members.put(Long.parseLong(pairs.get(i).toString()), pairs.get(i + 1).toString());
+        }
+        return new TicketCursorState(Long.parseLong(result.get(0).toString()), Long.parseLong(result.get(1).toString()),
+                departedCount, departed, members, Long.parseLong(result.get(5).toString()),
+                Long.parseLong(result.get(6).toString()));
+    }
+
+    /**
+     * 대기열을 페이지 단위로 읽어 (member, 순번) 을 넘깁니다. ZRANGE 0 -1 한 번으로 전체를 받지 않으므로
+     * Redis 가 큰 응답을 만드느라 멈추거나 이쪽 힙에 전체 목록이 한꺼번에 올라오지 않습니다.
+     * 번호표 모드의 pageSize 는 한 번에 확인할 번호 수입니다 (이탈 번호가 섞이면 페이지의 member 는 더 적음)
+     */
+    @Override
+    public void forEachWaiting(String id, int pageSize, ObjLongConsumer<String> consumer) {
+        scanWaiting(id, Math.max(1, pageSize), Long.MAX_VALUE, consumer);
+    }
+
+    @Override
+    public List<String> waitingMembers(String id) {
+        List<String> members = new ArrayList<>();
+        scanWaiting(id, scanPageSize, Long.MAX_VALUE, (member, rank) -> members.add(member));
+        return members;
+    }
+
+    @Override
+    public List<String> waitingMembers(String id, int limit) {
+        if (limit <= 0) {
+            return Collections.emptyList();
+        }
+        if (queueModes.isTicketMode(id)) {
+            List<String> members = new ArrayList<>(Math.min(limit, scanPageSize));
+            scanWaiting(id, Math.min(limit, scanPageSize), limit, (member, rank) -> members.add(member));
+            return members;
+        }
+        Set<String> members = zSetOps.range(AdmissionKeys.waiting(id), 0, limit - 1);
+        return members != null ? new ArrayList<>(members) : Collections.emptyList();
+    }
+
+    // 대기열 앞에서부터 최대 limit 명을 페이지 단위로 읽음
+    private void scanWaiting(String id, int pageSize, long limit, ObjLongConsumer<String> consumer) {
+        long visited = 0;
+        if (queueModes.isTicketMode(id)) {
+            List<String> keys = ticketCursorKeys(id);
+            long from = 0;
+            while (visited < limit) {
+                List<Object> result = scriptRegistry.execute(SCRIPT_TICKET_WAITING_PAGE, keys, from, pageSize);
+                long next = Long.parseLong(result.get(0).toString());
+                long seq = Long.parseLong(result.get(1).toString());
+                List<?> page = (List<?>) result.get(2);
+                for (int i = 0; i + 1 < page.size() && visited < limit; i += 2, visited++) {
+                    consumer.accept(page.get(i).toString(), Long.parseLong(page.get(i + 1).toString()));
+                }
+                if (next >= seq) {
+                    return;
+                }
+                from = next;
+            }
+            return;
+        }
+
+        String waitingKey = AdmissionKeys.waiting(id);
+        List<String> keys = Collections.singletonList(waitingKey);
+        String lastMember = "";
+        String lastScore = "0";
+        try {
+            while (visited < limit) {
+                List<Object> result = scriptRegistry.execute(SCRIPT_WAITING_PAGE, keys, lastMember, lastScore, pageSize);
+                long rank = Long.parseLong(result.get(0).toString()) + 1;
+                List<?> page = (List<?>) result.get(1);
+                for (int i = 0; i + 1 < page.size() && visited < limit; i += 2, visited++) {
+                    lastMember = page.get(i).toString();
+                    lastScore = page.get(i + 1).toString();
+                    consumer.accept(lastMember, rank++);
+                }
+                if (page.size() < pageSize * 2) {
+                    return;
+                }
+            }
+        } catch (RedisSystemException e) {
+            if (isWrongTypeError(e)) {
+                logger.warn("전체 순위 조회 중 Redis 오류. 키 삭제");
+                redisTemplate.delete(waitingKey);
+                return;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * heartbeat 일괄 반영 - chunk 단위로 heartbeat.lua (ZADD XX GT CH) 를 호출합니다. 모드와 무관하게 활성 ZSET 만 갱신
+     * 처음 갱신되는 member 의 입장 시각은 admitted_at HASH 로 옮겨져 세션 시간 통계(session_ms)가 바뀌지 않습니다
+     */
+    @Override
+    public int touchActive(String id, Map<String, Long> lastSeen) {
+        List<String> keys = Arrays.asList(AdmissionKeys.active(id), AdmissionKeys.admittedAt(id));
+        List<Object> args = new ArrayList<>(Math.min(lastSeen.size(), batchChunkSize) * 2);
+        int touched = 0;
+        for (Map.Entry<String, Long> entry : lastSeen.entrySet()) {
+            args.add(entry.getValue());
+            args.add(entry.getKey());
+            if (args.size() >= batchChunkSize * 2) {
+                touched += executeHeartbeat(keys, args);
+                args.clear();
+            }
+        }
+        if (!args.isEmpty()) {
+            touched += executeHeartbeat(keys, args);
+        }
+        return touched;
+    }
+
+    private int executeHeartbeat(List<String> keys, List<Object> args) {
+        List<Object> result = scriptRegistry.execute(SCRIPT_HEARTBEAT, keys, args.toArray());
+        return Integer.parseInt(result.get(0).toString());
+    }
+
+    @Override
+    public Long oldestActiveAt(String id) {
+        Set<ZSetOperations.TypedTuple<String>> oldest = zSetOps.rangeWithScores(AdmissionKeys.active(id), 0, 0);
+        if (oldest == null || oldest.isEmpty()) {
+            return null;
+        }
+        Double score = oldest.iterator().next().getScore();
+        return score != null ? score.longValue() : null;
+    }
+
+    /**
+     * 만료 정리 - 조회/제거/빈자리 승격을 expire_sweep.lua (번호표 모드는 ticket_expire_sweep.lua) 한 번으로 처리합니다.
+     */
+    @Override
+    public SweepResult sweepExpired(String id, long threshold, int limit, long maxActive, long now, boolean promote) {
+        boolean ticketMode = queueModes.isTicketMode(id);
+        List<String> keys = releaseKeys(id, ticketMode);
+        try {
+            List<Object> result = scriptRegistry.execute(ticketMode ? SCRIPT_TICKET_EXPIRE_SWEEP : SCRIPT_EXPIRE_SWEEP,
+                    keys, maxActive, now, promote ? 1 : 0, threshold, limit);
+            return new SweepResult(toStringList(result.get(0)), toStringList(result.get(1)),
+                    Integer.parseInt(result.get(2).toString()) == 1);
+        } catch (RedisSystemException e) {
+            if (isWrongTypeError(e)) {
+                logger.warn("만료 세션 정리 중 Redis 오류. 키 삭제");
+                redisTemplate.delete(Arrays.asList(AdmissionKeys.active(id), AdmissionKeys.admittedAt(id)));
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * 세션별 INCRBY(현재 구간) + PEXPIRE + GET(직전 구간) 을 한 번의 파이프라인으로 전송
+     */
+    @Override
+    public Map<String, Long> addEnterAttempts(Map<String, Long> attemptsBySession, long windowMs, long now) {
+        if (attemptsBySession.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        long window = now / windowMs;
+        List<String> sessions = new ArrayList<>(attemptsBySession.keySet());
+        List<Object> results = redisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public <K, V> Object execute(RedisOperations<K, V> operations) {
+                RedisOperations<String, String> ops = (RedisOperations<String, String>) operations;
+                for (String sessionId : sessions) {
+                    String current = AdmissionKeys.enterAttempts(sessionId, window);
+                    ops.opsForValue().increment(current, attemptsBySession.get(sessionId));
+                    ops.expire(current, Duration.ofMillis(windowMs * 2));
+                    ops.opsForValue().get(AdmissionKeys.enterAttempts(sessionId, window - 1));
+                }
+                return null;
+            }
+        });
+
+        double previousWeight = 1.0 - (double) (now % windowMs) / windowMs;
+        Map<String, Long> estimates = new HashMap<>();
+        for (int i = 0; i < sessions.size(); i++) {
+            long current = parseLongOrZero(results.get(i * 3));
+            long previous = parseLongOrZero(results.get(i * 3 + 2));
+            estimates.put(sessions.get(i), current + Math.round(previous * previousWeight));
+        }
+        return estimates;
+    }
+
+    private static List<String> toStringList(Object value) {
+        List<String> members = new ArrayList<>();
+        for (Object member : (List<?>) value) {
+            members.add(member.toString());
+        }
+        return members;
+    }
+
+    @Override
+    public Set<String> movieIds() {
+        Set<String> activeMovies = setOps.members(AdmissionKeys.ACTIVE_MOVIES);
+        Set<String> waitingMovies = setOps.members(AdmissionKeys.WAITING_MOVIES);
+        Set<String> allMovies = new HashSet<>();
+        if (activeMovies != null) allMovies.addAll(activeMovies);
+        if (waitingMovies != null) allMovies.addAll(waitingMovies);
+        return allMovies;
+    }
+}
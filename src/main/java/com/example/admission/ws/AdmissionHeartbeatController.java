@@ -0,0 +1,30 @@
+// src/main/java/com/example/admission/ws/AdmissionHeartbeatController.java
+package com.example.admission.ws;
+
+import com.example.admission.dto.HeartbeatRequest;
+import com.example.admission.service.SessionHeartbeatBuffer;
+import org.springframework.messaging.handler.annotation.MessageMapping;
+import org.springframework.messaging.handler.annotation.Payload;
+import org.springframework.stereotype.Controller;
+
+/**
+ * STOMP heartbeat 수신 - 클라이언트는 /app/admission/heartbeat 로 {movieId, sessionId, requestId} 를 보냅니다.
+ * 응답 메시지는 보내지 않습니다.
+ */
+@Controller
+public class AdmissionHeartbeatController {
+
+    private final SessionHeartbeatBuffer heartbeatBuffer;
+
+    public AdmissionHeartbeatController(SessionHeartbeatBuffer heartbeatBuffer) {
+        this.heartbeatBuffer = heartbeatBuffer;
+    }
+
+    @MessageMapping("/admission/heartbeat")
+    public void heartbeat(@Payload HeartbeatRequest request) {
+        if (request.getMovieId() == null || request.getSessionId() == null || request.getRequestId() == null) {
+            return;
+        }
+        heartbeatBuffer.record(request.getMovieId(), request.getSessionId(), request.getRequestId());
+    }
+}
@@ -0,0 +1,117 @@
+// src/main/java/com/example/admission/ws/BroadcastFrameCache.java
+package com.example.admission.ws;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.MimeTypeUtils;
+import org.springframework.web.socket.messaging.SessionSubscribeEvent;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 영화 단위 토픽(/topic/stats/movie/{movieId}, /topic/rank-cursor/movie/{movieId})의 마지막 프레임 캐시.
+ *
+ * 프레임은 JSON 바이트로 한 번만 인코딩되어 SimpleBroker 가 모든 구독자에게 같은 byte[] 를 그대로 넘깁니다.
+ * 새로 구독한 세션에는 replay-max-age-ms 이내의 마지막 프레임을 바로 보내 다음 브로드캐스트(최대 1초)를 기다리지 않게 합니다.
+ */
+@Component
+public class BroadcastFrameCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(BroadcastFrameCache.class);
+
+    private record Frame(byte[] body, long createdAt) {
+    }
+
+    private final MessageChannel clientOutboundChannel;
+
+    @Value("${admission.ws-frames.replay-on-subscribe:true}")
+    private boolean replayOnSubscribe = true;
+
+    @Value("${admission.ws-frames.replay-max-age-ms:5000}")
+    private long replayMaxAgeMs = 5000;
+
+    // destination → 마지막 프레임
+    private final Map<String, Frame> lastFrames = new ConcurrentHashMap<>();
+
+    private final LongAdder remembered = new LongAdder();
+    private final LongAdder replayed = new LongAdder();
+    private final LongAdder staleSkipped = new LongAdder();
+
+    public BroadcastFrameCache(@Qualifier("clientOutboundChannel") MessageChannel clientOutboundChannel) {
+        this.clientOutboundChannel = clientOutboundChannel;
+    }
+
+    /**
+     * 인코딩된 JSON 프레임을 담은 브로커 전송용 메시지 (변환기를 거치지 않으므로 content-type 을 직접 지정)
+     */
+    public static Message<byte[]> jsonMessage(byte[] body) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        accessor.setContentType(MimeTypeUtils.APPLICATION_JSON);
+        accessor.setLeaveMutable(true);
+        return MessageBuilder.createMessage(body, accessor.getMessageHeaders());
+    }
+
+    public void remember(String destination, byte[] body) {
+        lastFrames.put(destination, new Frame(body, System.currentTimeMillis()));
+        remembered.increment();
+    }
+
+    /**
+     * 새 구독 세션에 마지막 프레임 전송 (브로커를 거치지 않고 해당 세션으로만)
+     */
+    @EventListener
+    public void onSubscribe(SessionSubscribeEvent event) {
+        if (!replayOnSubscribe) {
+            return;
+        }
+        StompHeaderAccessor subscribe = StompHeaderAccessor.wrap(event.getMessage());
+        String destination = subscribe.getDestination();
+        Frame frame = destination != null ? lastFrames.get(destination) : null;
+        if (frame == null || subscribe.getSessionId() == null || subscribe.getSubscriptionId() == null) {
+            return;
+        }
+        if (System.currentTimeMillis() - frame.createdAt() > replayMaxAgeMs) {
+            // 브로드캐스트가 멈춘 영화 (대기자 없음 등) - 오래된 값은 보내지 않음
+            lastFrames.remove(destination, frame);
+            staleSkipped.increment();
+            return;
+        }
+        try {
+            SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+            accessor.setSessionId(subscribe.getSessionId());
+            accessor.setSubscriptionId(subscribe.getSubscriptionId());
+            accessor.setDestination(destination);
+            accessor.setContentType(MimeTypeUtils.APPLICATION_JSON);
+            accessor.setLeaveMutable(true);
+            clientOutboundChannel.send(MessageBuilder.createMessage(frame.body(), accessor.getMessageHeaders()));
+            replayed.increment();
+        } catch (Exception e) {
+            logger.warn("⚠️ 마지막 프레임 재전송 실패 - destination: {}, sessionId: {}",
+                    destination, subscribe.getSessionId(), e);
+        }
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("replayOnSubscribe", replayOnSubscribe);
+        stats.put("cachedDestinations", lastFrames.size());
+        stats.put("remembered", remembered.sum());
+        stats.put("replayed", replayed.sum());
+        stats.put("staleSkipped", staleSkipped.sum());
+        stats.put("replayMaxAgeMs", replayMaxAgeMs);
+        return stats;
+    }
+}
@@ -0,0 +1,102 @@
+// src/main/java/com/example/admission/ws/NotificationLagMonitor.java
+package com.example.admission.ws;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageHandler;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.support.ExecutorChannelInterceptor;
+import org.springframework.messaging.support.MessageHeaderAccessor;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 입장 알림이 실제로 전송되기까지 기다린 시간 (AdaptivePromotionController 의 알림 지연 신호).
+ *
+ * sendToRequest / SimpleBroker 전송은 큐에 넣기만 하므로 호출 시간으로는 지연을 알 수 없습니다. 대신
+ * - 이 Pod 의 구독자: clientOutboundChannel 에 들어온 시각을 헤더에 남기고, 실행기에서 꺼내 소켓으로 쓰기 직전에 대기 시간을 잼
+ *   (입장 허가 토픽만 표본으로 삼아 통계/순위 fan-out 마다 기록하지 않음)
+ * - 다른 Pod 의 구독자: NotificationRouter 가 묶음을 발행할 때 묶음에서 가장 오래 기다린 알림의 outbox 대기 시간
+ * 을 기록하고, 최근 window-ms 두 구간의 최댓값을 지연으로 봅니다.
+ */
+@Component
+public class NotificationLagMonitor implements ExecutorChannelInterceptor {
+
+    private static final String SAMPLED_PREFIX = "/topic/admission/";
+    private static final String QUEUED_AT_HEADER = "admission.outboundQueuedAt";
+
+    @Value("${admission.adaptive.lag-window-ms:1000}")
+    private long windowMs = 1000;
+
+    private long windowStart;
+    private long currentMax = -1;
+    private long previousMax = -1;
+
+    private final LongAdder outboundSamples = new LongAdder();
+    private final LongAdder outboxSamples = new LongAdder();
+
+    /**
+     * Pod 간 outbox 에서 기다린 시간 기록
+     */
+    public void recordOutbox(long lagMs) {
+        outboxSamples.increment();
+        record(lagMs, System.currentTimeMillis());
+    }
+
+    /**
+     * 최근 두 구간에서 관측한 최대 지연 (관측이 없으면 -1)
+     */
+    public synchronized long recentLagMs() {
+        roll(System.currentTimeMillis());
+        return Math.max(currentMax, previousMax);
+    }
+
+    private synchronized void record(long lagMs, long now) {
+        roll(now);
+        currentMax = Math.max(currentMax, lagMs);
+    }
+
+    private void roll(long now) {
+        long elapsed = now - windowStart;
+        if (elapsed < windowMs) {
+            return;
+        }
+        previousMax = elapsed < windowMs * 2 ? currentMax : -1;
+        currentMax = -1;
+        windowStart = now;
+    }
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        String destination = SimpMessageHeaderAccessor.getDestination(message.getHeaders());
+        if (destination != null && destination.startsWith(SAMPLED_PREFIX)) {
+            // SimpleBroker 가 구독자별로 만든 메시지는 헤더를 바꿀 수 있는 상태로 넘어옴
+            MessageHeaderAccessor accessor = MessageHeaderAccessor.getAccessor(message, MessageHeaderAccessor.class);
+            if (accessor != null && accessor.isMutable()) {
+                accessor.setHeader(QUEUED_AT_HEADER, System.nanoTime());
+            }
+        }
+        return message;
+    }
+
+    @Override
+    public Message<?> beforeHandle(Message<?> message, MessageChannel channel, MessageHandler handler) {
+        if (message.getHeaders().get(QUEUED_AT_HEADER) instanceof Long queuedAt) {
+            outboundSamples.increment();
+            record((System.nanoTime() - queuedAt) / 1_000_000, System.currentTimeMillis());
+        }
+        return message;
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("recentLagMs", recentLagMs());
+        stats.put("outboundSamples", outboundSamples.sum());
+        stats.put("outboxSamples", outboxSamples.sum());
+        return stats;
+    }
+}
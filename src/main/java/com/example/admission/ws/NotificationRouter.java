@@ -0,0 +1,658 @@
+// src/main/java/com/example/admission/ws/NotificationRouter.java
+package com.example.admission.ws;
+
+import com.example.admission.service.AdmissionKeys;
+import com.example.admission.service.LoadBalancingOptimizer;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+import org.springframework.web.socket.messaging.SessionSubscribeEvent;
+import org.springframework.web.socket.messaging.SessionUnsubscribeEvent;
+
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 대기열 WebSocket 알림 라우팅 (admission.ws-routing).
+ *
+ * SimpleBroker 는 Pod 마다 따로 있으므로, 알림은 그 사용자가 구독 중인 Pod 에서만 보내면 됩니다.
+ * - 구독 인덱스: 각 Pod 은 자기 STOMP 구독을 requestId("r:") / movieId("m:") 단위로 세어 두고,
+ *   변경분을 flush-ms 마다, 전체 목록을 announce-ms 마다 admission:ws-routes 채널로 발행합니다.
+ *   모든 Pod 은 이를 받아 "어느 Pod 이 어떤 키를 구독 중인지" 색인을 메모리에 유지합니다. (Redis 조회 없음)
+ * - 전송: 이 Pod 에 구독이 있으면 바로 SimpleBroker 로, 다른 Pod 에 있으면 그 Pod 채널(admission:ws:pod:{podId})로
+ *   send-flush-ms 동안 모아 한 번에 발행합니다. 받는 Pod 은 자기 세션에만 전달합니다.
+ * - 같은 requestId 를 여러 Pod 이 구독할 수 있으므로 (탭 여러 개) 색인은 키마다 Pod 집합을 가집니다.
+ *   대부분의 키는 Pod 하나만 구독하므로 그때는 podId 문자열만 두고, 두 번째 Pod 이 붙을 때만 집합으로 바꿉니다.
+ * - 일회성 알림(입장 허가, 타임아웃 등)은 색인에 없거나, 구독 Pod 중 heartbeat-ms 의 2배 안에 소식이 없는 Pod 이 있으면
+ *   전체 채널(admission:ws:all)로 보내고, 받은 Pod 중 실제로 구독이 있는 Pod 만 전달합니다.
+ *   (구독 직후 색인이 아직 전파되지 않았거나, 구독 Pod 이 내려가 사용자가 다른 Pod 으로 다시 붙은 경우)
+ *   색인에 없는 순위/영화 토픽은 주기 전송이므로 버립니다.
+ * - 각 Pod 은 heartbeat-ms 동안 색인 메시지를 보내지 않았으면 BEAT 를 발행해 살아 있음을 알립니다.
+ * - 영화 토픽 프레임(publishMovieFrame)은 한 번만 JSON 으로 인코딩해 로컬 구독자, 다른 Pod, 마지막 프레임 캐시가 같이 씁니다.
+ * enabled=false 면 예전처럼 모든 알림을 이 Pod 의 SimpleBroker 로만 보냅니다.
+ */
+@Service
+public class NotificationRouter {
+
+    private static final Logger logger = LoggerFactory.getLogger(NotificationRouter.class);
+
+    private static final String REQUEST_PREFIX = "r:";
+    private static final String MOVIE_PREFIX = "m:";
+    // requestId 단위 토픽 (마지막 경로가 requestId)
+    private static final List<String> REQUEST_TOPICS = List.of(
+            "/topic/admission/", "/topic/admit/", "/topic/rank/", "/topic/timeout/", "/topic/queue/joined/", "/topic/refresh/");
+    // 주기적으로 다시 보내는 토픽 (색인에 없으면 전체 채널로 보내지 않고 다음 틱에 맡김)
+    private static final String PERIODIC_REQUEST_TOPIC = "/topic/rank/";
+    // 영화 단위 토픽 (마지막 경로가 movieId)
+    private static final List<String> MOVIE_TOPICS = List.of("/topic/stats/", "/topic/rank-cursor/movie/");
+
+    /**
+     * 구독 색인 변경. DELTA 는 변경분, FULL 은 generation 단위 전체 목록(여러 건으로 나뉘며 last 에서 이전 generation 키 정리),
+     * HELLO 는 새로 뜬 Pod 의 전체 목록 요청, BEAT 는 변경이 없는 동안의 생존 알림
+     */
+    public record RouteUpdate(String podId, String type, long generation, boolean last,
+                              List<String> add, List<String> remove) {
+    }
+
+    /**
+     * Pod 간 전달 단위. key 는 라우팅 키("r:requestId" / "m:movieId").
+     * 영화 프레임은 payload 대신 이미 인코딩된 JSON 문자열(frame)로 실어 받는 Pod 이 다시 직렬화하지 않음
+     */
+    public record Envelope(String key, String destination, Object payload, String frame) {
+
+        Envelope(String key, String destination, Object payload) {
+            this(key, destination, payload, null);
+        }
+    }
+
+    public record Batch(String podId, List<Envelope> items) {
+    }
+
+    // outbox 에서 기다리는 알림과 넣은 시각 (발행할 때 대기 시간을 NotificationLagMonitor 에 기록)
+    private record Pending(Envelope envelope, long enqueuedAt) {
+    }
+
+    private final SimpMessagingTemplate template;
+    private final RedisTemplate<String, String> redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final LoadBalancingOptimizer loadBalancer;
+    private final BroadcastFrameCache frameCache;
+    private final NotificationLagMonitor lagMonitor;
+
+    @Value("${admission.ws-routing.enabled:true}")
+    private boolean enabled = true;
+
+    @Value("${admission.ws-routing.announce-ms:30000}")
+    private long announceMs = 30000;
+
+    @Value("${admission.ws-routing.heartbeat-ms:5000}")
+    private long heartbeatMs = 5000;
+
+    @Value("${admission.ws-routing.max-batch:500}")
+    private int maxBatch = 500;
+
+    // 이 Pod 의 구독: sessionId → (subscriptionId → 라우팅 키), 키별 구독 수
+    private final Map<String, Map<String, String>> sessionSubscriptions = new ConcurrentHashMap<>();
+    private final Map<String, AtomicInteger> localKeys = new ConcurrentHashMap<>();
+    private final Set<String> pendingAdds = ConcurrentHashMap.newKeySet();
+    private final Set<String> pendingRemoves = ConcurrentHashMap.newKeySet();
+    private volatile boolean fullAnnounceRequested = true;
+    private final AtomicLong generation = new AtomicLong(System.currentTimeMillis());
+    private volatile long lastAnnouncedAt;
+    private volatile long lastPublishedAt;
+
+    // 다른 Pod 의 구독 색인: 요청 키 / 영화 키 → Pod (podId 문자열, 여럿이면 불변 Set), Pod → (키 → generation),
+    // Pod → 마지막으로 색인 메시지를 받은 시각
+    private final Map<String, Object> requestRoutes = new ConcurrentHashMap<>();
+    private final Map<String, Object> movieRoutes = new ConcurrentHashMap<>();
+    private final Map<String, Map<String, Long>> keysByPod = new ConcurrentHashMap<>();
+    private final Map<String, Long> podSeenAt = new ConcurrentHashMap<>();
+
+    // 채널별 보낼 알림 (Pod 채널은 그 Pod 이 색인에서 제거될 때 함께 제거)
+    private final Map<String, ConcurrentLinkedQueue<Pending>> outbox = new ConcurrentHashMap<>();
+
+    // 통계
+    private final LongAdder sentLocal = new LongAdder();
+    private final LongAdder sentRemote = new LongAdder();
+    private final LongAdder sentFallback = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder framesEncoded = new LongAdder();
+    private final LongAdder batchesPublished = new LongAdder();
+    private final LongAdder itemsReceived = new LongAdder();
+    private final LongAdder itemsDelivered = new LongAdder();
+    private final LongAdder routeUpdatesPublished = new LongAdder();
+    private final LongAdder receiveFailures = new LongAdder();
+
+    public NotificationRouter(SimpMessagingTemplate template, RedisTemplate<String, String> redisTemplate,
+                              ObjectMapper objectMapper, LoadBalancingOptimizer loadBalancer,
+                              BroadcastFrameCache frameCache, NotificationLagMonitor lagMonitor,
+                              RedisMessageListenerContainer listenerContainer) {
+        this.template = template;
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        this.loadBalancer = loadBalancer;
+        this.frameCache = frameCache;
+        this.lagMonitor = lagMonitor;
+        listenerContainer.addMessageListener(this::onRouteUpdate, new ChannelTopic(AdmissionKeys.WS_ROUTES_CHANNEL));
+        listenerContainer.addMessageListener(this::onBatch, new ChannelTopic(AdmissionKeys.WS_BROADCAST_CHANNEL));
+        listenerContainer.addMessageListener(this::onBatch, new ChannelTopic(AdmissionKeys.wsPodChannel(loadBalancer.getPodId())));
+    }
+
+    // 리스너 컨테이너가 구독을 마친 뒤에 요청해야 다른 Pod 의 전체 목록을 놓치지 않음
+    @EventListener(ApplicationReadyEvent.class)
+    public void announceStartup() {
+        if (!enabled) {
+            return;
+        }
+        // 새 Pod 은 다른 Pod 의 구독을 모르므로 전체 목록을 요청
+        publishRouteUpdate(new RouteUpdate(loadBalancer.getPodId(), "HELLO", 0, false, List.of(), List.of()));
+        logger.info("📡 WebSocket 알림 라우팅 시작 - podId: {}", loadBalancer.getPodId());
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * requestId 단위 토픽 전송 (/topic/admission/{requestId} 등)
+     */
+    public void sendToRequest(String requestId, String destination, Object payload) {
+        String key = REQUEST_PREFIX + requestId;
+        if (!enabled) {
+            sendLocal(destination, payload);
+            return;
+        }
+        boolean local = localKeys.containsKey(key);
+        if (local) {
+            sendLocal(destination, payload);
+        }
+        Collection<String> pods = podsOf(requestRoutes.get(key));
+        boolean routed = !pods.isEmpty();
+        if (destination.startsWith(PERIODIC_REQUEST_TOPIC)) {
+            if (routed) {
+                sendToPods(pods, new Envelope(key, destination, payload));
+            } else if (!local) {
+                // 폴링만 하는 대기자의 순위 알림까지 전체 Pod 에 뿌리지 않도록
+                dropped.increment();
+            }
+        } else if (routed && pods.stream().allMatch(this::isConfirmedAlive)) {
+            sendToPods(pods, new Envelope(key, destination, payload));
+        } else if (routed || !local) {
+            // 일회성 알림은 다시 보내지 않으므로, 구독 Pod 이 내려갔을 수 있으면 전체 채널로
+            enqueue(AdmissionKeys.WS_BROADCAST_CHANNEL, new Envelope(key, destination, payload));
+            sentFallback.increment();
+        }
+    }
+
+    private void sendToPods(Collection<String> pods, Envelope envelope) {
+        for (String pod : pods) {
+            enqueue(AdmissionKeys.wsPodChannel(pod), envelope);
+            sentRemote.increment();
+        }
+    }
+
+    // heartbeat-ms 의 2배 안에 색인 메시지(BEAT 포함)를 받은 Pod
+    private boolean isConfirmedAlive(String pod) {
+        Long seen = podSeenAt.get(pod);
+        return seen != null && System.currentTimeMillis() - seen <= heartbeatMs * 2;
+    }
+
+    /**
+     * 영화 단위 토픽 프레임 전송 (/topic/stats/movie/{movieId} 등).
+     * payload 를 JSON 바이트로 한 번만 인코딩해 이 Pod 의 구독자 전체, 다른 구독 Pod, 마지막 프레임 캐시가 함께 씀
+     */
+    public void publishMovieFrame(String movieId, String destination, Object payload) throws JsonProcessingException {
+        byte[] body = objectMapper.writeValueAsBytes(payload);
+        framesEncoded.increment();
+        frameCache.remember(destination, body);
+        sendToMovie(movieId, destination, body);
+    }
+
+    /**
+     * 영화 단위 토픽 전송. 구독 중인 Pod 마다 한 번씩 (payload 가 byte[] 면 인코딩된 JSON 프레임)
+     */
+    public void sendToMovie(String movieId, String destination, Object payload) {
+        String key = MOVIE_PREFIX + movieId;
+        if (!enabled) {
+            sendLocal(destination, payload);
+            return;
+        }
+        boolean local = localKeys.containsKey(key);
+        if (local) {
+            sendLocal(destination, payload);
+        }
+        Collection<String> pods = podsOf(movieRoutes.get(key));
+        if (!pods.isEmpty()) {
+            sendToPods(pods, payload instanceof byte[] body
+                    ? new Envelope(key, destination, null, new String(body, StandardCharsets.UTF_8))
+                    : new Envelope(key, destination, payload));
+        } else if (!local) {
+            dropped.increment();
+        }
+    }
+
+    private void sendLocal(String destination, Object payload) {
+        if (payload instanceof byte[] body) {
+            // 인코딩된 프레임은 변환기를 거치지 않고 그대로 브로커로 (구독자마다 같은 byte[] 사용)
+            template.send(destination, BroadcastFrameCache.jsonMessage(body));
+        } else {
+            template.convertAndSend(destination, payload);
+        }
+        sentLocal.increment();
+    }
+
+    private void enqueue(String channel, Envelope envelope) {
+        // compute 안에서 넣어야 removeOutbox 가 빈 큐를 지우는 것과 겹쳐도 알림을 잃지 않음
+        Pending pending = new Pending(envelope, System.currentTimeMillis());
+        outbox.compute(channel, (c, queue) -> {
+            ConcurrentLinkedQueue<Pending> target = queue != null ? queue : new ConcurrentLinkedQueue<>();
+            target.add(pending);
+            return target;
+        });
+    }
+
+    // ===============================================
+    // 이 Pod 의 구독 추적
+    // ===============================================
+
+    @EventListener
+    public void onSubscribe(SessionSubscribeEvent event) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.wrap(event.getMessage());
+        String key = routeKey(accessor.getDestination());
+        if (key == null || accessor.getSessionId() == null || accessor.getSubscriptionId() == null) {
+            return;
+        }
+        String previous = sessionSubscriptions.computeIfAbsent(accessor.getSessionId(), s -> new ConcurrentHashMap<>())
+                .put(accessor.getSubscriptionId(), key);
+        if (previous != null) {
+            release(previous);
+        }
+        acquire(key);
+    }
+
+    @EventListener
+    public void onUnsubscribe(SessionUnsubscribeEvent event) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.wrap(event.getMessage());
+        Map<String, String> subscriptions = accessor.getSessionId() != null
+                ? sessionSubscriptions.get(accessor.getSessionId()) : null;
+        if (subscriptions != null && accessor.getSubscriptionId() != null) {
+            String key = subscriptions.remove(accessor.getSubscriptionId());
+            if (key != null) {
+                release(key);
+            }
+        }
+    }
+
+    @EventListener
+    public void onDisconnect(SessionDisconnectEvent event) {
+        Map<String, String> subscriptions = sessionSubscriptions.remove(event.getSessionId());
+        if (subscriptions != null) {
+            subscriptions.values().forEach(this::release);
+        }
+    }
+
+    private void acquire(String key) {
+        localKeys.compute(key, (k, count) -> {
+            if (count == null) {
+                pendingRemoves.remove(k);
+                pendingAdds.add(k);
+                return new AtomicInteger(1);
+            }
+            count.incrementAndGet();
+            return count;
+        });
+    }
+
+    private void release(String key) {
+        localKeys.computeIfPresent(key, (k, count) -> {
+            if (count.decrementAndGet() > 0) {
+                return count;
+            }
+            pendingAdds.remove(k);
+            pendingRemoves.add(k);
+            return null;
+        });
+    }
+
+    // 구독 토픽 → 라우팅 키 (대기열 알림 토픽이 아니면 null)
+    static String routeKey(String destination) {
+        if (destination == null) {
+            return null;
+        }
+        for (String prefix : REQUEST_TOPICS) {
+            if (destination.startsWith(prefix)) {
+                return key(REQUEST_PREFIX, destination);
+            }
+        }
+        for (String prefix : MOVIE_TOPICS) {
+            if (destination.startsWith(prefix)) {
+                return key(MOVIE_PREFIX, destination);
+            }
+        }
+        return null;
+    }
+
+    private static String key(String prefix, String destination) {
+        int last = destination.lastIndexOf('/');
+        return last < destination.length() - 1 ? prefix + destination.substring(last + 1) : null;
+    }
+
+    // ===============================================
+    // 발행 (알림 묶음 / 구독 색인)
+    // ===============================================
+
+    /**
+     * 모아 둔 Pod 간 알림 발행 (채널별 max-batch 건씩)
+     */
+    @Scheduled(fixedDelayString = "${admission.ws-routing.send-flush-ms:20}")
+    public void flushOutbox() {
+        if (!enabled) {
+            return;
+        }
+        for (Map.Entry<String, ConcurrentLinkedQueue<Pending>> entry : outbox.entrySet()) {
+            ConcurrentLinkedQueue<Pending> queue = entry.getValue();
+            while (!queue.isEmpty()) {
+                List<Envelope> items = new ArrayList<>(Math.min(queue.size(), maxBatch));
+                long oldest = Long.MAX_VALUE;
+                Pending pending;
+                while (items.size() < maxBatch && (pending = queue.poll()) != null) {
+                    items.add(pending.envelope());
+                    oldest = Math.min(oldest, pending.enqueuedAt());
+                }
+                if (items.isEmpty()) {
+                    break;
+                }
+                try {
+                    redisTemplate.convertAndSend(entry.getKey(),
+                            objectMapper.writeValueAsString(new Batch(loadBalancer.getPodId(), items)));
+                    batchesPublished.increment();
+                    lagMonitor.recordOutbox(System.currentTimeMillis() - oldest);
+                } catch (Exception e) {
+                    logger.warn("⚠️ WebSocket 알림 묶음 발행 실패 - channel: {}, {}건", entry.getKey(), items.size(), e);
+                }
+            }
+            // 색인에서 제거된 Pod 으로 가던 알림이 제거 직후에 들어와 다시 만들어진 큐
+            String pod = podOf(entry.getKey());
+            if (pod != null && !podSeenAt.containsKey(pod)) {
+                removeOutbox(entry.getKey());
+            }
+        }
+    }
+
+    // Pod 채널 → podId (전체 채널이면 null)
+    private static String podOf(String channel) {
+        String prefix = AdmissionKeys.wsPodChannel("");
+        return channel.startsWith(prefix) ? channel.substring(prefix.length()) : null;
+    }
+
+    private void removeOutbox(String channel) {
+        outbox.computeIfPresent(channel, (c, queue) -> queue.isEmpty() ? null : queue);
+    }
+
+    /**
+     * 구독 변경분 발행, announce-ms 마다(또는 HELLO 를 받으면) 전체 목록 발행, heartbeat-ms 동안 보낸 것이 없으면 BEAT 발행,
+     * 오래 소식이 없는 Pod 정리
+     */
+    @Scheduled(fixedDelayString = "${admission.ws-routing.flush-ms:100}")
+    public void flushRoutes() {
+        if (!enabled) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        try {
+            if (fullAnnounceRequested || now - lastAnnouncedAt >= announceMs) {
+                fullAnnounceRequested = false;
+                lastAnnouncedAt = now;
+                pendingAdds.clear();
+                pendingRemoves.clear();
+                announceAll();
+            } else if (!pendingAdds.isEmpty() || !pendingRemoves.isEmpty()) {
+                List<String> add = drain(pendingAdds);
+                List<String> remove = drain(pendingRemoves);
+                publishRouteUpdate(new RouteUpdate(loadBalancer.getPodId(), "DELTA", generation.get(), false, add, remove));
+            } else if (now - lastPublishedAt >= heartbeatMs) {
+                publishRouteUpdate(new RouteUpdate(loadBalancer.getPodId(), "BEAT", generation.get(), false, List.of(), List.of()));
+            }
+        } catch (Exception e) {
+            logger.warn("⚠️ 구독 색인 발행 실패", e);
+        }
+
+        // announce-ms 의 3배 동안 색인 메시지가 없는 Pod 은 내려간 것으로 보고 색인과 보낼 알림에서 제거
+        podSeenAt.entrySet().removeIf(seen -> {
+            if (now - seen.getValue() < announceMs * 3) {
+                return false;
+            }
+            logger.info("🧹 구독 색인에서 응답 없는 Pod 제거: {}", seen.getKey());
+            removePod(seen.getKey());
+            return true;
+        });
+    }
+
+    private void announceAll() {
+        long gen = generation.incrementAndGet();
+        List<String> keys = new ArrayList<>(localKeys.keySet());
+        int chunk = Math.max(1, maxBatch * 10);
+        for (int from = 0; from < keys.size() || from == 0; from += chunk) {
+            List<String> add = keys.subList(from, Math.min(keys.size(), from + chunk));
+            boolean last = from + chunk >= keys.size();
+            publishRouteUpdate(new RouteUpdate(loadBalancer.getPodId(), "FULL", gen, last, add, List.of()));
+            if (last) {
+                break;
+            }
+        }
+    }
+
+    private static List<String> drain(Set<String> pending) {
+        List<String> drained = new ArrayList<>(pending.size());
+        Iterator<String> iterator = pending.iterator();
+        while (iterator.hasNext()) {
+            drained.add(iterator.next());
+            iterator.remove();
+        }
+        return drained;
+    }
+
+    private void publishRouteUpdate(RouteUpdate update) {
+        try {
+            redisTemplate.convertAndSend(AdmissionKeys.WS_ROUTES_CHANNEL, objectMapper.writeValueAsString(update));
+            lastPublishedAt = System.currentTimeMillis();
+            routeUpdatesPublished.increment();
+        } catch (Exception e) {
+            logger.warn("⚠️ 구독 색인 발행 실패 - type: {}", update.type(), e);
+        }
+    }
+
+    // ===============================================
+    // 수신
+    // ===============================================
+
+    private void onRouteUpdate(Message message, byte[] pattern) {
+        try {
+            RouteUpdate update = objectMapper.readValue(
+                    new String(message.getBody(), StandardCharsets.UTF_8), RouteUpdate.class);
+            if (!enabled || loadBalancer.getPodId().equals(update.podId())) {
+                return;
+            }
+            String pod = update.podId();
+            // 어떤 색인 메시지든 그 Pod 이 살아 있다는 뜻
+            podSeenAt.put(pod, System.currentTimeMillis());
+            switch (update.type()) {
+                case "HELLO" -> fullAnnounceRequested = true;
+                case "BEAT" -> {
+                    // 생존 시각만 갱신
+                }
+                case "DELTA" -> {
+                    Map<String, Long> keys = keysByPod.computeIfAbsent(pod, p -> new ConcurrentHashMap<>());
+                    update.add().forEach(key -> addRoute(pod, keys, key, update.generation()));
+                    update.remove().forEach(key -> removeRoute(pod, keys, key));
+                }
+                case "FULL" -> {
+                    Map<String, Long> keys = keysByPod.computeIfAbsent(pod, p -> new ConcurrentHashMap<>());
+                    update.add().forEach(key -> addRoute(pod, keys, key, update.generation()));
+                    if (update.last()) {
+                        // 이번 전체 목록에 없던 키 (유실된 DELTA 포함) 정리
+                        keys.entrySet().removeIf(entry -> {
+                            if (entry.getValue() >= update.generation()) {
+                                return false;
+                            }
+                            unroute(pod, entry.getKey());
+                            return true;
+                        });
+                    }
+                }
+                default -> logger.debug("알 수 없는 구독 색인 메시지: {}", update.type());
+            }
+        } catch (Exception e) {
+            receiveFailures.increment();
+            logger.warn("구독 색인 수신 실패", e);
+        }
+    }
+
+    private void addRoute(String pod, Map<String, Long> keys, String key, long gen) {
+        keys.put(key, gen);
+        routesOf(key).compute(key, (k, pods) -> withPod(pods, pod));
+    }
+
+    private void removeRoute(String pod, Map<String, Long> keys, String key) {
+        keys.remove(key);
+        unroute(pod, key);
+    }
+
+    // 이 Pod 만 빼고, 같은 키를 구독 중인 다른 Pod 의 경로는 남김
+    private void unroute(String pod, String key) {
+        routesOf(key).computeIfPresent(key, (k, pods) -> withoutPod(pods, pod));
+    }
+
+    private Map<String, Object> routesOf(String key) {
+        return key.startsWith(REQUEST_PREFIX) ? requestRoutes : movieRoutes;
+    }
+
+    // 색인 값 (null / podId / 불변 Set) 에 pod 추가. Pod 이 둘 이상일 때만 집합을 만듦
+    @SuppressWarnings("unchecked")
+    static Object withPod(Object pods, String pod) {
+        if (pods == null || pod.equals(pods)) {
+            return pod;
+        }
+        if (pods instanceof String single) {
+            return Set.of(single, pod);
+        }
+        Set<String> set = (Set<String>) pods;
+        if (set.contains(pod)) {
+            return set;
+        }
+        Set<String> grown = new HashSet<>(set);
+        grown.add(pod);
+        return Collections.unmodifiableSet(grown);
+    }
+
+    // 색인 값에서 pod 제거. 하나만 남으면 다시 podId 로, 비면 null (키 삭제)
+    @SuppressWarnings("unchecked")
+    static Object withoutPod(Object pods, String pod) {
+        if (pods instanceof String single) {
+            return single.equals(pod) ? null : single;
+        }
+        Set<String> set = (Set<String>) pods;
+        if (!set.contains(pod)) {
+            return set;
+        }
+        Set<String> shrunk = new HashSet<>(set);
+        shrunk.remove(pod);
+        if (shrunk.size() > 1) {
+            return Collections.unmodifiableSet(shrunk);
+        }
+        return shrunk.isEmpty() ? null : shrunk.iterator().next();
+    }
+
+    @SuppressWarnings("unchecked")
+    static Collection<String> podsOf(Object pods) {
+        if (pods == null) {
+            return List.of();
+        }
+        return pods instanceof String single ? List.of(single) : (Set<String>) pods;
+    }
+
+    private void removePod(String pod) {
+        Map<String, Long> keys = keysByPod.remove(pod);
+        if (keys != null) {
+            keys.keySet().forEach(key -> unroute(pod, key));
+        }
+        // 내려간 Pod 채널로 보낼 알림은 받을 곳이 없음
+        outbox.remove(AdmissionKeys.wsPodChannel(pod));
+    }
+
+    private void onBatch(Message message, byte[] pattern) {
+        try {
+            JsonNode batch = objectMapper.readTree(message.getBody());
+            if (loadBalancer.getPodId().equals(batch.path("podId").asText())) {
+                return;
+            }
+            for (JsonNode item : batch.path("items")) {
+                itemsReceived.increment();
+                // 전체 채널로 온 알림은 실제로 구독이 있는 Pod 만 전달
+                if (!localKeys.containsKey(item.path("key").asText())) {
+                    continue;
+                }
+                String destination = item.path("destination").asText();
+                JsonNode frame = item.path("frame");
+                if (frame.isTextual()) {
+                    byte[] body = frame.asText().getBytes(StandardCharsets.UTF_8);
+                    frameCache.remember(destination, body);
+                    template.send(destination, BroadcastFrameCache.jsonMessage(body));
+                } else {
+                    template.convertAndSend(destination, item.path("payload"));
+                }
+                itemsDelivered.increment();
+            }
+        } catch (Exception e) {
+            receiveFailures.increment();
+            logger.warn("WebSocket 알림 묶음 수신 실패", e);
+        }
+    }
+
+    /**
+     * 📡 라우팅 통계
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", enabled);
+        stats.put("podId", loadBalancer.getPodId());
+        stats.put("localKeys", localKeys.size());
+        stats.put("localSessions", sessionSubscriptions.size());
+        stats.put("remoteRequestRoutes", requestRoutes.size());
+        stats.put("remoteMovieRoutes", movieRoutes.size());
+        stats.put("knownPods", keysByPod.keySet());
+        stats.put("outboxChannels", outbox.size());
+        stats.put("sentLocal", sentLocal.sum());
+        stats.put("sentRemote", sentRemote.sum());
+        stats.put("sentFallback", sentFallback.sum());
+        stats.put("dropped", dropped.sum());
+        stats.put("framesEncoded", framesEncoded.sum());
+        stats.put("batchesPublished", batchesPublished.sum());
+        stats.put("itemsReceived", itemsReceived.sum());
+        stats.put("itemsDelivered", itemsDelivered.sum());
+        stats.put("routeUpdatesPublished", routeUpdatesPublished.sum());
+        stats.put("receiveFailures", receiveFailures.sum());
+        stats.put("frameCache", frameCache.getStats());
+        stats.put("notificationLag", lagMonitor.getStats());
+        return stats;
+    }
+}
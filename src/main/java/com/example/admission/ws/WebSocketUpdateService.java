@@ -1,11 +1,16 @@
 // src/main/java/com/example/admission/ws/WebSocketUpdateService.java
 package com.example.admission.ws;
 
+import com.example.admission.dto.WaitEstimate;
+import com.example.admission.service.AdmissionKeys;
+import com.example.admission.service.AdmissionPromotedEvent;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
 
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.atomic.AtomicLong;
 
@@ -14,14 +19,17 @@ public class WebSocketUpdateService {
 
     private static final Logger logger = LoggerFactory.getLogger(WebSocketUpdateService.class);
     
-    private final SimpMessagingTemplate template;
+    // 구독 중인 Pod 으로만 보내는 라우터 (admission.ws-routing)
+    private final NotificationRouter router;
     private final AtomicLong admissionNotificationCount = new AtomicLong();
     private final AtomicLong rankUpdateCount = new AtomicLong();
     private final AtomicLong statsUpdateCount = new AtomicLong();
     private final AtomicLong timeoutNotificationCount = new AtomicLong();
+    private final AtomicLong rankCursorFrameCount = new AtomicLong();
+    private final AtomicLong rankBaselineCount = new AtomicLong();
 
-    public WebSocketUpdateService(SimpMessagingTemplate template) {
-        this.template = template;
+    public WebSocketUpdateService(NotificationRouter router) {
+        this.router = router;
     }
 
     /**
@@ -46,7 +54,7 @@ public class WebSocketUpdateService {
                        destination, requestId.substring(0, 8), movieId);
             
             // 메시지 전송
-            template.convertAndSend(destination, payload);
+            router.sendToRequest(requestId, destination, payload);
             admissionNotificationCount.incrementAndGet();
             
             logger.info("✅ WEBSOCKET [전송 완료]: 입장 허가 알림 전송 성공 (총 {}번째)", 
@@ -58,23 +66,30 @@ public class WebSocketUpdateService {
         }
     }
 
+    /**
+     * ⚡ 퇴장/만료 직후 즉시 승격된 사용자에게 입장 허가 알림 (member = requestId:sessionId)
+     */
+    @EventListener
+    public void onAdmissionPromoted(AdmissionPromotedEvent event) {
+        for (String member : event.members()) {
+            notifyAdmission(AdmissionKeys.requestIdOf(member), event.movieId());
+        }
+    }
+
     /**
      * ✅ 수정: 순위 업데이트 로직 강화
      */
     public void notifyRankUpdate(String requestId, String status, long rank, long totalWaiting) {
+        notifyRankUpdate(requestId, status, rank, totalWaiting, null);
+    }
+
+    /**
+     * 순위 업데이트 + 예상 대기 시간 (estimatedWait 가 null 이면 필드 생략)
+     */
+    public void notifyRankUpdate(String requestId, String status, long rank, long totalWaiting,
+                                 WaitEstimate estimatedWait) {
         try {
-            String destination = "/topic/rank/" + requestId;
-            
-            Map<String, Object> payload = Map.of(
-                "status", status,
-                "rank", rank,
-                "totalWaiting", totalWaiting,
-                "timestamp", System.currentTimeMillis(),
-                "requestId", requestId,
-                "message", String.format("현재 %d번째 순서입니다. (전체 %d명 대기)", rank, totalWaiting)
-            );
-            
-            template.convertAndSend(destination, payload);
+            router.sendToRequest(requestId, "/topic/rank/" + requestId, rankPayload(requestId, status, rank, totalWaiting, estimatedWait));
             rankUpdateCount.incrementAndGet();
             
             logger.debug("📊 WEBSOCKET [순위 업데이트]: requestId: {}... | rank: {}/{}", 
@@ -86,6 +101,78 @@ public class WebSocketUpdateService {
         }
     }
 
+    /**
+     * 커서 방식 순위 기준값 - 일반 순위 업데이트에 번호표와 앞선 이탈자 수, 기준 프레임(epoch, seq)을 더해 보냅니다.
+     * 클라이언트는 이후 같은 epoch 의 seq 보다 큰 커서 프레임만 적용해 스스로 순위를 계산합니다 (broadcastRankCursor 참고)
+     */
+    public void notifyRankBaseline(String requestId, long rank, long totalWaiting, WaitEstimate estimatedWait,
+                                   long ticket, long departedAhead, long epoch, long seq) {
+        try {
+            Map<String, Object> payload = rankPayload(requestId, "WAITING", rank, totalWaiting, estimatedWait);
+            payload.put("ticket", ticket);
+            payload.put("departedAhead", departedAhead);
+            payload.put("epoch", epoch);
+            payload.put("seq", seq);
+            
+            router.sendToRequest(requestId, "/topic/rank/" + requestId, payload);
+            rankBaselineCount.incrementAndGet();
+            
+        } catch (Exception e) {
+            logger.error("❌ 순위 기준값 전송 실패 - requestId: {}..., ticket: {}", 
+                        requestId.substring(0, 8), ticket, e);
+        }
+    }
+
+    private static Map<String, Object> rankPayload(String requestId, String status, long rank, long totalWaiting,
+                                                   WaitEstimate estimatedWait) {
+        Map<String, Object> payload = new HashMap<>(Map.of(
+            "status", status,
+            "rank", rank,
+            "totalWaiting", totalWaiting,
+            "timestamp", System.currentTimeMillis(),
+            "requestId", requestId,
+            "message", String.format("현재 %d번째 순서입니다. (전체 %d명 대기)", rank, totalWaiting)
+        ));
+        if (estimatedWait != null) {
+            payload.put("estimatedWait", estimatedWait);
+        }
+        return payload;
+    }
+
+    /**
+     * 🎯 커서 방식 순위 프레임 - 영화별로 한 건만 보내고 각 클라이언트가 자기 순위를 계산합니다.
+     *
+     * 기준값(ticket, departedAhead, seq)을 받은 클라이언트는 같은 epoch 의 다음 프레임마다
+     *   departedAhead += (departedAdded 중 ticket 보다 작은 번호 수) - departedPassed
+     *   rank = ticket - cursor - departedAhead
+     * 로 갱신합니다. epoch 가 바뀌거나 seq 가 건너뛰면 다음 기준값(또는 상태 조회)까지 계산을 멈춥니다.
+     */
+    public void broadcastRankCursor(String movieId, long epoch, long seq, long cursor, long totalWaiting,
+                                    long[] departedAdded, long departedPassed) {
+        try {
+            String destination = "/topic/rank-cursor/movie/" + movieId;
+            Map<String, Object> payload = Map.of(
+                "movieId", movieId,
+                "epoch", epoch,
+                "seq", seq,
+                "cursor", cursor,
+                "totalWaiting", totalWaiting,
+                "departedAdded", departedAdded,
+                "departedPassed", departedPassed,
+                "timestamp", System.currentTimeMillis()
+            );
+            
+            router.publishMovieFrame(movieId, destination, payload);
+            rankCursorFrameCount.incrementAndGet();
+            
+            logger.debug("🎯 WEBSOCKET [커서 프레임]: movieId: {} | seq: {} | cursor: {} | 이탈 +{}/-{}", 
+                        movieId, seq, cursor, departedAdded.length, departedPassed);
+                        
+        } catch (Exception e) {
+            logger.error("❌ 커서 프레임 브로드캐스트 실패 - movieId: {}, seq: {}", movieId, seq, e);
+        }
+    }
+
     /**
      * 📈 대기열 전체 통계를 해당 영화의 모든 사용자에게 브로드캐스트
      */
@@ -98,7 +185,7 @@ public class WebSocketUpdateService {
                 "timestamp", System.currentTimeMillis()
             );
             
-            template.convertAndSend(destination, payload);
+            router.publishMovieFrame(movieId, destination, payload);
             statsUpdateCount.incrementAndGet();
             
             logger.debug("📈 WEBSOCKET [통계 브로드캐스트]: movieId: {} | totalWaiting: {}", 
@@ -124,7 +211,7 @@ public class WebSocketUpdateService {
                 "requestId", requestId
             );
             
-            template.convertAndSend(destination, payload);
+            router.sendToRequest(requestId, destination, payload);
             timeoutNotificationCount.incrementAndGet();
             
             logger.warn("⏰ WEBSOCKET [타임아웃]: requestId: {}...", requestId.substring(0, 8));
@@ -134,6 +221,31 @@ public class WebSocketUpdateService {
         }
     }
 
+    /**
+     * ⏰ 만료 정리 한 번에 퇴장된 사용자들에게 일괄 알림 (member = requestId:sessionId, 로그는 묶어서 한 번)
+     */
+    public void notifyTimeouts(String movieId, List<String> members) {
+        long timestamp = System.currentTimeMillis();
+        int sent = 0;
+        for (String member : members) {
+            String requestId = AdmissionKeys.requestIdOf(member);
+            try {
+                router.sendToRequest(requestId, "/topic/timeout/" + requestId, Map.of(
+                    "status", "TIMEOUT",
+                    "action", "REDIRECT_TO_MOVIES",
+                    "message", "세션 유효 시간이 만료되어 자동으로 퇴장 처리되었습니다.",
+                    "timestamp", timestamp,
+                    "requestId", requestId
+                ));
+                sent++;
+            } catch (Exception e) {
+                logger.error("❌ 타임아웃 알림 전송 실패 - requestId: {}...", requestId.substring(0, 8), e);
+            }
+        }
+        timeoutNotificationCount.addAndGet(sent);
+        logger.warn("⏰ WEBSOCKET [타임아웃 일괄]: movieId: {} | {}/{}건 전송", movieId, sent, members.size());
+    }
+
     /**
      * ✅ 새로 추가: 대기열 진입 확인 메시지
      */
@@ -149,7 +261,7 @@ public class WebSocketUpdateService {
                 "requestId", requestId
             );
             
-            template.convertAndSend(destination, payload);
+            router.sendToRequest(requestId, destination, payload);
             
             logger.info("📋 WEBSOCKET [대기열 진입]: requestId: {}... | position: {}/{}", 
                        requestId.substring(0, 8), position, totalWaiting);
@@ -166,10 +278,12 @@ public class WebSocketUpdateService {
         return Map.of(
             "admissionNotifications", admissionNotificationCount.get(),
             "rankUpdates", rankUpdateCount.get(),
+            "rankCursorFrames", rankCursorFrameCount.get(),
+            "rankBaselines", rankBaselineCount.get(),
             "statsUpdates", statsUpdateCount.get(),
             "timeoutNotifications", timeoutNotificationCount.get(),
-            "totalMessages", admissionNotificationCount.get() + rankUpdateCount.get() + 
-                           statsUpdateCount.get() + timeoutNotificationCount.get(),
+            "totalMessages", admissionNotificationCount.get() + rankUpdateCount.get() + rankCursorFrameCount.get() +
+                           rankBaselineCount.get() + statsUpdateCount.get() + timeoutNotificationCount.get(),
             "lastUpdated", System.currentTimeMillis()
         );
     }
@@ -187,7 +301,7 @@ public class WebSocketUpdateService {
                 "timestamp", System.currentTimeMillis()
             );
             
-            template.convertAndSend(destination, payload);
+            router.sendToRequest(requestId, destination, payload);
             logger.info("🔄 WEBSOCKET [강제 새로고침]: requestId: {}... | reason: {}", 
                        requestId.substring(0, 8), reason);
                        
@@ -3,11 +3,15 @@
 // ===============================================
 package com.example.admission.config;
 
+import com.example.admission.ws.NotificationLagMonitor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.thread.Threading;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.event.EventListener;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
 import org.springframework.messaging.Message;
 import org.springframework.messaging.MessageChannel;
 import org.springframework.messaging.simp.config.ChannelRegistration;
@@ -41,6 +45,19 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
     private final AtomicLong totalConnections = new AtomicLong(0);
     private final ConcurrentHashMap<String, Long> sessionConnectTimes = new ConcurrentHashMap<>();
 
+    // spring.threads.virtual.enabled=true 이고 Java 21 이상이면 채널/스케줄러를 가상 스레드로 실행
+    private final boolean virtualThreads;
+    private final NotificationLagMonitor lagMonitor;
+
+    public WebSocketConfig(Environment environment, NotificationLagMonitor lagMonitor) {
+        this.lagMonitor = lagMonitor;
+        this.virtualThreads = Threading.VIRTUAL.isActive(environment);
+        if (!virtualThreads && environment.getProperty("spring.threads.virtual.enabled", Boolean.class, false)) {
+            logger.warn("⚠️ 가상 스레드 모드가 설정되었지만 Java {} 에서는 사용할 수 없어 기존 스레드 풀로 실행합니다 (Java 21 이상 필요)",
+                    Runtime.version().feature());
+        }
+    }
+
     /**
      * 🔥 메시지 브로커 설정 - 성능 최적화
      */
@@ -97,12 +114,17 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
      */
     @Override
     public void configureClientInboundChannel(ChannelRegistration registration) {
-        // 🔥 인바운드 채널 스레드 풀 최적화
-        registration.taskExecutor()
-            .corePoolSize(20)        // 코어 스레드 20개
-            .maxPoolSize(100)        // 최대 스레드 100개 (부하 대응)
-            .keepAliveSeconds(60)    // 60초 유지
-            .queueCapacity(500);     // 큐 용량 500개
+        if (virtualThreads) {
+            // 메시지마다 가상 스레드 (풀 크기/큐 용량 제한 없음)
+            registration.executor(new VirtualThreadTaskExecutor("ws-inbound-"));
+        } else {
+            // 🔥 인바운드 채널 스레드 풀 최적화
+            registration.taskExecutor()
+                .corePoolSize(20)        // 코어 스레드 20개
+                .maxPoolSize(100)        // 최대 스레드 100개 (부하 대응)
+                .keepAliveSeconds(60)    // 60초 유지
+                .queueCapacity(500);     // 큐 용량 500개
+        }
             
         // 🔥 메시지 인터셉터 추가 (로깅 및 모니터링)
         registration.interceptors(new ChannelInterceptor() {
@@ -124,7 +146,7 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
             }
         });
 
-        logger.info("✅ 클라이언트 인바운드 채널 설정 완료 (20-100 threads)");
+        logger.info("✅ 클라이언트 인바운드 채널 설정 완료 ({})", virtualThreads ? "virtual threads" : "20-100 threads");
     }
 
     /**
@@ -132,12 +154,17 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
      */
     @Override
     public void configureClientOutboundChannel(ChannelRegistration registration) {
-        // 🔥 아웃바운드 채널 스레드 풀 최적화  
-        registration.taskExecutor()
-            .corePoolSize(20)        // 코어 스레드 20개
-            .maxPoolSize(100)        // 최대 스레드 100개 (부하 대응)
-            .keepAliveSeconds(60)    // 60초 유지
-            .queueCapacity(500);     // 큐 용량 500개
+        if (virtualThreads) {
+            // 알림 fan-out: 느린 클라이언트 소켓 쓰기가 다른 세션 전송을 막지 않도록 메시지마다 가상 스레드
+            registration.executor(new VirtualThreadTaskExecutor("ws-outbound-"));
+        } else {
+            // 🔥 아웃바운드 채널 스레드 풀 최적화  
+            registration.taskExecutor()
+                .corePoolSize(20)        // 코어 스레드 20개
+                .maxPoolSize(100)        // 최대 스레드 100개 (부하 대응)
+                .keepAliveSeconds(60)    // 60초 유지
+                .queueCapacity(500);     // 큐 용량 500개
+        }
             
         // 🔥 아웃바운드 메시지 인터셉터
         registration.interceptors(new ChannelInterceptor() {
@@ -153,19 +180,24 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
                 
                 return message;
             }
-        });
+        }, lagMonitor);  // 입장 알림이 실행기에서 기다린 시간 (승격 조절기의 알림 지연)
 
-        logger.info("✅ 클라이언트 아웃바운드 채널 설정 완료 (20-100 threads)");
+        logger.info("✅ 클라이언트 아웃바운드 채널 설정 완료 ({})", virtualThreads ? "virtual threads" : "20-100 threads");
     }
 
     /**
-     * 🔥 커스텀 태스크 스케줄러 - WebSocket용 최적화
+     * 🔥 커스텀 태스크 스케줄러 - WebSocket용 최적화 (@Scheduled 작업도 이 스케줄러에서 실행)
+     * 가상 스레드 모드에서는 같은 풀 구조(작업별 fixedDelay 보장, 작업 간 병렬 실행)를 유지하고 워커만 가상 스레드로 바꿉니다.
+     * SimpleAsyncTaskScheduler 는 fixedDelay 작업을 스케줄러 스레드 하나에서 차례로 실행하므로 사용하지 않습니다.
      */
     @Bean
     public TaskScheduler taskScheduler() {
         ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
         scheduler.setPoolSize(30);                    // 스레드 풀 크기 (부하 대응)
         scheduler.setThreadNamePrefix("websocket-");  // 스레드 이름 접두사
+        if (virtualThreads) {
+            scheduler.setThreadFactory(new VirtualThreadTaskExecutor("websocket-vt-").getVirtualThreadFactory());
+        }
         scheduler.setWaitForTasksToCompleteOnShutdown(true);
         scheduler.setAwaitTerminationSeconds(60);
         scheduler.setRejectedExecutionHandler(
@@ -173,7 +205,7 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
         );
         scheduler.initialize();
         
-        logger.info("✅ WebSocket 태스크 스케줄러 생성 (30 threads)");
+        logger.info("✅ WebSocket 태스크 스케줄러 생성 (30 {})", virtualThreads ? "virtual threads" : "threads");
         return scheduler;
     }
 
@@ -0,0 +1,90 @@
+package com.example.pod.service;
+
+import com.google.gson.reflect.TypeToken;
+import io.kubernetes.client.openapi.ApiClient;
+import io.kubernetes.client.openapi.apis.CoreV1Api;
+import io.kubernetes.client.openapi.models.V1Pod;
+import io.kubernetes.client.openapi.models.V1PodList;
+import io.kubernetes.client.util.ClientBuilder;
+import io.kubernetes.client.util.Watch;
+import okhttp3.Call;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Kubernetes API 기반 PodWatchSource (listNamespacedPod + watch=true)
+ */
+public class KubernetesPodWatchSource implements PodWatchSource {
+
+    private static final Logger logger = LoggerFactory.getLogger(KubernetesPodWatchSource.class);
+
+    private final CoreV1Api coreV1Api;
+    private final ApiClient watchClient;
+    private final String namespace;
+    private final String appLabel;
+
+    public KubernetesPodWatchSource(ApiClient apiClient, String namespace, String appLabel) throws IOException {
+        this.coreV1Api = new CoreV1Api(apiClient);
+        this.namespace = namespace;
+        this.appLabel = appLabel;
+
+        // watch 는 timeoutSeconds 동안 연결을 유지하므로 읽기 타임아웃을 해제한 별도 클라이언트 사용
+        this.watchClient = ClientBuilder.standard().build();
+        this.watchClient.setHttpClient(watchClient.getHttpClient().newBuilder()
+                .readTimeout(0, TimeUnit.SECONDS)
+                .build());
+    }
+
+    @Override
+    public PodListing list() throws Exception {
+        V1PodList list = coreV1Api.listNamespacedPod(namespace)
+                                  .labelSelector(appLabel)
+                                  .execute();
+
+        Set<String> podNames = new HashSet<>();
+        for (V1Pod pod : list.getItems()) {
+            podNames.add(pod.getMetadata().getName());
+        }
+        String resourceVersion = list.getMetadata() != null ? list.getMetadata().getResourceVersion() : null;
+        return new PodListing(podNames, resourceVersion);
+    }
+
+    @Override
+    public void watch(String resourceVersion, int timeoutSeconds, Consumer<PodEvent> handler) throws Exception {
+        Call call = coreV1Api.listNamespacedPod(namespace)
+                             .labelSelector(appLabel)
+                             .resourceVersion(resourceVersion)
+                             .timeoutSeconds(timeoutSeconds)
+                             .watch(true)
+                             .buildCall(null);
+
+        try (Watch<V1Pod> watch = Watch.createWatch(watchClient, call,
+                new TypeToken<Watch.Response<V1Pod>>() {}.getType())) {
+            for (Watch.Response<V1Pod> response : watch) {
+                PodEvent.Type type;
+                switch (response.type) {
+                    case "ADDED" -> type = PodEvent.Type.ADDED;
+                    case "MODIFIED" -> type = PodEvent.Type.MODIFIED;
+                    case "DELETED" -> type = PodEvent.Type.DELETED;
+                    case "ERROR" -> {
+                        // 410 Gone 등: resourceVersion 이 만료됨 → 호출자가 다시 list 수행
+                        logger.warn("Pod watch ERROR 이벤트 수신, 재동기화합니다. status: {}", response.status);
+                        return;
+                    }
+                    default -> {
+                        continue;
+                    }
+                }
+                V1Pod pod = response.object;
+                handler.accept(new PodEvent(type, pod.getMetadata().getName(),
+                        pod.getMetadata().getResourceVersion()));
+            }
+        }
+    }
+}
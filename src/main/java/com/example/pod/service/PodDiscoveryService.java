@@ -3,23 +3,36 @@
 package com.example.pod.service;
 
 import io.kubernetes.client.openapi.ApiClient;
-import io.kubernetes.client.openapi.ApiException;
 import io.kubernetes.client.openapi.Configuration;
-import io.kubernetes.client.openapi.apis.CoreV1Api;
-import io.kubernetes.client.openapi.models.V1PodList;
 import io.kubernetes.client.util.ClientBuilder;
 import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
+/**
+ * Pod 수 조회 서비스.
+ *
+ * 요청마다 listNamespacedPod 를 호출하던 방식 대신, 백그라운드 informer 스레드가
+ * list → watch 를 반복하며 Pod 목록을 메모리에 유지합니다. getPodCount() 는 volatile 읽기만 수행합니다.
+ * watch 는 resync 간격마다 끊고 다시 list 하여 누락된 이벤트를 보정합니다.
+ * API 서버 장애 시에는 마지막으로 동기화된 값을 그대로 사용하고, 경과 시간(staleness)을 노출합니다.
+ */
 @Service
 public class PodDiscoveryService {
 
     private static final Logger logger = LoggerFactory.getLogger(PodDiscoveryService.class);
+    private static final long MAX_BACKOFF_MS = 30_000;
 
     @Value("${kubernetes.namespace:default}")
     private String namespace;
@@ -27,50 +40,154 @@ public class PodDiscoveryService {
     @Value("${kubernetes.app-label:app=cgv-api}")
     private String appLabel;
 
-    private CoreV1Api coreV1Api;
+    @Value("${kubernetes.pod-resync-seconds:300}")
+    private int resyncSeconds = 300;
+
+    @Value("${kubernetes.pod-stale-warning-ms:60000}")
+    private long staleWarningMs = 60_000;
+
     private boolean isKubernetesClientAvailable = false;
 
+    // informer 캐시
+    private volatile Set<String> podNames = ConcurrentHashMap.newKeySet();
+    private volatile int podCount = 0;
+    private volatile long lastSyncAt = 0;
+    private volatile String lastError;
+    private volatile boolean running = false;
+    private Thread informerThread;
+
+    // informer 통계
+    private final AtomicLong listCount = new AtomicLong();
+    private final AtomicLong watchEventCount = new AtomicLong();
+    private final AtomicLong failureCount = new AtomicLong();
+
     @PostConstruct
     public void init() {
         try {
             ApiClient client = ClientBuilder.standard().build();
             Configuration.setDefaultApiClient(client);
-            this.coreV1Api = new CoreV1Api();
-            this.isKubernetesClientAvailable = true;
+            PodWatchSource source = new KubernetesPodWatchSource(client, namespace, appLabel);
             logger.info("✅ Kubernetes 클라이언트가 성공적으로 초기화되었습니다. (Namespace: {}, App Label: {})", namespace, appLabel);
+            startInformer(source);
         } catch (IOException e) {
             logger.warn("🚨 Kubernetes 클라이언트를 초기화할 수 없습니다. Fallback 모드로 동작합니다. 에러: {}", e.getMessage());
             this.isKubernetesClientAvailable = false;
         }
     }
 
+    /**
+     * informer 스레드 시작. 테스트에서는 가짜 PodWatchSource 를 넘겨 직접 호출합니다.
+     */
+    void startInformer(PodWatchSource source) {
+        this.isKubernetesClientAvailable = true;
+        this.running = true;
+        this.informerThread = new Thread(() -> runInformer(source), "pod-informer");
+        this.informerThread.setDaemon(true);
+        this.informerThread.start();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        running = false;
+        if (informerThread != null) {
+            informerThread.interrupt();
+        }
+    }
+
+    private void runInformer(PodWatchSource source) {
+        int consecutiveFailures = 0;
+        while (running) {
+            try {
+                // 1. list: 전체 목록으로 캐시 교체
+                PodWatchSource.PodListing listing = source.list();
+                Set<String> fresh = ConcurrentHashMap.newKeySet();
+                fresh.addAll(listing.podNames());
+                podNames = fresh;
+                markSynced();
+                listCount.incrementAndGet();
+                consecutiveFailures = 0;
+                logger.debug("Pod 목록 동기화: '{}' 레이블 Pod {}개", appLabel, podCount);
+
+                // 2. watch: resync 간격 동안 변경 이벤트 반영
+                source.watch(listing.resourceVersion(), resyncSeconds, this::applyEvent);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                consecutiveFailures++;
+                failureCount.incrementAndGet();
+                lastError = e.getMessage();
+                long backoff = Math.min(MAX_BACKOFF_MS, 1000L << Math.min(consecutiveFailures - 1, 5));
+                logger.error("Kubernetes Pod 동기화 실패 ({}회 연속). 캐시된 값({}개, {}ms 경과)을 유지하고 {}ms 후 재시도합니다. 에러: {}",
+                        consecutiveFailures, podCount, getStalenessMs(), backoff, e.getMessage());
+                try {
+                    TimeUnit.MILLISECONDS.sleep(backoff);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    private void applyEvent(PodWatchSource.PodEvent event) {
+        watchEventCount.incrementAndGet();
+        switch (event.type()) {
+            case ADDED, MODIFIED -> podNames.add(event.podName());
+            case DELETED -> podNames.remove(event.podName());
+        }
+        markSynced();
+        logger.debug("Pod 이벤트 {}: {} (현재 {}개)", event.type(), event.podName(), podCount);
+    }
+
+    private void markSynced() {
+        podCount = podNames.size();
+        lastSyncAt = System.currentTimeMillis();
+    }
+
+    /**
+     * 캐시된 Pod 수 (volatile 읽기). 한 번도 동기화되지 않았으면 0 을 반환합니다.
+     */
     public int getPodCount() {
         if (!isKubernetesClientAvailable) {
             logger.debug("K8s 클라이언트가 없어 Pod 수 조회를 건너뜁니다. 0을 반환합니다.");
             return 0;
         }
-
-        try {
-            // [핵심 수정] 빌더 패턴을 사용하여 요청을 조립하고, 마지막에 .execute()로 실행합니다.
-            // 1. listNamespacedPod(namespace)로 요청 객체 생성
-            // 2. .labelSelector(appLabel)로 레이블 필터 조건 추가
-            // 3. .execute()로 API 요청을 실행하고 V1PodList 결과를 받음
-            V1PodList list = coreV1Api.listNamespacedPod(namespace)
-                                      .labelSelector(appLabel)
-                                      .execute();
-
-            int podCount = list.getItems().size();
-            // 이제 Java에서 수동으n로 필터링할 필요 없이,n K.ubernetes API가 직접 필터링해주므로 훨씬 효율적입니다.
-            logger.info("Pod 수 조회 성공: '{}' 레이블을 가진 Pod {}개를 찾았습니다.", appLabel, podCount);
-            return podCount;
-
-        } catch (ApiException e) {
-            logger.error("Kubernetes API 호출 중 오류가 발생했습니다. Pod 수를 0으로 간주합니다. (HTTP Status: {}, Body: {})", e.getCode(), e.getResponseBody());
-            return 0;
+        long staleness = getStalenessMs();
+        if (staleness > staleWarningMs) {
+            logger.debug("Pod 수 캐시가 {}ms 동안 갱신되지 않았습니다. 캐시된 값 {}개를 사용합니다.", staleness, podCount);
         }
+        return podCount;
+    }
+
+    /**
+     * 마지막 동기화(list 또는 watch 이벤트) 이후 경과 시간(ms). 동기화된 적이 없으면 -1
+     */
+    public long getStalenessMs() {
+        long syncedAt = lastSyncAt;
+        return syncedAt == 0 ? -1 : System.currentTimeMillis() - syncedAt;
     }
 
     public boolean isKubernetesClientAvailable() {
         return this.isKubernetesClientAvailable;
     }
-}
\ No newline at end of file
+
+    /**
+     * 📊 informer 상태/통계
+     */
+    public Map<String, Object> getInformerStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("kubernetesAvailable", isKubernetesClientAvailable);
+        stats.put("running", running);
+        stats.put("podCount", podCount);
+        stats.put("podNames", Set.copyOf(podNames));
+        stats.put("stalenessMs", getStalenessMs());
+        stats.put("stale", getStalenessMs() > staleWarningMs);
+        stats.put("resyncSeconds", resyncSeconds);
+        stats.put("listCount", listCount.get());
+        stats.put("watchEvents", watchEventCount.get());
+        stats.put("failures", failureCount.get());
+        stats.put("lastError", lastError);
+        return stats;
+    }
+}
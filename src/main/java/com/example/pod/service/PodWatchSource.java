@@ -0,0 +1,34 @@
+package com.example.pod.service;
+
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Pod 목록 조회(list)와 변경 감시(watch)를 추상화한 소스.
+ * 운영에서는 Kubernetes API 구현을 사용하고, 테스트에서는 가짜 소스를 주입할 수 있습니다.
+ */
+public interface PodWatchSource {
+
+    /**
+     * 현재 Pod 목록과 그 시점의 resourceVersion 을 조회합니다.
+     */
+    PodListing list() throws Exception;
+
+    /**
+     * resourceVersion 이후의 변경 이벤트를 handler 로 전달합니다.
+     * 감시가 끝나면(타임아웃, 연결 종료, 410 Gone 등) 반환하며, 호출자는 다시 list 부터 시작합니다.
+     */
+    void watch(String resourceVersion, int timeoutSeconds, Consumer<PodEvent> handler) throws Exception;
+
+    record PodListing(Set<String> podNames, String resourceVersion) {
+    }
+
+    record PodEvent(Type type, String podName, String resourceVersion) {
+
+        public enum Type {
+            ADDED,
+            MODIFIED,
+            DELETED
+        }
+    }
+}
@@ -0,0 +1,24 @@
+-- KEYS[1]: waiting ZSET, KEYS[2]: active ZSET, KEYS[3]: leases HASH, KEYS[4]: lease_expiry ZSET,
+-- KEYS[5]: freed_at LIST, KEYS[6]: slot_idle HASH
+-- ARGV[1]: count, ARGV[2]: now, ARGV[3]: maxActive
+local waitingKey = KEYS[1]
+local activeKey  = KEYS[2]
+local leasesKey  = KEYS[3]
+local expiryKey  = KEYS[4]
+local freedKey   = KEYS[5]
+local idleKey    = KEYS[6]
+local count      = tonumber(ARGV[1])
+local now        = tonumber(ARGV[2])
+local maxActive  = tonumber(ARGV[3])
+
+-- 임대 중인 슬롯을 빼고 실제 남은 자리만큼만 승격
+local outstanding = reclaimAndSumLeases(leasesKey, expiryKey, now)
+count = math.min(count, maxActive - redis.call('ZCARD', activeKey) - outstanding)
+
+-- 대기열에서 다음 사용자들 가져오기
+local admitted = zsetAdmitNext(waitingKey, activeKey, count, now)
+recordSlotFills(freedKey, idleKey, #admitted, now)
+if redis.call('ZCARD', waitingKey) == 0 then
+  redis.call('DEL', freedKey)
+end
+return admitted
@@ -0,0 +1,25 @@
+-- 한 번의 왕복으로 끝나는 입장 처리
+-- KEYS[1]: active ZSET, KEYS[2]: waiting ZSET, KEYS[3]: leases HASH, KEYS[4]: lease_expiry ZSET, KEYS[5]: by_session HASH
+-- ARGV[1]: maxActive, ARGV[2]: member "requestId:sessionId", ARGV[3]: now
+-- 반환: {1, 'SUCCESS', activeCount, totalWaiting, member, reused} | {2, 'QUEUED', rank, totalWaiting, activeCount, member, reused}
+local activeKey  = KEYS[1]
+local waitingKey = KEYS[2]
+local leasesKey  = KEYS[3]
+local expiryKey  = KEYS[4]
+local maxActive  = tonumber(ARGV[1])
+local member     = ARGV[2]
+local now        = tonumber(ARGV[3])
+
+-- WRONGTYPE 방어: ZSET 이 아닌 키는 삭제 후 재생성 (기존 ensureKeyType 의 TYPE 호출을 서버 측으로 이동)
+local function ensureZset(key)
+  local keyType = redis.call('TYPE', key)['ok']
+  if keyType ~= 'none' and keyType ~= 'zset' then
+    redis.call('DEL', key)
+  end
+end
+ensureZset(activeKey)
+ensureZset(waitingKey)
+
+-- 다른 Pod 이 임대 중인 슬롯은 이미 사용 중인 자리로 계산
+local outstanding = reclaimAndSumLeases(leasesKey, expiryKey, now)
+return zsetEnterOne(activeKey, waitingKey, KEYS[5], maxActive - outstanding, member, now, now)
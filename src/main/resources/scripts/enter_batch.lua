@@ -0,0 +1,28 @@
+-- 여러 명의 입장을 한 번의 왕복으로 처리 (같은 영화, 요청 순서대로)
+-- KEYS[1]: active ZSET, KEYS[2]: waiting ZSET, KEYS[3]: leases HASH, KEYS[4]: lease_expiry ZSET, KEYS[5]: by_session HASH
+-- ARGV[1]: maxActive, ARGV[2]: now, ARGV[3..]: member "requestId:sessionId"
+-- 반환: 요청 순서대로 enter.lua 와 같은 형식의 결과 목록
+local activeKey  = KEYS[1]
+local waitingKey = KEYS[2]
+local leasesKey  = KEYS[3]
+local expiryKey  = KEYS[4]
+local maxActive  = tonumber(ARGV[1])
+local now        = tonumber(ARGV[2])
+
+local function ensureZset(key)
+  local keyType = redis.call('TYPE', key)['ok']
+  if keyType ~= 'none' and keyType ~= 'zset' then
+    redis.call('DEL', key)
+  end
+end
+ensureZset(activeKey)
+ensureZset(waitingKey)
+
+local capacity = maxActive - reclaimAndSumLeases(leasesKey, expiryKey, now)
+local results = {}
+for i = 3, #ARGV do
+  -- 같은 시각에 들어온 요청도 배치 안의 순서대로 줄 세움 (score 에 0.001ms 단위 오프셋)
+  local score = now + (i - 3) * 0.001
+  table.insert(results, zsetEnterOne(activeKey, waitingKey, KEYS[5], capacity, ARGV[i], now, score))
+end
+return results
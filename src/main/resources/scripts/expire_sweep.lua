@@ -0,0 +1,18 @@
+-- 만료 세션 정리 (ZSET 모드): 입장 시각이 threshold 이하인 활성 세션을 최대 limit 명 제거하고
+-- 같은 스크립트 안에서 비워진 자리만큼 대기자를 승격. 조회와 제거 사이에 다른 승격이 끼어들 수 없음
+-- KEYS: leave.lua 와 같음 (active, waiting, leases, lease_expiry, freed_at, slot_idle, session_stats, by_session, admitted_at)
+-- ARGV[1]: maxActive, ARGV[2]: now, ARGV[3]: promote (1 / 0), ARGV[4]: threshold, ARGV[5]: limit
+-- 반환: {만료된 member 목록, 승격된 member 목록, more (1 이면 threshold 이하가 더 남아 있을 수 있음)}
+local maxActive = tonumber(ARGV[1])
+local now       = tonumber(ARGV[2])
+local promote   = ARGV[3] == '1'
+local limit     = tonumber(ARGV[5])
+
+local expired = redis.call('ZRANGEBYSCORE', KEYS[1], '-inf', ARGV[4], 'LIMIT', 0, limit)
+for i = 1, #expired do
+  releaseActive(KEYS[1], KEYS[9], KEYS[7], expired[i], now, true)
+  unbindSession(KEYS[8], expired[i])
+end
+
+local promoted = zsetFillVacancies(KEYS, maxActive, #expired, now, promote)
+return {expired, promoted, #expired == limit and 1 or 0}
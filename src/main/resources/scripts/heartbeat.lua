@@ -0,0 +1,16 @@
+-- 활성 세션 heartbeat 일괄 반영: 이미 활성인 member 의 점수(마지막 활동 시각)를 더 큰 값으로만 갱신
+-- 퇴장/만료된 member 는 XX 로 다시 추가되지 않고, 늦게 도착한 heartbeat 는 GT 로 무시됨 (Redis 6.2+)
+-- 점수가 처음 바뀌기 전의 값은 입장 시각이므로 admitted_at HASH 에 남겨둠 (세션 시간 통계는 이 값으로 계산)
+-- KEYS[1]: active ZSET, KEYS[2]: admitted_at HASH
+-- ARGV: score1, member1, score2, member2, ...
+-- 반환: {갱신된 member 수}
+if #ARGV == 0 then
+  return {0}
+end
+for i = 2, #ARGV, 2 do
+  local admittedAt = redis.call('ZSCORE', KEYS[1], ARGV[i])
+  if admittedAt then
+    redis.call('HSETNX', KEYS[2], ARGV[i], admittedAt)
+  end
+end
+return {redis.call('ZADD', KEYS[1], 'XX', 'GT', 'CH', unpack(ARGV))}
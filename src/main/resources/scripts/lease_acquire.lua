@@ -0,0 +1,35 @@
+-- Pod 단위 입장 슬롯 임대(lease) 획득
+-- KEYS[1]: active ZSET, KEYS[2]: waiting ZSET, KEYS[3]: leases HASH, KEYS[4]: lease_expiry ZSET
+-- ARGV[1]: maxActive, ARGV[2]: podId, ARGV[3]: blockSize, ARGV[4]: now, ARGV[5]: ttlMs
+-- 반환: {granted, podRemaining, expiresAt}
+local activeKey  = KEYS[1]
+local waitingKey = KEYS[2]
+local leasesKey  = KEYS[3]
+local expiryKey  = KEYS[4]
+local maxActive  = tonumber(ARGV[1])
+local podId      = ARGV[2]
+local blockSize  = tonumber(ARGV[3])
+local now        = tonumber(ARGV[4])
+local ttlMs      = tonumber(ARGV[5])
+
+-- 만료된(반납되지 않은) 임대 회수 - Pod 이 죽은 경우 대비
+local outstanding = reclaimAndSumLeases(leasesKey, expiryKey, now)
+
+local podRemaining = tonumber(redis.call('HGET', leasesKey, podId) or '0')
+
+-- 대기자가 있으면 임대하지 않음 (새 입장자가 대기자를 앞지르지 않도록)
+if redis.call('ZCARD', waitingKey) > 0 then
+  return {0, podRemaining, 0}
+end
+
+-- 다른 Pod 들이 이미 임대한 슬롯까지 빼고 남은 자리 계산
+local free = maxActive - redis.call('ZCARD', activeKey) - outstanding
+local granted = math.min(blockSize, free)
+if granted <= 0 then
+  return {0, podRemaining, 0}
+end
+
+local expiresAt = now + ttlMs
+podRemaining = redis.call('HINCRBY', leasesKey, podId, granted)
+redis.call('ZADD', expiryKey, expiresAt, podId)
+return {granted, podRemaining, expiresAt}
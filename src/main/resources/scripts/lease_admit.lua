@@ -0,0 +1,41 @@
+-- 임대받은 슬롯으로 입장 (멤버십 쓰기만 수행)
+-- KEYS[1]: active ZSET, KEYS[2]: waiting ZSET, KEYS[3]: leases HASH, KEYS[4]: lease_expiry ZSET, KEYS[5]: by_session HASH
+-- ARGV[1]: podId, ARGV[2]: member, ARGV[3]: now
+-- 반환: {1, 'SUCCESS', activeCount, member, reused} | {0, 'QUEUE_NOT_EMPTY' | 'NO_LEASE'}
+local activeKey  = KEYS[1]
+local waitingKey = KEYS[2]
+local leasesKey  = KEYS[3]
+local expiryKey  = KEYS[4]
+local podId      = ARGV[1]
+local member     = ARGV[2]
+local now        = tonumber(ARGV[3])
+
+-- 같은 세션이 이미 활성 중이면 임대 슬롯을 쓰지 않고 기존 member 반환 (대기 중이면 아래에서 일반 경로로 넘어감)
+local existing = redis.call('HGET', KEYS[5], sessionOf(member))
+if existing and redis.call('ZSCORE', activeKey, existing) then
+  return {1, 'SUCCESS', redis.call('ZCARD', activeKey), existing, 1}
+end
+
+-- 대기자가 생겼으면 임대를 반납하고 일반 입장 경로로 넘김
+if redis.call('ZCARD', waitingKey) > 0 then
+  redis.call('HDEL', leasesKey, podId)
+  redis.call('ZREM', expiryKey, podId)
+  return {0, 'QUEUE_NOT_EMPTY'}
+end
+
+-- 만료로 회수되었으면 사용할 수 없음
+reclaimAndSumLeases(leasesKey, expiryKey, now)
+local remaining = tonumber(redis.call('HGET', leasesKey, podId) or '0')
+if remaining <= 0 then
+  return {0, 'NO_LEASE'}
+end
+
+if remaining == 1 then
+  redis.call('HDEL', leasesKey, podId)
+  redis.call('ZREM', expiryKey, podId)
+else
+  redis.call('HINCRBY', leasesKey, podId, -1)
+end
+redis.call('ZADD', activeKey, now, member)
+bindSession(KEYS[5], member)
+return {1, 'SUCCESS', redis.call('ZCARD', activeKey), member, 0}
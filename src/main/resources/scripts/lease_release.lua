@@ -0,0 +1,12 @@
+-- 사용하지 않은 임대 슬롯 반납
+-- KEYS[1]: leases HASH, KEYS[2]: lease_expiry ZSET
+-- ARGV[1]: podId
+-- 반환: {released}
+local leasesKey = KEYS[1]
+local expiryKey = KEYS[2]
+local podId     = ARGV[1]
+
+local released = tonumber(redis.call('HGET', leasesKey, podId) or '0')
+redis.call('HDEL', leasesKey, podId)
+redis.call('ZREM', expiryKey, podId)
+return {released}
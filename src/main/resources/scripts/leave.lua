@@ -0,0 +1,20 @@
+-- 퇴장/세션 만료 처리: 활성·대기열에서 제거하고, 빈자리가 생기면 같은 스크립트 안에서 바로 대기자를 승격
+-- KEYS[1]: active ZSET, KEYS[2]: waiting ZSET, KEYS[3]: leases HASH, KEYS[4]: lease_expiry ZSET,
+-- KEYS[5]: freed_at LIST, KEYS[6]: slot_idle HASH, KEYS[7]: session_stats HASH, KEYS[8]: by_session HASH,
+-- KEYS[9]: admitted_at HASH
+-- ARGV[1]: maxActive, ARGV[2]: now, ARGV[3]: promote (1 이면 즉시 승격, 0 이면 주기 처리기에 맡김),
+-- ARGV[4]: cause ('leave' | 'timeout'), ARGV[5..]: member
+-- 반환: 승격된 member 목록
+local maxActive = tonumber(ARGV[1])
+local now       = tonumber(ARGV[2])
+local promote   = ARGV[3] == '1'
+local timeout   = ARGV[4] == 'timeout'
+
+local freed = 0
+for i = 5, #ARGV do
+  freed = freed + releaseActive(KEYS[1], KEYS[9], KEYS[7], ARGV[i], now, timeout)
+  redis.call('ZREM', KEYS[2], ARGV[i])
+  unbindSession(KEYS[8], ARGV[i])
+end
+
+return zsetFillVacancies(KEYS, maxActive, freed, now, promote)
@@ -0,0 +1,17 @@
+-- [공통] ZSET 모드 대기자 승격 (admit_next.lua / leave.lua)
+-- 대기열 앞에서부터 count 명을 활성 세션으로 옮기고 승격된 member 목록을 반환
+local function zsetAdmitNext(waitingKey, activeKey, count, now)
+  local admitted = {}
+  if count <= 0 then
+    return admitted
+  end
+  local waitingUsers = redis.call('ZRANGE', waitingKey, 0, count - 1)
+  for i = 1, #waitingUsers do
+    local user = waitingUsers[i]
+    -- 대기열에서 제거 후 활성 세션에 추가
+    redis.call('ZREM', waitingKey, user)
+    redis.call('ZADD', activeKey, now, user)
+    table.insert(admitted, user)
+  end
+  return admitted
+end
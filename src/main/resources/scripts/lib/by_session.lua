@@ -0,0 +1,19 @@
+-- [공통] 세션별 현재 member 매핑 (sessions:{id}:by_session HASH, sessionId → member "requestId:sessionId")
+-- 같은 세션의 재요청은 requestId 가 달라도 기존 member 의 입장/대기 상태를 그대로 돌려줌 (입장 멱등성)
+-- 퇴장/만료 시 매핑을 지우며, 지워지지 않은 매핑은 다음 입장 때 member 가 활성/대기에 없으면 덮어씀
+
+local function sessionOf(member)
+  return string.match(member, '^[^:]*:(.*)$') or member
+end
+
+local function bindSession(bySessionKey, member)
+  redis.call('HSET', bySessionKey, sessionOf(member), member)
+end
+
+-- 매핑이 이 member 를 가리킬 때만 삭제 (같은 세션의 더 새로운 member 매핑은 유지)
+local function unbindSession(bySessionKey, member)
+  local sessionId = sessionOf(member)
+  if redis.call('HGET', bySessionKey, sessionId) == member then
+    redis.call('HDEL', bySessionKey, sessionId)
+  end
+end
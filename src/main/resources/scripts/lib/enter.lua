@@ -0,0 +1,28 @@
+-- [공통] ZSET 모드 1명 입장 처리 (enter.lua / enter_batch.lua)
+-- capacity: 최대 세션 수에서 다른 Pod 이 임대 중인 슬롯을 뺀 값, score: 대기열 점수(진입 시각)
+-- 같은 세션이 이미 활성/대기 중이면 ZSET 을 건드리지 않고 기존 member 의 상태를 반환
+-- 반환: {1, 'SUCCESS', activeCount, totalWaiting, member, reused} | {2, 'QUEUED', rank, totalWaiting, activeCount, member, reused}
+local function zsetEnterOne(activeKey, waitingKey, bySessionKey, capacity, member, now, score)
+  local existing = redis.call('HGET', bySessionKey, sessionOf(member))
+  if existing then
+    if redis.call('ZSCORE', activeKey, existing) then
+      return {1, 'SUCCESS', redis.call('ZCARD', activeKey), redis.call('ZCARD', waitingKey), existing, 1}
+    end
+    local existingRank = redis.call('ZRANK', waitingKey, existing)
+    if existingRank then
+      return {2, 'QUEUED', existingRank + 1, redis.call('ZCARD', waitingKey), redis.call('ZCARD', activeKey), existing, 1}
+    end
+  end
+
+  local activeCount = redis.call('ZCARD', activeKey)
+  bindSession(bySessionKey, member)
+  if activeCount < capacity then
+    -- 즉시 활성 세션으로 추가
+    redis.call('ZADD', activeKey, now, member)
+    return {1, 'SUCCESS', activeCount + 1, redis.call('ZCARD', waitingKey), member, 0}
+  end
+  -- 대기열에 추가
+  redis.call('ZADD', waitingKey, score, member)
+  local rank = redis.call('ZRANK', waitingKey, member)
+  return {2, 'QUEUED', rank + 1, redis.call('ZCARD', waitingKey), activeCount, member, 0}
+end
@@ -0,0 +1,20 @@
+-- [공통] Pod 단위 입장 슬롯 임대(lease) 유틸리티
+-- leases HASH (podId → 남은 슬롯 수), lease_expiry ZSET (podId → 만료 시각)
+
+-- 만료된(반납되지 않은) 임대를 회수하고, 남아 있는 임대 슬롯 합계를 반환
+local function reclaimAndSumLeases(leasesKey, expiryKey, now)
+  local expiredPods = redis.call('ZRANGEBYSCORE', expiryKey, '-inf', now)
+  for i = 1, #expiredPods do
+    redis.call('HDEL', leasesKey, expiredPods[i])
+  end
+  if #expiredPods > 0 then
+    redis.call('ZREMRANGEBYSCORE', expiryKey, '-inf', now)
+  end
+
+  local outstanding = 0
+  local leased = redis.call('HVALS', leasesKey)
+  for i = 1, #leased do
+    outstanding = outstanding + tonumber(leased[i])
+  end
+  return outstanding
+end
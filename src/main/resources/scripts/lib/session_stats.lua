@@ -0,0 +1,22 @@
+-- [공통] 활성 세션 종료 처리와 종료 통계 (leave.lua / ticket_leave.lua)
+-- sessions:{id}:session_stats HASH 에 누적: completed / session_ms (퇴장), timeouts (만료)
+-- 승격 배치 조절기(AdaptivePromotionController)가 주기적으로 읽어 변화량을 사용
+-- 활성 ZSET 점수는 heartbeat 로 마지막 활동 시각이 되므로, 입장 시각은 admitted_at HASH 를 먼저 봄
+-- (heartbeat 를 한 번도 보내지 않은 세션은 HASH 에 없고 점수가 그대로 입장 시각)
+-- 반환: 활성 세션에서 제거했으면 1, 아니면 0
+local function releaseActive(activeKey, admittedKey, statsKey, member, now, timeout)
+  local score = redis.call('ZSCORE', activeKey, member)
+  if not score then
+    return 0
+  end
+  local admittedAt = redis.call('HGET', admittedKey, member) or score
+  redis.call('ZREM', activeKey, member)
+  redis.call('HDEL', admittedKey, member)
+  if timeout then
+    redis.call('HINCRBY', statsKey, 'timeouts', 1)
+  else
+    redis.call('HINCRBY', statsKey, 'completed', 1)
+    redis.call('HINCRBY', statsKey, 'session_ms', math.max(0, math.floor(now - tonumber(admittedAt))))
+  end
+  return 1
+end
@@ -0,0 +1,33 @@
+-- [공통] 빈자리 대기 시간(slot idle time) 측정
+-- 대기자가 있는데 비워진 자리는 freed_at LIST 에 비워진 시각을 쌓고,
+-- 대기자가 승격되어 자리가 채워질 때 가장 오래된 시각을 꺼내 slot_idle HASH 에 누적
+-- (samples / total_ms / max_ms). 대기자가 없을 때 빈자리는 낭비가 아니므로 측정하지 않음
+-- 모든 승격 경로가 recordSlotFills 를 거치므로 누적 승격 수(promoted)도 같은 HASH 에 기록 (입장 속도 추정용)
+local FREED_SLOTS_LIMIT = 10000
+
+local function recordFreedSlots(freedKey, n, now)
+  for i = 1, n do
+    redis.call('RPUSH', freedKey, now)
+  end
+  if n > 0 then
+    redis.call('LTRIM', freedKey, -FREED_SLOTS_LIMIT, -1)
+  end
+end
+
+local function recordSlotFills(freedKey, idleKey, n, now)
+  if n > 0 then
+    redis.call('HINCRBY', idleKey, 'promoted', n)
+  end
+  for i = 1, n do
+    local freedAt = redis.call('LPOP', freedKey)
+    if not freedAt then
+      return
+    end
+    local idle = math.max(0, now - tonumber(freedAt))
+    redis.call('HINCRBY', idleKey, 'samples', 1)
+    redis.call('HINCRBY', idleKey, 'total_ms', idle)
+    if idle > tonumber(redis.call('HGET', idleKey, 'max_ms') or '0') then
+      redis.call('HSET', idleKey, 'max_ms', idle)
+    end
+  end
+end
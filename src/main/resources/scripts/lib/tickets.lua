@@ -0,0 +1,77 @@
+-- [공통] 번호표(ticket) 대기열 유틸리티
+-- ticket_seq(마지막 발급 번호), ticket_cursor(입장 처리된 마지막 번호),
+-- tickets HASH (member → ticket), ticket_members HASH (ticket → member),
+-- departed ZSET (입장 전에 이탈한 ticket, cursor 보다 큰 번호만 유지)
+
+-- 현재 대기 인원 = 발급 번호 - 커서 - 이탈자 수 (O(1))
+local function ticketWaitingCount(seqKey, cursorKey, departedKey)
+  local seq = tonumber(redis.call('GET', seqKey) or '0')
+  local cursor = tonumber(redis.call('GET', cursorKey) or '0')
+  return seq - cursor - redis.call('ZCARD', departedKey)
+end
+
+-- 대기 순번 = ticket - 커서 - 앞선 이탈자 수 (O(log 이탈자))
+local function ticketRank(cursorKey, departedKey, ticket)
+  local cursor = tonumber(redis.call('GET', cursorKey) or '0')
+  return ticket - cursor - redis.call('ZCOUNT', departedKey, '-inf', '(' .. ticket)
+end
+
+-- 번호표 모드 1명 입장 처리 (ticket_enter.lua / ticket_enter_batch.lua)
+-- capacity: 최대 세션 수에서 다른 Pod 이 임대 중인 슬롯을 뺀 값
+-- 같은 세션이 이미 활성/대기 중이면 (requestId 가 달라도) 기존 member 의 상태를 반환하고 번호를 새로 발급하지 않음
+-- 반환: {1, 'SUCCESS', activeCount, totalWaiting, member, reused} | {2, 'QUEUED', rank, totalWaiting, activeCount, member, reused}
+local function ticketEnterOne(activeKey, seqKey, cursorKey, ticketsKey, membersKey, departedKey, bySessionKey,
+                              capacity, member, now)
+  local activeCount = redis.call('ZCARD', activeKey)
+
+  local existing = redis.call('HGET', bySessionKey, sessionOf(member))
+  if existing then
+    if redis.call('ZSCORE', activeKey, existing) then
+      return {1, 'SUCCESS', activeCount, ticketWaitingCount(seqKey, cursorKey, departedKey), existing, 1}
+    end
+    local existingTicket = redis.call('HGET', ticketsKey, existing)
+    if existingTicket then
+      local totalWaiting = ticketWaitingCount(seqKey, cursorKey, departedKey)
+      return {2, 'QUEUED', ticketRank(cursorKey, departedKey, tonumber(existingTicket)), totalWaiting, activeCount, existing, 1}
+    end
+  end
+
+  bindSession(bySessionKey, member)
+  if activeCount < capacity then
+    redis.call('ZADD', activeKey, now, member)
+    return {1, 'SUCCESS', activeCount + 1, ticketWaitingCount(seqKey, cursorKey, departedKey), member, 0}
+  end
+
+  -- 번호표 발급. 새 번호는 항상 가장 뒤이므로 순번 = 대기 인원
+  local ticket = redis.call('INCR', seqKey)
+  redis.call('HSET', ticketsKey, member, ticket)
+  redis.call('HSET', membersKey, ticket, member)
+  local totalWaiting = ticketWaitingCount(seqKey, cursorKey, departedKey)
+  return {2, 'QUEUED', totalWaiting, totalWaiting, activeCount, member, 0}
+end
+
+-- 번호표 모드 대기자 승격: 커서를 앞으로 옮기며 이탈한 번호는 건너뜀 (ticket_admit_next.lua / ticket_leave.lua)
+local function ticketAdmitNext(activeKey, seqKey, cursorKey, ticketsKey, membersKey, departedKey, count, now)
+  local admitted = {}
+  if count <= 0 then
+    return admitted
+  end
+  local seq = tonumber(redis.call('GET', seqKey) or '0')
+  local cursor = tonumber(redis.call('GET', cursorKey) or '0')
+
+  while #admitted < count and cursor < seq do
+    cursor = cursor + 1
+    local member = redis.call('HGET', membersKey, cursor)
+    if member then
+      redis.call('HDEL', membersKey, cursor)
+      redis.call('HDEL', ticketsKey, member)
+      redis.call('ZADD', activeKey, now, member)
+      table.insert(admitted, member)
+    end
+  end
+
+  -- 커서 뒤로 지나간 이탈 번호는 더 이상 순번 계산에 필요 없음
+  redis.call('SET', cursorKey, cursor)
+  redis.call('ZREMRANGEBYSCORE', departedKey, '-inf', cursor)
+  return admitted
+end
@@ -0,0 +1,39 @@
+-- [공통] 퇴장/만료로 생긴 빈자리 처리 (leave.lua / ticket_leave.lua / expire_sweep.lua / ticket_expire_sweep.lua)
+-- 대기자가 없으면 빈자리 측정 기록을 지우고, 있으면 비워진 시각을 기록한 뒤 promote 이면 같은 스크립트 안에서 바로 승격
+-- 다른 lib 함수를 쓰므로 AdmissionScriptRegistry.LIBRARIES 에서 마지막에 위치해야 함
+-- 반환: 승격된 member 목록
+
+-- keys: active, waiting, leases, lease_expiry, freed_at, slot_idle (leave.lua KEYS 순서)
+local function zsetFillVacancies(keys, maxActive, freed, now, promote)
+  if redis.call('ZCARD', keys[2]) == 0 then
+    -- 대기자가 없으면 빈자리는 낭비가 아님
+    redis.call('DEL', keys[5])
+    return {}
+  end
+  recordFreedSlots(keys[5], freed, now)
+  if not promote or freed == 0 then
+    return {}
+  end
+  local outstanding = reclaimAndSumLeases(keys[3], keys[4], now)
+  local admitted = zsetAdmitNext(keys[2], keys[1], maxActive - redis.call('ZCARD', keys[1]) - outstanding, now)
+  recordSlotFills(keys[5], keys[6], #admitted, now)
+  return admitted
+end
+
+-- keys: active, ticket_seq, ticket_cursor, tickets, ticket_members, departed, leases, lease_expiry, freed_at, slot_idle
+-- (ticket_leave.lua KEYS 순서)
+local function ticketFillVacancies(keys, maxActive, freed, now, promote)
+  if ticketWaitingCount(keys[2], keys[3], keys[6]) == 0 then
+    redis.call('DEL', keys[9])
+    return {}
+  end
+  recordFreedSlots(keys[9], freed, now)
+  if not promote or freed == 0 then
+    return {}
+  end
+  local outstanding = reclaimAndSumLeases(keys[7], keys[8], now)
+  local count = maxActive - redis.call('ZCARD', keys[1]) - outstanding
+  local admitted = ticketAdmitNext(keys[1], keys[2], keys[3], keys[4], keys[5], keys[6], count, now)
+  recordSlotFills(keys[9], keys[10], #admitted, now)
+  return admitted
+end
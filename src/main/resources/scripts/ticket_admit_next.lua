@@ -0,0 +1,19 @@
+-- 번호표 대기열 모드의 대기자 승격: 커서를 앞으로 옮기며 이탈한 번호는 건너뜀
+-- KEYS[1]: active ZSET, KEYS[2]: ticket_seq, KEYS[3]: ticket_cursor, KEYS[4]: tickets HASH,
+-- KEYS[5]: ticket_members HASH, KEYS[6]: departed ZSET, KEYS[7]: leases HASH, KEYS[8]: lease_expiry ZSET,
+-- KEYS[9]: freed_at LIST, KEYS[10]: slot_idle HASH
+-- ARGV[1]: count, ARGV[2]: now, ARGV[3]: maxActive
+-- 반환: 승격된 member 목록
+local count     = tonumber(ARGV[1])
+local now       = tonumber(ARGV[2])
+local maxActive = tonumber(ARGV[3])
+
+local outstanding = reclaimAndSumLeases(KEYS[7], KEYS[8], now)
+count = math.min(count, maxActive - redis.call('ZCARD', KEYS[1]) - outstanding)
+
+local admitted = ticketAdmitNext(KEYS[1], KEYS[2], KEYS[3], KEYS[4], KEYS[5], KEYS[6], count, now)
+recordSlotFills(KEYS[9], KEYS[10], #admitted, now)
+if ticketWaitingCount(KEYS[2], KEYS[3], KEYS[6]) == 0 then
+  redis.call('DEL', KEYS[9])
+end
+return admitted
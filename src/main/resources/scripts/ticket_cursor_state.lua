@@ -0,0 +1,63 @@
+-- 번호표 대기열의 커서 상태 조회 (커서 방식 순번 브로드캐스트용, 한 시점의 값을 원자적으로 읽음)
+-- KEYS[1]: ticket_seq, KEYS[2]: ticket_cursor, KEYS[3]: ticket_members HASH, KEYS[4]: departed ZSET
+-- ARGV[1]: newFrom (이 번호 이후가 새 대기자), ARGV[2]: refreshStep, ARGV[3]: refreshFrom (직전 호출의 refreshedTo),
+-- ARGV[4]: maxMembers, ARGV[5]: maxDeparted, ARGV[6]: maxScan (한 번에 확인할 최대 번호 수, 두 구간 합계)
+-- 대량 이탈 뒤에는 번호 범위가 비어 있어 member 를 모으기 전에 범위 전체를 훑을 수 있으므로,
+-- 확인한 번호 수를 maxScan 으로 제한하고 멈춘 위치(scannedTo / refreshedTo)를 돌려줘 다음 호출이 이어서 확인함
+-- 반환: {seq, cursor, departedCount, departed 목록 (maxDeparted 초과 시 빈 목록), {ticket, member, ...}, scannedTo, refreshedTo}
+local seqKey      = KEYS[1]
+local cursorKey   = KEYS[2]
+local membersKey  = KEYS[3]
+local departedKey = KEYS[4]
+local newFrom     = tonumber(ARGV[1])
+local refreshStep = tonumber(ARGV[2])
+local refreshFrom = tonumber(ARGV[3])
+local maxMembers  = tonumber(ARGV[4])
+local maxDeparted = tonumber(ARGV[5])
+local budget      = tonumber(ARGV[6])
+
+local seq = tonumber(redis.call('GET', seqKey) or '0')
+local cursor = tonumber(redis.call('GET', cursorKey) or '0')
+local departedCount = redis.call('ZCARD', departedKey)
+local departed = {}
+if departedCount <= maxDeparted then
+  departed = redis.call('ZRANGE', departedKey, 0, -1)
+end
+
+local members = {}
+local collected = 0
+local function collect(ticket)
+  local member = redis.call('HGET', membersKey, ticket)
+  if member then
+    table.insert(members, ticket)
+    table.insert(members, member)
+    collected = collected + 1
+  end
+end
+
+-- 새로 발급된 번호 (이미 입장/이탈한 번호는 HASH 에 없으므로 건너뜀)
+local from = math.max(newFrom, cursor)
+local scannedTo = from
+while scannedTo < seq and collected < maxMembers and budget > 0 do
+  scannedTo = scannedTo + 1
+  budget = budget - 1
+  collect(scannedTo)
+end
+
+-- 기존 대기자 (cursor, from] 를 refreshStep 번의 호출에 한 바퀴 돌도록 refreshFrom 다음부터 연속으로 나눠 확인
+local refreshedTo = refreshFrom
+if refreshStep > 0 and from > cursor then
+  local quota = math.min(budget, math.ceil((from - cursor) / refreshStep))
+  local ticket = math.max(refreshFrom, cursor)
+  while quota > 0 and collected < maxMembers do
+    if ticket >= from then
+      ticket = cursor
+    end
+    ticket = ticket + 1
+    quota = quota - 1
+    collect(ticket)
+  end
+  refreshedTo = ticket
+end
+
+return {seq, cursor, departedCount, departed, members, scannedTo, refreshedTo}
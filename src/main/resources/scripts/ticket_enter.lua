@@ -0,0 +1,12 @@
+-- 번호표 대기열 모드의 입장 처리 (enter.lua 와 같은 반환 형식)
+-- KEYS[1]: active ZSET, KEYS[2]: ticket_seq, KEYS[3]: ticket_cursor, KEYS[4]: tickets HASH,
+-- KEYS[5]: ticket_members HASH, KEYS[6]: departed ZSET, KEYS[7]: leases HASH, KEYS[8]: lease_expiry ZSET,
+-- KEYS[9]: by_session HASH
+-- ARGV[1]: maxActive, ARGV[2]: member "requestId:sessionId", ARGV[3]: now
+-- 반환: {1, 'SUCCESS', activeCount, totalWaiting, member, reused} | {2, 'QUEUED', rank, totalWaiting, activeCount, member, reused}
+local maxActive = tonumber(ARGV[1])
+local member    = ARGV[2]
+local now       = tonumber(ARGV[3])
+
+local capacity = maxActive - reclaimAndSumLeases(KEYS[7], KEYS[8], now)
+return ticketEnterOne(KEYS[1], KEYS[2], KEYS[3], KEYS[4], KEYS[5], KEYS[6], KEYS[9], capacity, member, now)
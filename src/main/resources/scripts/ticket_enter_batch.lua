@@ -0,0 +1,13 @@
+-- 번호표 대기열 모드의 일괄 입장 처리 (같은 영화, 요청 순서대로 번호 발급)
+-- KEYS: ticket_enter.lua 와 동일
+-- ARGV[1]: maxActive, ARGV[2]: now, ARGV[3..]: member "requestId:sessionId"
+-- 반환: 요청 순서대로 ticket_enter.lua 와 같은 형식의 결과 목록
+local maxActive = tonumber(ARGV[1])
+local now       = tonumber(ARGV[2])
+
+local capacity = maxActive - reclaimAndSumLeases(KEYS[7], KEYS[8], now)
+local results = {}
+for i = 3, #ARGV do
+  table.insert(results, ticketEnterOne(KEYS[1], KEYS[2], KEYS[3], KEYS[4], KEYS[5], KEYS[6], KEYS[9], capacity, ARGV[i], now))
+end
+return results
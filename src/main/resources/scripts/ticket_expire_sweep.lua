@@ -0,0 +1,17 @@
+-- 만료 세션 정리 (번호표 모드): expire_sweep.lua 와 같고 승격만 번호표 커서로 처리
+-- KEYS: ticket_leave.lua 와 같음 (13개)
+-- ARGV[1]: maxActive, ARGV[2]: now, ARGV[3]: promote (1 / 0), ARGV[4]: threshold, ARGV[5]: limit
+-- 반환: {만료된 member 목록, 승격된 member 목록, more}
+local maxActive = tonumber(ARGV[1])
+local now       = tonumber(ARGV[2])
+local promote   = ARGV[3] == '1'
+local limit     = tonumber(ARGV[5])
+
+local expired = redis.call('ZRANGEBYSCORE', KEYS[1], '-inf', ARGV[4], 'LIMIT', 0, limit)
+for i = 1, #expired do
+  releaseActive(KEYS[1], KEYS[13], KEYS[11], expired[i], now, true)
+  unbindSession(KEYS[12], expired[i])
+end
+
+local promoted = ticketFillVacancies(KEYS, maxActive, #expired, now, promote)
+return {expired, promoted, #expired == limit and 1 or 0}
@@ -0,0 +1,33 @@
+-- 번호표 대기열 모드의 퇴장/세션 만료 처리
+-- 대기 중이었다면 번호를 이탈 목록에 기록하고, 활성 자리가 비면 같은 스크립트 안에서 바로 승격
+-- KEYS[1]: active ZSET, KEYS[2]: ticket_seq, KEYS[3]: ticket_cursor, KEYS[4]: tickets HASH,
+-- KEYS[5]: ticket_members HASH, KEYS[6]: departed ZSET, KEYS[7]: leases HASH, KEYS[8]: lease_expiry ZSET,
+-- KEYS[9]: freed_at LIST, KEYS[10]: slot_idle HASH, KEYS[11]: session_stats HASH, KEYS[12]: by_session HASH,
+-- KEYS[13]: admitted_at HASH
+-- ARGV[1]: maxActive, ARGV[2]: now, ARGV[3]: promote (1 / 0), ARGV[4]: cause ('leave' | 'timeout'), ARGV[5..]: member
+-- 반환: 승격된 member 목록
+local ticketsKey  = KEYS[4]
+local membersKey  = KEYS[5]
+local departedKey = KEYS[6]
+local maxActive   = tonumber(ARGV[1])
+local now         = tonumber(ARGV[2])
+local promote     = ARGV[3] == '1'
+local timeout     = ARGV[4] == 'timeout'
+
+local cursor = tonumber(redis.call('GET', KEYS[3]) or '0')
+local freed = 0
+for i = 5, #ARGV do
+  local member = ARGV[i]
+  freed = freed + releaseActive(KEYS[1], KEYS[13], KEYS[11], member, now, timeout)
+  unbindSession(KEYS[12], member)
+  local ticket = tonumber(redis.call('HGET', ticketsKey, member) or '0')
+  if ticket > 0 then
+    redis.call('HDEL', ticketsKey, member)
+    redis.call('HDEL', membersKey, ticket)
+    if ticket > cursor then
+      redis.call('ZADD', departedKey, ticket, ticket)
+    end
+  end
+end
+
+return ticketFillVacancies(KEYS, maxActive, freed, now, promote)
@@ -0,0 +1,20 @@
+-- 번호표 대기열 모드의 순번/대기 인원 조회 (대기열 ZSET 을 훑지 않음)
+-- KEYS[1]: ticket_seq, KEYS[2]: ticket_cursor, KEYS[3]: tickets HASH, KEYS[4]: departed ZSET
+-- ARGV[1]: member (대기 인원만 필요하면 빈 문자열)
+-- 반환: {rank (대기 중이 아니면 0), totalWaiting}
+local seqKey      = KEYS[1]
+local cursorKey   = KEYS[2]
+local ticketsKey  = KEYS[3]
+local departedKey = KEYS[4]
+local member      = ARGV[1]
+
+local totalWaiting = ticketWaitingCount(seqKey, cursorKey, departedKey)
+if member == '' then
+  return {0, totalWaiting}
+end
+
+local ticket = redis.call('HGET', ticketsKey, member)
+if not ticket then
+  return {0, totalWaiting}
+end
+return {ticketRank(cursorKey, departedKey, tonumber(ticket)), totalWaiting}
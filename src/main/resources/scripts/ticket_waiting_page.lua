@@ -0,0 +1,28 @@
+-- 번호표 대기열을 번호 순으로 한 페이지씩 읽음 (전체 순위 조회용, tickets HASH 전체 조회 대신)
+-- KEYS[1]: ticket_seq, KEYS[2]: ticket_cursor, KEYS[3]: ticket_members HASH, KEYS[4]: departed ZSET
+-- ARGV[1]: 마지막으로 확인한 번호 (처음이면 0), ARGV[2]: 한 번에 확인할 번호 수
+-- 반환: {다음에 이어 읽을 번호, 발급된 마지막 번호, {member, rank, member, rank, ...}}
+local seqKey      = KEYS[1]
+local cursorKey   = KEYS[2]
+local membersKey  = KEYS[3]
+local departedKey = KEYS[4]
+local from     = tonumber(ARGV[1])
+local pageSize = tonumber(ARGV[2])
+
+local seq = tonumber(redis.call('GET', seqKey) or '0')
+local cursor = tonumber(redis.call('GET', cursorKey) or '0')
+from = math.max(from, cursor)
+
+-- from 까지의 대기 인원 (departed 에는 cursor 이후 번호만 있음)
+local rank = from - cursor - redis.call('ZCOUNT', departedKey, '-inf', from)
+local page = {}
+local last = math.min(seq, from + pageSize)
+for ticket = from + 1, last do
+  local member = redis.call('HGET', membersKey, ticket)
+  if member then
+    rank = rank + 1
+    table.insert(page, member)
+    table.insert(page, rank)
+  end
+end
+return {last, seq, page}
@@ -0,0 +1,29 @@
+-- ZSET 대기열을 마지막으로 읽은 member 다음부터 한 페이지씩 읽음 (전체 순위 조회용, ZRANGE 0 -1 대신)
+-- 페이지 사이에 앞쪽이 승격/이탈해도 마지막 member 위치에서 이어 읽으므로 중복/누락이 없음
+-- KEYS[1]: waiting ZSET
+-- ARGV[1]: 마지막으로 읽은 member (처음이면 빈 문자열), ARGV[2]: 그 member 의 score, ARGV[3]: 페이지 크기
+-- 반환: {첫 member 의 0부터 시작하는 순번, {member, score, member, score, ...}}
+local waitingKey = KEYS[1]
+local lastMember = ARGV[1]
+local lastScore  = ARGV[2]
+local pageSize   = tonumber(ARGV[3])
+
+local start = 0
+if lastMember ~= '' then
+  local rank = redis.call('ZRANK', waitingKey, lastMember)
+  if rank then
+    start = rank + 1
+  else
+    -- 마지막 member 가 그 사이에 빠졌으면 (score, member) 순서상 그 뒤가 시작 위치
+    start = redis.call('ZCOUNT', waitingKey, '-inf', '(' .. lastScore)
+    for _, member in ipairs(redis.call('ZRANGEBYSCORE', waitingKey, lastScore, lastScore)) do
+      if member < lastMember then
+        start = start + 1
+      else
+        break
+      end
+    end
+  end
+end
+
+return {start, redis.call('ZRANGE', waitingKey, start, start + pageSize - 1, 'WITHSCORES')}
@@ -0,0 +1,56 @@
+package com.example.admission;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+/**
+ * 벤치마크용 측정 도우미.
+ * 벤치마크 메서드에는 {@link Benchmark} 를 붙여 -Dbenchmark=true 일 때만 실행되게 합니다.
+ *
+ *   ./mvnw test -Dbenchmark=true -Dgroups=benchmark
+ */
+public final class BenchmarkSupport {
+
+    public static final String TAG = "benchmark";
+
+    private BenchmarkSupport() {
+    }
+
+    /**
+     * 벤치마크 테스트. "benchmark" 태그가 붙고, -Dbenchmark=true 가 없으면 기본 테스트 실행에서 건너뜁니다.
+     */
+    @Target(ElementType.METHOD)
+    @Retention(RetentionPolicy.RUNTIME)
+    @Test
+    @Tag(TAG)
+    @EnabledIfSystemProperty(named = "benchmark", matches = "true", disabledReason = "-Dbenchmark=true 일 때만 실행")
+    public @interface Benchmark {
+    }
+
+    /**
+     * 현재 스레드 CPU 시간 (지원하지 않는 JVM 이면 -1)
+     */
+    public static long cpuNanos() {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        return threads.isCurrentThreadCpuTimeSupported() ? threads.getCurrentThreadCpuTime() : -1;
+    }
+
+    /**
+     * 현재 스레드가 지금까지 할당한 바이트 (HotSpot 이 아니면 -1)
+     */
+    public static long allocatedBytes() {
+        if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean threads
+                && threads.isThreadAllocatedMemorySupported()) {
+            return threads.getCurrentThreadAllocatedBytes();
+        }
+        return -1;
+    }
+}
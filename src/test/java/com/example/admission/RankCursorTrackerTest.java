@@ -0,0 +1,122 @@
+package com.example.admission;
+
+import com.example.admission.service.AdmissionService;
+import com.example.admission.store.AdmissionStore.TicketCursorState;
+import com.example.admission.ws.WebSocketUpdateService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.AdditionalMatchers.aryEq;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class RankCursorTrackerTest {
+
+    private static final String MOVIE = "movie-1";
+
+    private AdmissionService admissionService;
+    private WebSocketUpdateService webSocketUpdateService;
+    private RankCursorTracker tracker;
+
+    @BeforeEach
+    void setUp() {
+        admissionService = mock(AdmissionService.class);
+        webSocketUpdateService = mock(WebSocketUpdateService.class);
+        tracker = new RankCursorTracker(admissionService, webSocketUpdateService);
+    }
+
+    @Test
+    void differenceKeepsOnlyTicketsMissingFromPrevious() {
+        assertThat(RankCursorTracker.difference(new long[]{6, 8, 9}, new long[]{3, 6})).containsExactly(8, 9);
+        assertThat(RankCursorTracker.difference(new long[]{2, 4}, new long[]{})).containsExactly(2, 4);
+        assertThat(RankCursorTracker.difference(new long[]{}, new long[]{1, 2})).isEmpty();
+        assertThat(RankCursorTracker.difference(new long[]{1, 5, 7}, new long[]{1, 5, 7})).isEmpty();
+    }
+
+    @Test
+    void countBelowCountsStrictlySmallerTickets() {
+        long[] departed = {3, 6, 9};
+
+        assertThat(RankCursorTracker.countBelow(departed, 1)).isZero();
+        assertThat(RankCursorTracker.countBelow(departed, 6)).isEqualTo(1);
+        assertThat(RankCursorTracker.countBelow(departed, 7)).isEqualTo(2);
+        assertThat(RankCursorTracker.countBelow(departed, 10)).isEqualTo(3);
+        assertThat(RankCursorTracker.countBelow(new long[0], 10)).isZero();
+    }
+
+    @Test
+    void firstTickSendsBaselinesWithDepartedAhead() {
+        stubStates(state(10, 0, new long[]{3, 6}, Map.of(1L, "req-1:s", 4L, "req-4:s", 7L, "req-7:s")));
+
+        assertThat(tracker.broadcast(MOVIE)).isTrue();
+
+        verify(webSocketUpdateService).broadcastRankCursor(eq(MOVIE), anyLong(), eq(1L), eq(0L), eq(8L),
+                aryEq(new long[0]), eq(0L));
+        verify(webSocketUpdateService).notifyRankBaseline(eq("req-1"), eq(1L), eq(8L), any(), eq(1L), eq(0L), anyLong(), eq(1L));
+        verify(webSocketUpdateService).notifyRankBaseline(eq("req-4"), eq(3L), eq(8L), any(), eq(4L), eq(1L), anyLong(), eq(1L));
+        verify(webSocketUpdateService).notifyRankBaseline(eq("req-7"), eq(5L), eq(8L), any(), eq(7L), eq(2L), anyLong(), eq(1L));
+    }
+
+    @Test
+    void frameCarriesNewDeparturesAndThoseTheCursorPassed() {
+        stubStates(
+            state(10, 0, new long[]{3, 6}, Map.of()),
+            // 커서가 3 을 지나 5 까지 이동, 5 는 같은 틱에 이탈하고 바로 지나감, 8·9 새 이탈, 11·12 새 번호
+            state(12, 5, new long[]{6, 8, 9}, Map.of()));
+
+        tracker.broadcast(MOVIE);
+        tracker.broadcast(MOVIE);
+
+        // 대기 = 7, 10, 11, 12
+        verify(webSocketUpdateService).broadcastRankCursor(eq(MOVIE), anyLong(), eq(2L), eq(5L), eq(4L),
+                aryEq(new long[]{8, 9}), eq(1L));
+    }
+
+    @Test
+    void queueResetStartsNewEpochAsFirstTick() {
+        TicketCursorState reset = state(3, 0, new long[0], Map.of(1L, "req-1:s"));
+        stubStates(state(10, 4, new long[]{6}, Map.of()), reset, reset);
+
+        tracker.broadcast(MOVIE);
+        assertThat(tracker.broadcast(MOVIE)).isTrue();
+
+        ArgumentCaptor<Long> epochs = ArgumentCaptor.forClass(Long.class);
+        verify(webSocketUpdateService, times(2)).broadcastRankCursor(eq(MOVIE), epochs.capture(), eq(1L), anyLong(),
+                anyLong(), aryEq(new long[0]), eq(0L));
+        assertThat(epochs.getAllValues().get(1)).isNotEqualTo(epochs.getAllValues().get(0));
+        verify(webSocketUpdateService).notifyRankBaseline(eq("req-1"), eq(1L), eq(3L), any(), eq(1L), eq(0L),
+                eq(epochs.getAllValues().get(1)), eq(1L));
+        // 재시작한 틱은 처음부터 다시 훑음 (newFrom = 0)
+        verify(admissionService, times(2)).getTicketCursorState(eq(MOVIE), eq(0L), eq(0L), anyLong(), anyInt(),
+                anyInt(), anyInt());
+    }
+
+    @Test
+    void tooManyDeparturesFallsBackToPerWaiterUpdates() {
+        stubStates(state(10, 0, new long[]{3}, Map.of()),
+                new TicketCursorState(50_000, 0, 30_000, null, Map.of(), 0, 0));
+
+        tracker.broadcast(MOVIE);
+        assertThat(tracker.broadcast(MOVIE)).isFalse();
+
+        assertThat(tracker.isTracking(MOVIE)).isFalse();
+        verify(webSocketUpdateService, times(1)).broadcastRankCursor(any(), anyLong(), anyLong(), anyLong(), anyLong(),
+                any(), anyLong());
+    }
+
+    private void stubStates(TicketCursorState first, TicketCursorState... rest) {
+        when(admissionService.getTicketCursorState(eq(MOVIE), anyLong(), anyLong(), anyLong(), anyInt(), anyInt(),
+                anyInt())).thenReturn(first, rest);
+    }
+
+    private static TicketCursorState state(long seq, long cursor, long[] departed, Map<Long, String> members) {
+        return new TicketCursorState(seq, cursor, departed.length, departed, members, seq, cursor);
+    }
+}
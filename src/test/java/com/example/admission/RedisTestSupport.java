@@ -0,0 +1,53 @@
+package com.example.admission;
+
+import com.example.admission.service.AdmissionScriptRegistry;
+import io.lettuce.core.RedisURI;
+import org.junit.jupiter.api.Assumptions;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+/**
+ * 실제 Redis 가 필요한 테스트/벤치마크용 연결 도우미.
+ * 대상은 -Dadmission.test.redis=redis://host:port 로 지정하며 (기본 redis://localhost:6379),
+ * 연결할 수 없으면 테스트를 실패가 아닌 건너뜀으로 처리합니다.
+ * 테스트가 키를 만들고 지우므로 운영 Redis 를 지정하면 안 됩니다.
+ */
+public final class RedisTestSupport {
+
+    public static final String URL_PROPERTY = "admission.test.redis";
+
+    private RedisTestSupport() {
+    }
+
+    public static LettuceConnectionFactory connect() {
+        RedisURI uri = RedisURI.create(System.getProperty(URL_PROPERTY, "redis://localhost:6379"));
+        LettuceConnectionFactory factory = new LettuceConnectionFactory(
+                new RedisStandaloneConfiguration(uri.getHost(), uri.getPort()));
+        factory.afterPropertiesSet();
+        boolean reachable;
+        try (RedisConnection connection = factory.getConnection()) {
+            reachable = "PONG".equals(connection.ping());
+        } catch (RuntimeException e) {
+            reachable = false;
+        }
+        if (!reachable) {
+            factory.destroy();
+        }
+        Assumptions.assumeTrue(reachable, "Redis 에 연결할 수 없어 건너뜁니다: " + uri);
+        return factory;
+    }
+
+    public static StringRedisTemplate template(LettuceConnectionFactory factory) {
+        StringRedisTemplate template = new StringRedisTemplate(factory);
+        template.afterPropertiesSet();
+        return template;
+    }
+
+    public static AdmissionScriptRegistry scriptRegistry(StringRedisTemplate template, LettuceConnectionFactory factory) {
+        AdmissionScriptRegistry registry = new AdmissionScriptRegistry(template, factory);
+        registry.init();
+        return registry;
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.admission.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AdmissionControllerClientIpTest {
+
+    @Test
+    void usesAddressAppendedByTrustedProxyNotClientSuppliedEntry() {
+        MockHttpServletRequest request = request("10.0.0.1");
+        // 클라이언트가 임의로 넣은 1.2.3.4 뒤에 LB 가 실제 접속 주소를 붙임
+        request.addHeader("X-Forwarded-For", "1.2.3.4, 203.0.113.7");
+
+        assertThat(AdmissionController.clientIp(request, 1)).isEqualTo("203.0.113.7");
+    }
+
+    @Test
+    void countsHopsFromTheRightAcrossHeaderLines() {
+        MockHttpServletRequest request = request("10.0.0.1");
+        request.addHeader("X-Forwarded-For", "1.2.3.4, 203.0.113.7");
+        request.addHeader("X-Forwarded-For", "10.0.0.9");
+
+        assertThat(AdmissionController.clientIp(request, 2)).isEqualTo("203.0.113.7");
+    }
+
+    @Test
+    void fewerEntriesThanHopsUsesLeftmost() {
+        MockHttpServletRequest request = request("10.0.0.1");
+        request.addHeader("X-Forwarded-For", "203.0.113.7");
+
+        assertThat(AdmissionController.clientIp(request, 2)).isEqualTo("203.0.113.7");
+    }
+
+    @Test
+    void zeroHopsOrMissingHeaderUsesRemoteAddress() {
+        MockHttpServletRequest spoofed = request("198.51.100.2");
+        spoofed.addHeader("X-Forwarded-For", "1.2.3.4");
+
+        assertThat(AdmissionController.clientIp(spoofed, 0)).isEqualTo("198.51.100.2");
+        assertThat(AdmissionController.clientIp(request("198.51.100.2"), 1)).isEqualTo("198.51.100.2");
+    }
+
+    private static MockHttpServletRequest request(String remoteAddr) {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setRemoteAddr(remoteAddr);
+        return request;
+    }
+}
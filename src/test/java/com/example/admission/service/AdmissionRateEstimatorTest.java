@@ -0,0 +1,78 @@
+package com.example.admission.service;
+
+import com.example.admission.dto.WaitEstimate;
+import com.example.admission.store.AdmissionStore;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class AdmissionRateEstimatorTest {
+
+    private static final String MOVIE = "movie-1";
+
+    private final AtomicLong promoted = new AtomicLong();
+    private final AdmissionRateEstimator estimator;
+
+    AdmissionRateEstimatorTest() {
+        AdmissionStore store = mock(AdmissionStore.class);
+        when(store.movieIds()).thenReturn(Set.of(MOVIE));
+        when(store.promotedTotal(MOVIE)).thenAnswer(invocation -> promoted.get());
+        estimator = new AdmissionRateEstimator(store);
+    }
+
+    @Test
+    void batchedPromotionsGiveBandAroundEstimateNotAroundSampleSpread() {
+        // 2초마다 100명씩 승격, 1초마다 표본 → 표본은 0 / 100 을 오가고 실제 속도는 초당 50명
+        for (int second = 0; second <= 180; second++) {
+            if (second % 2 == 0) {
+                promoted.addAndGet(100);
+            }
+            estimator.sample(second * 1000L);
+        }
+
+        WaitEstimate estimate = estimator.estimate(MOVIE, 1000);
+
+        assertThat(estimate).isNotNull();
+        assertThat(estimate.admissionsPerSecond()).isCloseTo(50, within(3.0));
+        assertThat(estimate.seconds()).isBetween(19L, 21L);
+        // 표본 표준편차(≈50)로 구간을 만들면 하한 속도가 음수가 되어 상한이 없고 하한은 ETA 의 1/3 정도
+        assertThat(estimate.highSeconds()).isNotNull();
+        assertThat(estimate.lowSeconds()).isGreaterThanOrEqualTo(estimate.seconds() * 3 / 4);
+        assertThat(estimate.highSeconds()).isLessThanOrEqualTo(estimate.seconds() * 3 / 2);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void standardErrorShrinksWithEffectiveSampleCountOfHalfLife() {
+        for (int second = 0; second <= 180; second++) {
+            if (second % 2 == 0) {
+                promoted.addAndGet(100);
+            }
+            estimator.sample(second * 1000L);
+        }
+
+        Map<String, Object> state = (Map<String, Object>) ((Map<String, Object>) estimator.getState().get("movies")).get(MOVIE);
+        // 반감기 30초, 1초 표본 → 유효 표본 수 ≈ 2/α - 1 ≈ 87
+        assertThat((double) state.get("effectiveSamples")).isBetween(80.0, 90.0);
+        assertThat((double) state.get("stdError")).isLessThan((double) state.get("stdDev") / 8);
+    }
+
+    @Test
+    void noEstimateBeforeMinSamplesOrWhenStalled() {
+        estimator.sample(0);
+        estimator.sample(1000);
+        assertThat(estimator.estimate(MOVIE, 10)).isNull();
+
+        for (int second = 2; second <= 200; second++) {
+            estimator.sample(second * 1000L);
+        }
+        assertThat(estimator.estimate(MOVIE, 10)).isNull();
+    }
+}
@@ -0,0 +1,111 @@
+package com.example.admission.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class HashedTimingWheelTest {
+
+    // 10ms 칸 8개 = 한 바퀴 80ms
+    private final HashedTimingWheel<String> wheel = new HashedTimingWheel<>(10, 8);
+
+    @Test
+    void rejectsWheelSizeThatIsNotPowerOfTwo() {
+        assertThatThrownBy(() -> new HashedTimingWheel<String>(10, 6)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void firesOnFirstTickAtOrAfterDeadline() {
+        advance(0);
+        wheel.scheduleIfEarlier("a", 25);
+
+        assertThat(advance(20)).isEmpty();
+        assertThat(advance(29)).isEmpty();
+        assertThat(advance(30)).containsExactly("a");
+        assertThat(wheel.isScheduled("a")).isFalse();
+    }
+
+    @Test
+    void deadlineBeyondOneRoundWaitsForItsRound() {
+        advance(0);
+        wheel.scheduleIfEarlier("a", 165);
+
+        // 같은 칸을 80ms, 160ms 에 지나가도 마감 전이면 남아 있음
+        for (long now = 10; now <= 160; now += 10) {
+            assertThat(advance(now)).as("now=%d", now).isEmpty();
+        }
+        assertThat(advance(170)).containsExactly("a");
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    void deadlineInsideTickIsNotDelayedByAnotherRound() {
+        advance(0);
+        wheel.scheduleIfEarlier("a", 165);
+
+        // 마감이 속한 칸 중간에 처음 도달해도 다음 칸에서 바로 발화 (한 바퀴 뒤인 250ms 까지 밀리지 않음)
+        assertThat(advance(163)).isEmpty();
+        assertThat(advance(171)).containsExactly("a");
+    }
+
+    @Test
+    void fallingBehindMoreThanOneRoundChecksEveryBucketOnce() {
+        advance(0);
+        wheel.scheduleIfEarlier("a", 25);
+        wheel.scheduleIfEarlier("b", 55);
+        wheel.scheduleIfEarlier("far", 2_000);
+
+        // 100틱 밀림: from = max(lastTick + 1, currentTick - mask) 로 8칸만 확인
+        assertThat(advance(1_000)).containsExactlyInAnyOrder("a", "b");
+        assertThat(wheel.isScheduled("far")).isTrue();
+
+        assertThat(advance(1_990)).isEmpty();
+        assertThat(advance(2_000)).containsExactly("far");
+    }
+
+    @Test
+    void pastDeadlineFiresOnNextAdvance() {
+        advance(100);
+        wheel.scheduleIfEarlier("late", 30);
+
+        assertThat(advance(105)).isEmpty();
+        assertThat(advance(110)).containsExactly("late");
+    }
+
+    @Test
+    void cancelledEntryIsSkippedLazily() {
+        advance(0);
+        wheel.scheduleIfEarlier("a", 25);
+        wheel.cancel("a");
+
+        assertThat(wheel.isScheduled("a")).isFalse();
+        assertThat(wheel.size()).isZero();
+        assertThat(advance(100)).isEmpty();
+
+        // 취소 후 다시 등록하면 칸에 남은 예전 항목이 아닌 새 마감으로 발화
+        wheel.scheduleIfEarlier("a", 135);
+        assertThat(advance(130)).isEmpty();
+        assertThat(advance(140)).containsExactly("a");
+    }
+
+    @Test
+    void earlierDeadlineReplacesLaterOneAndStaleEntryIsIgnored() {
+        advance(0);
+        assertThat(wheel.scheduleIfEarlier("a", 50)).isTrue();
+        assertThat(wheel.scheduleIfEarlier("a", 70)).isFalse();
+        assertThat(wheel.scheduleIfEarlier("a", 20)).isTrue();
+
+        assertThat(advance(20)).containsExactly("a");
+        assertThat(advance(100)).isEmpty();
+    }
+
+    private List<String> advance(long now) {
+        List<String> expired = new ArrayList<>();
+        wheel.advance(now, expired::add);
+        return expired;
+    }
+}
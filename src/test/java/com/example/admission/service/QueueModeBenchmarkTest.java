@@ -0,0 +1,207 @@
+package com.example.admission.service;
+
+import com.example.admission.BenchmarkSupport.Benchmark;
+import com.example.admission.RedisTestSupport;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.DefaultTypedTuple;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+
+import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.IntConsumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * ZSET 대기열과 번호표 대기열의 비교 벤치마크.
+ *
+ * Redis 에 임시 영화 2개(bench-zset-*, bench-ticket-*)를 만들어 같은 수의 대기자를 채운 뒤
+ * 순번 조회 / 이탈 / 이탈 후 순번 조회 / 전체 순번 조회 / 승격 시간을 측정하고, 끝나면 키를 삭제합니다.
+ * 측정 전에 두 모드가 같은 대기자에게 같은 순번을 주는지 확인합니다. 전용 Redis 를 지정해 실행합니다.
+ *
+ *   ./mvnw test -Dbenchmark=true -Dtest=QueueModeBenchmarkTest -Dadmission.test.redis=redis://localhost:6379 \
+ *       -Dbenchmark.waiters=100000 -Dbenchmark.samples=1000
+ */
+class QueueModeBenchmarkTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(QueueModeBenchmarkTest.class);
+    private static final int SEED_CHUNK = 1000;
+    private static final int ADMIT_BATCH = 10;
+
+    private LettuceConnectionFactory connectionFactory;
+    private StringRedisTemplate redisTemplate;
+    private AdmissionScriptRegistry scriptRegistry;
+
+    @BeforeEach
+    void setUp() {
+        connectionFactory = RedisTestSupport.connect();
+        redisTemplate = RedisTestSupport.template(connectionFactory);
+        scriptRegistry = RedisTestSupport.scriptRegistry(redisTemplate, connectionFactory);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (connectionFactory != null) {
+            connectionFactory.destroy();
+        }
+    }
+
+    @Benchmark
+    @SuppressWarnings("unchecked")
+    void compareQueueModes() {
+        int waiters = Integer.getInteger("benchmark.waiters", 100_000);
+        Map<String, Object> result = run(waiters, Integer.getInteger("benchmark.samples", 1000));
+
+        Map<String, Object> zset = (Map<String, Object>) result.get("ZSET");
+        Map<String, Object> ticket = (Map<String, Object>) result.get("TICKET");
+        assertThat(zset.get("probeRank")).isEqualTo(waiters / 2 + 1L);
+        assertThat(ticket.get("probeRank")).isEqualTo(zset.get("probeRank"));
+        assertThat(ticket.keySet()).isEqualTo(zset.keySet());
+    }
+
+    private Map<String, Object> run(int waiters, int samples) {
+        String suffix = String.valueOf(System.currentTimeMillis());
+        String zsetMovie = "bench-zset-" + suffix;
+        String ticketMovie = "bench-ticket-" + suffix;
+        logger.info("⏱️ 대기열 모드 벤치마크 시작 - 대기자 {}명, 샘플 {}건", waiters, samples);
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("waiters", waiters);
+        result.put("samples", samples);
+        try {
+            result.put("ZSET", runZset(zsetMovie, waiters, samples));
+            result.put("TICKET", runTicket(ticketMovie, waiters, samples));
+        } finally {
+            cleanup(zsetMovie);
+            cleanup(ticketMovie);
+        }
+        logger.info("⏱️ 대기열 모드 벤치마크 완료: {}", result);
+        return result;
+    }
+
+    private Map<String, Object> runZset(String movieId, int waiters, int samples) {
+        String waitingKey = AdmissionKeys.waiting(movieId);
+        ZSetOperations<String, String> zSetOps = redisTemplate.opsForZSet();
+        Map<String, Object> stats = new LinkedHashMap<>();
+
+        long start = System.nanoTime();
+        for (int from = 0; from < waiters; from += SEED_CHUNK) {
+            Set<ZSetOperations.TypedTuple<String>> chunk = new HashSet<>();
+            for (int i = from; i < Math.min(from + SEED_CHUNK, waiters); i++) {
+                chunk.add(new DefaultTypedTuple<>(member(i), (double) i));
+            }
+            zSetOps.add(waitingKey, chunk);
+        }
+        stats.put("seedMs", elapsedMs(start));
+        stats.put("probeRank", zSetOps.rank(waitingKey, member(waiters / 2)) + 1);
+
+        // 순번 조회 = ZRANK + ZCARD (getUserRank + getTotalWaitingCount)
+        int[] picks = randomIndexes(waiters, samples);
+        stats.put("rankLookupAvgUs", timePerOp(picks, i -> {
+            zSetOps.rank(waitingKey, member(i));
+            zSetOps.zCard(waitingKey);
+        }));
+
+        int[] departures = randomIndexes(waiters, samples);
+        stats.put("leaveAvgUs", timePerOp(departures, i -> zSetOps.remove(waitingKey, member(i))));
+        stats.put("rankLookupAfterLeaveAvgUs", timePerOp(picks, i -> {
+            zSetOps.rank(waitingKey, member(i));
+            zSetOps.zCard(waitingKey);
+        }));
+
+        start = System.nanoTime();
+        zSetOps.range(waitingKey, 0, -1);
+        stats.put("allRanksMs", elapsedMs(start));
+
+        List<String> keys = Arrays.asList(waitingKey, AdmissionKeys.active(movieId),
+                AdmissionKeys.leases(movieId), AdmissionKeys.leaseExpiry(movieId),
+                AdmissionKeys.freedSlots(movieId), AdmissionKeys.slotIdle(movieId));
+        stats.put("admitBatchAvgUs", timePerOp(randomIndexes(waiters, samples / ADMIT_BATCH + 1), i ->
+                scriptRegistry.execute("admit_next", keys, ADMIT_BATCH, System.currentTimeMillis(), Long.MAX_VALUE)));
+        return stats;
+    }
+
+    private Map<String, Object> runTicket(String movieId, int waiters, int samples) {
+        Map<String, Object> stats = new LinkedHashMap<>();
+
+        // 대기자 i 는 번호표 i+1 을 받은 상태로 채움
+        long start = System.nanoTime();
+        for (int from = 0; from < waiters; from += SEED_CHUNK) {
+            Map<String, String> byMember = new HashMap<>();
+            Map<String, String> byTicket = new HashMap<>();
+            for (int i = from; i < Math.min(from + SEED_CHUNK, waiters); i++) {
+                byMember.put(member(i), String.valueOf(i + 1));
+                byTicket.put(String.valueOf(i + 1), member(i));
+            }
+            redisTemplate.opsForHash().putAll(AdmissionKeys.tickets(movieId), byMember);
+            redisTemplate.opsForHash().putAll(AdmissionKeys.ticketMembers(movieId), byTicket);
+        }
+        redisTemplate.opsForValue().set(AdmissionKeys.ticketSeq(movieId), String.valueOf(waiters));
+        stats.put("seedMs", elapsedMs(start));
+
+        List<String> statusKeys = Arrays.asList(AdmissionKeys.ticketSeq(movieId), AdmissionKeys.ticketCursor(movieId),
+                AdmissionKeys.tickets(movieId), AdmissionKeys.ticketDeparted(movieId));
+        List<String> ticketScriptKeys = Arrays.asList(AdmissionKeys.active(movieId), AdmissionKeys.ticketSeq(movieId),
+                AdmissionKeys.ticketCursor(movieId), AdmissionKeys.tickets(movieId), AdmissionKeys.ticketMembers(movieId),
+                AdmissionKeys.ticketDeparted(movieId), AdmissionKeys.leases(movieId), AdmissionKeys.leaseExpiry(movieId),
+                AdmissionKeys.freedSlots(movieId), AdmissionKeys.slotIdle(movieId));
+        List<String> leaveKeys = new ArrayList<>(ticketScriptKeys);
+        leaveKeys.add(AdmissionKeys.sessionStats(movieId));
+        leaveKeys.add(AdmissionKeys.bySession(movieId));
+        leaveKeys.add(AdmissionKeys.admittedAt(movieId));
+
+        List<Object> probe = scriptRegistry.execute("ticket_status", statusKeys, member(waiters / 2));
+        stats.put("probeRank", ((Number) probe.get(0)).longValue());
+
+        // 순번 조회 = ticket_status.lua 1회 (순번 + 대기 인원)
+        int[] picks = randomIndexes(waiters, samples);
+        stats.put("rankLookupAvgUs", timePerOp(picks, i -> scriptRegistry.execute("ticket_status", statusKeys, member(i))));
+
+        int[] departures = randomIndexes(waiters, samples);
+        stats.put("leaveAvgUs", timePerOp(departures, i ->
+                scriptRegistry.execute("ticket_leave", leaveKeys, Long.MAX_VALUE, System.currentTimeMillis(), 0, "leave", member(i))));
+        stats.put("rankLookupAfterLeaveAvgUs", timePerOp(picks, i -> scriptRegistry.execute("ticket_status", statusKeys, member(i))));
+
+        start = System.nanoTime();
+        redisTemplate.opsForHash().entries(AdmissionKeys.tickets(movieId));
+        stats.put("allRanksMs", elapsedMs(start));
+
+        stats.put("admitBatchAvgUs", timePerOp(randomIndexes(waiters, samples / ADMIT_BATCH + 1), i ->
+                scriptRegistry.execute("ticket_admit_next", ticketScriptKeys, ADMIT_BATCH, System.currentTimeMillis(), Long.MAX_VALUE)));
+        return stats;
+    }
+
+    private void cleanup(String movieId) {
+        redisTemplate.delete(Arrays.asList(AdmissionKeys.active(movieId), AdmissionKeys.waiting(movieId),
+                AdmissionKeys.leases(movieId), AdmissionKeys.leaseExpiry(movieId),
+                AdmissionKeys.ticketSeq(movieId), AdmissionKeys.ticketCursor(movieId), AdmissionKeys.tickets(movieId),
+                AdmissionKeys.ticketMembers(movieId), AdmissionKeys.ticketDeparted(movieId),
+                AdmissionKeys.freedSlots(movieId), AdmissionKeys.slotIdle(movieId), AdmissionKeys.sessionStats(movieId),
+                AdmissionKeys.bySession(movieId), AdmissionKeys.admittedAt(movieId)));
+    }
+
+    private static String member(int i) {
+        return String.format("bench-req-%07d:bench-session", i);
+    }
+
+    private static int[] randomIndexes(int bound, int count) {
+        return ThreadLocalRandom.current().ints(count, 0, bound).toArray();
+    }
+
+    private static double timePerOp(int[] indexes, IntConsumer op) {
+        long start = System.nanoTime();
+        for (int index : indexes) {
+            op.accept(index);
+        }
+        return indexes.length == 0 ? 0.0 : (System.nanoTime() - start) / 1000.0 / indexes.length;
+    }
+
+    private static double elapsedMs(long startNanos) {
+        return (System.nanoTime() - startNanos) / 1_000_000.0;
+    }
+}
@@ -0,0 +1,135 @@
+package com.example.admission.service;
+
+import com.example.admission.BenchmarkSupport.Benchmark;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static com.example.admission.BenchmarkSupport.allocatedBytes;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 개인별 순위 전송의 틱당 순위 비교 비용 벤치마크 (Redis 사용 안 함).
+ *
+ * 같은 합성 대기열(틱마다 앞에서 admitPerTick 명 승격)을 두 방식으로 비교합니다.
+ * - MAP   : 이전 방식. requestId 를 split 으로 잘라 LinkedHashMap 에 모은 뒤 이전 Map 과 equals 비교, ConcurrentHashMap 으로 복사
+ * - TABLE : RankDiffTable. member 를 그대로 이중 버퍼 표에 기록하고, 순위가 바뀐 대기자만 requestId 를 잘라냄
+ * 워밍업 틱을 버린 뒤 스레드 할당 바이트(HotSpot)와 시간을 틱 평균으로 보고하고, 두 방식이 찾은 변경 수가 같은지 확인합니다.
+ *
+ *   ./mvnw test -Dbenchmark=true -Dtest=RankDiffBenchmarkTest -Dbenchmark.waiters=100000 -Dbenchmark.ticks=20 -Dbenchmark.admitPerTick=100
+ */
+class RankDiffBenchmarkTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(RankDiffBenchmarkTest.class);
+    private static final int WARMUP_TICKS = 5;
+
+    @Benchmark
+    @SuppressWarnings("unchecked")
+    void compareRankDiff() {
+        int waiters = Integer.getInteger("benchmark.waiters", 100_000);
+        int admitPerTick = Integer.getInteger("benchmark.admitPerTick", 100);
+        Map<String, Object> result = run(waiters, Integer.getInteger("benchmark.ticks", 20), admitPerTick);
+
+        Map<String, Object> map = (Map<String, Object>) result.get("MAP");
+        Map<String, Object> table = (Map<String, Object>) result.get("TABLE");
+        // 앞에서 승격될 때마다 남은 대기자 모두의 순위가 바뀜
+        long expectedChanged = admitPerTick > 0 ? waiters : 0;
+        assertThat(map.get("changedPerTick")).isEqualTo(expectedChanged);
+        assertThat(table.get("changedPerTick")).isEqualTo(expectedChanged);
+    }
+
+    private Map<String, Object> run(int waiters, int ticks, int admitPerTick) {
+        // 대기열 원본은 측정 전에 한 번만 만들고 두 방식이 같이 씀 (Redis 응답으로 받은 member 문자열에 해당)
+        int total = waiters + (ticks + WARMUP_TICKS) * admitPerTick;
+        String[] members = new String[total];
+        for (int i = 0; i < total; i++) {
+            members[i] = "req-" + i + ":session-" + i;
+        }
+        logger.info("⏱️ 순위 비교 벤치마크 시작 - 대기자 {}명, {}틱, 틱당 승격 {}명", waiters, ticks, admitPerTick);
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("waiters", waiters);
+        result.put("ticks", ticks);
+        result.put("admitPerTick", admitPerTick);
+        result.put("allocationMeasured", allocatedBytes() >= 0);
+        result.put("MAP", measure(members, waiters, ticks, admitPerTick, new MapDiff()));
+        result.put("TABLE", measure(members, waiters, ticks, admitPerTick, new TableDiff(waiters)));
+        logger.info("⏱️ 순위 비교 벤치마크 완료: {}", result);
+        return result;
+    }
+
+    private Map<String, Object> measure(String[] members, int waiters, int ticks, int admitPerTick, Diff diff) {
+        for (int tick = 0; tick < WARMUP_TICKS; tick++) {
+            diff.tick(members, tick * admitPerTick, waiters);
+        }
+        long changed = 0;
+        long allocatedBefore = allocatedBytes();
+        long start = System.nanoTime();
+        for (int tick = WARMUP_TICKS; tick < WARMUP_TICKS + ticks; tick++) {
+            changed += diff.tick(members, tick * admitPerTick, waiters);
+        }
+        long elapsedNanos = System.nanoTime() - start;
+        long allocated = allocatedBytes() - allocatedBefore;
+
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("avgTickMs", elapsedNanos / 1_000_000.0 / ticks);
+        stats.put("allocatedBytesPerTick", allocatedBefore >= 0 ? allocated / ticks : -1);
+        stats.put("allocatedBytesPerWaiter", allocatedBefore >= 0 ? (double) allocated / ticks / waiters : -1);
+        stats.put("changedPerTick", changed / ticks);
+        return stats;
+    }
+
+    private interface Diff {
+        // members[head, head + waiters) 가 이번 틱 대기열. 순위가 바뀐 대기자 수 반환
+        int tick(String[] members, int head, int waiters);
+    }
+
+    // RealtimeStatsBroadcaster 의 이전 구현과 같은 방식
+    private static final class MapDiff implements Diff {
+        private Map<String, Long> previous;
+
+        @Override
+        public int tick(String[] members, int head, int waiters) {
+            Map<String, Long> current = new LinkedHashMap<>();
+            long rank = 1;
+            for (int i = head; i < head + waiters; i++) {
+                current.put(members[i].split(":")[0], rank++);
+            }
+            int changed = 0;
+            for (Map.Entry<String, Long> entry : current.entrySet()) {
+                Long prevRank = previous != null ? previous.get(entry.getKey()) : null;
+                if (prevRank == null || !prevRank.equals(entry.getValue())) {
+                    changed++;
+                }
+            }
+            previous = new ConcurrentHashMap<>(current);
+            return changed;
+        }
+    }
+
+    private static final class TableDiff implements Diff {
+        private final RankDiffTable table;
+
+        private TableDiff(int waiters) {
+            this.table = new RankDiffTable(waiters);
+        }
+
+        @Override
+        public int tick(String[] members, int head, int waiters) {
+            table.beginTick();
+            int changed = 0;
+            long rank = 1;
+            for (int i = head; i < head + waiters; i++) {
+                if (table.update(members[i], rank++)) {
+                    // 실제 전송 경로처럼 바뀐 대기자만 requestId 를 잘라냄
+                    AdmissionKeys.requestIdOf(members[i]);
+                    changed++;
+                }
+            }
+            return changed;
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.example.admission.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RankDiffTableTest {
+
+    @Test
+    void reportsNewAndChangedMembersButNotUnchanged() {
+        RankDiffTable table = new RankDiffTable();
+
+        table.beginTick();
+        assertThat(table.update("req-1:s1", 1)).isTrue();
+        assertThat(table.update("req-2:s2", 2)).isTrue();
+        assertThat(table.update("req-3:s3", 3)).isTrue();
+
+        // req-1 입장 → 나머지가 한 칸씩 당겨지고 req-4 가 새로 들어옴
+        table.beginTick();
+        assertThat(table.update("req-2:s2", 1)).isTrue();
+        assertThat(table.update("req-3:s3", 2)).isTrue();
+        assertThat(table.update("req-4:s4", 3)).isTrue();
+        assertThat(table.size()).isEqualTo(3);
+
+        table.beginTick();
+        assertThat(table.update("req-2:s2", 1)).isFalse();
+        assertThat(table.update("req-3:s3", 2)).isFalse();
+        assertThat(table.update("req-4:s4", 3)).isFalse();
+    }
+
+    @Test
+    void comparesOnlyWithTheImmediatelyPreviousTick() {
+        RankDiffTable table = new RankDiffTable();
+        table.beginTick();
+        table.update("req-1:s1", 1);
+
+        table.beginTick();
+        table.update("req-2:s2", 1);
+
+        // 두 틱 전에 같은 순위였어도 직전 틱에 없었으면 새로 보냄
+        table.beginTick();
+        assertThat(table.update("req-1:s1", 1)).isTrue();
+        assertThat(table.update("req-2:s2", 1)).isFalse();
+    }
+
+    @Test
+    void growsPastLoadFactorWithoutLosingEntries() {
+        RankDiffTable table = new RankDiffTable(0);
+        int initialCapacity = table.capacity();
+
+        table.beginTick();
+        for (int i = 0; i < 5000; i++) {
+            assertThat(table.update("req-" + i + ":s", i + 1)).isTrue();
+        }
+        assertThat(table.size()).isEqualTo(5000);
+        assertThat(table.capacity()).isGreaterThan(initialCapacity);
+
+        table.beginTick();
+        for (int i = 0; i < 5000; i++) {
+            // 두 번째 표도 같은 틱 안에서 커지며, 커진 뒤에도 직전 틱 값과 비교됨
+            assertThat(table.update("req-" + i + ":s", i + 1)).isFalse();
+        }
+        assertThat(table.update("req-new:s", 5001)).isTrue();
+        assertThat(table.size()).isEqualTo(5001);
+    }
+
+    @Test
+    void sameMemberTwiceInOneTickKeepsLatestRank() {
+        RankDiffTable table = new RankDiffTable();
+        table.beginTick();
+        table.update("req-1:s1", 5);
+        table.update("req-1:s1", 2);
+        assertThat(table.size()).isEqualTo(1);
+
+        table.beginTick();
+        assertThat(table.update("req-1:s1", 2)).isFalse();
+    }
+
+    @Test
+    void shrinksAfterQueueDrainsAndKeepsComparing() {
+        RankDiffTable table = new RankDiffTable(0);
+        table.beginTick();
+        for (int i = 0; i < 10_000; i++) {
+            table.update("req-" + i + ":s", i + 1);
+        }
+        int large = table.capacity();
+
+        // 대기열이 10명으로 줄어듦
+        table.beginTick();
+        for (int i = 0; i < 10; i++) {
+            assertThat(table.update("req-" + i + ":s", i + 1)).isFalse();
+        }
+
+        // 큰 표가 기록 차례로 돌아올 때 작은 표로 교체
+        table.beginTick();
+        assertThat(table.capacity()).isLessThan(large / 100);
+        for (int i = 0; i < 10; i++) {
+            assertThat(table.update("req-" + i + ":s", i + 1)).isFalse();
+        }
+        assertThat(table.update("req-10:s", 11)).isTrue();
+        assertThat(table.size()).isEqualTo(11);
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.admission.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class SessionHeartbeatBufferTest {
+
+    private final AdmissionService admissionService = mock(AdmissionService.class);
+    private final SessionHeartbeatBuffer buffer = new SessionHeartbeatBuffer(admissionService);
+
+    @Test
+    void flushedMovieBuffersAreRemoved() {
+        for (int i = 0; i < 100; i++) {
+            buffer.record("random-movie-" + i, "session", "req");
+        }
+        assertThat(buffer.getHeartbeatStats()).containsEntry("pendingMovies", 100);
+
+        buffer.flush();
+
+        assertThat(buffer.getHeartbeatStats())
+                .containsEntry("pendingMovies", 0)
+                .containsEntry("pendingMembers", 0);
+        verify(admissionService, times(100)).touchActiveSessions(anyString(), anyMap());
+
+        // 빈 버퍼가 남지 않으므로 다음 주기에는 저장소 호출이 없음
+        buffer.flush();
+        verifyNoMoreInteractions(admissionService);
+    }
+
+    @Test
+    void failedFlushKeepsBufferForRetry() {
+        when(admissionService.touchActiveSessions(eq("movie-1"), anyMap())).thenThrow(new IllegalStateException("redis down"));
+        buffer.record("movie-1", "session", "req");
+
+        buffer.flush();
+
+        assertThat(buffer.getHeartbeatStats())
+                .containsEntry("pendingMovies", 1)
+                .containsEntry("pendingMembers", 1)
+                .containsEntry("flushFailures", 1L);
+    }
+
+    @Test
+    void heartbeatAfterFlushStartsNewBuffer() {
+        buffer.record("movie-1", "session", "req");
+        buffer.flush();
+        buffer.record("movie-1", "session", "req");
+        buffer.flush();
+
+        verify(admissionService, times(2)).touchActiveSessions(eq("movie-1"),
+                argThat((Map<String, Long> lastSeen) -> lastSeen.keySet().equals(Set.of("req:session"))));
+    }
+}
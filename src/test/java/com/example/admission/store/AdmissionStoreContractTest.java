@@ -0,0 +1,256 @@
+package com.example.admission.store;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * AdmissionStore 구현체가 공통으로 지켜야 하는 의미 (AdmissionStore Javadoc 참고).
+ * 구현체별 하위 클래스가 저장소를 만들고, 같은 시나리오를 모든 구현체에 대해 실행합니다.
+ */
+abstract class AdmissionStoreContractTest {
+
+    protected static final long MAX_ACTIVE = 2;
+    protected static final long T0 = 1_000_000L;
+
+    protected AdmissionStore store;
+    protected String movieId;
+
+    protected abstract AdmissionStore createStore();
+
+    protected void cleanup(String movieId) {
+    }
+
+    @BeforeEach
+    void setUpStore() {
+        store = createStore();
+        movieId = "contract-" + UUID.randomUUID();
+    }
+
+    @AfterEach
+    void cleanupMovie() {
+        if (store != null) {
+            cleanup(movieId);
+        }
+    }
+
+    protected static String member(int n) {
+        return "req-" + n + ":session-" + n;
+    }
+
+    @Test
+    void enterAdmitsUntilCapacityThenQueuesInOrder() {
+        assertThat(store.enter(movieId, member(1), MAX_ACTIVE, T0).admitted()).isTrue();
+        assertThat(store.enter(movieId, member(2), MAX_ACTIVE, T0 + 1).admitted()).isTrue();
+
+        AdmissionStore.EnterOutcome third = store.enter(movieId, member(3), MAX_ACTIVE, T0 + 2);
+        AdmissionStore.EnterOutcome fourth = store.enter(movieId, member(4), MAX_ACTIVE, T0 + 3);
+
+        assertThat(third.admitted()).isFalse();
+        assertThat(third.rank()).isEqualTo(1);
+        assertThat(fourth.rank()).isEqualTo(2);
+        assertThat(fourth.totalWaiting()).isEqualTo(2);
+        assertThat(store.activeCount(movieId)).isEqualTo(2);
+        assertThat(store.waitingCount(movieId)).isEqualTo(2);
+        assertThat(store.isActive(movieId, member(1))).isTrue();
+        assertThat(store.isActive(movieId, member(3))).isFalse();
+        assertThat(store.waitingMembers(movieId)).containsExactly(member(3), member(4));
+    }
+
+    @Test
+    void reenterWithSameSessionKeepsExistingPosition() {
+        store.enter(movieId, member(1), MAX_ACTIVE, T0);
+        store.enter(movieId, member(2), MAX_ACTIVE, T0 + 1);
+        store.enter(movieId, member(3), MAX_ACTIVE, T0 + 2);
+        store.enter(movieId, member(4), MAX_ACTIVE, T0 + 3);
+
+        // 같은 세션, 다른 requestId
+        AdmissionStore.EnterOutcome waiting = store.enter(movieId, "req-retry:session-3", MAX_ACTIVE, T0 + 4);
+        assertThat(waiting.reused()).isTrue();
+        assertThat(waiting.admitted()).isFalse();
+        assertThat(waiting.member()).isEqualTo(member(3));
+        assertThat(waiting.rank()).isEqualTo(1);
+
+        AdmissionStore.EnterOutcome active = store.enter(movieId, "req-retry:session-1", MAX_ACTIVE, T0 + 5);
+        assertThat(active.reused()).isTrue();
+        assertThat(active.admitted()).isTrue();
+        assertThat(active.member()).isEqualTo(member(1));
+
+        assertThat(store.waitingCount(movieId)).isEqualTo(2);
+        assertThat(store.rank(movieId, member(4))).isEqualTo(2);
+    }
+
+    @Test
+    void rankSkipsWaitersThatLeftAhead() {
+        store.enter(movieId, member(1), MAX_ACTIVE, T0);
+        store.enter(movieId, member(2), MAX_ACTIVE, T0 + 1);
+        for (int n = 3; n <= 7; n++) {
+            store.enter(movieId, member(n), MAX_ACTIVE, T0 + n);
+        }
+
+        store.release(movieId, List.of(member(4), member(6)), MAX_ACTIVE, T0 + 10, true,
+                AdmissionStore.ReleaseCause.LEAVE);
+
+        assertThat(store.rank(movieId, member(3))).isEqualTo(1);
+        assertThat(store.rank(movieId, member(4))).isNull();
+        assertThat(store.rank(movieId, member(5))).isEqualTo(2);
+        assertThat(store.rank(movieId, member(7))).isEqualTo(3);
+        assertThat(store.waitingCount(movieId)).isEqualTo(3);
+        assertThat(store.activeCount(movieId)).isEqualTo(2);
+    }
+
+    @Test
+    void releaseOfActiveSessionPromotesNextWaiterAtomically() {
+        store.enter(movieId, member(1), MAX_ACTIVE, T0);
+        store.enter(movieId, member(2), MAX_ACTIVE, T0 + 1);
+        store.enter(movieId, member(3), MAX_ACTIVE, T0 + 2);
+        store.enter(movieId, member(4), MAX_ACTIVE, T0 + 3);
+
+        List<String> promoted = store.release(movieId, List.of(member(1)), MAX_ACTIVE, T0 + 500, true,
+                AdmissionStore.ReleaseCause.LEAVE);
+
+        assertThat(promoted).containsExactly(member(3));
+        assertThat(store.isActive(movieId, member(1))).isFalse();
+        assertThat(store.isActive(movieId, member(3))).isTrue();
+        assertThat(store.rank(movieId, member(4))).isEqualTo(1);
+        assertThat(store.sessionStats(movieId)).isEqualTo(new AdmissionStore.SessionStats(1, 500, 0));
+        assertThat(store.promotedTotal(movieId)).isEqualTo(1);
+
+        // 퇴장한 세션은 다시 들어오면 새로 줄을 섬
+        AdmissionStore.EnterOutcome again = store.enter(movieId, member(1), MAX_ACTIVE, T0 + 600);
+        assertThat(again.reused()).isFalse();
+        assertThat(again.rank()).isEqualTo(2);
+    }
+
+    @Test
+    void heartbeatsExtendExpiryWithoutChangingSessionDuration() {
+        store.enter(movieId, member(1), MAX_ACTIVE, T0);
+        store.enter(movieId, member(2), MAX_ACTIVE, T0);
+
+        assertThat(store.touchActive(movieId, Map.of(member(1), T0 + 300))).isEqualTo(1);
+        assertThat(store.touchActive(movieId, Map.of(member(1), T0 + 400))).isEqualTo(1);
+        // 늦게 도착한 heartbeat 와 활성이 아닌 member 는 무시
+        assertThat(store.touchActive(movieId, Map.of(member(1), T0 + 100, member(9), T0 + 500))).isZero();
+
+        // 마지막 활동 시각 기준으로 만료: member(2) 만 정리됨
+        AdmissionStore.SweepResult swept = store.sweepExpired(movieId, T0 + 350, 10, MAX_ACTIVE, T0 + 350, true);
+        assertThat(swept.expired()).containsExactly(member(2));
+
+        store.release(movieId, List.of(member(1)), MAX_ACTIVE, T0 + 1000, true, AdmissionStore.ReleaseCause.LEAVE);
+
+        // session_ms 는 마지막 heartbeat 이후가 아니라 입장 이후 시간
+        assertThat(store.sessionStats(movieId)).isEqualTo(new AdmissionStore.SessionStats(1, 1000, 1));
+    }
+
+    @Test
+    void releaseWithoutPromoteLeavesSlotForProcessor() {
+        store.enter(movieId, member(1), MAX_ACTIVE, T0);
+        store.enter(movieId, member(2), MAX_ACTIVE, T0 + 1);
+        store.enter(movieId, member(3), MAX_ACTIVE, T0 + 2);
+
+        assertThat(store.release(movieId, List.of(member(1)), MAX_ACTIVE, T0 + 10, false,
+                AdmissionStore.ReleaseCause.LEAVE)).isEmpty();
+        assertThat(store.activeCount(movieId)).isEqualTo(1);
+
+        assertThat(store.admitNext(movieId, 10, MAX_ACTIVE, T0 + 20)).containsExactly(member(3));
+        assertThat(store.waitingCount(movieId)).isZero();
+    }
+
+    @Test
+    void sweepExpiredRemovesOnlyOldSessionsAndRefills() {
+        store.enter(movieId, member(1), MAX_ACTIVE, T0);
+        store.enter(movieId, member(2), MAX_ACTIVE, T0 + 1000);
+        store.enter(movieId, member(3), MAX_ACTIVE, T0 + 1001);
+
+        AdmissionStore.SweepResult result = store.sweepExpired(movieId, T0 + 500, 10, MAX_ACTIVE, T0 + 2000, true);
+
+        assertThat(result.expired()).containsExactly(member(1));
+        assertThat(result.promoted()).containsExactly(member(3));
+        assertThat(result.more()).isFalse();
+        assertThat(store.isActive(movieId, member(2))).isTrue();
+        assertThat(store.isActive(movieId, member(3))).isTrue();
+        assertThat(store.sessionStats(movieId).timeouts()).isEqualTo(1);
+        assertThat(store.sessionStats(movieId).completed()).isZero();
+    }
+
+    @Test
+    void sweepExpiredContinuesInChunks() {
+        store.enter(movieId, member(1), MAX_ACTIVE, T0);
+        store.enter(movieId, member(2), MAX_ACTIVE, T0 + 1);
+
+        AdmissionStore.SweepResult first = store.sweepExpired(movieId, T0 + 10, 1, MAX_ACTIVE, T0 + 100, true);
+        assertThat(first.expired()).hasSize(1);
+        assertThat(first.more()).isTrue();
+
+        AdmissionStore.SweepResult second = store.sweepExpired(movieId, T0 + 10, 1, MAX_ACTIVE, T0 + 100, true);
+        assertThat(second.expired()).hasSize(1).doesNotContainAnyElementsOf(first.expired());
+        assertThat(store.activeCount(movieId)).isZero();
+    }
+
+    @Test
+    void ticketCursorStateScansAtMostMaxScanTicketsAndResumes() {
+        store.enter(movieId, member(1), MAX_ACTIVE, T0);
+        store.enter(movieId, member(2), MAX_ACTIVE, T0);
+        for (int n = 3; n <= 12; n++) {
+            store.enter(movieId, member(n), MAX_ACTIVE, T0 + n);
+        }
+        // 번호 2~9 이탈 → 대기 번호는 1, 10 만 남은 빈 구간
+        List<String> departing = new ArrayList<>();
+        for (int n = 4; n <= 11; n++) {
+            departing.add(member(n));
+        }
+        store.release(movieId, departing, MAX_ACTIVE, T0 + 20, true, AdmissionStore.ReleaseCause.LEAVE);
+
+        AdmissionStore.TicketCursorState first = store.ticketCursorState(movieId, 0, 0, 0, 100, 100, 3);
+        Assumptions.assumeTrue(first != null, "번호표 대기열을 쓰는 저장소만 해당");
+        assertThat(first.members()).containsExactly(Map.entry(1L, member(3)));
+        assertThat(first.scannedTo()).isEqualTo(3);
+
+        AdmissionStore.TicketCursorState second = store.ticketCursorState(movieId, first.scannedTo(), 0, 0, 100, 100, 3);
+        assertThat(second.members()).isEmpty();
+        assertThat(second.scannedTo()).isEqualTo(6);
+
+        AdmissionStore.TicketCursorState third = store.ticketCursorState(movieId, second.scannedTo(), 0, 0, 100, 100, 10);
+        assertThat(third.members()).containsExactly(Map.entry(10L, member(12)));
+        assertThat(third.scannedTo()).isEqualTo(10);
+
+        // 기존 대기 구간 (0, 10] 을 2번에 나눠 확인하고, 끝에 닿으면 처음부터 다시
+        AdmissionStore.TicketCursorState refreshA = store.ticketCursorState(movieId, 10, 2, 0, 100, 100, 100);
+        assertThat(refreshA.members()).containsExactly(Map.entry(1L, member(3)));
+        assertThat(refreshA.refreshedTo()).isEqualTo(5);
+        AdmissionStore.TicketCursorState refreshB = store.ticketCursorState(movieId, 10, 2, 5, 100, 100, 100);
+        assertThat(refreshB.members()).containsExactly(Map.entry(10L, member(12)));
+        assertThat(refreshB.refreshedTo()).isEqualTo(10);
+        AdmissionStore.TicketCursorState refreshC = store.ticketCursorState(movieId, 10, 2, 10, 100, 100, 100);
+        assertThat(refreshC.refreshedTo()).isEqualTo(5);
+
+        // 확인 상한은 기존 대기 구간에도 적용
+        AdmissionStore.TicketCursorState capped = store.ticketCursorState(movieId, 10, 2, 0, 100, 100, 2);
+        assertThat(capped.refreshedTo()).isEqualTo(2);
+    }
+
+    @Test
+    void enterBatchFollowsRequestOrderAndSessionIdempotency() {
+        AdmissionStore.EnterBatchResult batch = store.enterBatch(movieId,
+                List.of(member(1), member(2), member(3), "req-dup:session-3", member(4)), MAX_ACTIVE, T0);
+
+        List<AdmissionStore.EnterOutcome> outcomes = batch.outcomes();
+        assertThat(outcomes).hasSize(5);
+        assertThat(outcomes.get(0).admitted()).isTrue();
+        assertThat(outcomes.get(1).admitted()).isTrue();
+        assertThat(outcomes.get(2).rank()).isEqualTo(1);
+        assertThat(outcomes.get(3).reused()).isTrue();
+        assertThat(outcomes.get(3).member()).isEqualTo(member(3));
+        assertThat(outcomes.get(3).rank()).isEqualTo(1);
+        assertThat(outcomes.get(4).rank()).isEqualTo(2);
+        assertThat(store.waitingMembers(movieId)).containsExactly(member(3), member(4));
+    }
+}
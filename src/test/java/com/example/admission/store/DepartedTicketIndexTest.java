@@ -0,0 +1,55 @@
+package com.example.admission.store;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.TreeSet;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DepartedTicketIndexTest {
+
+    @Test
+    void countsDepartedTicketsBelowAndSkipsPrunedOnes() {
+        DepartedTicketIndex index = new DepartedTicketIndex();
+        index.add(3);
+        index.add(5);
+        index.add(9);
+
+        assertThat(index.countBelow(3)).isZero();
+        assertThat(index.countBelow(4)).isEqualTo(1);
+        assertThat(index.countBelow(10)).isEqualTo(3);
+
+        index.pruneThrough(5);
+        assertThat(index.size()).isEqualTo(1);
+        assertThat(index.countBelow(10)).isEqualTo(1);
+        assertThat(index.toArray()).containsExactly(9);
+    }
+
+    @Test
+    void matchesSortedSetAcrossGrowthAndRebase() {
+        Random random = new Random(42);
+        DepartedTicketIndex index = new DepartedTicketIndex();
+        TreeSet<Long> expected = new TreeSet<>();
+        long seq = 0;
+        long cursor = 0;
+        for (int step = 0; step < 200_000; step++) {
+            int op = random.nextInt(10);
+            if (op < 4) {
+                seq += 1 + random.nextInt(3);
+            } else if (op < 7 && seq > cursor) {
+                long ticket = cursor + 1 + random.nextInt((int) (seq - cursor));
+                index.add(ticket);
+                expected.add(ticket);
+            } else if (op < 8 && seq > cursor) {
+                cursor += random.nextInt((int) Math.min(50, seq - cursor) + 1);
+                index.pruneThrough(cursor);
+                expected.headSet(cursor, true).clear();
+            } else if (seq > cursor) {
+                long ticket = cursor + 1 + random.nextInt((int) (seq - cursor) + 1);
+                assertThat(index.countBelow(ticket)).isEqualTo(expected.headSet(ticket, false).size());
+            }
+            assertThat(index.size()).isEqualTo(expected.size());
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.example.admission.store;
+
+class InMemoryAdmissionStoreTest extends AdmissionStoreContractTest {
+
+    @Override
+    protected AdmissionStore createStore() {
+        return new InMemoryAdmissionStore();
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.admission.store;
+
+import com.example.admission.RedisTestSupport;
+import com.example.admission.service.AdmissionKeys;
+import com.example.admission.service.AdmissionQueueModes;
+import com.example.admission.service.AdmissionScriptRegistry;
+import com.example.admission.service.AdmissionSlotLeaseManager;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Set;
+
+/**
+ * ZSET 모드 RedisAdmissionStore. 실제 Redis 가 필요하며 (-Dadmission.test.redis), 없으면 건너뜀.
+ * 슬롯 임대는 끈 상태로 Lua 스크립트 경로만 확인합니다.
+ */
+class RedisAdmissionStoreTest extends AdmissionStoreContractTest {
+
+    private LettuceConnectionFactory connectionFactory;
+    protected StringRedisTemplate redisTemplate;
+
+    protected AdmissionQueueModes.Mode mode() {
+        return AdmissionQueueModes.Mode.ZSET;
+    }
+
+    @Override
+    protected AdmissionStore createStore() {
+        connectionFactory = RedisTestSupport.connect();
+        redisTemplate = RedisTestSupport.template(connectionFactory);
+        AdmissionScriptRegistry scriptRegistry = RedisTestSupport.scriptRegistry(redisTemplate, connectionFactory);
+        AdmissionQueueModes queueModes = new AdmissionQueueModes();
+        ReflectionTestUtils.setField(queueModes, "defaultMode", mode());
+        AdmissionSlotLeaseManager slotLeaseManager = new AdmissionSlotLeaseManager(scriptRegistry, null, null);
+        return new RedisAdmissionStore(redisTemplate, scriptRegistry, slotLeaseManager, queueModes);
+    }
+
+    @Override
+    protected void cleanup(String movieId) {
+        Set<String> keys = redisTemplate.keys("sessions:{" + movieId + "}:*");
+        if (keys != null && !keys.isEmpty()) {
+            redisTemplate.delete(keys);
+        }
+        redisTemplate.opsForSet().remove(AdmissionKeys.ACTIVE_MOVIES, movieId);
+        redisTemplate.opsForSet().remove(AdmissionKeys.WAITING_MOVIES, movieId);
+        connectionFactory.destroy();
+    }
+}
@@ -0,0 +1,14 @@
+package com.example.admission.store;
+
+import com.example.admission.service.AdmissionQueueModes;
+
+/**
+ * 번호표 모드 RedisAdmissionStore (ticket_*.lua 경로)
+ */
+class RedisTicketAdmissionStoreTest extends RedisAdmissionStoreTest {
+
+    @Override
+    protected AdmissionQueueModes.Mode mode() {
+        return AdmissionQueueModes.Mode.TICKET;
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.admission.ws;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+class NotificationLagMonitorTest {
+
+    private final NotificationLagMonitor monitor = new NotificationLagMonitor();
+
+    @Test
+    void measuresOutboundQueueWaitOfAdmissionMessages() throws Exception {
+        Message<byte[]> admitted = message("/topic/admission/req-1");
+        monitor.preSend(admitted, null);
+        Thread.sleep(30);
+        monitor.beforeHandle(admitted, null, null);
+
+        assertThat(monitor.recentLagMs()).isGreaterThanOrEqualTo(25);
+        assertThat(monitor.getStats()).containsEntry("outboundSamples", 1L);
+    }
+
+    @Test
+    void ignoresFanoutTopics() {
+        Message<byte[]> stats = message("/topic/stats/movie/movie-1");
+        monitor.preSend(stats, null);
+        monitor.beforeHandle(stats, null, null);
+
+        assertThat(monitor.recentLagMs()).isEqualTo(-1);
+    }
+
+    @Test
+    void reportsMaxOfRecentWindowsThenExpires() {
+        ReflectionTestUtils.setField(monitor, "windowMs", 50L);
+        monitor.recordOutbox(700);
+        monitor.recordOutbox(40);
+
+        assertThat(monitor.recentLagMs()).isEqualTo(700);
+        await().atMost(Duration.ofSeconds(2)).until(() -> monitor.recentLagMs() == -1);
+    }
+
+    private static Message<byte[]> message(String destination) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        accessor.setDestination(destination);
+        accessor.setLeaveMutable(true);
+        return MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+    }
+}
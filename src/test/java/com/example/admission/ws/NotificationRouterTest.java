@@ -0,0 +1,159 @@
+package com.example.admission.ws;
+
+import com.example.admission.service.AdmissionKeys;
+import com.example.admission.service.LoadBalancingOptimizer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class NotificationRouterTest {
+
+    private static final String ADMISSION = "/topic/admission/req-1";
+    private static final String RANK = "/topic/rank/req-1";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private RedisTemplate<String, String> redisTemplate;
+    private NotificationRouter router;
+    private MessageListener routeListener;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        redisTemplate = mock(RedisTemplate.class);
+        LoadBalancingOptimizer loadBalancer = mock(LoadBalancingOptimizer.class);
+        when(loadBalancer.getPodId()).thenReturn("pod-a");
+        RedisMessageListenerContainer container = mock(RedisMessageListenerContainer.class);
+
+        router = new NotificationRouter(mock(SimpMessagingTemplate.class), redisTemplate, objectMapper, loadBalancer,
+                mock(BroadcastFrameCache.class), new NotificationLagMonitor(), container);
+
+        ArgumentCaptor<MessageListener> listener = ArgumentCaptor.forClass(MessageListener.class);
+        verify(container).addMessageListener(listener.capture(), eq(new ChannelTopic(AdmissionKeys.WS_ROUTES_CHANNEL)));
+        routeListener = listener.getValue();
+    }
+
+    @Test
+    void unsubscribeOnOnePodKeepsRouteToOtherPod() throws Exception {
+        receive("pod-b", "DELTA", List.of("r:req-1"), List.of());
+        receive("pod-c", "DELTA", List.of("r:req-1"), List.of());
+        receive("pod-b", "DELTA", List.of(), List.of("r:req-1"));
+
+        router.sendToRequest("req-1", RANK, Map.of("rank", 1));
+        router.flushOutbox();
+
+        verify(redisTemplate).convertAndSend(eq(AdmissionKeys.wsPodChannel("pod-c")), anyString());
+        verify(redisTemplate, never()).convertAndSend(eq(AdmissionKeys.wsPodChannel("pod-b")), anyString());
+        verify(redisTemplate, never()).convertAndSend(eq(AdmissionKeys.WS_BROADCAST_CHANNEL), anyString());
+    }
+
+    @Test
+    void oneShotGoesToConfirmedPodDirectly() throws Exception {
+        receive("pod-b", "DELTA", List.of("r:req-1"), List.of());
+
+        router.sendToRequest("req-1", ADMISSION, Map.of("status", "ADMITTED"));
+        router.flushOutbox();
+
+        verify(redisTemplate).convertAndSend(eq(AdmissionKeys.wsPodChannel("pod-b")), anyString());
+        verify(redisTemplate, never()).convertAndSend(eq(AdmissionKeys.WS_BROADCAST_CHANNEL), anyString());
+    }
+
+    @Test
+    void oneShotFallsBackToBroadcastWhenRoutePodIsSilent() throws Exception {
+        receive("pod-b", "DELTA", List.of("r:req-1"), List.of());
+        // 마지막 소식이 heartbeat-ms 의 2배보다 오래됨 (아직 색인에서 제거되기 전)
+        podSeenAt().put("pod-b", System.currentTimeMillis() - 60_000);
+
+        router.sendToRequest("req-1", ADMISSION, Map.of("status", "ADMITTED"));
+        router.sendToRequest("req-1", RANK, Map.of("rank", 1));
+        router.flushOutbox();
+
+        verify(redisTemplate).convertAndSend(eq(AdmissionKeys.WS_BROADCAST_CHANNEL), anyString());
+        // 주기 전송인 순위 알림은 그대로 Pod 채널로
+        verify(redisTemplate).convertAndSend(eq(AdmissionKeys.wsPodChannel("pod-b")), anyString());
+    }
+
+    @Test
+    void evictedPodOutboxIsRemoved() throws Exception {
+        receive("pod-b", "DELTA", List.of("r:req-1", "m:movie-1"), List.of());
+        router.sendToRequest("req-1", RANK, Map.of("rank", 1));
+        router.sendToMovie("movie-1", "/topic/stats/movie/movie-1", Map.of("totalWaiting", 1));
+        assertThat(router.getStats()).containsEntry("outboxChannels", 1);
+
+        podSeenAt().put("pod-b", System.currentTimeMillis() - 120_000);
+        router.flushRoutes();
+
+        assertThat(router.getStats())
+                .containsEntry("outboxChannels", 0)
+                .containsEntry("remoteRequestRoutes", 0)
+                .containsEntry("remoteMovieRoutes", 0);
+        router.flushOutbox();
+        verify(redisTemplate, never()).convertAndSend(eq(AdmissionKeys.wsPodChannel("pod-b")), anyString());
+    }
+
+    @Test
+    void singlePodRouteIsStoredAsPodIdUntilSecondPodSubscribes() throws Exception {
+        receive("pod-b", "DELTA", List.of("r:req-1"), List.of());
+        assertThat(requestRoutes()).containsEntry("r:req-1", "pod-b");
+
+        receive("pod-c", "DELTA", List.of("r:req-1"), List.of());
+        assertThat(requestRoutes()).containsEntry("r:req-1", Set.of("pod-b", "pod-c"));
+
+        receive("pod-c", "DELTA", List.of(), List.of("r:req-1"));
+        assertThat(requestRoutes()).containsEntry("r:req-1", "pod-b");
+
+        receive("pod-b", "DELTA", List.of(), List.of("r:req-1"));
+        assertThat(requestRoutes()).doesNotContainKey("r:req-1");
+    }
+
+    @Test
+    void routeValueHelpers() {
+        Object three = NotificationRouter.withPod(NotificationRouter.withPod("pod-a", "pod-b"), "pod-c");
+
+        assertThat(NotificationRouter.withPod(null, "pod-a")).isEqualTo("pod-a");
+        assertThat(NotificationRouter.withPod("pod-a", "pod-a")).isEqualTo("pod-a");
+        assertThat(three).isEqualTo(Set.of("pod-a", "pod-b", "pod-c"));
+        assertThat(NotificationRouter.withPod(three, "pod-b")).isSameAs(three);
+        assertThat(NotificationRouter.withoutPod(three, "pod-x")).isSameAs(three);
+        assertThat(NotificationRouter.withoutPod(three, "pod-a")).isEqualTo(Set.of("pod-b", "pod-c"));
+        assertThat(NotificationRouter.withoutPod(Set.of("pod-b", "pod-c"), "pod-c")).isEqualTo("pod-b");
+        assertThat(NotificationRouter.withoutPod("pod-b", "pod-c")).isEqualTo("pod-b");
+        assertThat(NotificationRouter.withoutPod("pod-b", "pod-b")).isNull();
+        assertThat(NotificationRouter.podsOf(null)).isEmpty();
+        assertThat(NotificationRouter.podsOf("pod-a")).containsExactly("pod-a");
+        assertThat(NotificationRouter.podsOf(three)).containsExactlyInAnyOrder("pod-a", "pod-b", "pod-c");
+    }
+
+    private void receive(String pod, String type, List<String> add, List<String> remove) throws Exception {
+        byte[] body = objectMapper.writeValueAsBytes(new NotificationRouter.RouteUpdate(pod, type, 1, false, add, remove));
+        routeListener.onMessage(
+                new DefaultMessage(AdmissionKeys.WS_ROUTES_CHANNEL.getBytes(StandardCharsets.UTF_8), body), null);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> requestRoutes() {
+        return (Map<String, Object>) ReflectionTestUtils.getField(router, "requestRoutes");
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Long> podSeenAt() {
+        return (Map<String, Long>) ReflectionTestUtils.getField(router, "podSeenAt");
+    }
+}
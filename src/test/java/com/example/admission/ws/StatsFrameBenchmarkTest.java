@@ -0,0 +1,183 @@
+package com.example.admission.ws;
+
+import com.example.admission.BenchmarkSupport.Benchmark;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.converter.MappingJackson2MessageConverter;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompEncoder;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.util.MimeTypeUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static com.example.admission.BenchmarkSupport.allocatedBytes;
+import static com.example.admission.BenchmarkSupport.cpuNanos;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 영화 통계 프레임 전송의 CPU 비교 벤치마크 (Redis/실제 소켓 사용 안 함).
+ *
+ * 틱마다 통계 1건을 pods 개 Pod 에 나뉘어 접속한 subscribers 명에게 보내는 과정을 두 방식으로 비교합니다.
+ * - MAP   : 이전 방식. 담당 Pod 이 Map 을 변환기로 직렬화하고, 다른 Pod 은 받은 JSON 을 읽어 다시 직렬화
+ * - FRAME : publishMovieFrame. 한 번 인코딩한 JSON 바이트를 문자열로 실어 보내고 받는 Pod 은 바이트로만 되돌림
+ * 구독자별 비용(SimpleBroker 헤더 복사 + STOMP 인코딩)은 두 방식이 같으므로 fanout 으로 따로 보고합니다.
+ * 측정은 테스트 스레드의 CPU 시간(HotSpot)과 할당 바이트를 워밍업 틱을 버린 뒤 틱 평균으로 냅니다.
+ * 두 방식이 구독자에게 같은 JSON 을 보내는지도 확인합니다.
+ *
+ *   ./mvnw test -Dbenchmark=true -Dtest=StatsFrameBenchmarkTest -Dbenchmark.subscribers=10000 -Dbenchmark.pods=3 -Dbenchmark.ticks=50
+ */
+class StatsFrameBenchmarkTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(StatsFrameBenchmarkTest.class);
+    private static final int WARMUP_TICKS = 5;
+    private static final String DESTINATION = "/topic/stats/movie/benchmark";
+
+    // 애플리케이션의 ObjectMapper 와 같은 기본 설정
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    private final MappingJackson2MessageConverter converter = new MappingJackson2MessageConverter();
+    private final StompEncoder encoder = new StompEncoder();
+
+    StatsFrameBenchmarkTest() {
+        this.converter.setObjectMapper(objectMapper);
+    }
+
+    @Benchmark
+    @SuppressWarnings("unchecked")
+    void compareStatsFrames() throws Exception {
+        int pods = Integer.getInteger("benchmark.pods", 3);
+        Map<String, Object> result = run(Integer.getInteger("benchmark.subscribers", 10_000), pods,
+                Integer.getInteger("benchmark.ticks", 50));
+
+        assertThat(objectMapper.readTree(encodeFrame(0, pods))).isEqualTo(objectMapper.readTree(encodeMap(0, pods)));
+        assertThat(((Map<String, Object>) result.get("FRAME")).get("stompBytes"))
+                .isEqualTo(((Map<String, Object>) result.get("MAP")).get("stompBytes"));
+    }
+
+    private Map<String, Object> run(int subscribers, int pods, int ticks) {
+        int podCount = Math.max(1, pods);
+        String[] sessionIds = new String[subscribers];
+        for (int i = 0; i < subscribers; i++) {
+            sessionIds[i] = "session-" + i;
+        }
+        logger.info("⏱️ 통계 프레임 벤치마크 시작 - 구독자 {}명, Pod {}개, {}틱", subscribers, podCount, ticks);
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("subscribers", subscribers);
+        result.put("pods", podCount);
+        result.put("ticks", ticks);
+        result.put("cpuMeasured", cpuNanos() >= 0);
+        result.put("MAP", measure(ticks, podCount, sessionIds, this::encodeMap));
+        result.put("FRAME", measure(ticks, podCount, sessionIds, this::encodeFrame));
+        logger.info("⏱️ 통계 프레임 벤치마크 완료: {}", result);
+        return result;
+    }
+
+    private Map<String, Object> measure(int ticks, int pods, String[] sessionIds, Encoder encode) {
+        long sink = 0;
+        for (int tick = 0; tick < WARMUP_TICKS; tick++) {
+            sink += fanout(encode.encode(tick, pods), sessionIds);
+        }
+        long encodeCpu = 0;
+        long fanoutCpu = 0;
+        long allocatedBefore = allocatedBytes();
+        for (int tick = WARMUP_TICKS; tick < WARMUP_TICKS + ticks; tick++) {
+            long start = cpuNanos();
+            byte[] body = encode.encode(tick, pods);
+            long encoded = cpuNanos();
+            sink += fanout(body, sessionIds);
+            fanoutCpu += cpuNanos() - encoded;
+            encodeCpu += encoded - start;
+        }
+        long allocated = allocatedBytes() - allocatedBefore;
+
+        double per10k = sessionIds.length > 0 ? 10_000.0 / sessionIds.length : 0;
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("encodeCpuMsPerTick", encodeCpu / 1_000_000.0 / ticks);
+        stats.put("fanoutCpuMsPerTick", fanoutCpu / 1_000_000.0 / ticks);
+        stats.put("cpuMsPer10kSubscribers", (encodeCpu + fanoutCpu) / 1_000_000.0 / ticks * per10k);
+        stats.put("allocatedBytesPerTick", allocatedBefore >= 0 ? allocated / ticks : -1);
+        stats.put("stompBytes", sink);
+        return stats;
+    }
+
+    private interface Encoder {
+        // 한 틱의 통계를 모든 Pod 에 전달했을 때 구독자에게 보낼 JSON 바이트 (마지막 Pod 기준)
+        byte[] encode(int tick, int pods);
+    }
+
+    private Map<String, Object> stats(int tick) {
+        return Map.of(
+            "movieId", "benchmark",
+            "totalWaiting", 100_000L - tick,
+            "activeCount", 2L,
+            "type", "movie",
+            // 두 방식의 출력을 비교할 수 있도록 틱마다 고정된 값
+            "timestamp", 1_700_000_000_000L + tick
+        );
+    }
+
+    private byte[] encodeMap(int tick, int pods) {
+        try {
+            Map<String, Object> payload = stats(tick);
+            Message<?> message = converter.toMessage(payload, null);
+            byte[] body = (byte[]) message.getPayload();
+            for (int pod = 1; pod < pods; pod++) {
+                // Pod 간 묶음에 객체로 실린 뒤 받는 Pod 에서 읽어 다시 직렬화
+                String envelope = objectMapper.writeValueAsString(Map.of("payload", payload));
+                JsonNode received = objectMapper.readTree(envelope).path("payload");
+                body = (byte[]) converter.toMessage(received, null).getPayload();
+            }
+            return body;
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private byte[] encodeFrame(int tick, int pods) {
+        try {
+            byte[] body = objectMapper.writeValueAsBytes(stats(tick));
+            if (pods > 1) {
+                String frame = new String(body, StandardCharsets.UTF_8);
+                for (int pod = 1; pod < pods; pod++) {
+                    String envelope = objectMapper.writeValueAsString(Map.of("frame", frame));
+                    body = objectMapper.readTree(envelope).path("frame").asText().getBytes(StandardCharsets.UTF_8);
+                }
+            }
+            return body;
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // SimpleBroker 의 구독자별 메시지 생성 + StompSubProtocolHandler 의 STOMP 프레임 인코딩과 같은 작업
+    private long fanout(byte[] body, String[] sessionIds) {
+        long bytes = 0;
+        for (int i = 0; i < sessionIds.length; i++) {
+            SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+            accessor.setSessionId(sessionIds[i]);
+            accessor.setSubscriptionId("sub-0");
+            accessor.setDestination(DESTINATION);
+            accessor.setLeaveMutable(true);
+            Message<byte[]> reply = MessageBuilder.createMessage(body, accessor.getMessageHeaders());
+
+            StompHeaderAccessor stomp = StompHeaderAccessor.create(StompCommand.MESSAGE);
+            stomp.copyHeaders(reply.getHeaders());
+            stomp.setSubscriptionId("sub-0");
+            stomp.setDestination(DESTINATION);
+            stomp.setMessageId(Integer.toString(i));
+            stomp.setContentType(MimeTypeUtils.APPLICATION_JSON);
+            bytes += encoder.encode(stomp.getMessageHeaders(), reply.getPayload()).length;
+        }
+        return bytes;
+    }
+}
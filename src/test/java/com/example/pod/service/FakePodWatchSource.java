@@ -0,0 +1,72 @@
+package com.example.pod.service;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * 테스트용 PodWatchSource.
+ * list 는 setListing 으로 정한 목록을 돌려주고, watch 는 emit 으로 넣은 이벤트를 순서대로 전달하다가
+ * gone() 이 호출되면 410 Gone 을 받은 것처럼 반환해 informer 가 다시 list 하도록 합니다.
+ */
+class FakePodWatchSource implements PodWatchSource {
+
+    private static final PodEvent GONE = new PodEvent(PodEvent.Type.DELETED, "", "");
+
+    private final BlockingQueue<PodEvent> events = new LinkedBlockingQueue<>();
+    private final AtomicInteger listCalls = new AtomicInteger();
+    private final List<String> watchedVersions = new CopyOnWriteArrayList<>();
+    private volatile PodListing listing = new PodListing(Set.of(), "0");
+    private volatile Exception listFailure;
+
+    void setListing(Set<String> podNames, String resourceVersion) {
+        this.listing = new PodListing(podNames, resourceVersion);
+    }
+
+    void failList(Exception failure) {
+        this.listFailure = failure;
+    }
+
+    void emit(PodEvent.Type type, String podName, String resourceVersion) {
+        events.add(new PodEvent(type, podName, resourceVersion));
+    }
+
+    // 진행 중인 watch 를 410 Gone 처럼 끝냄
+    void gone() {
+        events.add(GONE);
+    }
+
+    int listCalls() {
+        return listCalls.get();
+    }
+
+    List<String> watchedVersions() {
+        return watchedVersions;
+    }
+
+    @Override
+    public PodListing list() throws Exception {
+        listCalls.incrementAndGet();
+        Exception failure = listFailure;
+        if (failure != null) {
+            throw failure;
+        }
+        return listing;
+    }
+
+    @Override
+    public void watch(String resourceVersion, int timeoutSeconds, Consumer<PodEvent> handler) throws Exception {
+        watchedVersions.add(resourceVersion);
+        while (true) {
+            PodEvent event = events.take();
+            if (event == GONE) {
+                return;
+            }
+            handler.accept(event);
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.example.pod.service;
+
+import com.example.admission.service.DynamicSessionCalculator;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+class PodDiscoveryServiceTest {
+
+    private final FakePodWatchSource source = new FakePodWatchSource();
+    private PodDiscoveryService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new PodDiscoveryService();
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+    }
+
+    @Test
+    void initialListPopulatesCache() {
+        source.setListing(Set.of("api-0", "api-1", "api-2"), "100");
+
+        service.startInformer(source);
+
+        await().atMost(Duration.ofSeconds(5)).until(() -> service.getPodCount() == 3);
+        await().atMost(Duration.ofSeconds(5)).until(() -> source.watchedVersions().contains("100"));
+        assertThat(service.getStalenessMs()).isGreaterThanOrEqualTo(0);
+    }
+
+    @Test
+    void addedAndDeletedEventsUpdateCacheWithoutRelisting() {
+        source.setListing(Set.of("api-0"), "100");
+        service.startInformer(source);
+        await().atMost(Duration.ofSeconds(5)).until(() -> source.watchedVersions().size() == 1);
+
+        source.emit(PodWatchSource.PodEvent.Type.ADDED, "api-1", "101");
+        source.emit(PodWatchSource.PodEvent.Type.ADDED, "api-2", "102");
+        await().atMost(Duration.ofSeconds(5)).until(() -> service.getPodCount() == 3);
+
+        source.emit(PodWatchSource.PodEvent.Type.DELETED, "api-0", "103");
+        // 같은 Pod 의 MODIFIED 는 수를 바꾸지 않음
+        source.emit(PodWatchSource.PodEvent.Type.MODIFIED, "api-1", "104");
+        await().atMost(Duration.ofSeconds(5)).until(() -> service.getPodCount() == 2);
+
+        assertThat(service.getInformerStats())
+                .containsEntry("podNames", Set.of("api-1", "api-2"))
+                .containsEntry("watchEvents", 4L);
+        assertThat(source.listCalls()).isEqualTo(1);
+    }
+
+    @Test
+    void goneRelistsAndReplacesCache() {
+        source.setListing(Set.of("api-0", "api-1"), "100");
+        service.startInformer(source);
+        await().atMost(Duration.ofSeconds(5)).until(() -> source.watchedVersions().size() == 1);
+
+        // watch 가 끊긴 사이 api-1 이 사라지고 api-2 가 생김 → 이벤트 없이 list 로만 보정되어야 함
+        source.setListing(Set.of("api-0", "api-2"), "200");
+        source.gone();
+
+        await().atMost(Duration.ofSeconds(5)).until(() -> source.watchedVersions().contains("200"));
+        assertThat(source.listCalls()).isEqualTo(2);
+        assertThat(service.getPodCount()).isEqualTo(2);
+        assertThat(service.getInformerStats()).containsEntry("podNames", Set.of("api-0", "api-2"));
+    }
+
+    @Test
+    void neverSyncedWatchFallsBackToConfiguredPodCount() {
+        source.failList(new IOException("API server unreachable"));
+        service.startInformer(source);
+
+        await().atMost(Duration.ofSeconds(5)).until(() -> (Long) service.getInformerStats().get("failures") >= 1);
+        assertThat(service.getPodCount()).isZero();
+        assertThat(service.getStalenessMs()).isEqualTo(-1);
+
+        DynamicSessionCalculator calculator = new DynamicSessionCalculator(service);
+        ReflectionTestUtils.setField(calculator, "dynamicScalingEnabled", true);
+        ReflectionTestUtils.setField(calculator, "baseSessionsPerPod", 200);
+        ReflectionTestUtils.setField(calculator, "maxTotalSessionsLimit", 1000);
+        ReflectionTestUtils.setField(calculator, "fallbackPodCount", 2);
+
+        assertThat(calculator.calculateMaxActiveSessions()).isEqualTo(400);
+    }
+}